@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLQueryTest.class})
+@RunWith(JUnitParamsRunner.class)
+public class GroupByIntegrationTest {
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private void createRegion(RegionShortcut shortcut) {
+    Region<Integer, Portfolio> region =
+        serverStarterRule.getCache().<Integer, Portfolio>createRegionFactory(shortcut)
+            .create("portfolio");
+    for (int i = 0; i < 30; i++) {
+      region.put(i, new Portfolio(i));
+    }
+  }
+
+  private List<Object> execute(String queryString) throws Exception {
+    SelectResults results = (SelectResults) serverStarterRule.getCache().getQueryService()
+        .newQuery(queryString).execute();
+    List<Object> list = new ArrayList<>();
+    for (Object result : results) {
+      list.add(result instanceof Struct ? Arrays.asList(((Struct) result).getFieldValues())
+          : result);
+    }
+    return list;
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void aggregatesAreComputedPerGroup(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute(
+        "select p.status, count(*), sum(p.ID), max(p.ID) from /portfolio p group by p.status"))
+            .containsExactly(Arrays.asList("active", 15, 210, 28),
+                Arrays.asList("inactive", 15, 225, 29));
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void groupsOnSeveralColumnsAreSortedOnGroupColumns(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.status, p.type, count(*) from /portfolio p where p.ID < 6"
+        + " group by p.status, p.type")).containsExactly(Arrays.asList("active", "type0", 1),
+            Arrays.asList("active", "type1", 1), Arrays.asList("active", "type2", 1),
+            Arrays.asList("inactive", "type0", 1), Arrays.asList("inactive", "type1", 1),
+            Arrays.asList("inactive", "type2", 1));
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void limitWithoutOrderByReturnsFirstGroups(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.status, count(*) from /portfolio p group by p.status limit 1"))
+        .containsExactly(Arrays.asList("active", 15));
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void groupsCanBeOrderedOnAggregates(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.status, sum(p.ID) as total from /portfolio p group by p.status"
+        + " order by total desc")).containsExactly(Arrays.asList("inactive", 225),
+            Arrays.asList("active", 210));
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void numbersOfDifferentTypesThatCompareEqualAreInTheSameGroup(RegionShortcut shortcut)
+      throws Exception {
+    Region<Integer, Object> region =
+        serverStarterRule.getCache().<Integer, Object>createRegionFactory(shortcut).create("maps");
+    region.put(1, Collections.singletonMap("group", 1));
+    region.put(2, Collections.singletonMap("group", 1L));
+    region.put(3, Collections.singletonMap("group", 1.0d));
+    region.put(4, Collections.singletonMap("group", 2));
+
+    assertThat(execute("select count(*) from /maps m group by m.get('group')"))
+        .containsExactlyInAnyOrder(3, 1);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLQueryTest.class})
+@RunWith(JUnitParamsRunner.class)
+public class OrderByLimitIntegrationTest {
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private void createRegion(RegionShortcut shortcut) {
+    Region<Integer, Portfolio> region =
+        serverStarterRule.getCache().<Integer, Portfolio>createRegionFactory(shortcut)
+            .create("portfolio");
+    // insert out of order so that results are not accidentally sorted
+    for (int i = 99; i >= 0; i--) {
+      region.put(i, new Portfolio(i));
+    }
+  }
+
+  private List<Object> execute(String queryString) throws Exception {
+    SelectResults results = (SelectResults) serverStarterRule.getCache().getQueryService()
+        .newQuery(queryString).execute();
+    List<Object> list = new ArrayList<>();
+    for (Object result : results) {
+      list.add(result instanceof Struct ? Arrays.asList(((Struct) result).getFieldValues())
+          : result);
+    }
+    return list;
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void orderByWithLimitReturnsFirstResultsInOrder(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.ID from /portfolio p order by p.ID desc limit 5"))
+        .containsExactly(99, 98, 97, 96, 95);
+    assertThat(execute("select p.ID from /portfolio p where p.ID > 10 order by p.ID limit 3"))
+        .containsExactly(11, 12, 13);
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void orderByWithLimitKeepsDuplicateSortKeys(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.status from /portfolio p order by p.status limit 60"))
+        .hasSize(60).startsWith("active").containsOnly("active", "inactive");
+    assertThat(execute("select distinct p.status from /portfolio p order by p.status limit 1"))
+        .containsExactly("active");
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void orderByWithLimitOnStructs(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute(
+        "select p.status, p.ID from /portfolio p order by p.status desc, p.ID limit 3"))
+            .containsExactly(Arrays.asList("inactive", 1), Arrays.asList("inactive", 3),
+                Arrays.asList("inactive", 5));
+  }
+}
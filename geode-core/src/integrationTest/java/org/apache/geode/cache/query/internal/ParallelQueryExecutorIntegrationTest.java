@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLQueryTest.class})
+public class ParallelQueryExecutorIntegrationTest {
+  private static final Object[] NO_PARAMETERS = new Object[0];
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private InternalCache cache;
+
+  @Before
+  public void setup() {
+    cache = serverStarterRule.getCache();
+    Region<Integer, Portfolio> region = cache.<Integer, Portfolio>createRegionFactory()
+        .setDataPolicy(DataPolicy.REPLICATE).create("portfolio");
+    for (int i = 0; i < 200; i++) {
+      region.put(i, new Portfolio(i));
+    }
+  }
+
+  private List<Object> executeSerially(String queryString) throws Exception {
+    return toList((SelectResults) cache.getQueryService().newQuery(queryString).execute());
+  }
+
+  private List<Object> executeInParallel(String queryString) throws Exception {
+    DefaultQuery query = (DefaultQuery) cache.getQueryService().newQuery(queryString);
+    ExecutionContext context = new QueryExecutionContext(NO_PARAMETERS, cache, query);
+    return toList(new ParallelQueryExecutor(query, NO_PARAMETERS, 4).execute(context));
+  }
+
+  private List<Object> toList(SelectResults results) {
+    List<Object> list = new ArrayList<>();
+    for (Object result : results) {
+      list.add(result instanceof Struct ? Arrays.asList(((Struct) result).getFieldValues())
+          : result);
+    }
+    return list;
+  }
+
+  @Test
+  public void scanReturnsSameResultsAsSerialExecution() throws Exception {
+    String query = "select p.ID from /portfolio p where p.ID >= 10";
+
+    assertThat(executeInParallel(query)).hasSize(190)
+        .containsExactlyInAnyOrderElementsOf(executeSerially(query));
+  }
+
+  @Test
+  public void orderByWithLimitIsMergedInOrder() throws Exception {
+    String query = "select p.ID from /portfolio p where p.ID < 50 order by p.ID desc limit 10";
+
+    assertThat(executeInParallel(query)).containsExactly(49, 48, 47, 46, 45, 44, 43, 42, 41, 40);
+  }
+
+  @Test
+  public void distinctRemovesDuplicatesAcrossSlices() throws Exception {
+    String query = "select distinct p.status from /portfolio p";
+
+    assertThat(executeInParallel(query)).containsExactlyInAnyOrder("active", "inactive");
+  }
+
+  @Test
+  public void aggregatesAreMergedFromPartialAggregates() throws Exception {
+    String query =
+        "select p.status, sum(p.ID), count(p.ID), max(p.ID) from /portfolio p group by p.status";
+
+    assertThat(executeInParallel(query))
+        .containsExactlyInAnyOrderElementsOf(executeSerially(query));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLQueryTest.class})
+@RunWith(JUnitParamsRunner.class)
+public class PdxFieldPushdownIntegrationTest {
+
+  private final AtomicInteger iterations = new AtomicInteger();
+
+  @Rule
+  public ServerStarterRule serverStarterRule =
+      new ServerStarterRule().withPDXReadSerialized().withAutoStart();
+
+  @After
+  public void resetObserver() {
+    QueryObserverHolder.reset();
+  }
+
+  private void createRegion(RegionShortcut shortcut) {
+    Region<Integer, PdxInstance> region =
+        serverStarterRule.getCache().<Integer, PdxInstance>createRegionFactory(shortcut)
+            .create("items");
+    for (int i = 0; i < 30; i++) {
+      region.put(i, serverStarterRule.getCache().createPdxInstanceFactory("Item")
+          .writeInt("id", i).writeString("status", i % 3 == 0 ? "active" : "inactive").create());
+    }
+    QueryObserverHolder.setInstance(new QueryObserverAdapter() {
+      @Override
+      public void beforeIterationEvaluation(CompiledValue executer, Object currentObject) {
+        iterations.incrementAndGet();
+      }
+    });
+  }
+
+  private List<Object> executeIds(String queryString, Object... parameters) throws Exception {
+    SelectResults results = (SelectResults) serverStarterRule.getCache().getQueryService()
+        .newQuery(queryString).execute(parameters);
+    List<Object> ids = new ArrayList<>();
+    for (Object result : results) {
+      ids.add(((PdxInstance) result).getField("id"));
+    }
+    return ids;
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void valuesWithAnotherStringFieldAreSkippedBeforeEvaluation(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(executeIds("select * from /items i where i.status = 'active'"))
+        .containsExactlyInAnyOrder(0, 3, 6, 9, 12, 15, 18, 21, 24, 27);
+    assertThat(iterations.get()).isEqualTo(10);
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void valuesWithAnotherIntFieldAreSkippedBeforeEvaluation(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(executeIds("select * from /items i where i.id = $1 and i.status = 'active'", 12))
+        .containsExactly(12);
+    assertThat(iterations.get()).isEqualTo(1);
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void valuesAreNotSkippedWithoutAnEqualityOnAField(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(executeIds("select * from /items i where i.id < 2")).containsExactlyInAnyOrder(0,
+        1);
+    assertThat(iterations.get()).isEqualTo(30);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLQueryTest.class})
+public class QueryResultCacheIntegrationTest {
+
+  private static final String CACHED_QUERY =
+      "<hint 'RESULT_CACHE'> select p.ID from /portfolio p where p.status = $1 and p.ID < $2";
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private Region<Integer, Portfolio> region;
+
+  private QueryService queryService;
+
+  private CachePerfStats stats;
+
+  @Before
+  public void setUp() {
+    region = serverStarterRule.getCache().<Integer, Portfolio>createRegionFactory(
+        RegionShortcut.REPLICATE).create("portfolio");
+    for (int i = 0; i < 10; i++) {
+      region.put(i, new Portfolio(i));
+    }
+    queryService = serverStarterRule.getCache().getQueryService();
+    stats = serverStarterRule.getCache().getCachePerfStats();
+  }
+
+  private List<Object> execute(String queryString, Object... parameters) throws Exception {
+    SelectResults results =
+        (SelectResults) queryService.newQuery(queryString).execute(parameters);
+    return new ArrayList<>(results.asList());
+  }
+
+  @Test
+  public void resultIsReturnedFromCacheForSameParameters() throws Exception {
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(0, 2, 4);
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(0, 2, 4);
+    assertThat(execute(CACHED_QUERY, "inactive", 5)).containsExactlyInAnyOrder(1, 3);
+
+    assertThat(stats.getQueryResultCacheHits()).isEqualTo(1);
+    assertThat(stats.getQueryResultCacheMisses()).isEqualTo(2);
+    assertThat(serverStarterRule.getCache().getQueryResultCache().size()).isEqualTo(2);
+  }
+
+  @Test
+  public void resultsAreInvalidatedByChangesToTheRegion() throws Exception {
+    execute(CACHED_QUERY, "active", 5);
+
+    region.put(1, new Portfolio(2));
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(0, 2, 2, 4);
+    region.destroy(0);
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(2, 2, 4);
+    region.clear();
+    assertThat(execute(CACHED_QUERY, "active", 5)).isEmpty();
+
+    assertThat(stats.getQueryResultCacheHits()).isZero();
+    assertThat(stats.getQueryResultCacheInvalidations()).isEqualTo(3);
+  }
+
+  @Test
+  public void cachedResultCannotBeModified() throws Exception {
+    SelectResults first = (SelectResults) queryService.newQuery(CACHED_QUERY).execute("active", 5);
+    SelectResults second =
+        (SelectResults) queryService.newQuery(CACHED_QUERY).execute("active", 5);
+
+    assertThatThrownBy(() -> first.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> second.add(6)).isInstanceOf(UnsupportedOperationException.class);
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(0, 2, 4);
+  }
+
+  @Test
+  public void resultsAreInvalidatedByLocalOperations() throws Exception {
+    execute(CACHED_QUERY, "active", 5);
+
+    region.localDestroy(0);
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(2, 4);
+    region.localInvalidate(2);
+    assertThat(execute(CACHED_QUERY, "active", 5)).containsExactlyInAnyOrder(4);
+  }
+
+  @Test
+  public void resultsAreNotCachedWithoutHint() throws Exception {
+    execute("select p.ID from /portfolio p where p.status = $1", "active");
+    execute("select p.ID from /portfolio p where p.status = $1", "active");
+
+    assertThat(stats.getQueryResultCacheHits()).isZero();
+    assertThat(stats.getQueryResultCacheMisses()).isZero();
+  }
+
+  @Test
+  public void resultCacheHintDoesNotPreventIndexUse() throws Exception {
+    Index index = queryService.createIndex("status", "p.status", "/portfolio p");
+
+    execute(CACHED_QUERY, "active", 5);
+
+    assertThat(index.getStatistics().getTotalUses()).isEqualTo(1);
+  }
+
+  @Test
+  public void queriesOnPartitionedRegionsAreNotCached() throws Exception {
+    Region<Integer, Portfolio> partitionedRegion = serverStarterRule.getCache()
+        .<Integer, Portfolio>createRegionFactory(RegionShortcut.PARTITION).create("partitioned");
+    partitionedRegion.put(0, new Portfolio(0));
+
+    execute("<hint 'RESULT_CACHE'> select p.ID from /partitioned p");
+    execute("<hint 'RESULT_CACHE'> select p.ID from /partitioned p");
+
+    assertThat(stats.getQueryResultCacheHits()).isZero();
+    assertThat(serverStarterRule.getCache().getQueryResultCache().size()).isZero();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexType;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.internal.cache.InternalRegion;
+import org.apache.geode.test.junit.categories.OQLIndexTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLIndexTest.class})
+public class AsyncCompactIndexMaintenanceIntegrationTest {
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private Region<Integer, Portfolio> region;
+
+  private QueryService queryService;
+
+  @Before
+  public void createRegion() {
+    region = serverStarterRule.getCache().<Integer, Portfolio>createRegionFactory(
+        RegionShortcut.REPLICATE).setIndexMaintenanceSynchronous(false).create("portfolio");
+    queryService = serverStarterRule.getCache().getQueryService();
+  }
+
+  private IndexManager getIndexManager() {
+    return ((InternalRegion) region).getIndexManager();
+  }
+
+  @Test
+  public void compactAndHashIndexesAreCreatedWithAsynchronousMaintenance() throws Exception {
+    Index rangeIndex = queryService.createIndex("idIndex", "p.ID", "/portfolio p");
+    Index hashIndex = queryService.createHashIndex("statusIndex", "p.status", "/portfolio p");
+
+    assertThat(rangeIndex).isInstanceOf(CompactRangeIndex.class);
+    assertThat(hashIndex).isInstanceOf(HashIndex.class);
+    assertThat(hashIndex.getType()).isEqualTo(IndexType.HASH);
+  }
+
+  @Test
+  public void indexReflectsUpdatesOnceTheyAreApplied() throws Exception {
+    queryService.createIndex("idIndex", "p.ID", "/portfolio p");
+    for (int i = 0; i < 100; i++) {
+      region.put(i, new Portfolio(i));
+    }
+    // repeated updates of the same entries are coalesced while they wait in the queue
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 100; i++) {
+        region.put(i, new Portfolio(i + 1000));
+      }
+    }
+
+    getIndexManager().waitForPendingUpdates();
+
+    SelectResults results = (SelectResults) queryService
+        .newQuery("select p.ID from /portfolio p where p.ID >= 1000 and p.ID < 1010").execute();
+    assertThat(results.asList()).containsExactlyInAnyOrder(1000, 1001, 1002, 1003, 1004, 1005,
+        1006, 1007, 1008, 1009);
+    assertThat((SelectResults) queryService
+        .newQuery("select p.ID from /portfolio p where p.ID < 100").execute()).isEmpty();
+  }
+
+  @Test
+  public void appliedEntriesAreNoLongerFlaggedAsUpdateInProgress() throws Exception {
+    queryService.createIndex("idIndex", "p.ID", "/portfolio p");
+    for (int i = 0; i < 100; i++) {
+      region.put(i, new Portfolio(i));
+    }
+
+    getIndexManager().waitForPendingUpdates();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(((InternalRegion) region).getRegionEntry(i).isUpdateInProgress()).isFalse();
+    }
+  }
+
+  @Test
+  public void waitForPendingUpdatesReturnsWithSynchronousMaintenance() throws Exception {
+    Region<Integer, Portfolio> synchronousRegion = serverStarterRule.getCache()
+        .<Integer, Portfolio>createRegionFactory(RegionShortcut.REPLICATE).create("synchronous");
+    queryService.createIndex("idIndex2", "p.ID", "/synchronous p");
+    synchronousRegion.put(1, new Portfolio(1));
+
+    ((InternalRegion) synchronousRegion).getIndexManager().waitForPendingUpdates();
+
+    assertThat(((InternalRegion) synchronousRegion).getIndexManager().getUpdaterThread())
+        .isNull();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexInvalidException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.test.junit.categories.OQLIndexTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+@Category({OQLIndexTest.class})
+@RunWith(JUnitParamsRunner.class)
+public class CompositeIndexIntegrationTest {
+
+  @Rule
+  public ServerStarterRule serverStarterRule = new ServerStarterRule().withAutoStart();
+
+  private Region<Integer, Portfolio> region;
+
+  private QueryService queryService;
+
+  private void createRegion(RegionShortcut shortcut) throws Exception {
+    region = serverStarterRule.getCache().<Integer, Portfolio>createRegionFactory(shortcut)
+        .create("portfolio");
+    for (int i = 0; i < 100; i++) {
+      region.put(i, new Portfolio(i));
+    }
+    queryService = serverStarterRule.getCache().getQueryService();
+    queryService.createIndex("statusTypeId", "p.status, p.type, p.ID", "/portfolio p");
+  }
+
+  private List<Object> execute(String queryString) throws Exception {
+    SelectResults results = (SelectResults) queryService.newQuery(queryString).execute();
+    List<Object> list = new ArrayList<>();
+    for (Object result : results) {
+      if (result instanceof Struct) {
+        list.add(Arrays.asList(((Struct) result).getFieldValues()));
+      } else if (result instanceof Portfolio) {
+        list.add(((Portfolio) result).ID);
+      } else {
+        list.add(result);
+      }
+    }
+    return list;
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void equalityOnLeadingExpressionsAndRangeOnNextOne(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.ID from /portfolio p where p.status = 'active'"
+        + " and p.type = 'type1' and p.ID < 20")).containsExactlyInAnyOrder(4, 10, 16);
+    assertThat(execute("select p.type, p.ID from /portfolio p where p.status = 'inactive'"
+        + " and p.type = 'type0' and p.ID >= 81 and p.ID <= 93")).containsExactlyInAnyOrder(
+            Arrays.asList("type0", 81), Arrays.asList("type0", 87), Arrays.asList("type0", 93));
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void valuesAreReturnedWhenQueryIsNotCovered(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute(
+        "select * from /portfolio p where p.status = 'inactive' and p.type = 'type0'"))
+            .containsExactlyInAnyOrder(3, 9, 15, 21, 27, 33, 39, 45, 51, 57, 63, 69, 75, 81, 87,
+                93, 99);
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void reflectedAndNonIndexedConditionsAreApplied(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select p.ID from /portfolio p where 'active' = p.status and 20 > p.ID"
+        + " and p.type = 'type2' and p.pkid <> '2'")).containsExactlyInAnyOrder(8, 14);
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void distinctAndLimitAreAppliedToCoveredQueries(RegionShortcut shortcut)
+      throws Exception {
+    createRegion(shortcut);
+
+    assertThat(execute("select distinct p.type from /portfolio p where p.status = 'active'"
+        + " and p.type >= 'type1'")).containsExactlyInAnyOrder("type1", "type2");
+    assertThat(execute("select p.ID from /portfolio p where p.status = 'active'"
+        + " and p.type = 'type0' limit 3")).hasSize(3)
+            .allSatisfy(id -> assertThat((Integer) id % 6).isZero());
+  }
+
+  @Test
+  @Parameters({"REPLICATE", "PARTITION"})
+  public void updatesAreReflectedInResults(RegionShortcut shortcut) throws Exception {
+    createRegion(shortcut);
+    region.put(4, new Portfolio(5));
+    region.destroy(10);
+
+    assertThat(execute("select p.ID from /portfolio p where p.status = 'active'"
+        + " and p.type = 'type1' and p.ID < 20")).containsExactly(16);
+  }
+
+  @Test
+  public void indexIsUsedForQueryOnSeveralIndexedExpressions() throws Exception {
+    createRegion(RegionShortcut.REPLICATE);
+    Index index = queryService.getIndex(region, "statusTypeId");
+
+    execute("select p.ID from /portfolio p where p.status = 'active' and p.type = 'type1'");
+
+    assertThat(index).isInstanceOf(CompositeRangeIndex.class);
+    assertThat(index.getStatistics().getTotalUses()).isEqualTo(1);
+  }
+
+  @Test
+  public void compositeHashIndexIsNotSupported() throws Exception {
+    createRegion(RegionShortcut.REPLICATE);
+
+    assertThatThrownBy(
+        () -> queryService.createHashIndex("statusTypeHash", "p.status, p.type", "/portfolio p"))
+            .isInstanceOf(IndexInvalidException.class);
+  }
+}
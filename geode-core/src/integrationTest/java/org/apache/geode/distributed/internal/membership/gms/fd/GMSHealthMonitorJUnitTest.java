@@ -31,6 +31,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -50,6 +51,7 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
@@ -821,6 +823,52 @@ public class GMSHealthMonitorJUnitTest {
     gmsHealthMonitor.processMessage(smm);
   }
 
+  @Test
+  public void testIndirectProbeRequestIsForwardedToTarget() {
+    mockMembers.get(myAddressIndex).setVmViewId(2);
+    installAView();
+    GMSMember target = mockMembers.get(0);
+
+    HeartbeatRequestMessage req = new HeartbeatRequestMessage(target, 10);
+    req.setSender(mockMembers.get(1));
+    gmsHealthMonitor.processMessage(req);
+
+    await().untilAsserted(() -> verify(messenger, atLeastOnce())
+        .send(argThat(m -> m instanceof HeartbeatRequestMessage
+            && target.equals(((HeartbeatRequestMessage) m).getTarget())
+            && m.getRecipients().equals(Collections.singletonList(target)))));
+  }
+
+  @Test
+  public void testIndirectCheckSucceedsWhenAProberHearsFromMember() {
+    installAView();
+    gmsHealthMonitor.numIndirectProbes = 2;
+    GMSMember suspect = mockMembers.get(myAddressIndex + 1);
+
+    when(messenger.send(isA(HeartbeatRequestMessage.class))).thenAnswer(invocation -> {
+      HeartbeatRequestMessage req = invocation.getArgument(0);
+      assertThat(req.getTarget()).isEqualTo(suspect);
+      assertThat(req.getRecipients()).hasSize(2).doesNotContain(suspect,
+          mockMembers.get(myAddressIndex));
+      HeartbeatMessage reply = new HeartbeatMessage(req.getRequestId());
+      reply.setSender(req.getRecipients().get(0));
+      gmsHealthMonitor.processMessage(reply);
+      return null;
+    });
+
+    assertTrue(gmsHealthMonitor.doIndirectCheckMember(suspect));
+    assertThat(gmsHealthMonitor.memberTimeStamps.get(suspect)).isNotNull();
+  }
+
+  @Test
+  public void testIndirectCheckFailsWhenNoProberHearsFromMember() {
+    installAView();
+    gmsHealthMonitor.numIndirectProbes = 2;
+    GMSMember suspect = mockMembers.get(myAddressIndex + 1);
+
+    assertFalse(gmsHealthMonitor.doIndirectCheckMember(suspect));
+  }
+
   @Test
   public void testTcpCheckMemberTriesUntilTimeout() throws Exception {
     ServerSocket mySocket = new ServerSocket(0);
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.serial;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.internal.statistics.StatisticsClockFactory.disabledClock;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.TransactionId;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
+import org.apache.geode.test.junit.categories.WanTest;
+
+@Category({WanTest.class})
+public class SerialGatewaySenderQueueIntegrationTest {
+
+  private static final String REGION_PATH = "/region";
+
+  private InternalCache cache;
+
+  private GatewaySenderStats stats;
+
+  private SerialGatewaySenderQueue queue;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Before
+  public void setUp() throws Exception {
+    cache = (InternalCache) new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, "").create();
+    File diskDir = temporaryFolder.newFolder();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create("queueStore");
+    stats = new GatewaySenderStats(cache.getDistributedSystem(), "gatewaySenderStats-", "ln",
+        disabledClock());
+
+    AbstractGatewaySender sender = mock(AbstractGatewaySender.class);
+    when(sender.getCache()).thenReturn(cache);
+    when(sender.getCancelCriterion()).thenReturn(cache.getCancelCriterion());
+    when(sender.getId()).thenReturn("ln");
+    when(sender.getStatistics()).thenReturn(stats);
+    when(sender.getStatisticsClock()).thenReturn(disabledClock());
+    when(sender.isBatchConflationEnabled()).thenReturn(true);
+    when(sender.isBatchConflationInPlace()).thenReturn(true);
+    when(sender.getDiskStoreName()).thenReturn("queueStore");
+    when(sender.getBatchSize()).thenReturn(100);
+    when(sender.getMaximumMemeoryPerDispatcherQueue()).thenReturn(100);
+    queue = new SerialGatewaySenderQueue(sender, "ln_SERIAL_GATEWAY_SENDER_QUEUE", null);
+  }
+
+  @After
+  public void tearDown() {
+    if (queue != null) {
+      queue.cleanUp();
+    }
+    if (cache != null) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void updateReplacesTheQueuedEventOfItsKeyThatIsNotPeeked() throws Exception {
+    GatewaySenderEventImpl create = event(Operation.CREATE, "a", null);
+    GatewaySenderEventImpl update1 = event(Operation.UPDATE, "a", null);
+    GatewaySenderEventImpl other = event(Operation.UPDATE, "b", null);
+    GatewaySenderEventImpl update2 = event(Operation.UPDATE, "a", null);
+    queue.put(create);
+    queue.put(update1);
+    queue.put(other);
+    queue.put(update2);
+
+    assertThat(queue.size()).isEqualTo(3);
+    assertThat(queue.peek(10)).containsExactly(create, update2, other);
+    assertThat(stats.getEventsNotQueuedConflated()).isEqualTo(1);
+  }
+
+  @Test
+  public void updateIsAppendedWhenTheQueuedEventOfItsKeyIsPeeked() throws Exception {
+    GatewaySenderEventImpl update1 = event(Operation.UPDATE, "a", null);
+    GatewaySenderEventImpl update2 = event(Operation.UPDATE, "a", null);
+    queue.put(update1);
+    assertThat(queue.peek(1)).containsExactly(update1);
+
+    queue.put(update2);
+
+    assertThat(queue.getRegion().get(0L)).isNotSameAs(update2);
+    assertThat(queue.getRegion().get(1L)).isSameAs(update2);
+    assertThat(stats.getEventsNotQueuedConflated()).isZero();
+  }
+
+  @Test
+  public void createDropsTheIndexOfItsKey() throws Exception {
+    assertUpdateIsQueuedAfter(event(Operation.CREATE, "a", null));
+  }
+
+  @Test
+  public void destroyDropsTheIndexOfItsKey() throws Exception {
+    assertUpdateIsQueuedAfter(event(Operation.DESTROY, "a", null));
+  }
+
+  @Test
+  public void transactionalUpdateDropsTheIndexOfItsKey() throws Exception {
+    assertUpdateIsQueuedAfter(event(Operation.UPDATE, "a", mock(TransactionId.class)));
+  }
+
+  /**
+   * Queues an update, the event that cannot be conflated and another update of the same key, and
+   * checks that the second update is added to the tail instead of replacing the first one.
+   */
+  private void assertUpdateIsQueuedAfter(GatewaySenderEventImpl notConflated) throws Exception {
+    GatewaySenderEventImpl update1 = event(Operation.UPDATE, "a", null);
+    GatewaySenderEventImpl update2 = event(Operation.UPDATE, "a", null);
+    queue.put(update1);
+    queue.put(notConflated);
+    queue.put(update2);
+
+    assertThat(queue.peek(10)).containsExactly(update1, notConflated, update2);
+    assertThat(stats.getEventsNotQueuedConflated()).isZero();
+  }
+
+  /**
+   * Mocks an event of a key of the region, which can be conflated like a GatewaySenderEventImpl if
+   * it is an update outside a transaction.
+   */
+  private GatewaySenderEventImpl event(Operation operation, Object key,
+      TransactionId transactionId) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getOperation()).thenReturn(operation);
+    when(event.getRegionToConflate()).thenReturn(REGION_PATH);
+    when(event.getKeyToConflate()).thenReturn(key);
+    when(event.getTransactionId()).thenReturn(transactionId);
+    when(event.shouldBeConflated()).thenReturn(operation.isUpdate() && transactionId == null);
+    when(event.makeHeapCopyIfOffHeap()).thenReturn(event);
+    return event;
+  }
+}
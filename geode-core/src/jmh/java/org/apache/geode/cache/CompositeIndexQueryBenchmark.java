@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.NameResolutionException;
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.TypeMismatchException;
+
+/**
+ * Compares a query with equality on two fields and a range on a third one using separate indexes
+ * on each field, a composite index on the three fields, and a composite index that also covers the
+ * projected field.
+ */
+@Fork(3)
+public class CompositeIndexQueryBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    @Param({"SEPARATE", "COMPOSITE", "COVERING"})
+    public String indexes;
+
+    private Region region;
+    private Query query;
+
+    public CacheState() {}
+
+    @Setup
+    public void setup() {
+      Cache cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+
+      region = cache.createRegionFactory(RegionShortcut.REPLICATE).create("region");
+      try {
+        QueryService queryService = cache.getQueryService();
+        switch (indexes) {
+          case "SEPARATE":
+            queryService.createIndex("Status", "v.status", "/region v");
+            queryService.createIndex("Category", "v.category", "/region v");
+            queryService.createIndex("Timestamp", "v.timestamp", "/region v");
+            break;
+          case "COMPOSITE":
+            queryService.createIndex("Composite", "v.status, v.category, v.timestamp",
+                "/region v");
+            break;
+          default:
+            queryService.createIndex("Covering", "v.status, v.category, v.timestamp, v.id",
+                "/region v");
+        }
+
+        IntStream.range(0, 100000).forEach(i -> region.put(i, new Value(i)));
+        query = queryService.newQuery("select v.id from /region v where v.status = 'active'"
+            + " and v.category = 6 and v.timestamp >= 50000 and v.timestamp < 60000");
+
+        // Do the query once to make sure it's actually returning results
+        SelectResults results = query();
+        assertEquals(1000, results.size());
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    public SelectResults query() throws NameResolutionException, TypeMismatchException,
+        QueryInvocationTargetException, FunctionDomainException {
+      return (SelectResults) query.execute();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object query(CacheState state) throws NameResolutionException, TypeMismatchException,
+      QueryInvocationTargetException, FunctionDomainException {
+    return state.query();
+  }
+
+  public static class Value {
+    protected final int id;
+    protected final String status;
+    protected final int category;
+    protected final long timestamp;
+
+    public Value(int id) {
+      this.id = id;
+      this.status = id % 2 == 0 ? "active" : "inactive";
+      this.category = id % 10;
+      this.timestamp = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public String getStatus() {
+      return status;
+    }
+
+    public int getCategory() {
+      return category;
+    }
+
+    public long getTimestamp() {
+      return timestamp;
+    }
+  }
+}
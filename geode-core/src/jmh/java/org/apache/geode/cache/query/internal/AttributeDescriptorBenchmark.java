@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares reading a getter through AttributeDescriptor, which invokes a cached
+ * MethodHandle, with the reflective path it replaced: a (class, name) list key looked up in a
+ * cache, setAccessible on the member and Method.invoke. Both paths call the same authorizer.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class AttributeDescriptorBenchmark {
+
+  private static final MethodInvocationAuthorizer AUTHORIZER = (method, target) -> {
+  };
+
+  private final ConcurrentMap<List, Member> reflectiveCache = new ConcurrentHashMap<>();
+
+  private AttributeDescriptor descriptor;
+
+  private Portfolio target;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    descriptor = new AttributeDescriptor(null, AUTHORIZER, "status");
+    target = new Portfolio("active");
+    descriptor.read(target);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public Object readThroughMethodHandle() throws Exception {
+    return descriptor.read(target);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public Object readThroughReflection() throws Exception {
+    List key = new ArrayList();
+    key.add(target.getClass());
+    key.add("status");
+    Member member = reflectiveCache.computeIfAbsent(key, k -> {
+      try {
+        return target.getClass().getMethod("getStatus");
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Method method = (Method) member;
+    method.setAccessible(true);
+    AUTHORIZER.authorizeMethodInvocation(method, target);
+    return method.invoke(target, (Object[]) null);
+  }
+
+  public static class Portfolio {
+    private final String status;
+
+    public Portfolio(String status) {
+      this.status = status;
+    }
+
+    public String getStatus() {
+      return status;
+    }
+  }
+}
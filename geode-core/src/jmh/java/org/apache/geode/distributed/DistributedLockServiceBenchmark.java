@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the throughput of lock and unlock operations against the lock grantor
+ * of a DistributedLockService with 64 threads contending for locks in this member.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(64)
+public class DistributedLockServiceBenchmark {
+  private static final int LOCK_NAMES = 10_000;
+
+  @Param({"1", "8"})
+  public int locksPerOperation;
+
+  DistributedSystem system;
+  DistributedLockService lockService;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Properties properties = new Properties();
+    properties.setProperty(LOCATORS, "");
+    properties.setProperty(MCAST_PORT, "0");
+    properties.setProperty(LOG_LEVEL, "warn");
+    system = DistributedSystem.connect(properties);
+    lockService = DistributedLockService.create("benchmarkLockService", system);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    DistributedLockService.destroy("benchmarkLockService");
+    system.disconnect();
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+    Random random = new Random();
+    List<Object> names = new ArrayList<>();
+
+    List<Object> nextNames(int count) {
+      names.clear();
+      for (int i = 0; i < count; i++) {
+        names.add("lock-" + random.nextInt(LOCK_NAMES));
+      }
+      return names;
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 3)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public boolean lockAndUnlock(MyState state) {
+    List<Object> names = state.nextNames(locksPerOperation);
+    if (locksPerOperation == 1) {
+      Object name = names.get(0);
+      boolean locked = lockService.lock(name, -1, -1);
+      lockService.unlock(name);
+      return locked;
+    }
+    boolean locked = lockService.lockAll(names, -1, -1);
+    lockService.unlockAll(names);
+    return locked;
+  }
+}
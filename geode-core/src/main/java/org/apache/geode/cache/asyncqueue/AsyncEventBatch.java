@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.asyncqueue;
+
+import org.apache.geode.cache.Operation;
+
+/**
+ * A read-only view over a batch of events delivered to an {@link AsyncEventBatchListener}. The
+ * events are accessed by their index in the batch, from 0 to {@link #size()} excluded. Their values
+ * are kept in serialized form: a value is never deserialized by the view, and the fields of a value
+ * serialized with PDX are read directly from its serialized form.
+ *
+ * The view is reused for the next batches, so it must not be kept or accessed once
+ * {@link AsyncEventBatchListener#processBatch(AsyncEventBatch)} has returned.
+ *
+ * @since Geode 1.11
+ */
+public interface AsyncEventBatch {
+
+  /**
+   * Returns the number of events of the batch
+   */
+  int size();
+
+  /**
+   * Returns the full path of the region of an event
+   */
+  String getRegionPath(int index);
+
+  /**
+   * Returns the operation of an event
+   */
+  Operation getOperation(int index);
+
+  /**
+   * Returns the key of an event
+   */
+  Object getKey(int index);
+
+  /**
+   * Returns the serialized value of an event, or null if the event has no value
+   */
+  byte[] getSerializedValue(int index);
+
+  /**
+   * Returns a field of the value of an event serialized with PDX, without deserializing the value.
+   * Nested objects are returned as <code>PdxInstance</code>s when the cache reads PDX serialized.
+   *
+   * @return the value of the field, or null if the value was not serialized with PDX or does not
+   *         have the field
+   */
+  Object getValueField(int index, String fieldName);
+
+  /**
+   * Returns the id of the bucket of an event dispatched by a parallel queue
+   */
+  int getBucketId(int index);
+
+  /**
+   * Returns whether an event may have already been delivered
+   */
+  boolean getPossibleDuplicate(int index);
+}
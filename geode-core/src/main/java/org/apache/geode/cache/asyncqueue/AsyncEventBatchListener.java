@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.asyncqueue;
+
+import java.util.List;
+
+/**
+ * An <code>AsyncEventListener</code> processing batches of events through an
+ * {@link AsyncEventBatch} view instead of a list of <code>AsyncEvent</code>s. The view gives
+ * access to the serialized values of the events and to the fields of those serialized with PDX,
+ * without creating an object per event or deserializing the values.
+ *
+ * A batch listener is registered like any other <code>AsyncEventListener</code>. The
+ * <code>AsyncEventQueue</code> calls {@link #processBatch(AsyncEventBatch)} for each batch instead
+ * of {@link #processEvents(List)}, which implementations still provide for the callers using the
+ * listener as a plain <code>AsyncEventListener</code>.
+ *
+ * When the queue is parallel and has several dispatcher threads, each thread dispatches the events
+ * of its own buckets, so <code>processBatch</code> is called concurrently with batches of disjoint
+ * buckets.
+ *
+ * @since Geode 1.11
+ */
+public interface AsyncEventBatchListener extends AsyncEventListener {
+
+  /**
+   * Process a batch of events. The batch must not be accessed once this method has returned.
+   *
+   * @param batch The view over the events to process
+   *
+   * @return boolean True represents whether the events were successfully processed, false
+   *         otherwise.
+   */
+  boolean processBatch(AsyncEventBatch batch);
+}
@@ -14,10 +14,12 @@
  */
 package org.apache.geode.cache.asyncqueue.internal;
 
+import org.apache.geode.StatisticDescriptor;
 import org.apache.geode.StatisticsFactory;
 import org.apache.geode.StatisticsType;
 import org.apache.geode.StatisticsTypeFactory;
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 import org.apache.geode.internal.statistics.StatisticsClock;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
@@ -30,10 +32,35 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
   @Immutable
   public static final StatisticsType type;
 
+  protected static final String LISTENER_BATCHES_PROCESSED = "listenerBatchesProcessed";
+  protected static final String LISTENER_BATCHES_FAILED = "listenerBatchesFailed";
+  protected static final String LISTENER_EVENTS_PROCESSED = "listenerEventsProcessed";
+  protected static final String LISTENER_PROCESSING_TIME = "listenerProcessingTime";
+
+  private static final int listenerBatchesProcessedId;
+  private static final int listenerBatchesFailedId;
+  private static final int listenerEventsProcessedId;
+  private static final int listenerProcessingTimeId;
 
   static {
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
-    type = createType(f, typeName, "Stats for activity in the AsyncEventQueue");
+    type = createType(f, typeName, "Stats for activity in the AsyncEventQueue",
+        f.createIntCounter(LISTENER_BATCHES_PROCESSED,
+            "Number of batches processed, summed over all the listeners of the queue.",
+            "operations"),
+        f.createIntCounter(LISTENER_BATCHES_FAILED,
+            "Number of batches failed, summed over all the listeners of the queue. They are processed again.",
+            "operations", false),
+        f.createLongCounter(LISTENER_EVENTS_PROCESSED,
+            "Number of events processed, summed over all the listeners of the queue.",
+            "operations"),
+        f.createLongCounter(LISTENER_PROCESSING_TIME,
+            "Total time spent processing batches by all the listeners of the queue.",
+            "nanoseconds", false));
+    listenerBatchesProcessedId = type.nameToId(LISTENER_BATCHES_PROCESSED);
+    listenerBatchesFailedId = type.nameToId(LISTENER_BATCHES_FAILED);
+    listenerEventsProcessedId = type.nameToId(LISTENER_EVENTS_PROCESSED);
+    listenerProcessingTimeId = type.nameToId(LISTENER_PROCESSING_TIME);
   }
 
   /**
@@ -47,4 +74,58 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
       StatisticsClock statisticsClock) {
     super(f, "asyncEventQueueStats-", asyncQueueId, type, statisticsClock);
   }
+
+  /**
+   * Returns the current value of the "listenerBatchesProcessed" stat.
+   *
+   * @return the current value of the "listenerBatchesProcessed" stat
+   */
+  public int getListenerBatchesProcessed() {
+    return getStats().getInt(listenerBatchesProcessedId);
+  }
+
+  /**
+   * Returns the current value of the "listenerBatchesFailed" stat.
+   *
+   * @return the current value of the "listenerBatchesFailed" stat
+   */
+  public int getListenerBatchesFailed() {
+    return getStats().getInt(listenerBatchesFailedId);
+  }
+
+  /**
+   * Returns the current value of the "listenerEventsProcessed" stat.
+   *
+   * @return the current value of the "listenerEventsProcessed" stat
+   */
+  public long getListenerEventsProcessed() {
+    return getStats().getLong(listenerEventsProcessedId);
+  }
+
+  /**
+   * Returns the current value of the "listenerProcessingTime" stat.
+   *
+   * @return the current value of the "listenerProcessingTime" stat
+   */
+  public long getListenerProcessingTime() {
+    return getStats().getLong(listenerProcessingTimeId);
+  }
+
+  /**
+   * Increments the listener stats once a listener has processed a batch. The stats are kept per
+   * queue, so a queue with several listeners counts each batch once per listener.
+   *
+   * @param start The time the listener started processing the batch
+   * @param numberOfEvents The number of events of the batch
+   * @param success Whether the listener successfully processed the batch
+   */
+  public void endListenerBatch(long start, int numberOfEvents, boolean success) {
+    if (success) {
+      getStats().incInt(listenerBatchesProcessedId, 1);
+      getStats().incLong(listenerEventsProcessedId, numberOfEvents);
+    } else {
+      getStats().incInt(listenerBatchesFailedId, 1);
+    }
+    getStats().incLong(listenerProcessingTimeId, DistributionStats.getStatTime() - start);
+  }
 }
@@ -15,19 +15,21 @@
 
 package org.apache.geode.cache.query.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.lang.reflect.Modifier;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.geode.SystemFailure;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.EntryDestroyedException;
 import org.apache.geode.cache.query.NameNotFoundException;
@@ -54,7 +56,12 @@ public class AttributeDescriptor {
   private final TypeRegistry _pdxRegistry;
   /** cache for remembering the correct Member for a class and attribute */
   @MakeNotStatic
-  private static final ConcurrentMap<List, Member> _localCache = new ConcurrentHashMap();
+  private static final ConcurrentMap<Class, ConcurrentMap<String, ReadAccessor>> _localCache =
+      new ConcurrentHashMap<>();
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
 
 
 
@@ -98,77 +105,88 @@ public class AttributeDescriptor {
       return QueryService.UNDEFINED;
     }
 
-    Class resolutionClass = target.getClass();
-    Member m = getReadMember(resolutionClass);
+    ReadAccessor accessor = getReadAccessor(target.getClass());
     try {
-      if (m instanceof Method) {
-        try {
-          _methodInvocationAuthorizer.authorizeMethodInvocation((Method) m, target);
-          return ((Method) m).invoke(target, (Object[]) null);
-        } catch (EntryDestroyedException e) {
-          // eat the Exception
-          return QueryService.UNDEFINED;
-        } catch (IllegalAccessException e) {
-          throw new NameNotFoundException(
-              String.format(
-                  "Method ' %s ' in class ' %s ' is not accessible to the query processor",
-                  new Object[] {m.getName(), target.getClass().getName()}),
-              e);
-        } catch (InvocationTargetException e) {
-          // if the target exception is Exception, wrap that,
-          // otherwise wrap the InvocationTargetException itself
-          Throwable t = e.getTargetException();
-          if ((t instanceof EntryDestroyedException)) {
-            // eat the exception
-            return QueryService.UNDEFINED;
-          }
-          if (t instanceof Exception)
-            throw new QueryInvocationTargetException(t);
-          throw new QueryInvocationTargetException(e);
-        }
-      } else {
-        try {
-          return ((Field) m).get(target);
-        } catch (IllegalAccessException e) {
-          throw new NameNotFoundException(
-              String.format(
-                  "Field ' %s ' in class ' %s ' is not accessible to the query processor",
-                  new Object[] {m.getName(), target.getClass().getName()}),
-              e);
-        } catch (EntryDestroyedException e) {
-          return QueryService.UNDEFINED;
-        }
+      if (accessor.member instanceof Method) {
+        _methodInvocationAuthorizer.authorizeMethodInvocation((Method) accessor.member, target);
       }
     } catch (EntryDestroyedException e) {
       // eat the exception
       return QueryService.UNDEFINED;
     }
+    try {
+      return accessor.handle.invokeExact(target);
+    } catch (EntryDestroyedException e) {
+      // eat the exception
+      return QueryService.UNDEFINED;
+    } catch (VirtualMachineError e) {
+      SystemFailure.initiateFailure(e);
+      throw e;
+    } catch (Throwable t) {
+      throw new QueryInvocationTargetException(t);
+    }
   }
 
   Member getReadMember(Class targetClass) throws NameNotFoundException {
+    return getReadAccessor(targetClass).member;
+  }
 
-    // mapping: public field (same name), method (getAttribute()),
-    // method (attribute())
-    List key = new ArrayList();
-    key.add(targetClass);
-    key.add(_name);
-
-    Member m = JavaWorkarounds.computeIfAbsent(_localCache, key, k -> {
+  /**
+   * Returns the accessor for this attribute on the given class. The field or getter is looked up
+   * once per class and attribute name and is then read through a MethodHandle instead of through
+   * Method.invoke or Field.get. The handle is held by the cache rather than by a constant, so the
+   * JIT does not fold it into the caller; AttributeDescriptorBenchmark compares both paths.
+   */
+  private ReadAccessor getReadAccessor(Class targetClass) throws NameNotFoundException {
+    ConcurrentMap<String, ReadAccessor> accessors =
+        JavaWorkarounds.computeIfAbsent(_localCache, targetClass, k -> new ConcurrentHashMap<>());
+    ReadAccessor accessor = accessors.get(_name);
+    if (accessor == null) {
+      // mapping: public field (same name), method (getAttribute()),
+      // method (attribute())
       Member member = getReadField(targetClass);
-      return member == null ? getReadMethod(targetClass) : member;
-    });
-
-    if (m == null) {
-      throw new NameNotFoundException(
-          String.format("No public attribute named ' %s ' was found in class %s",
-              new Object[] {_name, targetClass.getName()}));
+      if (member == null) {
+        member = getReadMethod(targetClass);
+      }
+      if (member == null) {
+        throw new NameNotFoundException(
+            String.format("No public attribute named ' %s ' was found in class %s",
+                new Object[] {_name, targetClass.getName()}));
+      }
+      accessor = new ReadAccessor(member, targetClass);
+      accessors.putIfAbsent(_name, accessor);
     }
-
-    // override security for nonpublic derived classes with public members
-    ((AccessibleObject) m).setAccessible(true);
-    return m;
+    return accessor;
   }
 
+  /**
+   * A resolved field or getter together with a MethodHandle of type (Object)Object that reads it.
+   */
+  private static class ReadAccessor {
+    private final Member member;
+    private final MethodHandle handle;
+
+    ReadAccessor(Member member, Class targetClass) throws NameNotFoundException {
+      // override security for nonpublic derived classes with public members
+      ((AccessibleObject) member).setAccessible(true);
+      this.member = member;
+      try {
+        MethodHandle mh = member instanceof Method ? LOOKUP.unreflect((Method) member)
+            : LOOKUP.unreflectGetter((Field) member);
+        if (Modifier.isStatic(member.getModifiers())) {
+          mh = MethodHandles.dropArguments(mh, 0, Object.class);
+        }
+        this.handle = mh.asType(READ_TYPE);
+      } catch (IllegalAccessException e) {
+        throw new NameNotFoundException(
+            String.format(
+                "%s ' %s ' in class ' %s ' is not accessible to the query processor",
+                new Object[] {member instanceof Method ? "Method" : "Field", member.getName(),
+                    targetClass.getName()}),
+            e);
+      }
+    }
+  }
 
   private Field getReadField(Class targetType) {
     try {
@@ -63,7 +63,7 @@ public class CompiledAggregateFunction extends AbstractCompiledValue {
   public Object evaluate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
     boolean isPRQueryNode = context.getIsPRQueryNode();
-    boolean isBucketNode = context.getBucketList() != null;
+    boolean isBucketNode = context.isPartialResultExecution();
     switch (this.aggFuncType) {
 
       case OQLLexerTokenTypes.SUM:
@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.query.internal;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
@@ -38,9 +39,18 @@ import org.apache.geode.cache.query.internal.types.TypeUtils;
 import org.apache.geode.cache.query.internal.utils.PDXUtils;
 import org.apache.geode.cache.query.types.ObjectType;
 import org.apache.geode.cache.query.types.StructType;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.pdx.internal.PdxString;
 
 public class CompiledGroupBySelect extends CompiledSelect {
 
+  /**
+   * Groups results by sorting them on the group by columns and aggregating runs of equal columns
+   * instead of aggregating them into a hash table keyed by the group by columns.
+   */
+  static final boolean DISABLE_HASH_GROUP_BY =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Query.DISABLE_HASH_GROUP_BY");
+
   private final BitSet aggregateColsPos;
   private final CompiledAggregateFunction[] aggregateFunctions;
   private final boolean isDistinct;
@@ -164,12 +174,17 @@ public class CompiledGroupBySelect extends CompiledSelect {
       QueryInvocationTargetException {
     ObjectType elementType = baseResults.getCollectionType().getElementType();
     boolean isStruct = elementType != null && elementType.isStructType();
-    boolean isBucketNodes = context.getBucketList() != null;
+    boolean isBucketNodes = context.isPartialResultExecution();
     boolean createOrderedResultSet = isBucketNodes && this.orderByAttrs != null;
     boolean[] objectChangedMarker = new boolean[] {false};
     int limitValue = evaluateLimitValue(context, limit);
     SelectResults newResults =
         createResultSet(context, elementType, isStruct, createOrderedResultSet);
+    if (isOrderByOnlyForGrouping()) {
+      applyHashGroupBy(baseResults, context, isStruct, newResults, !createOrderedResultSet,
+          objectChangedMarker, limitValue);
+      return newResults;
+    }
     Aggregator[] aggregators = new Aggregator[this.aggregateFunctions.length];
     refreshAggregators(aggregators, context);
     if (this.orderByAttrs != null) {
@@ -312,11 +327,93 @@ public class CompiledGroupBySelect extends CompiledSelect {
     }
 
     if (this.originalOrderByClause != null && limitValue > 0
-        && (context.getIsPRQueryNode() || context.getBucketList() == null)) {
+        && (context.getIsPRQueryNode() || !context.isPartialResultExecution())) {
+      ((Bag) newResults).applyLimit(limitValue);
+    }
+  }
+
+  /**
+   * Aggregates the rows of each group into a hash table keyed by the group by columns, so the base
+   * results need not be sorted. The groups are then added to the results sorted on the group by
+   * columns, as bucket nodes and LIMIT without ORDER BY expect.
+   */
+  private void applyHashGroupBy(SelectResults baseResults, ExecutionContext context,
+      boolean isStruct, SelectResults newResults, boolean isStructFields,
+      boolean[] objectChangedMarker, int limitValue) throws FunctionDomainException,
+      TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    boolean isSingleOrderBy = this.orderByAttrs.size() <= 1;
+    Map<Object, Group> groups = new LinkedHashMap<>();
+    for (Object current : baseResults) {
+      Object key = getOrderByEvaluatedTuple(context, isSingleOrderBy,
+          isSingleOrderBy ? null : new Object[this.orderByAttrs.size()],
+          isStruct ? ((Struct) current).getFieldValues() : current, objectChangedMarker);
+      if (isSingleOrderBy) {
+        key = normalizeGroupKey(key);
+      } else {
+        Object[] columns = (Object[]) key;
+        for (int i = 0; i < columns.length; i++) {
+          columns[i] = normalizeGroupKey(columns[i]);
+        }
+        key = Arrays.asList(columns);
+      }
+      Group group = groups.get(key);
+      if (group == null) {
+        Aggregator[] aggregators = new Aggregator[this.aggregateFunctions.length];
+        refreshAggregators(aggregators, context);
+        group = new Group(current, aggregators);
+        groups.put(key, group);
+      }
+      accumulate(isStruct, group.aggregators, current, objectChangedMarker);
+    }
+
+    List<Group> sortedGroups = new ArrayList<>(groups.values());
+    if (sortedGroups.size() > 1) {
+      ObjectType elementType = baseResults.getCollectionType().getElementType();
+      Comparator comparator = new OrderByComparator(this.orderByAttrs, elementType, context);
+      sortedGroups.sort((group1, group2) -> comparator.compare(
+          isStruct ? ((Struct) group1.row).getFieldValues() : group1.row,
+          isStruct ? ((Struct) group2.row).getFieldValues() : group2.row));
+    }
+    for (Group group : sortedGroups) {
+      if (!terminateAndAddToResults(isStruct, newResults, group.aggregators, group.row, context,
+          isStructFields, limitValue)) {
+        break;
+      }
+    }
+
+    if (this.originalOrderByClause != null && limitValue > 0
+        && (context.getIsPRQueryNode() || !context.isPartialResultExecution())) {
       ((Bag) newResults).applyLimit(limitValue);
     }
   }
 
+  /**
+   * Returns the value of a group by column to hash, so that values that TypeUtils.compare finds
+   * equal are in the same group although they are not equal: integral numbers become a Long,
+   * floating point numbers a Double unless they hold an integral value, and PdxStrings a String.
+   */
+  private static Object normalizeGroupKey(Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short
+        || value instanceof Byte) {
+      return ((Number) value).longValue();
+    } else if (value instanceof Double || value instanceof Float) {
+      double doubleValue = ((Number) value).doubleValue();
+      long longValue = (long) doubleValue;
+      if (Double.compare(doubleValue, longValue) == 0) {
+        return longValue;
+      }
+      return doubleValue;
+    } else if (value instanceof PdxString) {
+      return value.toString();
+    }
+    return value;
+  }
+
+  @Override
+  boolean isOrderByOnlyForGrouping() {
+    return !DISABLE_HASH_GROUP_BY && this.orderByAttrs != null && !hasUnmappedOrderByCols();
+  }
+
   private boolean terminateAndAddToResults(boolean isStruct, SelectResults newResults,
       Aggregator[] aggregators, Object prev, ExecutionContext context, boolean isStrucFields,
       int limitValue) throws FunctionDomainException, TypeMismatchException,
@@ -351,7 +448,7 @@ public class CompiledGroupBySelect extends CompiledSelect {
     }
     boolean keepAdding = true;
     if (this.originalOrderByClause == null && limitValue > 0
-        && (context.getIsPRQueryNode() || context.getBucketList() == null)
+        && (context.getIsPRQueryNode() || !context.isPartialResultExecution())
         && newResults.size() == limitValue) {
       keepAdding = false;
     }
@@ -491,4 +588,16 @@ public class CompiledGroupBySelect extends CompiledSelect {
     return found;
   }
 
+  /**
+   * The first row of a group, which holds its group by columns, and the aggregators of the group.
+   */
+  private static class Group {
+    private final Object row;
+    private final Aggregator[] aggregators;
+
+    Group(Object row, Aggregator[] aggregators) {
+      this.row = row;
+      this.aggregators = aggregators;
+    }
+  }
 }
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
@@ -39,6 +40,7 @@ import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.Struct;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.index.AbstractIndex;
+import org.apache.geode.cache.query.internal.index.IndexProtocol;
 import org.apache.geode.cache.query.internal.index.PartitionedIndex;
 import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
 import org.apache.geode.cache.query.internal.types.StructTypeImpl;
@@ -46,8 +48,10 @@ import org.apache.geode.cache.query.internal.types.TypeUtils;
 import org.apache.geode.cache.query.types.CollectionType;
 import org.apache.geode.cache.query.types.ObjectType;
 import org.apache.geode.cache.query.types.StructType;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.internal.PdxFieldMatcher;
 import org.apache.geode.pdx.internal.PdxString;
 
 public class CompiledSelect extends AbstractCompiledValue {
@@ -87,6 +91,13 @@ public class CompiledSelect extends AbstractCompiledValue {
    */
   private static final String CLAUSE_EVALUATED = "Evaluated";
 
+  /**
+   * Disables skipping serialized pdx region values whose field cannot equal a constant in the where
+   * clause before they are deserialized.
+   */
+  private static final boolean DISABLE_PDX_FIELD_PUSHDOWN = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Query.DISABLE_PDX_FIELD_PUSHDOWN");
+
   public CompiledSelect(boolean distinct, boolean count, CompiledValue whereClause, List iterators,
       List projAttrs, List<CompiledSortCriterion> orderByAttrs, CompiledValue limit,
       List<String> hints, List<CompiledValue> groupByClause) {
@@ -384,6 +395,18 @@ public class CompiledSelect extends AbstractCompiledValue {
     return results;
   }
 
+  boolean hasUnmappedOrderByCols() {
+    return this.hasUnmappedOrderByCols;
+  }
+
+  /**
+   * Returns true if the order by attributes of this select are only used to group its results, so
+   * the results do not need to be collected in sort order.
+   */
+  boolean isOrderByOnlyForGrouping() {
+    return false;
+  }
+
   public ObjectType getElementTypeForOrderByQueries() {
     return this.cachedElementTypeForOrderBy;
   }
@@ -452,6 +475,8 @@ public class CompiledSelect extends AbstractCompiledValue {
             // ResultsSet.emptyResultsSet(resultSet, 0);
             // return result;
           }
+        } else if ((result = evaluateUsingCompositeIndex(context, limitValue)) != null) {
+          // the where clause was evaluated on a range of a composite index
         } else {
           // Check the numer of independent iterators
           int numInd = context.getAllIndependentIteratorsOfCurrentScope().size();
@@ -480,6 +505,11 @@ public class CompiledSelect extends AbstractCompiledValue {
             evalAsFilters = planInfo.evalAsFilter;
             // let context know if there is exactly one index lookup
             context.setOneIndexLookup(planInfo.indexes.size() == 1);
+            if (((QueryExecutionContext) context).isPlanRecorded()) {
+              ((QueryExecutionContext) context).addPlanStep(evalAsFilters
+                  ? "filter using " + getIndexNames(planInfo.indexes)
+                  : "scan evaluating where clause on every entry");
+            }
             if (evalAsFilters) {
               ((QueryExecutionContext) context).setIndexUsed(true);
               // Ignore order by attribs for a while
@@ -620,6 +650,44 @@ public class CompiledSelect extends AbstractCompiledValue {
     }
   }
 
+  /**
+   * Evaluates the query using a composite index whose leading indexed expressions are constrained
+   * by the where clause, building the results from the index keys if the index covers the query.
+   *
+   * @return the results, or null if no composite index can be used
+   */
+  private SelectResults evaluateUsingCompositeIndex(ExecutionContext context, int limitValue)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    CompositeIndexLookup lookup = CompositeIndexLookup.find(this, context);
+    if (lookup == null) {
+      return null;
+    }
+    // the lookup can stop early only if the first results found are part of the query result
+    boolean limitAtIndex = this.orderByAttrs == null && !this.distinct && !this.count;
+    int limit = limitAtIndex ? limitValue : -1;
+    SelectResults result;
+    if (lookup.isCovering()) {
+      result = prepareEmptyResultSet(context, false);
+      if (!lookup.addCoveredRows(result, limit, context)) {
+        return null;
+      }
+    } else {
+      SelectResults values = lookup.getMatchingValues(limit, context);
+      if (values == null) {
+        return null;
+      }
+      result = applyProjectionOnCollection(values, context, false);
+    }
+    QueryExecutionContext queryContext = (QueryExecutionContext) context;
+    queryContext.setIndexUsed(true);
+    if (queryContext.isPlanRecorded()) {
+      queryContext.addPlanStep((lookup.isCovering() ? "covered by composite index "
+          : "range of composite index ") + lookup.getIndexName());
+    }
+    return result;
+  }
+
   /**
    * The index is locked during query to prevent it from being removed by another thread. So we have
    * to release the lock only after whole query is finished as one query can use an index multiple
@@ -672,6 +740,17 @@ public class CompiledSelect extends AbstractCompiledValue {
     return evaluateLimitValue(bindArguments);
   }
 
+  private static String getIndexNames(List indexes) {
+    StringBuilder names = new StringBuilder("indexes [");
+    for (int i = 0; i < indexes.size(); i++) {
+      if (i > 0) {
+        names.append(", ");
+      }
+      names.append(((IndexProtocol) indexes.get(i)).getName());
+    }
+    return names.append(']').toString();
+  }
+
   // returns null if result is UNDEFINED
   private SelectResults doIterationEvaluate(ExecutionContext context, boolean evaluateWhereClause)
       throws TypeMismatchException, FunctionDomainException, NameResolutionException,
@@ -830,6 +909,23 @@ public class CompiledSelect extends AbstractCompiledValue {
         ((QRegion) sr).setKeepSerialized(true);
       }
 
+      // A parallel scan evaluates this query once per slice of the region
+      if (context.getScanSliceCount() > 0 && iterList.size() == 1 && sr instanceof QRegion
+          && ((DefaultQuery) context.getQuery()).getSimpleSelect() == this) {
+        ((QRegion) sr).setSlice(context.getScanSlice(), context.getScanSliceCount());
+      }
+
+      // With read-serialized the where clause reads pdx fields, so values whose serialized field
+      // cannot equal the constant are skipped before a PdxInstance is created for them
+      if (evaluateWhereClause && !DISABLE_PDX_FIELD_PUSHDOWN && iterList.size() == 1
+          && sr instanceof QRegion
+          && context.getCache().getPdxReadSerializedByAnyGemFireServices()) {
+        PdxFieldMatcher matcher = getPdxFieldMatcher(this.whereClause, rIter, context);
+        if (matcher != null) {
+          ((QRegion) sr).setSerializedValueFilter(matcher);
+        }
+      }
+
       // Iterate through the data set.
       for (Object aSr : sr) {
         // Check if query execution on this thread is canceled.
@@ -850,6 +946,60 @@ public class CompiledSelect extends AbstractCompiledValue {
     return numElementsInResult;
   }
 
+  /**
+   * Returns a matcher for the first equality between a field of the iterator and a constant that
+   * must hold for the where clause to be true, or null if there is none.
+   */
+  private PdxFieldMatcher getPdxFieldMatcher(CompiledValue condition, RuntimeIterator rIter,
+      ExecutionContext context) throws FunctionDomainException, NameResolutionException,
+      QueryInvocationTargetException {
+    if (condition instanceof CompiledJunction
+        && ((CompiledJunction) condition).getOperator() == LITERAL_and) {
+      for (Object operand : ((CompiledJunction) condition).getOperands()) {
+        PdxFieldMatcher matcher = getPdxFieldMatcher((CompiledValue) operand, rIter, context);
+        if (matcher != null) {
+          return matcher;
+        }
+      }
+      return null;
+    }
+    if (!(condition instanceof CompiledComparison)
+        || ((CompiledComparison) condition).getOperator() != TOK_EQ) {
+      return null;
+    }
+    List operands = condition.getChildren();
+    CompiledValue left = (CompiledValue) operands.get(0);
+    CompiledValue right = (CompiledValue) operands.get(1);
+    try {
+      PdxFieldMatcher matcher = getPdxFieldMatcher(left, right, rIter, context);
+      return matcher != null ? matcher : getPdxFieldMatcher(right, left, rIter, context);
+    } catch (TypeMismatchException | AmbiguousNameException ignore) {
+      return null;
+    }
+  }
+
+  private PdxFieldMatcher getPdxFieldMatcher(CompiledValue path, CompiledValue constant,
+      RuntimeIterator rIter, ExecutionContext context) throws TypeMismatchException,
+      AmbiguousNameException, FunctionDomainException, NameResolutionException,
+      QueryInvocationTargetException {
+    if (constant.getType() != LITERAL && constant.getType() != QUERY_PARAM) {
+      return null;
+    }
+    List pathOnItr = path.getPathOnIterator(rIter, context);
+    if (pathOnItr == null || pathOnItr.size() != 1) {
+      return null;
+    }
+    Object value = constant.evaluate(context);
+    if (value instanceof PdxString) {
+      value = value.toString();
+    }
+    if (value == null || value == QueryService.UNDEFINED) {
+      return null;
+    }
+    return new PdxFieldMatcher(context.getCache().getPdxRegistry(), (String) pathOnItr.get(0),
+        value);
+  }
+
   private SelectResults applyProjectionOnCollection(SelectResults resultSet,
       ExecutionContext context, boolean ignoreOrderBy) throws TypeMismatchException,
       FunctionDomainException, NameResolutionException, QueryInvocationTargetException {
@@ -956,6 +1106,7 @@ public class CompiledSelect extends AbstractCompiledValue {
 
   private SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
       throws TypeMismatchException, AmbiguousNameException {
+    ignoreOrderBy = ignoreOrderBy || isOrderByOnlyForGrouping();
     // If no projection attributes or '*' as projection attribute & more than one/RunTimeIterator
     // then create a StructSet.
     // If attribute is null or '*' & only one RuntimeIterator then create a ResultSet.
@@ -1142,6 +1293,7 @@ public class CompiledSelect extends AbstractCompiledValue {
   private int applyProjectionAndAddToResultSet(ExecutionContext context, SelectResults resultSet,
       boolean ignoreOrderBy) throws FunctionDomainException, TypeMismatchException,
       NameResolutionException, QueryInvocationTargetException {
+    ignoreOrderBy = ignoreOrderBy || isOrderByOnlyForGrouping();
     List currrentRuntimeIters = context.getCurrentIterators();
 
     int occurrence = 0;
@@ -1155,6 +1307,7 @@ public class CompiledSelect extends AbstractCompiledValue {
     ArrayList evaluatedOrderByClause = null;
     OrderByComparator comparator = null;
     boolean applyOrderBy = false;
+    int topN = -1;
     if (this.orderByAttrs != null && !ignoreOrderBy) {
       // In case PR order-by will get applied on the coordinator node
       // on the cumulative results. Apply the order-by on PR only if
@@ -1164,6 +1317,8 @@ public class CompiledSelect extends AbstractCompiledValue {
         applyOrderBy = false;
       }
       applyOrderBy = true;
+      // only the first LIMIT results in sort order can be part of the query result
+      topN = limitValue;
     }
 
     if (this.orderByAttrs != null && !ignoreOrderBy) {
@@ -1370,9 +1525,24 @@ public class CompiledSelect extends AbstractCompiledValue {
         }
       }
     }
+    if (topN > -1 && resultSet.size() > topN) {
+      removeLastInSortOrder(resultSet);
+    }
     return occurrence;
   }
 
+  /**
+   * Drops the last result of a sorted SelectResults so that an ORDER BY query with a LIMIT keeps
+   * at most LIMIT results while iterating instead of sorting every result and truncating them.
+   */
+  private static void removeLastInSortOrder(SelectResults resultSet) {
+    if (resultSet instanceof SortedResultsBag) {
+      ((SortedResultsBag) resultSet).removeLast();
+    } else {
+      ((TreeSet) resultSet).pollLast();
+    }
+  }
+
   private String generateProjectionName(CompiledValue projExpr, ExecutionContext context) {
     String name = null;
     if (projExpr instanceof RuntimeIterator) {
@@ -0,0 +1,485 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.AmbiguousNameException;
+import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.NameResolutionException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.index.CompositeKey;
+import org.apache.geode.cache.query.internal.index.CompositeRangeIndex;
+import org.apache.geode.cache.query.internal.index.IndexManager;
+import org.apache.geode.cache.query.internal.index.IndexUtils;
+import org.apache.geode.cache.query.internal.index.PartitionedIndex;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+import org.apache.geode.pdx.internal.PdxString;
+
+/**
+ * Evaluates a select with a single iterator over a region using a composite index. The where clause
+ * must be a comparison or a conjunction of conditions, and the conditions comparing indexed
+ * expressions of the index with values independent of the iterator must constrain its leading
+ * expressions with equality and optionally the next one with a range. The values in the range of
+ * the index bounded by those conditions are then checked against the whole where clause.
+ *
+ * If every condition of the where clause and every projection attribute is one of the indexed
+ * expressions, the query is covered by the index and its results are built from the index keys,
+ * without reading the values.
+ */
+class CompositeIndexLookup {
+
+  private final CompiledSelect select;
+
+  private final RuntimeIterator iterator;
+
+  private final CompositeRangeIndex index;
+
+  private final CompositeKey lowerBound;
+
+  private final boolean lowerBoundInclusive;
+
+  private final CompositeKey upperBound;
+
+  private final boolean upperBoundInclusive;
+
+  /** The number of leading indexed expressions constrained by the where clause */
+  private final int matchedComponents;
+
+  /** The conditions of the where clause, with the indexed expression each one compares */
+  private final List<KeyCondition> keyConditions;
+
+  /** The indexed expression of each projection attribute, or null if the query is not covered */
+  private final int[] projectedComponents;
+
+  private CompositeIndexLookup(CompiledSelect select, RuntimeIterator iterator,
+      CompositeRangeIndex index, CompositeKey lowerBound, boolean lowerBoundInclusive,
+      CompositeKey upperBound, boolean upperBoundInclusive, int matchedComponents,
+      List<KeyCondition> keyConditions, int[] projectedComponents) {
+    this.select = select;
+    this.iterator = iterator;
+    this.index = index;
+    this.lowerBound = lowerBound;
+    this.lowerBoundInclusive = lowerBoundInclusive;
+    this.upperBound = upperBound;
+    this.upperBoundInclusive = upperBoundInclusive;
+    this.matchedComponents = matchedComponents;
+    this.keyConditions = keyConditions;
+    this.projectedComponents = projectedComponents;
+  }
+
+  /**
+   * Returns a lookup on the composite index best suited to the select, or null if no composite
+   * index can be used. An index is used if the where clause constrains at least two of its indexed
+   * expressions, or if it covers the query.
+   */
+  static CompositeIndexLookup find(CompiledSelect select, ExecutionContext context)
+      throws AmbiguousNameException, TypeMismatchException, NameResolutionException,
+      FunctionDomainException, QueryInvocationTargetException {
+    if (context.isCqQueryContext() || !(context instanceof QueryExecutionContext)) {
+      return null;
+    }
+    List currentIterators = context.getCurrentIterators();
+    if (currentIterators.size() != 1) {
+      return null;
+    }
+    RuntimeIterator iterator = (RuntimeIterator) currentIterators.get(0);
+    String regionPath = context.getRegionPathForIndependentRuntimeIterator(iterator);
+    if (regionPath == null) {
+      return null;
+    }
+    Region region = context.getCache().getRegion(regionPath);
+    IndexManager indexManager = IndexUtils.getIndexManager(context.getCache(), region, false);
+    if (indexManager == null) {
+      return null;
+    }
+
+    CompiledValue whereClause = select.getWhereClause();
+    List operands;
+    if (whereClause instanceof CompiledJunction
+        && ((CompiledJunction) whereClause).getOperator() == OQLLexerTokenTypes.LITERAL_and) {
+      operands = whereClause.getChildren();
+    } else {
+      operands = Collections.singletonList(whereClause);
+    }
+    List<KeyCondition> conditions = new ArrayList<>(operands.size());
+    for (Object operand : operands) {
+      KeyCondition condition = KeyCondition.create((CompiledValue) operand, context);
+      if (condition != null) {
+        conditions.add(condition);
+      }
+    }
+    if (conditions.isEmpty()) {
+      return null;
+    }
+    boolean whereClauseMatched = conditions.size() == operands.size();
+
+    QueryExecutionContext queryContext = (QueryExecutionContext) context;
+    CompositeIndexLookup best = null;
+    for (Object candidate : indexManager.getIndexes()) {
+      if (candidate instanceof PartitionedIndex) {
+        candidate = ((PartitionedIndex) candidate).getBucketIndex();
+      }
+      if (!(candidate instanceof CompositeRangeIndex)) {
+        continue;
+      }
+      CompositeRangeIndex index = (CompositeRangeIndex) candidate;
+      String[] definitions = index.getCanonicalizedIteratorDefinitions();
+      if (!index.isValid() || !index.isPopulated() || definitions.length != 1
+          || !definitions[0].equals(iterator.getDefinition())
+          || (queryContext.hasHints() && !queryContext.isHinted(index.getName()))) {
+        continue;
+      }
+      CompositeIndexLookup lookup =
+          create(select, iterator, index, conditions, whereClauseMatched, context);
+      if (lookup != null && (best == null || lookup.isBetterThan(best))) {
+        best = lookup;
+      }
+    }
+    return best;
+  }
+
+  private static CompositeIndexLookup create(CompiledSelect select, RuntimeIterator iterator,
+      CompositeRangeIndex index, List<KeyCondition> conditions, boolean whereClauseMatched,
+      ExecutionContext context) throws AmbiguousNameException, TypeMismatchException,
+      NameResolutionException, FunctionDomainException, QueryInvocationTargetException {
+    String[] components = index.getCanonicalizedComponents();
+    List<KeyCondition> keyConditions = new ArrayList<>(conditions.size());
+    for (KeyCondition condition : conditions) {
+      int component = indexOf(components, condition.path);
+      if (component >= 0) {
+        keyConditions.add(condition.onComponent(component));
+      }
+    }
+
+    // equality on the leading components
+    List<Object> prefix = new ArrayList<>(components.length + 2);
+    for (int i = 0; i < components.length; i++) {
+      KeyCondition equality = null;
+      for (KeyCondition condition : keyConditions) {
+        if (condition.component == i && condition.operator == OQLLexerTokenTypes.TOK_EQ) {
+          equality = condition;
+          break;
+        }
+      }
+      if (equality == null) {
+        break;
+      }
+      Object value = equality.evaluateValue(context);
+      if (value == QueryService.UNDEFINED) {
+        return null;
+      }
+      prefix.add(value);
+    }
+
+    // range on the next component
+    KeyCondition lower = null;
+    KeyCondition upper = null;
+    Object lowerValue = null;
+    Object upperValue = null;
+    for (KeyCondition condition : keyConditions) {
+      if (condition.component != prefix.size()) {
+        continue;
+      }
+      int operator = condition.operator;
+      if (lower == null
+          && (operator == OQLLexerTokenTypes.TOK_GT || operator == OQLLexerTokenTypes.TOK_GE)) {
+        lowerValue = condition.evaluateValue(context);
+        lower = lowerValue == null || lowerValue == QueryService.UNDEFINED ? null : condition;
+      } else if (upper == null
+          && (operator == OQLLexerTokenTypes.TOK_LT || operator == OQLLexerTokenTypes.TOK_LE)) {
+        upperValue = condition.evaluateValue(context);
+        upper = upperValue == null || upperValue == QueryService.UNDEFINED ? null : condition;
+      }
+    }
+
+    int matchedComponents = prefix.size() + (lower != null || upper != null ? 1 : 0);
+    int[] projectedComponents = whereClauseMatched && keyConditions.size() == conditions.size()
+        ? getProjectedComponents(select, components, context) : null;
+    if (matchedComponents == 0 || (matchedComponents < 2 && projectedComponents == null)) {
+      return null;
+    }
+
+    CompositeKey lowerBound;
+    boolean lowerBoundInclusive;
+    CompositeKey upperBound;
+    boolean upperBoundInclusive;
+    if (lower != null) {
+      lowerBoundInclusive = lower.operator == OQLLexerTokenTypes.TOK_GE;
+      lowerBound = lowerBoundInclusive ? key(prefix, lowerValue) : key(prefix, lowerValue,
+          CompositeKey.MAX);
+    } else if (upper != null) {
+      // UNDEFINED and null are never less than a value
+      lowerBoundInclusive = false;
+      lowerBound = key(prefix, null, CompositeKey.MAX);
+    } else {
+      lowerBoundInclusive = true;
+      lowerBound = key(prefix);
+    }
+    if (upper != null) {
+      upperBoundInclusive = upper.operator == OQLLexerTokenTypes.TOK_LE;
+      upperBound = upperBoundInclusive ? key(prefix, upperValue, CompositeKey.MAX)
+          : key(prefix, upperValue);
+    } else {
+      upperBoundInclusive = false;
+      upperBound = key(prefix, CompositeKey.MAX);
+    }
+
+    return new CompositeIndexLookup(select, iterator, index, lowerBound, lowerBoundInclusive,
+        upperBound, upperBoundInclusive, matchedComponents, keyConditions, projectedComponents);
+  }
+
+  /**
+   * Returns the indexed expression of each projection attribute, or null if the query cannot be
+   * answered from the index keys
+   */
+  private static int[] getProjectedComponents(CompiledSelect select, String[] components,
+      ExecutionContext context)
+      throws AmbiguousNameException, TypeMismatchException, NameResolutionException {
+    List projectionAttributes = select.getProjectionAttributes();
+    if (projectionAttributes == null || select.getType() != OQLLexerTokenTypes.LITERAL_select
+        || select.isOrderBy() || select.isCount()) {
+      return null;
+    }
+    int[] projectedComponents = new int[projectionAttributes.size()];
+    for (int i = 0; i < projectedComponents.length; i++) {
+      CompiledValue projection = (CompiledValue) ((Object[]) projectionAttributes.get(i))[1];
+      StringBuilder canonicalized = new StringBuilder();
+      projection.generateCanonicalizedExpression(canonicalized, context);
+      projectedComponents[i] = indexOf(components, canonicalized.toString());
+      if (projectedComponents[i] < 0) {
+        return null;
+      }
+    }
+    return projectedComponents;
+  }
+
+  private static CompositeKey key(List<Object> prefix, Object... components) {
+    Object[] key = prefix.toArray(new Object[prefix.size() + components.length]);
+    System.arraycopy(components, 0, key, prefix.size(), components.length);
+    return new CompositeKey(key);
+  }
+
+  private static int indexOf(String[] components, String path) {
+    for (int i = 0; i < components.length; i++) {
+      if (components[i].equals(path)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean isBetterThan(CompositeIndexLookup other) {
+    if (isCovering() != other.isCovering()) {
+      return isCovering();
+    }
+    return this.matchedComponents > other.matchedComponents;
+  }
+
+  String getIndexName() {
+    return this.index.getName();
+  }
+
+  boolean isCovering() {
+    return this.projectedComponents != null;
+  }
+
+  /**
+   * Returns the values of the iterator that satisfy the where clause, or null if the index could
+   * not be used after all.
+   *
+   * @param limit the number of values after which the lookup can stop, or -1 for all of them
+   */
+  SelectResults getMatchingValues(int limit, ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    CompiledValue whereClause = this.select.getWhereClause();
+    ResultsBag values = new ResultsBag(this.iterator.getElementType(),
+        context.getCachePerfStats());
+    boolean used;
+    try {
+      used = this.index.visitEntries(this.lowerBound, this.lowerBoundInclusive, this.upperBound,
+          this.upperBoundInclusive, context, (key, value, updateInProgress) -> {
+            this.iterator.setCurrent(value);
+            if (QueryUtils.applyCondition(whereClause, context)) {
+              values.add(value);
+            }
+            return limit < 0 || values.size() < limit;
+          });
+    } catch (ClassCastException ignore) {
+      // the values of the conditions are not comparable with the keys of the index
+      used = false;
+    }
+    return used ? values : null;
+  }
+
+  /**
+   * Adds the projected rows of the entries satisfying the where clause to the results, built from
+   * the index keys, and returns false if the index could not be used after all.
+   *
+   * @param limit the number of results after which the lookup can stop, or -1 for all of them
+   */
+  boolean addCoveredRows(SelectResults results, int limit, ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    CompiledValue whereClause = this.select.getWhereClause();
+    List projectionAttributes = this.select.getProjectionAttributes();
+    boolean isStruct = results.getCollectionType().getElementType().isStructType();
+    Object[] conditionValues = new Object[this.keyConditions.size()];
+    for (int i = 0; i < conditionValues.length; i++) {
+      conditionValues[i] = this.keyConditions.get(i).evaluateValue(context);
+    }
+    try {
+      return this.index.visitEntries(this.lowerBound, this.lowerBoundInclusive, this.upperBound,
+          this.upperBoundInclusive, context, (key, value, updateInProgress) -> {
+            Object[] row = new Object[this.projectedComponents.length];
+            if (updateInProgress) {
+              // the key may be stale, so evaluate the query on the value
+              this.iterator.setCurrent(value);
+              if (!QueryUtils.applyCondition(whereClause, context)) {
+                return true;
+              }
+              for (int i = 0; i < row.length; i++) {
+                row[i] = ((CompiledValue) ((Object[]) projectionAttributes.get(i))[1])
+                    .evaluate(context);
+                if (row[i] instanceof PdxString) {
+                  row[i] = row[i].toString();
+                }
+              }
+            } else {
+              for (int i = 0; i < conditionValues.length; i++) {
+                KeyCondition condition = this.keyConditions.get(i);
+                if (!Boolean.TRUE.equals(TypeUtils.compare(key.get(condition.component),
+                    conditionValues[i], condition.operator))) {
+                  return true;
+                }
+              }
+              for (int i = 0; i < row.length; i++) {
+                row[i] = key.get(this.projectedComponents[i]);
+              }
+            }
+            addRow(results, row, isStruct);
+            return limit < 0 || results.size() < limit;
+          });
+    } catch (ClassCastException ignore) {
+      // the values of the conditions are not comparable with the keys of the index
+      return false;
+    }
+  }
+
+  private void addRow(SelectResults results, Object[] row, boolean isStruct) {
+    if (this.select.isDistinct()) {
+      if (isStruct) {
+        ((StructFields) results).addFieldValues(row);
+      } else {
+        results.add(row[0]);
+      }
+    } else {
+      if (isStruct) {
+        ((Bag) results).addAndGetOccurence(row);
+      } else {
+        ((Bag) results).addAndGetOccurence(row[0]);
+      }
+    }
+  }
+
+  /**
+   * A comparison of an expression on the iterator with a value independent of it, such as
+   * "p.status = 'active'" or "$1 < p.ID". The operator is reflected when the expression is on the
+   * right, so that it always reads as expression operator value.
+   */
+  private static class KeyCondition {
+
+    private final String path;
+
+    private final int operator;
+
+    private final CompiledValue value;
+
+    /** The indexed expression the path matches */
+    private final int component;
+
+    private KeyCondition(String path, int operator, CompiledValue value, int component) {
+      this.path = path;
+      this.operator = operator;
+      this.value = value;
+      this.component = component;
+    }
+
+    static KeyCondition create(CompiledValue operand, ExecutionContext context)
+        throws AmbiguousNameException, TypeMismatchException, NameResolutionException {
+      if (!(operand instanceof CompiledComparison)) {
+        return null;
+      }
+      CompiledComparison comparison = (CompiledComparison) operand;
+      int operator = comparison.getOperator();
+      if (operator != OQLLexerTokenTypes.TOK_EQ && operator != OQLLexerTokenTypes.TOK_LT
+          && operator != OQLLexerTokenTypes.TOK_LE && operator != OQLLexerTokenTypes.TOK_GT
+          && operator != OQLLexerTokenTypes.TOK_GE) {
+        return null;
+      }
+      CompiledValue path;
+      CompiledValue value;
+      if (!comparison._right.isDependentOnCurrentScope(context)) {
+        path = comparison._left;
+        value = comparison._right;
+      } else if (!comparison._left.isDependentOnCurrentScope(context)) {
+        path = comparison._right;
+        value = comparison._left;
+        operator = reflect(operator);
+      } else {
+        return null;
+      }
+      if (!path.isDependentOnCurrentScope(context)) {
+        return null;
+      }
+      StringBuilder canonicalized = new StringBuilder();
+      path.generateCanonicalizedExpression(canonicalized, context);
+      return new KeyCondition(canonicalized.toString(), operator, value, -1);
+    }
+
+    private static int reflect(int operator) {
+      switch (operator) {
+        case OQLLexerTokenTypes.TOK_LT:
+          return OQLLexerTokenTypes.TOK_GT;
+        case OQLLexerTokenTypes.TOK_LE:
+          return OQLLexerTokenTypes.TOK_GE;
+        case OQLLexerTokenTypes.TOK_GT:
+          return OQLLexerTokenTypes.TOK_LT;
+        case OQLLexerTokenTypes.TOK_GE:
+          return OQLLexerTokenTypes.TOK_LE;
+        default:
+          return operator;
+      }
+    }
+
+    KeyCondition onComponent(int component) {
+      return new KeyCondition(this.path, this.operator, this.value, component);
+    }
+
+    Object evaluateValue(ExecutionContext context) throws FunctionDomainException,
+        TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+      Object result = this.value.evaluate(context);
+      return result instanceof PdxString ? result.toString() : result;
+    }
+  }
+}
@@ -0,0 +1,508 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.internal.cq.ServerCQ;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.internal.PdxString;
+
+/**
+ * Indexes the predicates of the CQs of a region so that the value of an entry event is only
+ * evaluated against the CQs that it may match, instead of against all of them.
+ *
+ * For each CQ, one comparison of an attribute of the iterator with a string, number or boolean
+ * literal is picked from the conjuncts of the where clause, such as {@code p.status = 'active'} or
+ * {@code p.price > 10 and p.price <= 20}. Equalities are looked up in hash buckets and ranges in
+ * interval trees, so that the cost of matching a value grows with the number of indexed attributes
+ * and of matched CQs rather than with the number of CQs. The CQs whose where clause has no such
+ * comparison are candidates for every value.
+ *
+ * The candidates are a superset of the CQs matched by the value: the CQs whose attribute could not
+ * be read or has a value of another type are candidates too, so that the errors raised by their
+ * evaluation are still reported.
+ *
+ * Updates are serialized, while candidates may be looked up concurrently with them.
+ */
+public class CqPredicateIndex {
+
+  /** The indexed CQs by server CQ name. Guarded by this. */
+  private final Map<String, Registration> registrations = new HashMap<>();
+
+  /** The CQs whose predicate is not indexed */
+  private final Set<ServerCQ> unindexedCqs = ConcurrentHashMap.newKeySet();
+
+  /** The indexed predicates by attribute path */
+  private final Map<String, AttributePredicates> attributes = new ConcurrentHashMap<>();
+
+  /**
+   * Indexes the predicate of a CQ, replacing the CQ previously indexed with the same name if any
+   */
+  public synchronized void add(String serverCqName, ServerCQ cq) {
+    Registration registration = new Registration(cq, Predicate.of(cq));
+    if (registration.predicate == null) {
+      this.unindexedCqs.add(cq);
+    } else {
+      this.attributes
+          .computeIfAbsent(registration.predicate.attribute,
+              attribute -> new AttributePredicates(registration.predicate.path))
+          .add(registration);
+    }
+    unindex(this.registrations.put(serverCqName, registration));
+  }
+
+  /**
+   * Removes the CQ indexed with a name
+   */
+  public synchronized void remove(String serverCqName) {
+    unindex(this.registrations.remove(serverCqName));
+  }
+
+  private void unindex(Registration registration) {
+    if (registration == null) {
+      return;
+    }
+    if (registration.predicate == null) {
+      this.unindexedCqs.remove(registration.cq);
+      return;
+    }
+    AttributePredicates predicates = this.attributes.get(registration.predicate.attribute);
+    predicates.remove(registration);
+    if (predicates.isEmpty()) {
+      this.attributes.remove(registration.predicate.attribute);
+    }
+  }
+
+  /**
+   * Returns the number of indexed CQs
+   */
+  public synchronized int size() {
+    return this.registrations.size();
+  }
+
+  /**
+   * Returns the CQs that may match at least one of some entry values
+   */
+  public Set<ServerCQ> getCandidates(Collection<?> values, InternalCache cache) {
+    Set<ServerCQ> candidates = new HashSet<>(this.unindexedCqs);
+    if (this.attributes.isEmpty()) {
+      return candidates;
+    }
+    ExecutionContext context = new QueryExecutionContext(null, cache);
+    for (AttributePredicates predicates : this.attributes.values()) {
+      for (Object value : values) {
+        predicates.addCandidates(value, context, candidates);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * The types of values compared by the indexed predicates
+   */
+  enum Category {
+    STRING, NUMBER, BOOLEAN;
+
+    /**
+     * Returns the category of a value, or null if predicates on it are not indexed
+     */
+    static Category of(Object value) {
+      if (value instanceof String) {
+        return STRING;
+      }
+      if (value instanceof Integer || value instanceof Long || value instanceof Double
+          || value instanceof Float || value instanceof Short || value instanceof Byte) {
+        return NUMBER;
+      }
+      if (value instanceof Boolean) {
+        return BOOLEAN;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Returns the key of the equality bucket of a value. Numbers are keyed by their float value,
+   * which is the same for all the numbers that OQL finds equal whatever their types.
+   */
+  static Object equalityKey(Object value, Category category) {
+    if (category == Category.NUMBER) {
+      return (float) ((Number) value).doubleValue();
+    }
+    return value;
+  }
+
+  /**
+   * Returns the key of a value in the interval trees. Numbers are keyed by their double value,
+   * which preserves the OQL ordering of numbers of different types, except that distinct numbers
+   * may get the same key. The numeric bounds are therefore always inclusive.
+   */
+  static Comparable rangeKey(Object value, Category category) {
+    if (category == Category.NUMBER) {
+      return ((Number) value).doubleValue();
+    }
+    return (Comparable) value;
+  }
+
+  /**
+   * Returns true if the ordering of a string is the same as a string and as a {@link PdxString},
+   * which compares the bytes of the UTF-8 encoding
+   */
+  static boolean hasPdxOrdering(String string) {
+    for (int i = 0; i < string.length(); i++) {
+      char c = string.charAt(i);
+      if (c == 0 || c > 0x7f) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The predicates on an attribute of the iterated values
+   */
+  private static class AttributePredicates {
+    private final String[] path;
+
+    /** The CQs comparing the attribute for equality, by {@link #equalityKey} */
+    private final Map<Object, Set<ServerCQ>> equalities = new ConcurrentHashMap<>();
+
+    private final IntervalTree<String, ServerCQ> stringRanges = new IntervalTree<>();
+
+    private final IntervalTree<Double, ServerCQ> numberRanges = new IntervalTree<>();
+
+    /** All the CQs of the predicates, by category */
+    private final Map<Category, Set<ServerCQ>> cqs = new ConcurrentHashMap<>();
+
+    private AttributePredicates(String[] path) {
+      this.path = path;
+    }
+
+    private void add(Registration registration) {
+      Predicate predicate = registration.predicate;
+      if (predicate.equalityKey != null) {
+        this.equalities.computeIfAbsent(predicate.equalityKey, key -> ConcurrentHashMap.newKeySet())
+            .add(registration.cq);
+      } else if (predicate.category == Category.STRING) {
+        registration.interval = this.stringRanges.add((String) predicate.lower,
+            predicate.lowerInclusive, (String) predicate.upper, predicate.upperInclusive,
+            registration.cq);
+      } else {
+        registration.interval = this.numberRanges.add((Double) predicate.lower,
+            predicate.lowerInclusive, (Double) predicate.upper, predicate.upperInclusive,
+            registration.cq);
+      }
+      this.cqs.computeIfAbsent(predicate.category, category -> ConcurrentHashMap.newKeySet())
+          .add(registration.cq);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(Registration registration) {
+      Predicate predicate = registration.predicate;
+      if (predicate.equalityKey != null) {
+        Set<ServerCQ> bucket = this.equalities.get(predicate.equalityKey);
+        bucket.remove(registration.cq);
+        if (bucket.isEmpty()) {
+          this.equalities.remove(predicate.equalityKey);
+        }
+      } else if (predicate.category == Category.STRING) {
+        this.stringRanges.remove((IntervalTree.Interval<String, ServerCQ>) registration.interval);
+      } else {
+        this.numberRanges.remove((IntervalTree.Interval<Double, ServerCQ>) registration.interval);
+      }
+      Set<ServerCQ> categoryCqs = this.cqs.get(predicate.category);
+      categoryCqs.remove(registration.cq);
+      if (categoryCqs.isEmpty()) {
+        this.cqs.remove(predicate.category);
+      }
+    }
+
+    private boolean isEmpty() {
+      return this.cqs.isEmpty();
+    }
+
+    private void addCandidates(Object value, ExecutionContext context, Set<ServerCQ> candidates) {
+      boolean pdxString = false;
+      try {
+        for (String attribute : this.path) {
+          if (value == null || value == QueryService.UNDEFINED) {
+            break;
+          }
+          value = PathUtils.evaluateAttribute(context, value, attribute);
+        }
+      } catch (Exception e) {
+        // the evaluation of the CQs will fail as well, and report the error
+        for (Set<ServerCQ> categoryCqs : this.cqs.values()) {
+          candidates.addAll(categoryCqs);
+        }
+        return;
+      }
+      if (value == null || value == QueryService.UNDEFINED) {
+        // no comparison with null or UNDEFINED is true
+        return;
+      }
+      if (value instanceof PdxString) {
+        value = value.toString();
+        pdxString = true;
+      }
+      Category category = Category.of(value);
+      for (Map.Entry<Category, Set<ServerCQ>> entry : this.cqs.entrySet()) {
+        if (entry.getKey() != category) {
+          candidates.addAll(entry.getValue());
+        }
+      }
+      if (category == null) {
+        return;
+      }
+      Set<ServerCQ> bucket = this.equalities.get(equalityKey(value, category));
+      if (bucket != null) {
+        candidates.addAll(bucket);
+      }
+      if (category == Category.STRING) {
+        if (pdxString && !hasPdxOrdering((String) value)) {
+          Set<ServerCQ> stringCqs = this.cqs.get(Category.STRING);
+          if (stringCqs != null) {
+            candidates.addAll(stringCqs);
+          }
+        } else {
+          this.stringRanges.addContaining((String) value, candidates);
+        }
+      } else if (category == Category.NUMBER) {
+        this.numberRanges.addContaining((Double) rangeKey(value, category), candidates);
+      }
+    }
+  }
+
+  private static class Registration {
+    private final ServerCQ cq;
+    private final Predicate predicate;
+    /** The interval of a range predicate */
+    private IntervalTree.Interval<?, ServerCQ> interval;
+
+    private Registration(ServerCQ cq, Predicate predicate) {
+      this.cq = cq;
+      this.predicate = predicate;
+    }
+  }
+
+  /**
+   * The indexed predicate of a CQ: either an equality, or a range bounded on one or both sides
+   */
+  static class Predicate {
+    private final String attribute;
+    private final String[] path;
+    private final Category category;
+    private final Object equalityKey;
+    private final Comparable lower;
+    private final boolean lowerInclusive;
+    private final Comparable upper;
+    private final boolean upperInclusive;
+
+    private Predicate(List<String> path, Category category, Object equalityKey, Comparable lower,
+        boolean lowerInclusive, Comparable upper, boolean upperInclusive) {
+      this.attribute = String.join(".", path);
+      this.path = path.toArray(new String[0]);
+      this.category = category;
+      this.equalityKey = equalityKey;
+      this.lower = lower;
+      this.lowerInclusive = lowerInclusive;
+      this.upper = upper;
+      this.upperInclusive = upperInclusive;
+    }
+
+    String getAttribute() {
+      return this.attribute;
+    }
+
+    boolean isEquality() {
+      return this.equalityKey != null;
+    }
+
+    /**
+     * Returns the indexed predicate of a CQ, or null if its where clause has no comparison that
+     * can be indexed
+     */
+    static Predicate of(ServerCQ cq) {
+      Query query = cq.getQuery();
+      if (!(query instanceof DefaultQuery)) {
+        return null;
+      }
+      CompiledSelect select = ((DefaultQuery) query).getSimpleSelect();
+      if (select == null || select.getWhereClause() == null || select.getIterators() == null
+          || select.getIterators().size() != 1) {
+        return null;
+      }
+      String alias = ((CompiledIteratorDef) select.getIterators().get(0)).getName();
+      List<Comparison> comparisons = new ArrayList<>();
+      addComparisons(select.getWhereClause(), alias, comparisons);
+      if (comparisons.isEmpty()) {
+        return null;
+      }
+
+      for (Comparison comparison : comparisons) {
+        if (comparison.operator == OQLLexerTokenTypes.TOK_EQ) {
+          return new Predicate(comparison.path, comparison.category,
+              equalityKey(comparison.literal, comparison.category), null, false, null, false);
+        }
+      }
+
+      // Prefer the range bounded on both sides, then the first one
+      Predicate best = null;
+      for (Comparison first : comparisons) {
+        Predicate predicate = range(first, comparisons);
+        if (predicate != null && (best == null
+            || (best.lower == null || best.upper == null) && predicate.lower != null
+                && predicate.upper != null)) {
+          best = predicate;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Returns the range bounding an attribute with the first lower and upper bounds of the
+     * comparisons on it
+     */
+    private static Predicate range(Comparison first, List<Comparison> comparisons) {
+      if (first.category == Category.BOOLEAN) {
+        return null;
+      }
+      Object lower = null;
+      boolean lowerInclusive = false;
+      Object upper = null;
+      boolean upperInclusive = false;
+      for (Comparison comparison : comparisons) {
+        if (comparison.category != first.category || !comparison.path.equals(first.path)
+            || (comparison.category == Category.STRING
+                && !hasPdxOrdering((String) comparison.literal))) {
+          continue;
+        }
+        boolean inclusive = comparison.category == Category.NUMBER
+            || comparison.operator == OQLLexerTokenTypes.TOK_GE
+            || comparison.operator == OQLLexerTokenTypes.TOK_LE;
+        if (lower == null && (comparison.operator == OQLLexerTokenTypes.TOK_GT
+            || comparison.operator == OQLLexerTokenTypes.TOK_GE)) {
+          lower = comparison.literal;
+          lowerInclusive = inclusive;
+        } else if (upper == null && (comparison.operator == OQLLexerTokenTypes.TOK_LT
+            || comparison.operator == OQLLexerTokenTypes.TOK_LE)) {
+          upper = comparison.literal;
+          upperInclusive = inclusive;
+        }
+      }
+      if (lower == null && upper == null) {
+        return null;
+      }
+      return new Predicate(first.path, first.category, null,
+          lower == null ? null : rangeKey(lower, first.category), lowerInclusive,
+          upper == null ? null : rangeKey(upper, first.category), upperInclusive);
+    }
+
+    /**
+     * Adds the comparisons of an attribute with a literal that are conjuncts of a condition
+     */
+    private static void addComparisons(CompiledValue condition, String alias,
+        List<Comparison> comparisons) {
+      if (condition instanceof CompiledJunction) {
+        CompiledJunction junction = (CompiledJunction) condition;
+        if (junction.getOperator() == OQLLexerTokenTypes.LITERAL_and) {
+          for (Object operand : junction.getChildren()) {
+            addComparisons((CompiledValue) operand, alias, comparisons);
+          }
+        }
+      } else if (condition instanceof CompiledComparison) {
+        CompiledComparison comparison = (CompiledComparison) condition;
+        int operator = comparison.getOperator();
+        CompiledValue attribute = comparison._left;
+        CompiledValue literal = comparison._right;
+        if (attribute instanceof CompiledLiteral) {
+          attribute = comparison._right;
+          literal = comparison._left;
+          operator = reflect(operator);
+        }
+        if (!(literal instanceof CompiledLiteral) || operator == OQLLexerTokenTypes.TOK_NE) {
+          return;
+        }
+        Object value = ((CompiledLiteral) literal)._obj;
+        Category category = Category.of(value);
+        List<String> path = getPath(attribute, alias);
+        if (category != null && path != null) {
+          comparisons.add(new Comparison(path, operator, value, category));
+        }
+      }
+    }
+
+    /**
+     * Returns the attributes read from the iterated value by an expression, or null if the
+     * expression is not a path of attributes
+     */
+    private static List<String> getPath(CompiledValue expression, String alias) {
+      List<String> path = new ArrayList<>();
+      while (expression instanceof CompiledPath) {
+        path.add(0, ((CompiledPath) expression).getTailID());
+        expression = ((CompiledPath) expression).getReceiver();
+      }
+      if (!(expression instanceof CompiledID)) {
+        return null;
+      }
+      String id = ((CompiledID) expression).getId();
+      if (!id.equals(alias)) {
+        // an implicit attribute of the iterated value
+        path.add(0, id);
+      }
+      return path;
+    }
+
+    private static int reflect(int operator) {
+      switch (operator) {
+        case OQLLexerTokenTypes.TOK_LT:
+          return OQLLexerTokenTypes.TOK_GT;
+        case OQLLexerTokenTypes.TOK_LE:
+          return OQLLexerTokenTypes.TOK_GE;
+        case OQLLexerTokenTypes.TOK_GT:
+          return OQLLexerTokenTypes.TOK_LT;
+        case OQLLexerTokenTypes.TOK_GE:
+          return OQLLexerTokenTypes.TOK_LE;
+        default:
+          return operator;
+      }
+    }
+  }
+
+  private static class Comparison {
+    private final List<String> path;
+    private final int operator;
+    private final Object literal;
+    private final Category category;
+
+    private Comparison(List<String> path, int operator, Object literal, Category category) {
+      this.path = path;
+      this.operator = operator;
+      this.literal = literal;
+      this.category = category;
+    }
+  }
+}
@@ -48,10 +48,12 @@ import org.apache.geode.cache.query.RegionNotFoundException;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
+import org.apache.geode.cache.query.internal.index.IndexManager;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.NanoTimer;
 import org.apache.geode.internal.cache.BucketRegion;
 import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.LocalDataSet;
 import org.apache.geode.internal.cache.PRQueryProcessor;
 import org.apache.geode.internal.cache.PartitionedRegion;
@@ -80,6 +82,8 @@ public class DefaultQuery implements Query {
 
   private boolean traceOn = false;
 
+  private final boolean resultCacheRequested;
+
   @Immutable
   private static final Object[] EMPTY_ARRAY = new Object[0];
 
@@ -175,6 +179,7 @@ public class DefaultQuery implements Query {
       }
     }
     this.traceOn = compiler.isTraceRequested() || QUERY_VERBOSE;
+    this.resultCacheRequested = compiler.isResultCacheRequested();
     this.cache = cache;
     statisticsClock = cache.getStatisticsClock();
     this.stats = new DefaultQueryStatistics();
@@ -227,6 +232,16 @@ public class DefaultQuery implements Query {
     QueryMonitor queryMonitor = null;
     QueryExecutor qe = checkQueryOnPR(params);
 
+    QueryResultCache.Lookup resultCacheLookup = null;
+    if (qe == null && this.resultCacheRequested && !this.isCqQuery) {
+      resultCacheLookup = this.cache.getQueryResultCache().lookup(this, params, this.cache);
+      if (resultCacheLookup != null && resultCacheLookup.getCachedResult() != null) {
+        updateStatistics(0);
+        // the values of the cached result may be shared with the region entries, copy them
+        return wrapLocalResult(resultCacheLookup.getCachedResult(), this.cache.getCopyOnRead());
+      }
+    }
+
     Object result = null;
     Boolean initialPdxReadSerialized = this.cache.getPdxReadSerializedOverride();
     final ExecutionContext context = new QueryExecutionContext(params, this.cache, this);
@@ -264,7 +279,18 @@ public class DefaultQuery implements Query {
         queryMonitor.monitorQueryExecution(context);
       }
 
-      result = executeUsingContext(context);
+      if (resultCacheLookup != null) {
+        // a result computed from stale indexes would stay cached until the next change
+        waitForAsyncIndexMaintenance(context);
+      }
+      if (ParallelQueryExecutor.canExecute(this, this.cache)) {
+        result = new ParallelQueryExecutor(this, params).execute(context);
+      } else {
+        result = executeUsingContext(context);
+      }
+      if (resultCacheLookup != null) {
+        result = resultCacheLookup.complete(result);
+      }
       // Only wrap/copy results when copy on read is set and an index is used
       // This is because when an index is used, the results are actual references to values in the
       // cache
@@ -284,29 +310,43 @@ public class DefaultQuery implements Query {
           this.cache.getCopyOnRead() && !DefaultQueryService.COPY_ON_READ_AT_ENTRY_LEVEL
               || (((QueryExecutionContext) context).isIndexUsed()
                   && DefaultQueryService.COPY_ON_READ_AT_ENTRY_LEVEL);
-      // For local queries returning pdx objects wrap the resultset with
-      // ResultsCollectionPdxDeserializerWrapper
-      // which deserializes these pdx objects.
-      if (needsPDXDeserializationWrapper(false /* is query on PR */)
-          && result instanceof SelectResults) {
-        result = new ResultsCollectionPdxDeserializerWrapper((SelectResults) result,
-            needsCopyOnReadWrapper);
-      } else if (!isRemoteQuery() && this.cache.getCopyOnRead()
-          && result instanceof SelectResults) {
-        if (needsCopyOnReadWrapper) {
-          result = new ResultsCollectionCopyOnReadWrapper((SelectResults) result);
-        }
-      }
+      result = wrapLocalResult(result, needsCopyOnReadWrapper);
       return result;
     } catch (QueryExecutionCanceledException ignore) {
       return context.reinterpretQueryExecutionCanceledException();
     } finally {
+      if (resultCacheLookup != null) {
+        // does nothing if the result has already been cached
+        resultCacheLookup.complete(null);
+      }
       this.cache.setPdxReadSerializedOverride(initialPdxReadSerialized);
       if (queryMonitor != null) {
         queryMonitor.stopMonitoringQueryExecution(context);
       }
-      this.endTrace(indexObserver, startTime, result);
+      this.endTrace(indexObserver, startTime, result,
+          ((QueryExecutionContext) context).getPlanSteps());
+    }
+  }
+
+  /**
+   * Wraps the result of a local query on regions other than partitioned regions so that it
+   * deserializes the pdx objects and copies the values if needed.
+   */
+  private Object wrapLocalResult(Object result, boolean needsCopyOnReadWrapper) {
+    // For local queries returning pdx objects wrap the resultset with
+    // ResultsCollectionPdxDeserializerWrapper
+    // which deserializes these pdx objects.
+    if (needsPDXDeserializationWrapper(false /* is query on PR */)
+        && result instanceof SelectResults) {
+      result = new ResultsCollectionPdxDeserializerWrapper((SelectResults) result,
+          needsCopyOnReadWrapper);
+    } else if (!isRemoteQuery() && this.cache.getCopyOnRead()
+        && result instanceof SelectResults) {
+      if (needsCopyOnReadWrapper) {
+        result = new ResultsCollectionCopyOnReadWrapper((SelectResults) result);
+      }
     }
+    return result;
   }
 
   /**
@@ -421,6 +461,9 @@ public class DefaultQuery implements Query {
         DefaultQuery.testHook.doTestHook(TestHook.SPOTS.BEFORE_QUERY_DEPENDENCY_COMPUTATION, this,
             context);
       }
+      if (IndexManager.QUERIES_WAIT_FOR_ASYNC_INDEX_MAINTENANCE) {
+        waitForAsyncIndexMaintenance(context);
+      }
       Object results = null;
       try {
         // two-pass evaluation.
@@ -447,6 +490,38 @@ public class DefaultQuery implements Query {
     }
   }
 
+  /**
+   * Waits until the asynchronous index updates queued by the writes that completed before the
+   * query started have been applied to the indexes of the regions it queries. For a partitioned
+   * region these are the indexes of the buckets the context queries on this member.
+   */
+  private void waitForAsyncIndexMaintenance(ExecutionContext context) {
+    try {
+      for (String regionPath : getRegionsInQuery(context.bindArguments)) {
+        Region region = this.cache.getRegion(regionPath);
+        if (region instanceof PartitionedRegion) {
+          PartitionedRegion partitionedRegion = (PartitionedRegion) region;
+          if (context.getBucketList() == null || partitionedRegion.getDataStore() == null) {
+            continue;
+          }
+          for (Object bucketId : context.getBucketList()) {
+            BucketRegion bucket =
+                partitionedRegion.getDataStore().getLocalBucketById((Integer) bucketId);
+            if (bucket != null && bucket.getIndexManager() != null) {
+              bucket.getIndexManager().waitForPendingUpdates();
+            }
+          }
+        } else if (region instanceof InternalRegion
+            && ((InternalRegion) region).getIndexManager() != null) {
+          ((InternalRegion) region).getIndexManager().waitForPendingUpdates();
+        }
+      }
+    } catch (InterruptedException ignore) {
+      // evaluate the query without waiting for the remaining updates
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private QueryExecutor checkQueryOnPR(Object[] parameters)
       throws RegionNotFoundException, PartitionOfflineException {
 
@@ -870,6 +945,14 @@ public class DefaultQuery implements Query {
   }
 
   public void endTrace(QueryObserver indexObserver, long startTime, Object result) {
+    endTrace(indexObserver, startTime, result, null);
+  }
+
+  /**
+   * @param planSteps the access paths chosen while executing the query, logged with its trace
+   */
+  void endTrace(QueryObserver indexObserver, long startTime, Object result,
+      Collection<String> planSteps) {
     if (this.traceOn && this.cache != null) {
       int resultSize = -1;
 
@@ -879,6 +962,9 @@ public class DefaultQuery implements Query {
 
       String queryVerboseMsg =
           DefaultQuery.getLogMessage(indexObserver, startTime, resultSize, this.queryString);
+      if (planSteps != null && !planSteps.isEmpty()) {
+        queryVerboseMsg += " plan: " + planSteps;
+      }
       this.cache.getLogger().info(queryVerboseMsg);
     }
   }
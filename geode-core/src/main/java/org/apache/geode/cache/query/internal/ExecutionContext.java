@@ -95,6 +95,9 @@ public class ExecutionContext {
   private boolean distinct = false;
   private Object currentProjectionField = null;
   private boolean isPRQueryNode = false;
+  // used by ParallelQueryExecutor: the slice of the region scanned by this execution
+  private int scanSlice = 0;
+  private int scanSliceCount = 0;
 
   private Optional<ScheduledFuture> cancelationTask;
   private volatile CacheRuntimeException canceledException;
@@ -647,6 +650,32 @@ public class ExecutionContext {
     return isPRQueryNode;
   }
 
+  /**
+   * Restricts the scan of the region in the FROM clause of the query to the entries whose key falls
+   * in the given slice of sliceCount slices.
+   */
+  void setScanSlice(int slice, int sliceCount) {
+    this.scanSlice = slice;
+    this.scanSliceCount = sliceCount;
+  }
+
+  int getScanSlice() {
+    return scanSlice;
+  }
+
+  int getScanSliceCount() {
+    return scanSliceCount;
+  }
+
+  /**
+   * Returns true if this execution produces partial results that are merged with the results of
+   * other executions of the same query, as on a bucket of a partitioned region or a slice of a
+   * parallel region scan.
+   */
+  boolean isPartialResultExecution() {
+    return getBucketList() != null || scanSliceCount > 0;
+  }
+
   /**
    * Check to see if the query execution was canceled. The query gets canceled by the QueryMonitor
    * if it takes more than the max query execution time or low memory situations
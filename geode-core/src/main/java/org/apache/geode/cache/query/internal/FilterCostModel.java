@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.NameResolutionException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * Chooses which of two filterable conditions of an AND junction is looked up in its index, with
+ * the other conditions applied to the results of that lookup. The Filter implementations rank
+ * conditions by their operator, preferring equality over ranges and ranges over inequality, which
+ * is a poor choice when the preferred condition matches far more entries than the other one. When
+ * the size estimates of both conditions come from their indexes and one of them is smaller by more
+ * than ESTIMATE_RATIO, the smaller one is chosen regardless of operator; otherwise the choice is
+ * left to Filter.isBetterFilter.<br>
+ * No histograms or other statistics are maintained for this. The estimates are those that the
+ * indexes compute from their contents when asked: the exact number of entries for an equality,
+ * the region size less that number for an inequality, and for a numeric range an interpolation
+ * between the smallest and largest indexed keys. Conditions whose index cannot estimate them keep
+ * the operator based ranking.
+ */
+class FilterCostModel {
+
+  static final boolean DISABLE_COST_BASED_FILTER_SELECTION = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Query.DISABLE_COST_BASED_FILTER_SELECTION");
+
+  static final int ESTIMATE_RATIO =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.FILTER_ESTIMATE_RATIO", 10);
+
+  private FilterCostModel() {}
+
+  /**
+   * Returns true if current, whose size estimate is currentSize, should remain the condition
+   * looked up in its index rather than other.
+   */
+  static boolean isBetterFilter(Filter current, int currentSize, Filter other,
+      ExecutionContext context) throws FunctionDomainException, TypeMismatchException,
+      NameResolutionException, QueryInvocationTargetException {
+    if (!DISABLE_COST_BASED_FILTER_SELECTION && isEstimated(current, currentSize)) {
+      int otherSize = other.getSizeEstimate(context);
+      if (isEstimated(other, otherSize)) {
+        Boolean isCurrentBetter = compareEstimates(currentSize, otherSize);
+        if (isCurrentBetter != null) {
+          return isCurrentBetter;
+        }
+      }
+    }
+    return current.isBetterFilter(other, context, currentSize);
+  }
+
+  /**
+   * Returns TRUE if the first estimate is smaller than the second by more than ESTIMATE_RATIO,
+   * FALSE if the second is and null if the estimates are too close to tell the conditions apart.
+   */
+  static Boolean compareEstimates(int firstSize, int secondSize) {
+    if ((long) firstSize * ESTIMATE_RATIO < secondSize) {
+      return Boolean.TRUE;
+    } else if ((long) secondSize * ESTIMATE_RATIO < firstSize) {
+      return Boolean.FALSE;
+    }
+    return null;
+  }
+
+  /**
+   * A RangeJunction's estimate is a constant rather than an index statistic and indexes that
+   * cannot estimate a condition report Integer.MAX_VALUE.
+   */
+  private static boolean isEstimated(Filter filter, int size) {
+    return size >= 0 && size != Integer.MAX_VALUE
+        && filter.getOperator() != OQLLexerTokenTypes.LITERAL_and;
+  }
+}
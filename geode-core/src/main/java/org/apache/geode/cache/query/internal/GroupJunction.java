@@ -24,6 +24,7 @@ import org.apache.geode.cache.query.FunctionDomainException;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.index.IndexProtocol;
 
 /**
  * This structure contains the filter evaluable and iter evaluable conditions which are dependent on
@@ -105,6 +106,7 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
 
         Filter currentBestFilter = null;
         int currentBestFilterSize = -1;
+        IndexProtocol currentBestIndex = null;
         indexCount = 1;
 
         for (int i = 0; i < _operands.length; i++) {
@@ -137,14 +139,16 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
               // new best
               currentBestFilter = (Filter) _operands[i];
               currentBestFilterSize = ((Filter) _operands[i]).getSizeEstimate(context);
+              currentBestIndex = (IndexProtocol) pi.indexes.get(0);
               foundPreferredCondition = true;
               continue;
             }
             if (currentBestFilter == null) {
               currentBestFilter = (Filter) _operands[i];
               currentBestFilterSize = ((Filter) _operands[i]).getSizeEstimate(context);
-            } else if (foundPreferredCondition || currentBestFilter
-                .isBetterFilter((Filter) _operands[i], context, currentBestFilterSize)) {
+              currentBestIndex = (IndexProtocol) pi.indexes.get(0);
+            } else if (foundPreferredCondition || FilterCostModel.isBetterFilter(
+                currentBestFilter, currentBestFilterSize, (Filter) _operands[i], context)) {
               evalOperands.add(_operands[i]);
             } else {
               evalOperands.add(currentBestFilter);
@@ -152,7 +156,7 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
               // TODO:Asif: Avoid this call. Let the function which is doing the
               // comparison return some how the size of comparedTo operand.
               currentBestFilterSize = ((Filter) _operands[i]).getSizeEstimate(context);
-
+              currentBestIndex = (IndexProtocol) pi.indexes.get(0);
             }
           } else if (!_operands[i].isDependentOnCurrentScope(context)) {
             // TODO: Asif :Remove this Assert & else if condition after successful
@@ -164,6 +168,13 @@ public class GroupJunction extends AbstractGroupOrRangeJunction {
           }
         }
         evalOperands.add(0, currentBestFilter);
+        if (context instanceof QueryExecutionContext
+            && ((QueryExecutionContext) context).isPlanRecorded()) {
+          ((QueryExecutionContext) context).addPlanStep(
+              "lookup " + currentBestIndex.getName() + " (estimated "
+                  + currentBestFilterSize + ") and apply " + (evalOperands.size() - 1)
+                  + " other conditions to its results");
+        }
       }
     } else {
       indexCount = _operands.length;
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A set of intervals that finds the intervals containing a value in O(log n + k) time. The
+ * intervals are held in a treap ordered by their lower bounds, in which each node records the
+ * greatest upper bound of its subtree so that the subtrees ending before the value are skipped.
+ *
+ * The nodes are never modified once created: an update copies the path to the nodes it changes and
+ * publishes the new root. Updates must be serialized by the caller, while lookups may run
+ * concurrently with them and see the tree as it was before or after each update.
+ *
+ * @param <K> the type of the bounds
+ * @param <V> the type of the values associated with the intervals
+ */
+class IntervalTree<K extends Comparable<K>, V> {
+
+  private volatile Node<K, V> root;
+
+  private long nextId;
+
+  private int size;
+
+  /**
+   * Adds an interval.
+   *
+   * @param lower the lower bound, or null if the interval is not bounded below
+   * @param upper the upper bound, or null if the interval is not bounded above
+   * @return the interval, to pass to {@link #remove(Interval)}
+   */
+  Interval<K, V> add(K lower, boolean lowerInclusive, K upper, boolean upperInclusive, V value) {
+    Interval<K, V> interval =
+        new Interval<>(lower, lowerInclusive, upper, upperInclusive, value, this.nextId++);
+    Node<K, V> node = new Node<>(interval, ThreadLocalRandom.current().nextInt(), null, null);
+    Node<K, V> left = splitBefore(this.root, interval);
+    Node<K, V> right = splitFrom(this.root, interval);
+    this.root = merge(merge(left, node), right);
+    this.size++;
+    return interval;
+  }
+
+  /**
+   * Removes an interval returned by {@link #add}.
+   */
+  void remove(Interval<K, V> interval) {
+    Node<K, V> newRoot = remove(this.root, interval);
+    if (newRoot != this.root) {
+      this.size--;
+    }
+    this.root = newRoot;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Adds the values of the intervals containing a value to a collection
+   */
+  void addContaining(K value, Collection<? super V> result) {
+    addContaining(this.root, value, result);
+  }
+
+  private void addContaining(Node<K, V> node, K value, Collection<? super V> result) {
+    while (node != null && node.maxUpper.isBelowUpperBound(value)) {
+      addContaining(node.left, value, result);
+      Interval<K, V> interval = node.interval;
+      if (interval.lower != null && interval.lower.compareTo(value) > 0) {
+        // the intervals of the right subtree start after the value too
+        return;
+      }
+      if (interval.isAboveLowerBound(value) && interval.isBelowUpperBound(value)) {
+        result.add(interval.value);
+      }
+      node = node.right;
+    }
+  }
+
+  /**
+   * Returns the nodes of a subtree ordered before an interval
+   */
+  private Node<K, V> splitBefore(Node<K, V> node, Interval<K, V> interval) {
+    if (node == null) {
+      return null;
+    }
+    if (node.interval.compareTo(interval) < 0) {
+      return node.withRight(splitBefore(node.right, interval));
+    }
+    return splitBefore(node.left, interval);
+  }
+
+  /**
+   * Returns the nodes of a subtree not ordered before an interval
+   */
+  private Node<K, V> splitFrom(Node<K, V> node, Interval<K, V> interval) {
+    if (node == null) {
+      return null;
+    }
+    if (node.interval.compareTo(interval) < 0) {
+      return splitFrom(node.right, interval);
+    }
+    return node.withLeft(splitFrom(node.left, interval));
+  }
+
+  /**
+   * Merges two subtrees, the nodes of the first one being ordered before those of the second one
+   */
+  private Node<K, V> merge(Node<K, V> first, Node<K, V> second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null) {
+      return first;
+    }
+    if (first.priority > second.priority) {
+      return first.withRight(merge(first.right, second));
+    }
+    return second.withLeft(merge(first, second.left));
+  }
+
+  private Node<K, V> remove(Node<K, V> node, Interval<K, V> interval) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = interval.compareTo(node.interval);
+    if (comparison == 0) {
+      return merge(node.left, node.right);
+    }
+    if (comparison < 0) {
+      Node<K, V> left = remove(node.left, interval);
+      return left == node.left ? node : node.withLeft(left);
+    }
+    Node<K, V> right = remove(node.right, interval);
+    return right == node.right ? node : node.withRight(right);
+  }
+
+  static class Interval<K extends Comparable<K>, V> implements Comparable<Interval<K, V>> {
+    private final K lower;
+    private final boolean lowerInclusive;
+    private final K upper;
+    private final boolean upperInclusive;
+    private final V value;
+    private final long id;
+
+    private Interval(K lower, boolean lowerInclusive, K upper, boolean upperInclusive, V value,
+        long id) {
+      this.lower = lower;
+      this.lowerInclusive = lowerInclusive;
+      this.upper = upper;
+      this.upperInclusive = upperInclusive;
+      this.value = value;
+      this.id = id;
+    }
+
+    V getValue() {
+      return this.value;
+    }
+
+    private boolean isAboveLowerBound(K key) {
+      if (this.lower == null) {
+        return true;
+      }
+      int comparison = this.lower.compareTo(key);
+      return comparison < 0 || (comparison == 0 && this.lowerInclusive);
+    }
+
+    private boolean isBelowUpperBound(K key) {
+      if (this.upper == null) {
+        return true;
+      }
+      int comparison = this.upper.compareTo(key);
+      return comparison > 0 || (comparison == 0 && this.upperInclusive);
+    }
+
+    /**
+     * Orders the intervals by lower bound, then by creation
+     */
+    @Override
+    public int compareTo(Interval<K, V> other) {
+      if (this.lower != other.lower) {
+        if (this.lower == null) {
+          return -1;
+        }
+        if (other.lower == null) {
+          return 1;
+        }
+        int comparison = this.lower.compareTo(other.lower);
+        if (comparison != 0) {
+          return comparison;
+        }
+      }
+      return Long.compare(this.id, other.id);
+    }
+
+    /**
+     * Returns the interval whose upper bound is the greatest of the two
+     */
+    private Interval<K, V> maxUpper(Interval<K, V> other) {
+      if (this.upper == null || other.upper == null) {
+        return this.upper == null ? this : other;
+      }
+      int comparison = this.upper.compareTo(other.upper);
+      if (comparison == 0) {
+        return this.upperInclusive ? this : other;
+      }
+      return comparison > 0 ? this : other;
+    }
+  }
+
+  private static class Node<K extends Comparable<K>, V> {
+    private final Interval<K, V> interval;
+    private final int priority;
+    private final Node<K, V> left;
+    private final Node<K, V> right;
+    /** The interval of this subtree with the greatest upper bound */
+    private final Interval<K, V> maxUpper;
+
+    private Node(Interval<K, V> interval, int priority, Node<K, V> left, Node<K, V> right) {
+      this.interval = interval;
+      this.priority = priority;
+      this.left = left;
+      this.right = right;
+      Interval<K, V> maxUpper = interval;
+      if (left != null) {
+        maxUpper = maxUpper.maxUpper(left.maxUpper);
+      }
+      if (right != null) {
+        maxUpper = maxUpper.maxUpper(right.maxUpper);
+      }
+      this.maxUpper = maxUpper;
+    }
+
+    private Node<K, V> withLeft(Node<K, V> left) {
+      return new Node<>(this.interval, this.priority, left, this.right);
+    }
+
+    private Node<K, V> withRight(Node<K, V> right) {
+      return new Node<>(this.interval, this.priority, this.left, right);
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.NameResolutionException;
+import org.apache.geode.cache.query.QueryException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.cache.query.types.ObjectType;
+import org.apache.geode.cache.query.types.StructType;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.TXManagerImpl;
+import org.apache.geode.internal.logging.LoggingExecutors;
+
+/**
+ * Executes a query on a replicated or local region with several threads of this member. The
+ * segments of the region's entry map are split into one slice per thread and the query is evaluated
+ * once per slice, each on its own ExecutionContext and walking only the entries of its slice, the
+ * same way PRQueryProcessor evaluates a query once per bucket. A region has concurrency-level
+ * segments, so using more threads than that leaves some slices empty. The partial results are then
+ * merged on the calling thread the way PartitionedRegionQueryEvaluator merges bucket results:
+ * ordered results with an n-way merge, aggregates and group by by reapplying them to the partial
+ * aggregates of each slice and anything else by concatenation.<br>
+ * Only queries with a single FROM iterator over a region without indexes are executed this way;
+ * queries that can use an index are expected to be selective enough to run on one thread. COUNT(*)
+ * queries are not, since CompiledSelect keeps their running count in the compiled query. Neither
+ * are queries run in a transaction, since the transaction state is bound to the calling thread.
+ */
+public class ParallelQueryExecutor {
+
+  static final int NUM_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.PARALLEL_SCAN_THREADS", 1);
+
+  static final int MIN_REGION_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.PARALLEL_SCAN_MIN_REGION_SIZE", 10000);
+
+  @MakeNotStatic
+  private static ExecutorService execService = null;
+
+  private final DefaultQuery query;
+
+  private final CompiledSelect select;
+
+  private final Object[] parameters;
+
+  private final int numSlices;
+
+  ParallelQueryExecutor(DefaultQuery query, Object[] parameters) {
+    this(query, parameters, NUM_THREADS);
+  }
+
+  ParallelQueryExecutor(DefaultQuery query, Object[] parameters, int numSlices) {
+    this.query = query;
+    this.select = query.getSimpleSelect();
+    this.parameters = parameters;
+    this.numSlices = numSlices;
+  }
+
+  /**
+   * Returns true if the query can be executed in parallel slices and the region it scans is large
+   * enough for that to pay off.
+   */
+  static boolean canExecute(DefaultQuery query, InternalCache cache) {
+    if (NUM_THREADS <= 1 || query.isRemoteQuery() || query.isCqQuery()) {
+      return false;
+    }
+    if (((TXManagerImpl) cache.getCacheTransactionManager()).getTXState() != null) {
+      return false;
+    }
+    CompiledSelect select = query.getSimpleSelect();
+    if (select == null || select.getIterators().size() != 1 || select.hasUnmappedOrderByCols()
+        || select.isCount()) {
+      return false;
+    }
+    CompiledValue collection =
+        ((CompiledIteratorDef) select.getIterators().get(0)).getCollectionExpr();
+    if (collection.getType() != OQLLexerTokenTypes.RegionPath) {
+      return false;
+    }
+    Region region = cache.getRegion(((CompiledRegion) collection).getRegionPath());
+    return region instanceof LocalRegion && !(region instanceof PartitionedRegion)
+        && region.size() >= MIN_REGION_SIZE
+        && cache.getQueryService().getIndexes(region).isEmpty();
+  }
+
+  /**
+   * Evaluates the query on every slice and merges the partial results.
+   */
+  SelectResults execute(ExecutionContext context) throws FunctionDomainException,
+      TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    // transform the compiled query once before it is evaluated concurrently
+    this.select.computeDependencies(
+        new QueryExecutionContext(this.parameters, context.getCache(), this.query));
+
+    List<SliceTask> tasks = new ArrayList<>(this.numSlices);
+    for (int slice = 0; slice < this.numSlices; slice++) {
+      tasks.add(new SliceTask(context.getCache(), slice));
+    }
+
+    List<Collection> partialResults = new ArrayList<>(this.numSlices);
+    boolean indexUsed = false;
+    List<Future<SelectResults>> futures;
+    try {
+      futures = getExecutorService().invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryInvocationTargetException("Interrupted while executing query", e);
+    }
+    for (Future<SelectResults> future : futures) {
+      try {
+        SelectResults results = future.get();
+        if (results != null) {
+          partialResults.add(results);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new QueryInvocationTargetException("Interrupted while executing query", e);
+      } catch (ExecutionException e) {
+        throwCause(e);
+      }
+    }
+    for (SliceTask task : tasks) {
+      indexUsed |= task.indexUsed;
+    }
+    if (partialResults.isEmpty()) {
+      return null;
+    }
+    if (indexUsed) {
+      // an index created after the query started was used instead of the sliced scan, so every
+      // slice returned the results for the whole region
+      ((QueryExecutionContext) context).setIndexUsed(true);
+      partialResults = partialResults.subList(0, 1);
+    }
+    return mergeResults(partialResults, context);
+  }
+
+  private SelectResults mergeResults(List<Collection> partialResults, ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    int limit = this.query.getLimit(this.parameters);
+    if (this.select.getType() == CompiledValue.GROUP_BY_SELECT) {
+      CompiledGroupBySelect groupBySelect = (CompiledGroupBySelect) this.select;
+      SelectResults baseResults;
+      if (groupBySelect.getOrderByAttrs() != null && !groupBySelect.getOrderByAttrs().isEmpty()) {
+        baseResults = mergeSortedResults(partialResults, -1, context);
+      } else {
+        baseResults = concatenateResults(partialResults, -1, context);
+      }
+      ExecutionContext mergeContext =
+          new QueryExecutionContext(this.parameters, context.getCache());
+      mergeContext.setIsPRQueryNode(true);
+      return groupBySelect.applyAggregateAndGroupBy(baseResults, mergeContext);
+    }
+    if (this.select.isOrderBy()) {
+      return mergeSortedResults(partialResults, limit, context);
+    }
+    return concatenateResults(partialResults, limit, context);
+  }
+
+  private SelectResults mergeSortedResults(List<Collection> partialResults, int limit,
+      ExecutionContext context) {
+    return new NWayMergeResults(partialResults, this.select.isDistinct(), limit,
+        this.select.getOrderByAttrs(), context, this.select.getElementTypeForOrderByQueries());
+  }
+
+  private SelectResults concatenateResults(List<Collection> partialResults, int limit,
+      ExecutionContext context) {
+    ObjectType elementType =
+        ((SelectResults) partialResults.get(0)).getCollectionType().getElementType();
+    if (!this.select.isDistinct()) {
+      List<CumulativeNonDistinctResults.Metadata> metadata = new ArrayList<>();
+      for (int i = 0; i < partialResults.size(); i++) {
+        metadata.add(CumulativeNonDistinctResults.getCollectionMetadata(false, false, true));
+      }
+      return new CumulativeNonDistinctResults(partialResults, limit, elementType, metadata);
+    }
+    SelectResults results = elementType != null && elementType.isStructType()
+        ? QueryUtils.createStructCollection(true, (StructType) elementType, context)
+        : QueryUtils.createResultCollection(true, elementType, context);
+    for (Collection partial : partialResults) {
+      for (Object element : partial) {
+        if (limit > -1 && results.size() == limit) {
+          return results;
+        }
+        results.add(element);
+      }
+    }
+    return results;
+  }
+
+  private static void throwCause(ExecutionException e) throws FunctionDomainException,
+      TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    Throwable cause = e.getCause();
+    if (cause instanceof FunctionDomainException) {
+      throw (FunctionDomainException) cause;
+    } else if (cause instanceof TypeMismatchException) {
+      throw (TypeMismatchException) cause;
+    } else if (cause instanceof NameResolutionException) {
+      throw (NameResolutionException) cause;
+    } else if (cause instanceof QueryInvocationTargetException) {
+      throw (QueryInvocationTargetException) cause;
+    } else if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw new QueryInvocationTargetException("Got unexpected exception while executing query",
+        cause);
+  }
+
+  /**
+   * Shuts down the threads evaluating slices. Called when the cache is closed; the next parallel
+   * query creates new threads.
+   */
+  public static synchronized void shutdown() {
+    if (execService != null) {
+      execService.shutdown();
+      execService = null;
+    }
+  }
+
+  static synchronized ExecutorService getExecutorService() {
+    if (execService == null || execService.isShutdown() || execService.isTerminated()) {
+      execService =
+          LoggingExecutors.newFixedThreadPool("ParallelQueryExecutor", true, NUM_THREADS);
+    }
+    return execService;
+  }
+
+  /**
+   * Evaluates the query on one slice of the region.
+   */
+  private class SliceTask implements Callable<SelectResults> {
+    private final InternalCache cache;
+    private final int slice;
+    private volatile boolean indexUsed = false;
+
+    SliceTask(InternalCache cache, int slice) {
+      this.cache = cache;
+      this.slice = slice;
+    }
+
+    @Override
+    public SelectResults call() throws QueryException {
+      ExecutionContext context = new QueryExecutionContext(parameters, this.cache, query);
+      context.setScanSlice(this.slice, numSlices);
+      Boolean initialPdxReadSerialized = this.cache.getPdxReadSerializedOverride();
+      QueryMonitor queryMonitor = this.cache.getQueryMonitor();
+      try {
+        this.cache.setPdxReadSerializedOverride(true);
+        if (queryMonitor != null) {
+          queryMonitor.monitorQueryExecution(context);
+        }
+        SelectResults results = (SelectResults) query.executeUsingContext(context);
+        this.indexUsed = ((QueryExecutionContext) context).isIndexUsed();
+        return results;
+      } finally {
+        if (queryMonitor != null) {
+          queryMonitor.stopMonitoringQueryExecution(context);
+        }
+        this.cache.setPdxReadSerializedOverride(initialPdxReadSerialized);
+      }
+    }
+  }
+}
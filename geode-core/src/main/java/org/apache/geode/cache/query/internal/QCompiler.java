@@ -57,6 +57,7 @@ public class QCompiler implements OQLLexerTokenTypes {
   private Map imports = new HashMap();
   private final boolean isForIndexCompilation;
   private boolean traceOn;
+  private boolean resultCacheRequested;
 
   public QCompiler() {
     this.isForIndexCompilation = false;
@@ -230,6 +231,13 @@ public class QCompiler implements OQLLexerTokenTypes {
     Object hintObject = queryComponents.remove(OQLLexerTokenTypes.LITERAL_hint);
     if (hintObject != null) {
       hints = (List<String>) hintObject;
+      // the result cache hint does not name an index
+      if (hints.remove(QueryResultCache.HINT)) {
+        this.resultCacheRequested = true;
+        if (hints.isEmpty()) {
+          hints = null;
+        }
+      }
     }
 
     List<CompiledValue> groupByClause =
@@ -620,6 +628,10 @@ public class QCompiler implements OQLLexerTokenTypes {
     return traceOn;
   }
 
+  public boolean isResultCacheRequested() {
+    return resultCacheRequested;
+  }
+
   public void setHint(int numOfChildren) {
     ArrayList list = new ArrayList();
     for (int i = 0; i < numOfChildren; i++) {
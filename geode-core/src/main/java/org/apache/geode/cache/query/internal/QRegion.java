@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 
 import org.apache.geode.cache.AttributesMutator;
 import org.apache.geode.cache.Cache;
@@ -132,6 +133,20 @@ public class QRegion implements SelectResults {
     ((ResultsCollectionWrapper) (this.values)).setKeepSerialized(keepSerialized);
   }
 
+  /**
+   * Skips region values whose stored form fails the filter before they are deserialized
+   */
+  public void setSerializedValueFilter(Predicate<Object> filter) {
+    ((ResultsCollectionWrapper) (this.values)).setSerializedValueFilter(filter);
+  }
+
+  /**
+   * Only iterates the region entries whose key falls in the given slice of sliceCount slices
+   */
+  public void setSlice(int slice, int sliceCount) {
+    ((ResultsCollectionWrapper) (this.values)).setSlice(slice, sliceCount);
+  }
+
   protected ObjectType getKeyType() {
     Class constraint = this.region.getAttributes().getKeyConstraint();
     if (constraint == null) {
@@ -16,8 +16,10 @@ package org.apache.geode.cache.query.internal;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 
 import org.apache.geode.cache.query.Query;
@@ -64,6 +66,11 @@ public class QueryExecutionContext extends ExecutionContext {
    */
   private ArrayList hints = null;
 
+  /**
+   * Description of the access paths chosen for a traced query, logged with the query's trace
+   */
+  private Set<String> planSteps = null;
+
   public QueryExecutionContext(Object[] bindArguments, InternalCache cache) {
     super(bindArguments, cache);
     this.query = null;
@@ -214,4 +221,22 @@ public class QueryExecutionContext extends ExecutionContext {
   boolean hasMultiHints() {
     return hints != null && hints.size() > 1;
   }
+
+  /**
+   * @return true if the access paths chosen for this query should be recorded for its trace
+   */
+  boolean isPlanRecorded() {
+    return this.query != null && ((DefaultQuery) this.query).isTraced();
+  }
+
+  void addPlanStep(String step) {
+    if (this.planSteps == null) {
+      this.planSteps = new LinkedHashSet<>();
+    }
+    this.planSteps.add(step);
+  }
+
+  Set<String> getPlanSteps() {
+    return this.planSteps;
+  }
 }
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.PartitionedRegion;
+
+/**
+ * Caches the results of the queries requesting it with the {@link #HINT} hint, such as
+ * {@code <hint 'RESULT_CACHE'> select * from /portfolios p where p.status = $1}. Results are keyed
+ * by the query string and the bind parameters, and are removed as soon as the region map of one of
+ * the regions read by the query changes a value, whether by an operation, a GII or a transaction
+ * commit, and when such a region is cleared or destroyed.
+ *
+ * Only the queries on replicated regions or regions of local scope are cached, since the events of
+ * the other regions are not all dispatched on this member. The bind parameters must be immutable
+ * values such as strings, numbers or enums.
+ *
+ * A cached result is shared by the executions returning it, which get an unmodifiable view of it.
+ */
+public class QueryResultCache {
+
+  /**
+   * The query hint requesting the result of the query to be cached
+   */
+  public static final String HINT = "RESULT_CACHE";
+
+  /**
+   * System property to set the maximum number of query results cached by a member. The least
+   * recently used results are evicted when it is reached. Setting it to 0 disables the cache.
+   */
+  public static final int MAX_ENTRIES = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "Query.RESULT_CACHE_MAX_ENTRIES", 1000);
+
+  private final int maxEntries;
+
+  private final CachePerfStats stats;
+
+  /**
+   * The cached results, in access order. Guarded by this.
+   */
+  private final LinkedHashMap<Key, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The regions read by the cached results or by the executions that may be cached. It is only
+   * modified while holding this, but is read without it by {@link #invalidate(String)} so that the
+   * events of the other regions do not contend with the queries.
+   */
+  private final Map<String, RegionUse> regionUses = new ConcurrentHashMap<>();
+
+  public QueryResultCache(CachePerfStats stats) {
+    this(MAX_ENTRIES, stats);
+  }
+
+  QueryResultCache(int maxEntries, CachePerfStats stats) {
+    this.maxEntries = maxEntries;
+    this.stats = stats;
+  }
+
+  /**
+   * Looks the result of a query up.
+   *
+   * @return null if the result of the query cannot be cached. Otherwise, either the cached result,
+   *         or a lookup whose {@link Lookup#complete(Object)} method must be called once the query
+   *         has been executed.
+   */
+  public Lookup lookup(DefaultQuery query, Object[] parameters, InternalCache cache) {
+    if (this.maxEntries <= 0 || !areImmutable(parameters)) {
+      return null;
+    }
+    Key key = new Key(query, parameters);
+    synchronized (this) {
+      CachedResult cachedResult = this.results.get(key);
+      if (cachedResult != null) {
+        this.stats.incQueryResultCacheHits();
+        return new Lookup(cachedResult.result);
+      }
+    }
+
+    Set<String> regionPaths = query.getRegionsInQuery(parameters);
+    for (String regionPath : regionPaths) {
+      if (!seesAllEvents(cache.getRegion(regionPath))) {
+        return null;
+      }
+    }
+    this.stats.incQueryResultCacheMisses();
+    synchronized (this) {
+      List<RegionUse> uses = new ArrayList<>(regionPaths.size());
+      long[] versions = new long[regionPaths.size()];
+      for (String regionPath : regionPaths) {
+        RegionUse use = this.regionUses.computeIfAbsent(regionPath, RegionUse::new);
+        use.executions++;
+        versions[uses.size()] = use.version;
+        uses.add(use);
+      }
+      return new Lookup(key, uses, versions);
+    }
+  }
+
+  /**
+   * Removes the results read from a region. Called for each value changed in the regions of this
+   * cache.
+   */
+  public void invalidate(String regionPath) {
+    if (!this.regionUses.containsKey(regionPath)) {
+      return;
+    }
+    synchronized (this) {
+      RegionUse use = this.regionUses.get(regionPath);
+      if (use == null) {
+        return;
+      }
+      use.version++;
+      int removed = 0;
+      for (Key key : new ArrayList<>(use.keys)) {
+        removeResult(key);
+        removed++;
+      }
+      if (removed > 0) {
+        this.stats.incQueryResultCacheInvalidations(removed);
+      }
+      removeIfUnused(use);
+    }
+  }
+
+  /**
+   * Returns the number of cached results
+   */
+  public synchronized int size() {
+    return this.results.size();
+  }
+
+  private synchronized Object complete(Lookup lookup, Object result) {
+    if (result instanceof SelectResults) {
+      result = new ResultsCollectionUnmodifiableWrapper((SelectResults) result);
+    }
+    boolean unchanged = true;
+    for (int i = 0; i < lookup.uses.size(); i++) {
+      unchanged &= lookup.uses.get(i).version == lookup.versions[i];
+    }
+    boolean cached = result != null && unchanged;
+    if (cached) {
+      removeResult(lookup.key);
+      Set<String> regionPaths = new HashSet<>();
+      for (RegionUse use : lookup.uses) {
+        use.keys.add(lookup.key);
+        regionPaths.add(use.regionPath);
+      }
+      this.results.put(lookup.key, new CachedResult(result, regionPaths));
+    }
+    for (RegionUse use : lookup.uses) {
+      use.executions--;
+      removeIfUnused(use);
+    }
+    if (cached) {
+      evictIfNeeded();
+    }
+    return result;
+  }
+
+  private void evictIfNeeded() {
+    while (this.results.size() > this.maxEntries) {
+      Iterator<Key> eldest = this.results.keySet().iterator();
+      removeResult(eldest.next());
+      this.stats.incQueryResultCacheEvictions();
+    }
+  }
+
+  private void removeResult(Key key) {
+    CachedResult cachedResult = this.results.remove(key);
+    if (cachedResult == null) {
+      return;
+    }
+    for (String regionPath : cachedResult.regionPaths) {
+      RegionUse use = this.regionUses.get(regionPath);
+      if (use != null) {
+        use.keys.remove(key);
+        removeIfUnused(use);
+      }
+    }
+  }
+
+  private void removeIfUnused(RegionUse use) {
+    if (use.keys.isEmpty() && use.executions == 0) {
+      this.regionUses.remove(use.regionPath, use);
+    }
+  }
+
+  /**
+   * Returns true if the events of all the changes of a region are dispatched on this member
+   */
+  private static boolean seesAllEvents(Region region) {
+    if (region == null || region instanceof PartitionedRegion) {
+      return false;
+    }
+    RegionAttributes attributes = region.getAttributes();
+    return attributes.getDataPolicy().withReplication() || attributes.getScope().isLocal();
+  }
+
+  static boolean areImmutable(Object[] parameters) {
+    for (Object parameter : parameters) {
+      if (parameter != null && !(parameter instanceof String || parameter instanceof Integer
+          || parameter instanceof Long || parameter instanceof Short || parameter instanceof Byte
+          || parameter instanceof Double || parameter instanceof Float
+          || parameter instanceof BigDecimal || parameter instanceof BigInteger
+          || parameter instanceof Boolean || parameter instanceof Character
+          || parameter instanceof Enum)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The result of a lookup. Either a cached result, or an execution whose result may be cached
+   */
+  public class Lookup {
+    private final Object cachedResult;
+    private final Key key;
+    private final List<RegionUse> uses;
+    private final long[] versions;
+    private boolean completed;
+
+    private Lookup(Object cachedResult) {
+      this.cachedResult = cachedResult;
+      this.key = null;
+      this.uses = null;
+      this.versions = null;
+      this.completed = true;
+    }
+
+    private Lookup(Key key, List<RegionUse> uses, long[] versions) {
+      this.cachedResult = null;
+      this.key = key;
+      this.uses = uses;
+      this.versions = versions;
+    }
+
+    /**
+     * Returns the cached result, or null if the query must be executed
+     */
+    public Object getCachedResult() {
+      return this.cachedResult;
+    }
+
+    /**
+     * Caches the result of the execution, unless one of the regions it reads changed since the
+     * lookup.
+     *
+     * @param result the result of the execution, or null if it failed
+     * @return the result to return to the caller, an unmodifiable view of it if it is a
+     *         SelectResults since it may be shared with the next executions
+     */
+    public Object complete(Object result) {
+      if (this.completed) {
+        return result;
+      }
+      this.completed = true;
+      return QueryResultCache.this.complete(this, result);
+    }
+  }
+
+  static class Key {
+    private final String queryString;
+    private final Object[] parameters;
+    private final boolean remote;
+    private final boolean keepSerialized;
+    private final int hashCode;
+
+    Key(DefaultQuery query, Object[] parameters) {
+      this.queryString = query.getQueryString();
+      this.parameters = parameters.clone();
+      this.remote = query.isRemoteQuery();
+      this.keepSerialized = query.isKeepSerialized();
+      this.hashCode = 31 * this.queryString.hashCode() + Arrays.hashCode(this.parameters);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return this.remote == that.remote && this.keepSerialized == that.keepSerialized
+          && this.queryString.equals(that.queryString)
+          && Arrays.equals(this.parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+
+  private static class CachedResult {
+    private final Object result;
+    private final Set<String> regionPaths;
+
+    private CachedResult(Object result, Set<String> regionPaths) {
+      this.result = result;
+      this.regionPaths = regionPaths;
+    }
+  }
+
+  private static class RegionUse {
+    private final String regionPath;
+    private final Set<Key> keys = new HashSet<>();
+    private int executions;
+    private long version;
+
+    private RegionUse(String regionPath) {
+      this.regionPath = regionPath;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.apache.geode.cache.query.types.ObjectType;
+
+/**
+ * Unmodifiable view of a SelectResults, used for the results shared by several query executions
+ * through the {@link QueryResultCache}. All the methods modifying the results throw an
+ * UnsupportedOperationException, and asSet and asList return copies.
+ */
+public class ResultsCollectionUnmodifiableWrapper implements SelectResults {
+  private final SelectResults results;
+
+  public ResultsCollectionUnmodifiableWrapper(SelectResults results) {
+    this.results = results;
+  }
+
+  @Override
+  public Iterator iterator() {
+    Iterator iterator = results.iterator();
+    return new Iterator() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Object next() {
+        return iterator.next();
+      }
+
+      @Override
+      public void remove() {
+        throw unmodifiable();
+      }
+    };
+  }
+
+  @Override
+  public boolean add(Object e) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public boolean addAll(Collection c) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public void clear() {
+    throw unmodifiable();
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public boolean removeAll(Collection c) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public boolean retainAll(Collection c) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public void setElementType(ObjectType elementType) {
+    throw unmodifiable();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return results.contains(o);
+  }
+
+  @Override
+  public boolean containsAll(Collection c) {
+    return results.containsAll(c);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return results.isEmpty();
+  }
+
+  @Override
+  public int size() {
+    return results.size();
+  }
+
+  @Override
+  public Object[] toArray() {
+    return results.toArray();
+  }
+
+  @Override
+  public Object[] toArray(Object[] a) {
+    return results.toArray(a);
+  }
+
+  @Override
+  public boolean isModifiable() {
+    return false;
+  }
+
+  @Override
+  public int occurrences(Object element) {
+    return results.occurrences(element);
+  }
+
+  @Override
+  public Set asSet() {
+    return new HashSet(this);
+  }
+
+  @Override
+  public List asList() {
+    return new ArrayList(this);
+  }
+
+  @Override
+  public CollectionType getCollectionType() {
+    return results.getCollectionType();
+  }
+
+  @Override
+  public String toString() {
+    return results.toString();
+  }
+
+  private UnsupportedOperationException unmodifiable() {
+    return new UnsupportedOperationException("The query result is cached and cannot be modified");
+  }
+}
@@ -29,6 +29,7 @@ import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 import org.apache.geode.DataSerializer;
 import org.apache.geode.InternalGemFireError;
@@ -646,6 +647,18 @@ public class ResultsCollectionWrapper implements SelectResults, DataSerializable
     }
   }
 
+  public void setSerializedValueFilter(Predicate<Object> filter) {
+    if (base instanceof EntriesSet) {
+      ((EntriesSet) base).setSerializedValueFilter(filter);
+    }
+  }
+
+  public void setSlice(int slice, int sliceCount) {
+    if (base instanceof EntriesSet) {
+      ((EntriesSet) base).setSlice(slice, sliceCount);
+    }
+  }
+
   public void setIgnoreCopyOnReadForQuery(boolean ignore) {
     if (base instanceof EntriesSet) {
       ((EntriesSet) base).setIgnoreCopyOnReadForQuery(ignore);
@@ -233,6 +233,27 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
   }
 
 
+  /**
+   * Removes one occurrence of the last element in sort order. Only valid for a bag created with a
+   * comparator.
+   */
+  void removeLast() {
+    if (this.numNulls > 0 && (!this.emitNullAtStart || this.sortedMap.isEmpty())) {
+      this.numNulls--;
+    } else {
+      Map.Entry<E, Integer> last = ((TreeMap<E, Integer>) this.sortedMap).lastEntry();
+      if (last == null) {
+        return;
+      }
+      if (last.getValue() == 1) {
+        this.sortedMap.remove(last.getKey());
+      } else {
+        this.sortedMap.put(last.getKey(), last.getValue() - 1);
+      }
+    }
+    this.size--;
+  }
+
   @Override
   public boolean dataPreordered() {
     return this.orderedDataAddition;
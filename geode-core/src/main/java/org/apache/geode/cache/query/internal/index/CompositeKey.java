@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.cache.query.internal.Undefined;
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+import org.apache.geode.pdx.internal.PdxInstanceEnum;
+
+/**
+ * The key of a composite index: the values of its indexed expressions, in order. Keys are ordered
+ * column by column, with UNDEFINED before null and null before any other value, and a key sorts
+ * before every longer key it is a prefix of. The MAX component sorts after every value, so that a
+ * range of keys sharing a prefix can be bounded by (prefix) and (prefix, MAX).
+ */
+public class CompositeKey implements Comparable<CompositeKey> {
+
+  /** Component that sorts after every value */
+  @Immutable
+  public static final Object MAX = new Object() {
+    @Override
+    public String toString() {
+      return "MAX";
+    }
+  };
+
+  @Immutable
+  private static final Comparator COMPARATOR = TypeUtils.getExtendedNumericComparator();
+
+  private final Object[] components;
+
+  public CompositeKey(Object... components) {
+    this.components = components;
+  }
+
+  public int size() {
+    return this.components.length;
+  }
+
+  public Object get(int i) {
+    return this.components[i];
+  }
+
+  @Override
+  public int compareTo(CompositeKey other) {
+    int length = Math.min(this.components.length, other.components.length);
+    for (int i = 0; i < length; i++) {
+      int result = compareComponents(this.components[i], other.components[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(this.components.length, other.components.length);
+  }
+
+  static int compareComponents(Object a, Object b) {
+    if (a == b) {
+      return 0;
+    }
+    if (a == MAX || b == MAX) {
+      return a == MAX ? 1 : -1;
+    }
+    int rankA = rank(a);
+    int rankB = rank(b);
+    if (rankA != rankB || rankA < 2) {
+      return Integer.compare(rankA, rankB);
+    }
+    if (a instanceof Enum && !(b instanceof Enum)) {
+      a = new PdxInstanceEnum((Enum<?>) a);
+    } else if (b instanceof Enum && !(a instanceof Enum)) {
+      b = new PdxInstanceEnum((Enum<?>) b);
+    }
+    return COMPARATOR.compare(a, b);
+  }
+
+  private static int rank(Object component) {
+    if (component instanceof Undefined) {
+      return 0;
+    }
+    return component == null ? 1 : 2;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof CompositeKey)) {
+      return false;
+    }
+    try {
+      return compareTo((CompositeKey) other) == 0;
+    } catch (ClassCastException ignore) {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    // numbers of different types and enums in different forms can be equal, so only other
+    // components contribute to the hash code
+    int hash = this.components.length;
+    for (Object component : this.components) {
+      hash *= 31;
+      if (component != null && !(component instanceof Number) && !(component instanceof Enum)
+          && !(component instanceof PdxInstanceEnum)) {
+        hash += component.hashCode();
+      }
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(this.components);
+  }
+}
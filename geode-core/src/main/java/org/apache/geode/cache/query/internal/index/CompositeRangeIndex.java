@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.List;
+
+import org.apache.geode.cache.EntryDestroyedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.FunctionDomainException;
+import org.apache.geode.cache.query.IndexStatistics;
+import org.apache.geode.cache.query.NameResolutionException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.index.IndexStore.IndexStoreEntry;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.persistence.query.CloseableIterator;
+
+/**
+ * A CompositeRangeIndex is a CompactRangeIndex whose indexed expression is a comma separated list
+ * of expressions, such as "p.status, p.region, p.timestamp". Its keys are CompositeKeys ordered
+ * column by column, so a query constraining the leading expressions with equality and the next one
+ * with a range reads a single contiguous range of the index. Expressions that are only projected by
+ * the queries can be appended as trailing columns, which lets such queries be answered from the
+ * index keys alone.
+ *
+ * The canonicalized indexed expression of this index never matches a single condition, so the
+ * index is only used by {@link org.apache.geode.cache.query.internal.CompositeIndexLookup}.
+ */
+public class CompositeRangeIndex extends CompactRangeIndex {
+
+  private final String[] canonicalizedComponents;
+
+  public CompositeRangeIndex(InternalCache cache, String indexName, Region region,
+      String fromClause, String indexedExpression, String projectionAttributes,
+      String origFromClause, String origIndexExpr, String[] definitions,
+      String[] canonicalizedComponents, IndexStatistics stats) {
+    super(cache, indexName, region, fromClause, indexedExpression, projectionAttributes,
+        origFromClause, origIndexExpr, definitions, stats);
+    this.canonicalizedComponents = canonicalizedComponents;
+  }
+
+  /**
+   * Returns the canonicalized form of each of the indexed expressions, in key order
+   */
+  public String[] getCanonicalizedComponents() {
+    return this.canonicalizedComponents;
+  }
+
+  /**
+   * Passes the entries with keys between the given bounds to the visitor. If this is the index of
+   * a bucket, the entries of the indexes of all the buckets being queried are visited, one bucket
+   * after the other.
+   *
+   * @return false if the index could not be used, in which case the visitor may already have seen
+   *         some of the entries
+   */
+  public boolean visitEntries(CompositeKey lowerBound, boolean lowerBoundInclusive,
+      CompositeKey upperBound, boolean upperBoundInclusive, ExecutionContext context,
+      EntryVisitor visitor) throws FunctionDomainException, TypeMismatchException,
+      NameResolutionException, QueryInvocationTargetException {
+    int comparison = lowerBound.compareTo(upperBound);
+    if (comparison > 0 || (comparison == 0 && !(lowerBoundInclusive && upperBoundInclusive))) {
+      return true;
+    }
+
+    List<Integer> bucketIds = null;
+    PartitionedIndex prIndex = (PartitionedIndex) getPRIndex();
+    if (this.region instanceof BucketRegion) {
+      bucketIds = context.getBucketList();
+      if (bucketIds == null || prIndex == null) {
+        return false;
+      }
+    }
+
+    // Protect the index from being removed while it is being used.
+    AbstractIndex lockedIndex = prIndex != null ? prIndex : this;
+    if (!lockedIndex.acquireIndexReadLockForRemove()) {
+      return false;
+    }
+    long start = updateIndexUseStats();
+    try {
+      if (bucketIds == null) {
+        return visitEntries(this, lowerBound, lowerBoundInclusive, upperBound,
+            upperBoundInclusive, visitor);
+      }
+      prIndex.verifyAndCreateMissingIndex(bucketIds);
+      PartitionedRegion pr = ((BucketRegion) this.region).getPartitionedRegion();
+      for (Integer bucketId : bucketIds) {
+        AbstractIndex bucketIndex = PartitionedIndex.getBucketIndex(pr, this.indexName, bucketId);
+        if (!(bucketIndex instanceof CompositeRangeIndex)) {
+          return false;
+        }
+        if (!visitEntries((CompositeRangeIndex) bucketIndex, lowerBound, lowerBoundInclusive,
+            upperBound, upperBoundInclusive, visitor)) {
+          break;
+        }
+      }
+      return true;
+    } finally {
+      updateIndexUseEndStats(start);
+      lockedIndex.releaseIndexReadLockForRemove();
+    }
+  }
+
+  /**
+   * Returns false if the visitor stopped the visit
+   */
+  private static boolean visitEntries(CompositeRangeIndex index, CompositeKey lowerBound,
+      boolean lowerBoundInclusive, CompositeKey upperBound, boolean upperBoundInclusive,
+      EntryVisitor visitor) throws FunctionDomainException, TypeMismatchException,
+      NameResolutionException, QueryInvocationTargetException {
+    CloseableIterator<IndexStoreEntry> entries = index.getIndexStorage().iterator(lowerBound,
+        lowerBoundInclusive, upperBound, upperBoundInclusive, null);
+    try {
+      while (entries.hasNext()) {
+        // Check if query execution on this thread is canceled.
+        QueryMonitor.throwExceptionIfQueryOnCurrentThreadIsCanceled();
+        IndexStoreEntry entry = entries.next();
+        try {
+          Object value = entry.getDeserializedValue();
+          if (value != null && !visitor.visit((CompositeKey) entry.getDeserializedKey(), value,
+              entry.isUpdateInProgress())) {
+            return false;
+          }
+        } catch (EntryDestroyedException ignore) {
+          // the entry is no longer part of the region
+        }
+      }
+      return true;
+    } finally {
+      entries.close();
+    }
+  }
+
+  /**
+   * Receives the entries of a composite index
+   */
+  public interface EntryVisitor {
+    /**
+     * Visits the index entry of a value. An entry whose update is in progress may have a key that
+     * no longer matches its value.
+     *
+     * @return false to stop the visit
+     */
+    boolean visit(CompositeKey key, Object value, boolean updateInProgress)
+        throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+        QueryInvocationTargetException;
+  }
+}
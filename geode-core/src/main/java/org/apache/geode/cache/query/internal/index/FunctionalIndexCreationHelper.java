@@ -26,6 +26,7 @@ import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.CompiledBindArgument;
 import org.apache.geode.cache.query.internal.CompiledComparison;
+import org.apache.geode.cache.query.internal.CompiledCompositeKey;
 import org.apache.geode.cache.query.internal.CompiledFunction;
 import org.apache.geode.cache.query.internal.CompiledID;
 import org.apache.geode.cache.query.internal.CompiledIndexOperation;
@@ -68,6 +69,12 @@ class FunctionalIndexCreationHelper extends IndexCreationHelper {
 
   Object[] mapKeys;
 
+  /**
+   * The canonicalized expressions of a composite index, one per column. Null unless the indexed
+   * expression is a comma separated list of expressions.
+   */
+  String[] canonicalizedCompositeComponents;
+
   /**
    * The Iterators for index creation are different then those which are used for index updates as
    * in case of Index creation the 0th iterator is modified such that it always represents
@@ -433,19 +440,21 @@ class FunctionalIndexCreationHelper extends IndexCreationHelper {
    * TODO: refactor large method prepareIndexExpression
    */
   private void prepareIndexExpression(String indexedExpression) throws IndexInvalidException {
-    CompiledValue expr = this.compiler.compileQuery(indexedExpression);
-    if (expr == null) {
-      throw new IndexInvalidException(
-          String.format("Invalid indexed expression : ' %s '",
-              indexedExpression));
-    }
-
-    if (expr instanceof CompiledUndefined || expr instanceof CompiledLiteral
-        || expr instanceof CompiledComparison || expr instanceof CompiledBindArgument
-        || expr instanceof CompiledNegation) {
-      throw new IndexInvalidException(
-          String.format("Invalid indexed expression : ' %s '",
-              indexedExpression));
+    List<String> componentExpressions = splitCompositeIndexedExpression(indexedExpression);
+    CompiledValue expr;
+    if (componentExpressions.size() > 1) {
+      CompiledValue[] components = new CompiledValue[componentExpressions.size()];
+      for (int i = 0; i < components.length; i++) {
+        components[i] = compileIndexedExpression(componentExpressions.get(i), indexedExpression);
+        if (components[i] instanceof MapIndexable) {
+          throw new IndexInvalidException(
+              String.format("Map index expressions cannot be part of a composite index : ' %s '",
+                  indexedExpression));
+        }
+      }
+      expr = new CompiledCompositeKey(components);
+    } else {
+      expr = compileIndexedExpression(indexedExpression, indexedExpression);
     }
 
     try {
@@ -494,6 +503,15 @@ class FunctionalIndexCreationHelper extends IndexCreationHelper {
         }
       } else {
         expr.generateCanonicalizedExpression(sb, this.context);
+        if (expr instanceof CompiledCompositeKey) {
+          CompiledValue[] components = ((CompiledCompositeKey) expr).getComponents();
+          this.canonicalizedCompositeComponents = new String[components.length];
+          for (int i = 0; i < components.length; i++) {
+            StringBuilder componentBuilder = new StringBuilder();
+            components[i].generateCanonicalizedExpression(componentBuilder, this.context);
+            this.canonicalizedCompositeComponents[i] = componentBuilder.toString();
+          }
+        }
       }
 
       this.indexedExpression = sb.toString();
@@ -511,6 +529,53 @@ class FunctionalIndexCreationHelper extends IndexCreationHelper {
     this.indexedExpr = expr;
   }
 
+  private CompiledValue compileIndexedExpression(String expression, String indexedExpression)
+      throws IndexInvalidException {
+    CompiledValue expr = this.compiler.compileQuery(expression);
+    if (expr == null) {
+      throw new IndexInvalidException(
+          String.format("Invalid indexed expression : ' %s '",
+              indexedExpression));
+    }
+
+    if (expr instanceof CompiledUndefined || expr instanceof CompiledLiteral
+        || expr instanceof CompiledComparison || expr instanceof CompiledBindArgument
+        || expr instanceof CompiledNegation) {
+      throw new IndexInvalidException(
+          String.format("Invalid indexed expression : ' %s '",
+              indexedExpression));
+    }
+    return expr;
+  }
+
+  /**
+   * Splits the indexed expression of a composite index, such as "p.status, p.region", at the commas
+   * that are not nested in brackets, parentheses or string literals.
+   */
+  static List<String> splitCompositeIndexedExpression(String indexedExpression) {
+    List<String> expressions = new ArrayList<>();
+    int depth = 0;
+    boolean inLiteral = false;
+    int start = 0;
+    for (int i = 0; i < indexedExpression.length(); i++) {
+      char c = indexedExpression.charAt(i);
+      if (c == '\'') {
+        inLiteral = !inLiteral;
+      } else if (inLiteral) {
+        continue;
+      } else if (c == '(' || c == '[') {
+        depth++;
+      } else if (c == ')' || c == ']') {
+        depth--;
+      } else if (c == ',' && depth == 0) {
+        expressions.add(indexedExpression.substring(start, i).trim());
+        start = i + 1;
+      }
+    }
+    expressions.add(indexedExpression.substring(start).trim());
+    return expressions;
+  }
+
   private void prepareProjectionAttributes(String projectionAttributes)
       throws IndexInvalidException {
     if (projectionAttributes != null && !projectionAttributes.equals("*")) {
@@ -676,6 +741,17 @@ class FunctionalIndexCreationHelper extends IndexCreationHelper {
         return cv;
       }
 
+    } else if (cv instanceof CompiledCompositeKey) {
+      CompiledValue[] components = ((CompiledCompositeKey) cv).getComponents();
+      CompiledValue[] newComponents = new CompiledValue[components.length];
+      for (int i = 0; i < components.length; ++i) {
+        StringBuilder sb = new StringBuilder();
+        components[i].generateCanonicalizedExpression(sb, context);
+        newComponents[i] = getModifiedDependentCompiledValue(context, currItrID, components[i],
+            sb.toString().startsWith(this.canonicalizedIteratorNames[0]));
+      }
+      return new CompiledCompositeKey(newComponents);
+
     } else if (cv instanceof CompiledIndexOperation) {
       CompiledIndexOperation co = (CompiledIndexOperation) cv;
       CompiledValue cv1 = co.getExpression();
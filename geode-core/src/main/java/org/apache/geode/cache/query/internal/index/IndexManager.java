@@ -23,15 +23,20 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.Logger;
@@ -52,6 +57,7 @@ import org.apache.geode.cache.query.MultiIndexCreationException;
 import org.apache.geode.cache.query.NameResolutionException;
 import org.apache.geode.cache.query.QueryException;
 import org.apache.geode.cache.query.TypeMismatchException;
+import org.apache.geode.cache.query.internal.CompiledCompositeKey;
 import org.apache.geode.cache.query.internal.CompiledPath;
 import org.apache.geode.cache.query.internal.CompiledValue;
 import org.apache.geode.cache.query.internal.ExecutionContext;
@@ -103,12 +109,33 @@ public class IndexManager {
   private final ConcurrentMap indexes = new ConcurrentHashMap();
   // TODO Asif : Fix the appropriate size of the Map & the concurrency level
   private ConcurrentMap canonicalizedIteratorNameMap = new ConcurrentHashMap();
-  private IndexUpdaterThread updater;
+  private IndexUpdaterThread[] updaters;
 
   // Threshold for Queue.
   private final int INDEX_MAINTENANCE_BUFFER =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreshold", -1);
 
+  /**
+   * Number of threads applying asynchronous index updates of a region. Updates are striped over
+   * the threads by entry key, so the updates of an entry are applied in order.
+   */
+  static final int INDEX_MAINTENANCE_THREADS = Math.max(1,
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreads", 1));
+
+  /**
+   * How long an updater waits for the other updaters of the region to apply the updates queued
+   * before a clear. If they do not all get there in time, the indexes are recreated without them.
+   */
+  static final long INDEX_RECREATE_WAIT_MILLIS = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "AsynchIndexMaintenanceRecreateWaitMillis", 60000);
+
+  /**
+   * System property to make queries wait for the asynchronous index updates queued before they
+   * started, so that a query sees the writes that preceded it.
+   */
+  public static final boolean QUERIES_WAIT_FOR_ASYNC_INDEX_MAINTENANCE = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Query.WAIT_FOR_ASYNC_INDEX_MAINTENANCE");
+
   public static final boolean JOIN_OPTIMIZATION =
       !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "index.DisableJoinOptimization");
 
@@ -172,9 +199,12 @@ public class IndexManager {
         region.getAttributes().getEvictionAttributes().getAction().isOverflowToDisk();
     this.offHeap = region.getAttributes().getOffHeap();
     if (!indexMaintenanceSynchronous) {
-      updater = new IndexUpdaterThread(this.INDEX_MAINTENANCE_BUFFER,
-          "OqlIndexUpdater:" + region.getFullPath());
-      updater.start();
+      updaters = new IndexUpdaterThread[INDEX_MAINTENANCE_THREADS];
+      for (int i = 0; i < updaters.length; i++) {
+        updaters[i] = new IndexUpdaterThread(this.INDEX_MAINTENANCE_BUFFER,
+            "OqlIndexUpdater:" + region.getFullPath() + (i == 0 ? "" : ":" + i));
+        updaters[i].start();
+      }
     }
   }
 
@@ -243,7 +273,27 @@ public class IndexManager {
    * Used by tests to access the updater thread to determine its progress
    */
   public IndexUpdaterThread getUpdaterThread() {
-    return this.updater;
+    return this.updaters == null ? null : this.updaters[0];
+  }
+
+  private IndexUpdaterThread getUpdaterThread(RegionEntry entry) {
+    if (this.updaters.length == 1) {
+      return this.updaters[0];
+    }
+    return this.updaters[Math.floorMod(entry.getKey().hashCode(), this.updaters.length)];
+  }
+
+  /**
+   * Waits until the asynchronous index updates queued before this call have been applied. Returns
+   * immediately if index maintenance is synchronous.
+   */
+  public void waitForPendingUpdates() throws InterruptedException {
+    if (this.updaters == null) {
+      return;
+    }
+    for (IndexUpdaterThread updater : this.updaters) {
+      updater.waitForQueuedTasks();
+    }
   }
 
   // @todo need more specific list of exceptions
@@ -308,6 +358,12 @@ public class IndexManager {
       } else {
         throw new AssertionError("Don't know how to set helper for " + indexType);
       }
+      if (helper.getCompiledIndexedExpression() instanceof CompiledCompositeKey
+          && (indexType != IndexType.FUNCTIONAL || !isCompactOrHash)) {
+        throw new IndexInvalidException(String.format(
+            "Composite indexes are only supported as functional indexes on a single iterator over the values of a region. The region involved is %s",
+            region.getFullPath()));
+      }
       if (!isCompactOrHash && indexType != IndexType.PRIMARY_KEY) {
 
         if (indexType == IndexType.HASH) {
@@ -434,44 +490,46 @@ public class IndexManager {
   /**
    * Return true if we should create CompactRangeIndex Required conditions: indexedExpression is a
    * path expression, fromClause has only one iterator and it is directly on the region values.
-   * Currently we have to use the "fat" implementation when asynchronous index updates are on.
    */
   private boolean shouldCreateCompactIndex(FunctionalIndexCreationHelper helper) {
     if (RANGEINDEX_ONLY || TEST_RANGEINDEX_ONLY) {
       return false;
     }
 
-    // compact range index is not supported on asynchronous index maintenance.
-    // since compact range index maintains reference to region entry, in case of
-    // asynchronous updates the window between cache operation updating the
-    // index increases causing query thread to return new value before doing
-    // index evaluation (resulting in wrong value. There is still a small window
-    // which can be addressed by the sys property:
-    // gemfire.index.acquireCompactIndexLocksWithRegionEntryLocks
-    if (!getRegion().getAttributes().getIndexMaintenanceSynchronous()) {
+    // A compact range index keeps a reference to the region entry rather than its value, so a
+    // query could see the entry's new value under its old index key while an asynchronous index
+    // update is pending. IndexUpdaterThread flags entries as update in progress from the time
+    // their update is queued, which makes the index re-evaluate them against the query condition.
+    // Off-heap values are only safe to read under the entry lock, so off-heap regions still require
+    // synchronous maintenance.
+    if (!getRegion().getAttributes().getIndexMaintenanceSynchronous() && isOffHeap()) {
       return false;
     }
 
     // indexedExpression requirement
     CompiledValue cv = helper.getCompiledIndexedExpression();
-    int nodeType;
-    do {
-      nodeType = cv.getType();
-      if (nodeType == CompiledValue.PATH) {
-        cv = ((CompiledPath) cv).getReceiver();
+    if (cv instanceof CompiledCompositeKey) {
+      for (CompiledValue component : ((CompiledCompositeKey) cv).getComponents()) {
+        int componentType = getEndOfPathType(component);
+        if (componentType != OQLLexerTokenTypes.Identifier
+            && componentType != OQLLexerTokenTypes.METHOD_INV) {
+          return false;
+        }
       }
-    } while (nodeType == CompiledValue.PATH);
-    // end of path, nodeType at this point should be an Identifier
-    if (nodeType != OQLLexerTokenTypes.Identifier && nodeType != OQLLexerTokenTypes.METHOD_INV) {
-      if (nodeType == OQLLexerTokenTypes.TOK_LBRACK && !helper.isMapTypeIndex()
-          && helper.modifiedIndexExpr instanceof MapIndexable) {
-        if (((MapIndexable) helper.modifiedIndexExpr).getIndexingKeys().size() == 1) {
+    } else {
+      int nodeType = getEndOfPathType(cv);
+      // end of path, nodeType at this point should be an Identifier
+      if (nodeType != OQLLexerTokenTypes.Identifier && nodeType != OQLLexerTokenTypes.METHOD_INV) {
+        if (nodeType == OQLLexerTokenTypes.TOK_LBRACK && !helper.isMapTypeIndex()
+            && helper.modifiedIndexExpr instanceof MapIndexable) {
+          if (((MapIndexable) helper.modifiedIndexExpr).getIndexingKeys().size() == 1) {
 
+          } else {
+            return false;
+          }
         } else {
           return false;
         }
-      } else {
-        return false;
       }
     }
 
@@ -495,6 +553,17 @@ public class IndexManager {
     return true;
   }
 
+  private static int getEndOfPathType(CompiledValue cv) {
+    int nodeType;
+    do {
+      nodeType = cv.getType();
+      if (nodeType == CompiledValue.PATH) {
+        cv = ((CompiledPath) cv).getReceiver();
+      }
+    } while (nodeType == CompiledValue.PATH);
+    return nodeType;
+  }
+
   public Index getIndex(String indexName) {
     IndexTask indexTask = new IndexTask(cache, indexName);
     Object ind = this.indexes.get(indexTask);
@@ -884,8 +953,24 @@ public class IndexManager {
     if (isIndexMaintenanceTypeSynchronous()) {
       recreateAllIndexesForRegion();
     } else {
-      // System.out.println("Aynchronous update");
-      updater.addTask(RECREATE_INDEX, null, IndexProtocol.OTHER_OP);
+      // every updater applies the updates queued before the clear, then the indexes are recreated
+      // once before any of them applies updates queued after the clear
+      CyclicBarrier recreateBarrier = new CyclicBarrier(this.updaters.length, () -> {
+        try {
+          recreateAllIndexesForRegion();
+        } catch (IndexInvalidException e) {
+          logger.warn("Failed to recreate the indexes of region {}", region.getFullPath(), e);
+        }
+      });
+      try {
+        for (IndexUpdaterThread updater : this.updaters) {
+          updater.addRecreateTask(recreateBarrier);
+        }
+      } catch (RuntimeException e) {
+        // release the updaters already waiting for the ones that did not get the task
+        recreateBarrier.reset();
+        throw e;
+      }
     }
   }
 
@@ -986,8 +1071,7 @@ public class IndexManager {
       // System.out.println("Synchronous update");
       processAction(entry, action, opCode);
     } else {
-      // System.out.println("Aynchronous update");
-      updater.addTask(action, entry, opCode);
+      getUpdaterThread(entry).addTask(action, entry, opCode);
     }
   }
 
@@ -1294,8 +1378,11 @@ public class IndexManager {
    */
   public void destroy() throws QueryException {
     this.indexes.clear();
-    if (!isIndexMaintenanceTypeSynchronous())
-      updater.shutdown();
+    if (!isIndexMaintenanceTypeSynchronous()) {
+      for (IndexUpdaterThread updater : this.updaters) {
+        updater.shutdown();
+      }
+    }
   }
 
   /**
@@ -1394,13 +1481,32 @@ public class IndexManager {
 
   ////////////////////// Inner Classes //////////////////////
 
+  /**
+   * Applies the asynchronous index updates of the entries whose keys map to it. An update queued
+   * for an entry that already has an update waiting in the queue is dropped, since processing the
+   * waiting one indexes the entry's latest value. Queued entries are flagged as update in progress
+   * until their updates are applied, so that indexes holding them re-evaluate their values against
+   * the query condition in the meantime.
+   */
   public class IndexUpdaterThread extends LoggingThread {
 
     private volatile boolean running = true;
 
     private volatile boolean shutdownRequested = false;
 
-    private volatile BlockingQueue pendingTasks;
+    private volatile BlockingQueue<UpdateTask> pendingTasks;
+
+    /** Entries with an UPDATE_ENTRY task in the queue that has not been taken yet */
+    private final Set<RegionEntry> pendingUpdates = ConcurrentHashMap.newKeySet();
+
+    /** Number of queued or running tasks of each entry */
+    private final ConcurrentMap<RegionEntry, Integer> entryTaskCounts = new ConcurrentHashMap<>();
+
+    /** Guarded by this */
+    private long numTasksAdded = 0;
+
+    /** Guarded by this */
+    private long numTasksProcessed = 0;
 
     /**
      * Creates instance of IndexUpdaterThread
@@ -1410,19 +1516,53 @@ public class IndexManager {
       // Check if threshold is set.
       if (updateThreshold > 0) {
         // Create a bounded queue.
-        pendingTasks = new ArrayBlockingQueue(updateThreshold);
+        pendingTasks = new ArrayBlockingQueue<>(updateThreshold);
       } else {
         // Create non-bounded queue.
-        pendingTasks = new LinkedBlockingQueue();
+        pendingTasks = new LinkedBlockingQueue<>();
       }
     }
 
     public void addTask(int action, RegionEntry entry, int opCode) {
-      Object[] task = new Object[3];
-      task[0] = action;
-      task[1] = entry;
-      task[2] = opCode;
-      pendingTasks.add(task);
+      if (action == UPDATE_ENTRY && !pendingUpdates.add(entry)) {
+        // the queued update indexes the entry's latest value
+        return;
+      }
+      entryTaskCounts.merge(entry, 1, Integer::sum);
+      entry.setUpdateInProgress(true);
+      try {
+        enqueue(new UpdateTask(action, entry, opCode, null));
+      } catch (RuntimeException e) {
+        if (action == UPDATE_ENTRY) {
+          pendingUpdates.remove(entry);
+        }
+        taskDone(entry);
+        throw e;
+      }
+    }
+
+    void addRecreateTask(CyclicBarrier recreateBarrier) {
+      enqueue(new UpdateTask(RECREATE_INDEX, null, IndexProtocol.OTHER_OP, recreateBarrier));
+    }
+
+    private void enqueue(UpdateTask task) {
+      synchronized (this) {
+        pendingTasks.add(task);
+        numTasksAdded++;
+      }
+    }
+
+    /**
+     * Waits until the tasks queued before this call have been processed, or this thread has
+     * stopped.
+     */
+    void waitForQueuedTasks() throws InterruptedException {
+      synchronized (this) {
+        long target = numTasksAdded;
+        while (numTasksProcessed < target && this.running && !this.shutdownRequested) {
+          wait(100);
+        }
+      }
     }
 
     /**
@@ -1455,43 +1595,77 @@ public class IndexManager {
             break;
           }
           try {
-            Object[] task = (Object[]) pendingTasks.take();
+            UpdateTask task = pendingTasks.take();
             if (this.shutdownRequested) {
               break;
             }
-            updateIndexes(task);
+            try {
+              updateIndexes(task);
+            } finally {
+              synchronized (this) {
+                numTasksProcessed++;
+                notifyAll();
+              }
+            }
           } catch (InterruptedException ignore) {
             return; // give up (exit the thread)
           }
         }
       } finally {
         this.running = false;
+        synchronized (this) {
+          notifyAll();
+        }
       }
     }
 
-    private void updateIndexes(Object[] task) {
-      int action = (Integer) task[0];
-      RegionEntry entry = (RegionEntry) task[1];
-      int opCode = (Integer) task[2];
-      // System.out.println("entry = "+entry.getKey());
-      if (entry != null || action == RECREATE_INDEX) {
+    private void updateIndexes(UpdateTask task) throws InterruptedException {
+      if (task.action == RECREATE_INDEX) {
         try {
-          if (action == RECREATE_INDEX) {
+          // the barrier action recreates the indexes once all updaters reach it
+          task.recreateBarrier.await(INDEX_RECREATE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          // the barrier is now broken, so this updater is the one recreating the indexes
+          logger.warn(
+              "Index updaters of region {} did not all apply the updates queued before its clear "
+                  + "within {} ms, recreating its indexes without waiting for them",
+              region.getFullPath(), INDEX_RECREATE_WAIT_MILLIS);
+          try {
             recreateAllIndexesForRegion();
-          } else {
-            if (entry != null) {
-              entry.setUpdateInProgress(true);
-            }
-            processAction(entry, action, opCode);
+          } catch (IndexInvalidException ex) {
+            logger.warn("Failed to recreate the indexes of region {}", region.getFullPath(), ex);
           }
-        } catch (Exception e) {
-          e.printStackTrace();
-        } finally {
-          if (entry != null && action != RECREATE_INDEX) {
-            entry.setUpdateInProgress(false);
+        } catch (BrokenBarrierException e) {
+          // another updater timed out and recreates the indexes, or the recreation was abandoned
+          if (logger.isDebugEnabled()) {
+            logger.debug("Index recreation barrier of region {} was broken",
+                region.getFullPath(), e);
           }
         }
+        return;
+      }
+      RegionEntry entry = task.entry;
+      if (task.action == UPDATE_ENTRY) {
+        // an update queued from now on must index the value written after this one is applied
+        pendingUpdates.remove(entry);
       }
+      try {
+        processAction(entry, task.action, task.opCode);
+      } catch (Exception e) {
+        logger.warn("Failed to update the indexes of region {}", region.getFullPath(), e);
+      } finally {
+        taskDone(entry);
+      }
+    }
+
+    private void taskDone(RegionEntry entry) {
+      entryTaskCounts.compute(entry, (e, count) -> {
+        if (count == null || count <= 1) {
+          e.setUpdateInProgress(false);
+          return null;
+        }
+        return count - 1;
+      });
     }
 
     /**
@@ -1505,6 +1679,20 @@ public class IndexManager {
 
   }
 
+  private static class UpdateTask {
+    final int action;
+    final RegionEntry entry;
+    final int opCode;
+    final CyclicBarrier recreateBarrier;
+
+    UpdateTask(int action, RegionEntry entry, int opCode, CyclicBarrier recreateBarrier) {
+      this.action = action;
+      this.entry = entry;
+      this.opCode = opCode;
+      this.recreateBarrier = recreateBarrier;
+    }
+  }
+
   /**
    * Index Task used to create the index. This is used along with the FutureTask to take care of,
    * same index creation request from multiple threads. At any time only one thread succeeds and
@@ -1621,7 +1809,14 @@ public class IndexManager {
         // boolean isCompact = !helper.isMapTypeIndex() &&
         // shouldCreateCompactIndex((FunctionalIndexCreationHelper)helper);
         if (this.isCompactOrHash || this.isLDM) {
-          if (indexType == IndexType.FUNCTIONAL && !helper.isMapTypeIndex()) {
+          if (helper.getCompiledIndexedExpression() instanceof CompiledCompositeKey) {
+            index = new CompositeRangeIndex(cache, indexName, region, fromClause,
+                indexedExpression, projectionAttributes, origFromClause, origIndexedExpression,
+                definitions,
+                ((FunctionalIndexCreationHelper) helper).canonicalizedCompositeComponents, stats);
+            logger.info("Using Composite Range index implementation for '{}' on region {}",
+                indexName, region.getFullPath());
+          } else if (indexType == IndexType.FUNCTIONAL && !helper.isMapTypeIndex()) {
             index = new CompactRangeIndex(cache, indexName, region, fromClause, indexedExpression,
                 projectionAttributes, origFromClause, origIndexedExpression, definitions, stats);
             logger.info("Using Compact Range index implementation for '{}' on region {}", indexName,
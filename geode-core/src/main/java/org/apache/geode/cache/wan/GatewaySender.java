@@ -77,6 +77,11 @@ public interface GatewaySender {
    */
   boolean DEFAULT_BATCH_CONFLATION = false;
 
+  /**
+   * The default of whether batch conflation conflates an update in place
+   */
+  boolean DEFAULT_BATCH_CONFLATION_IN_PLACE = false;
+
   /**
    * The default batch size
    */
@@ -325,6 +330,15 @@ public interface GatewaySender {
    */
   boolean isBatchConflationEnabled();
 
+  /**
+   * Answers whether a serial GatewaySender with batch conflation enabled conflates an update in
+   * place, replacing the queued event of its key instead of adding the update to the tail of the
+   * queue. The default value is false.
+   *
+   * @return whether updates are conflated at the position of the event they conflate
+   */
+  boolean isBatchConflationInPlace();
+
   /**
    * Returns true if persistence is enabled for this GatewaySender, otherwise returns false. Default
    * is false if not set explicitly.
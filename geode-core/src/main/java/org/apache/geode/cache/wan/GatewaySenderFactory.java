@@ -122,6 +122,18 @@ public interface GatewaySenderFactory {
    */
   GatewaySenderFactory setBatchConflationEnabled(boolean isConflation);
 
+  /**
+   * Sets whether a serial <code>GatewaySender</code> with batch conflation enabled conflates an
+   * update in place. The update then replaces the value of the queued event of its key, if that
+   * event is not being dispatched yet, instead of removing it and being added to the tail of the
+   * queue. A frequently updated key is thus not moved back to the tail of a queue that is not
+   * drained. Transactional events are never conflated. Ignored by parallel senders. Default is
+   * false.
+   *
+   * @param inPlace Whether or not to conflate updates at the position of the conflated event
+   */
+  GatewaySenderFactory setBatchConflationInPlace(boolean inPlace);
+
   /**
    * Sets whether to enable persistence for a <code>GatewaySender</code>'s queue. Default is false.
    *
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.wan;
+
+import java.util.Properties;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Declarable;
+
+/**
+ * A <code>GatewayEventFilter</code> sharding the events of serial gateway senders by the hash code
+ * of their keys. Each of several serial senders to the same remote distributed system is given a
+ * shard filter with its own shard and the same shard count, and is added to the same regions. Each
+ * event is then queued and dispatched by one of the senders only, and all the events of a key by
+ * the same sender, so the events of a key are still dispatched in order.
+ *
+ * The primary of a serial sender with a shard filter is preferably the member at the index of the
+ * shard among the members running the sender, rather than the eldest member, so the shards are
+ * dispatched by different members. Keys must have a <code>hashCode</code> that is the same on every
+ * member, as for partitioned regions.
+ *
+ * A shard filter can be declared with the <code>shard</code> and <code>shard-count</code>
+ * parameters.
+ *
+ * @since Geode 1.11
+ */
+public class KeyShardGatewayEventFilter implements GatewayEventFilter, Declarable {
+
+  private int shard;
+
+  private int shardCount = 1;
+
+  public KeyShardGatewayEventFilter() {}
+
+  /**
+   * @param shard the shard of the events to queue, from 0 to shardCount excluded
+   * @param shardCount the number of shards
+   */
+  public KeyShardGatewayEventFilter(int shard, int shardCount) {
+    setShard(shard, shardCount);
+  }
+
+  @Override
+  public void initialize(Cache cache, Properties properties) {
+    setShard(Integer.parseInt(properties.getProperty("shard")),
+        Integer.parseInt(properties.getProperty("shard-count")));
+  }
+
+  private void setShard(int shard, int shardCount) {
+    if (shardCount <= 0 || shard < 0 || shard >= shardCount) {
+      throw new IllegalArgumentException(
+          String.format("Shard %s is not between 0 and the shard count %s", shard, shardCount));
+    }
+    this.shard = shard;
+    this.shardCount = shardCount;
+  }
+
+  public int getShard() {
+    return this.shard;
+  }
+
+  public int getShardCount() {
+    return this.shardCount;
+  }
+
+  /**
+   * Returns the shard of a key
+   */
+  public int getShard(Object key) {
+    return Math.floorMod(key == null ? 0 : key.hashCode(), this.shardCount);
+  }
+
+  @Override
+  public boolean beforeEnqueue(GatewayQueueEvent event) {
+    return getShard(event.getKey()) == this.shard;
+  }
+
+  @Override
+  public boolean beforeTransmit(GatewayQueueEvent event) {
+    return true;
+  }
+
+  @Override
+  public void afterAcknowledgement(GatewayQueueEvent event) {
+    // nothing to do
+  }
+}
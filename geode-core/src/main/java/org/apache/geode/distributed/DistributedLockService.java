@@ -15,6 +15,8 @@
 
 package org.apache.geode.distributed;
 
+import java.util.Collection;
+
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.locks.DLockService;
 
@@ -177,6 +179,80 @@ public abstract class DistributedLockService {
   public abstract boolean lockInterruptibly(Object name, long waitTimeMillis, long leaseTimeMillis)
       throws InterruptedException;
 
+  /**
+   * <p>
+   * Attempts to acquire the locks for all of the given <code>names</code>. Returns
+   * <code>true</code> once every lock is held by the calling thread. If any of the locks cannot be
+   * acquired within <code>waitTimeMillis</code>, the locks acquired by this invocation are released
+   * and <code>false</code> is returned.
+   * </p>
+   *
+   * <p>
+   * The lock grantor is first asked for all of the locks in a single request, which it grants
+   * only if none of the locks is held or waited for. Otherwise the locks are requested one at a
+   * time, and every member acquires them in the same order regardless of the order of
+   * <code>names</code>, so threads that lock overlapping sets of names with this method do not
+   * deadlock each other. Names are ordered by class name, then by their natural ordering if they
+   * are {@link Comparable}, or else by their serialized form. The locks are reentrant and are
+   * released individually with {@link #unlock(Object)} or together with
+   * {@link #unlockAll(Collection)}.
+   * </p>
+   *
+   * <p>
+   * The default implementation throws UnsupportedOperationException. The lock services returned by
+   * {@link #create(String, DistributedSystem)} implement it.
+   * </p>
+   *
+   * @param names the names of the locks to acquire in this service. Duplicate names are locked
+   *        once.
+   *
+   * @param waitTimeMillis the number of milliseconds to try to acquire all of the locks before
+   *        giving up and returning false. A value of -1 causes this method to block until all of
+   *        the locks are acquired.
+   *
+   * @param leaseTimeMillis the number of milliseconds to hold each lock after granting it, before
+   *        automatically releasing it if it hasn't already been released. If
+   *        <code>leaseTimeMillis</code> is -1, hold the locks until explicitly unlocked.
+   *
+   * @return true if all of the locks were acquired, false if the timeout
+   *         <code>waitTimeMillis</code> passed without acquiring them.
+   *
+   * @throws IllegalArgumentException if one of the names is neither Comparable nor serializable
+   *
+   * @throws LockServiceDestroyedException if this lock service has been destroyed
+   *
+   * @throws UnsupportedOperationException if this lock service does not support it
+   *
+   * @since Geode 1.11
+   */
+  public boolean lockAll(Collection<?> names, long waitTimeMillis, long leaseTimeMillis) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support acquiring several locks at once");
+  }
+
+  /**
+   * Release the locks previously granted for each of the given <code>names</code>, for instance by
+   * {@link #lockAll(Collection, long, long)}. An attempt is made to release every lock even if
+   * releasing one of them fails, in which case the first failure is thrown.
+   *
+   * @param names the names of the locks to release in this service.
+   *
+   * @throws LockNotHeldException if the current thread is not the owner of one of the locks
+   *
+   * @throws LeaseExpiredException if the current thread was the owner of one of the locks, but its
+   *         lease has expired.
+   *
+   * @throws LockServiceDestroyedException if the service has been destroyed
+   *
+   * @throws UnsupportedOperationException if this lock service does not support it
+   *
+   * @since Geode 1.11
+   */
+  public void unlockAll(Collection<?> names) throws LeaseExpiredException {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support releasing several locks at once");
+  }
+
   /**
    * Release the lock previously granted for the given <code>name</code>.
    *
@@ -235,6 +235,20 @@ public interface DMStats {
 
   long getUDPMsgDecryptionTime();
 
+  /**
+   * @return the timestamp that marks the start of a TLS handshake
+   */
+  long startTlsHandshake();
+
+  /**
+   * @param resumed true if the handshake resumed a cached TLS session
+   */
+  void endTlsHandshake(long start, boolean resumed);
+
+  void incTlsBytesEncrypted(long bytes);
+
+  void incTlsBytesDecrypted(long bytes);
+
   int getNodes();
 
   void setNodes(int val);
@@ -346,6 +360,17 @@ public interface DMStats {
    */
   void incMcastRetransmitRequests();
 
+  /**
+   * @return the timestamp that marks the start of sending a multicast message
+   */
+  long startMcastSend();
+
+  /**
+   * records the end of sending a multicast message. The elapsed time includes any time the sender
+   * was blocked by multicast flow control.
+   */
+  void endMcastSend(long start);
+
   /**
    * @since GemFire 4.2.2
    */
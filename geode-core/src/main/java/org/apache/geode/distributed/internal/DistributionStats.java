@@ -130,6 +130,9 @@ public class DistributionStats implements DMStats {
   private static final int mcastWriteBytesId;
   private static final int mcastRetransmitsId;
   private static final int mcastRetransmitRequestsId;
+  private static final int mcastSendsId;
+  private static final int mcastSendsInProgressId;
+  private static final int mcastSendTimeId;
 
   private static final int serializationTimeId;
   private static final int serializationsId;
@@ -153,6 +156,12 @@ public class DistributionStats implements DMStats {
   private static final int udpMsgEncryptionTimeId;
   private static final int udpMsgDecryptionTimeId;
 
+  private static final int tlsHandshakesId;
+  private static final int tlsHandshakesResumedId;
+  private static final int tlsHandshakeTimeId;
+  private static final int tlsBytesEncryptedId;
+  private static final int tlsBytesDecryptedId;
+
   private static final int batchSendTimeId;
   private static final int batchCopyTimeId;
   private static final int batchWaitTimeId;
@@ -557,6 +566,14 @@ public class DistributionStats implements DMStats {
         f.createIntCounter("mcastRetransmitRequests",
             "Total number of multicast datagram socket retransmission requests sent to other processes",
             "requests"),
+        f.createIntCounter("mcastSends", "Total number of messages sent using multicast.",
+            "messages"),
+        f.createIntGauge("mcastSendsInProgress",
+            "Current number of threads sending a multicast message. Threads waiting for multicast flow control credits are included.",
+            "sends"),
+        f.createLongCounter("mcastSendTime",
+            "Total amount of time, in nanoseconds, spent sending multicast messages, including time blocked waiting for flow control credits from receivers.",
+            "nanoseconds"),
 
         f.createLongCounter("serializationTime",
             "Total amount of time, in nanoseconds, spent serializing objects. This includes pdx serializations.",
@@ -589,6 +606,20 @@ public class DistributionStats implements DMStats {
             "Total amount of time, in nanoseconds, spent encrypting udp messages.", "nanoseconds"),
         f.createLongCounter("udpMsgDecryptionTime",
             "Total amount of time, in nanoseconds, spent decrypting udp messages.", "nanoseconds"),
+        f.createLongCounter("tlsHandshakes",
+            "Total number of TLS handshakes completed on peer-to-peer connections.", "operations"),
+        f.createLongCounter("tlsHandshakesResumed",
+            "Total number of TLS handshakes that resumed a cached TLS session instead of performing a full handshake.",
+            "operations"),
+        f.createLongCounter("tlsHandshakeTime",
+            "Total amount of time, in nanoseconds, spent performing TLS handshakes.",
+            "nanoseconds"),
+        f.createLongCounter("tlsBytesEncrypted",
+            "Total number of application bytes encrypted by TLS on peer-to-peer connections.",
+            "bytes"),
+        f.createLongCounter("tlsBytesDecrypted",
+            "Total number of application bytes decrypted by TLS on peer-to-peer connections.",
+            "bytes"),
         f.createIntCounter("pdxInstanceDeserializations",
             "Total number of times getObject has been called on a PdxInstance.", "ops"),
         f.createLongCounter("pdxInstanceDeserializationTime",
@@ -827,6 +858,9 @@ public class DistributionStats implements DMStats {
     mcastWriteBytesId = type.nameToId("mcastWriteBytes");
     mcastRetransmitsId = type.nameToId("mcastRetransmits");
     mcastRetransmitRequestsId = type.nameToId("mcastRetransmitRequests");
+    mcastSendsId = type.nameToId("mcastSends");
+    mcastSendsInProgressId = type.nameToId("mcastSendsInProgress");
+    mcastSendTimeId = type.nameToId("mcastSendTime");
 
     serializationTimeId = type.nameToId("serializationTime");
     serializationsId = type.nameToId("serializations");
@@ -848,6 +882,12 @@ public class DistributionStats implements DMStats {
     udpMsgEncryptionTimeId = type.nameToId("udpMsgEncryptionTime");
     udpMsgDecryptionTimeId = type.nameToId("udpMsgDecryptionTime");
 
+    tlsHandshakesId = type.nameToId("tlsHandshakes");
+    tlsHandshakesResumedId = type.nameToId("tlsHandshakesResumed");
+    tlsHandshakeTimeId = type.nameToId("tlsHandshakeTime");
+    tlsBytesEncryptedId = type.nameToId("tlsBytesEncrypted");
+    tlsBytesDecryptedId = type.nameToId("tlsBytesDecrypted");
+
     batchSendTimeId = type.nameToId("batchSendTime");
     batchCopyTimeId = type.nameToId("batchCopyTime");
     batchWaitTimeId = type.nameToId("batchWaitTime");
@@ -1598,6 +1638,34 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  /**
+   * Handshakes are infrequent and expensive so they are always timed, regardless of
+   * enableClockStats.
+   */
+  @Override
+  public long startTlsHandshake() {
+    return NanoTimer.getTime();
+  }
+
+  @Override
+  public void endTlsHandshake(long start, boolean resumed) {
+    stats.incLong(tlsHandshakesId, 1);
+    if (resumed) {
+      stats.incLong(tlsHandshakesResumedId, 1);
+    }
+    stats.incLong(tlsHandshakeTimeId, NanoTimer.getTime() - start);
+  }
+
+  @Override
+  public void incTlsBytesEncrypted(long bytes) {
+    stats.incLong(tlsBytesEncryptedId, bytes);
+  }
+
+  @Override
+  public void incTlsBytesDecrypted(long bytes) {
+    stats.incLong(tlsBytesDecryptedId, bytes);
+  }
+
   /**
    * @return the timestamp that marks the start of the operation
    */
@@ -2266,6 +2334,21 @@ public class DistributionStats implements DMStats {
     return stats.getInt(mcastRetransmitsId);
   }
 
+  @Override
+  public long startMcastSend() {
+    stats.incInt(mcastSendsInProgressId, 1);
+    return getStatTime();
+  }
+
+  @Override
+  public void endMcastSend(long start) {
+    stats.incInt(mcastSendsInProgressId, -1);
+    stats.incInt(mcastSendsId, 1);
+    if (enableClockStats) {
+      stats.incLong(mcastSendTimeId, getStatTime() - start);
+    }
+  }
+
   @Override
   public void incThreadOwnedReceivers(long value, int dominoCount) {
     if (dominoCount < 2) {
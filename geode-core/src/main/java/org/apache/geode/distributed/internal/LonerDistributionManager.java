@@ -638,6 +638,14 @@ public class LonerDistributionManager implements DistributionManager {
       return 0;
     }
 
+    @Override
+    public long startMcastSend() {
+      return 0;
+    }
+
+    @Override
+    public void endMcastSend(long start) {}
+
     @Override
     public int getMcastWrites() {
       return 0;
@@ -1041,6 +1049,20 @@ public class LonerDistributionManager implements DistributionManager {
     public long getUDPMsgDecryptionTime() {
       return 0;
     }
+
+    @Override
+    public long startTlsHandshake() {
+      return 0;
+    }
+
+    @Override
+    public void endTlsHandshake(long start, boolean resumed) {}
+
+    @Override
+    public void incTlsBytesEncrypted(long bytes) {}
+
+    @Override
+    public void incTlsBytesDecrypted(long bytes) {}
   }
   protected static class DummyExecutor implements ExecutorService {
     @Override
@@ -757,6 +757,10 @@ public class DLockGrantor {
       handleLockBatch(request);
       return;
     }
+    if (request.getObjectName() instanceof DLockNameBatch) {
+      handleLockNameBatch(request);
+      return;
+    }
 
     waitWhileInitializing(); // calcWaitMillisFromNow
 
@@ -804,6 +808,109 @@ public class DLockGrantor {
     }
   }
 
+  /**
+   * Handles a try-lock request for a {@link DLockNameBatch}. Every named lock is granted to the
+   * requesting thread under the lockId of the request, or none is and the request fails with the
+   * name of the first lock that is held or has waiting requests.
+   * <p>
+   * Acquires destroyReadLock. Synchronizes on grantTokens, suspendLock and each grant token.
+   *
+   * @param request the lock request naming the batch of locks
+   * @throws LockGrantorDestroyedException if grantor is destroyed
+   */
+  private void handleLockNameBatch(DLockRequestMessage request) throws InterruptedException {
+    waitWhileInitializing();
+    if (!acquireDestroyReadLock(0)) {
+      waitUntilDestroyed();
+      checkDestroyed();
+    }
+    try {
+      DLockLessorDepartureHandler dLockLessorDepartureHandler =
+          this.dlock.getDLockLessorDepartureHandler();
+      if (dLockLessorDepartureHandler != null) {
+        dLockLessorDepartureHandler.waitForInProcessDepartures();
+      }
+      checkDestroyed();
+      if (logger.isTraceEnabled(LogMarker.DLS_VERBOSE)) {
+        logger.trace(LogMarker.DLS_VERBOSE, "[DLockGrantor.handleLockNameBatch] {}", request);
+      }
+      Object[] names = ((DLockNameBatch) request.getObjectName()).getNames();
+      for (Object name : names) {
+        if (DLockService.SUSPEND_LOCKING_TOKEN.equals(name)) {
+          request.respondWithTryLockFailed(name);
+          return;
+        }
+      }
+      if (!acquireReadLockPermissions(request, names.length)) {
+        request.respondWithTryLockFailed(null);
+        return;
+      }
+      grantLockNameBatch(request, names);
+    } finally {
+      releaseDestroyReadLock();
+    }
+  }
+
+  /**
+   * Grants the named locks of a batch request in order, releasing the ones already granted if one
+   * of them is not available. The request must hold a read lock permission for each name.
+   * <p>
+   * Caller must hold destroyReadLock. Synchronizes on grantTokens, suspendLock and each grant
+   * token.
+   */
+  private void grantLockNameBatch(DLockRequestMessage request, Object[] names) {
+    final InternalDistributedMember owner = request.getSender();
+    final RemoteThread rThread = request.getRemoteThread();
+    final List<DLockGrantToken> grants = new ArrayList<>(names.length);
+    long leaseExpireTime = -1;
+    int granted = 0;
+    Object keyIfFailed = null;
+    try {
+      for (Object name : names) {
+        DLockGrantToken grant = getOrCreateGrant(name);
+        grants.add(grant);
+        synchronized (grant) {
+          if (grant.isGranted(true) || grant.hasWaitingRequests()) {
+            keyIfFailed = name;
+            break;
+          }
+          if (leaseExpireTime == -1) {
+            leaseExpireTime = grant.calcLeaseExpireTime(request.getLeaseTime());
+          }
+          grant.grantLock(owner, leaseExpireTime, request.getLockId(), rThread);
+          granted++;
+        }
+      }
+    } finally {
+      for (DLockGrantToken grant : grants) {
+        grant.decAccess();
+      }
+    }
+
+    if (granted == names.length) {
+      if (leaseExpireTime < Long.MAX_VALUE) {
+        long now = DLockService.getLockTimeStamp(this.dm);
+        this.thread.checkTimeToWait(leaseExpireTime - now, true);
+      }
+      request.respondWithGrant(leaseExpireTime);
+      return;
+    }
+
+    // release the read lock permissions of the names that were not granted...
+    for (int i = granted; i < names.length; i++) {
+      postReleaseLock(rThread, names[i]);
+    }
+    // ... and the names that were, which also grants them to any request that queued meanwhile
+    for (int i = 0; i < granted; i++) {
+      getAndReleaseGrantIfLockedBy(names[i], owner, request.getLockId());
+    }
+    for (int i = granted; i < grants.size(); i++) {
+      removeGrantIfUnused(grants.get(i));
+    }
+    drainPermittedRequests();
+    request.respondWithTryLockFailed(keyIfFailed);
+  }
+
   /**
    * Internally handles a lock request which has permission to proceed.
    * <p>
@@ -1021,7 +1128,14 @@ public class DLockGrantor {
     }
     try {
       checkDestroyed();
-      getAndReleaseGrantIfLockedBy(name, owner, lockId);
+      if (name instanceof DLockNameBatch) {
+        // an orphaned grant of a batch request
+        for (Object batchName : ((DLockNameBatch) name).getNames()) {
+          getAndReleaseGrantIfLockedBy(batchName, owner, lockId);
+        }
+      } else {
+        getAndReleaseGrantIfLockedBy(name, owner, lockId);
+      }
     } finally {
       releaseDestroyReadLock();
     }
@@ -1369,7 +1483,13 @@ public class DLockGrantor {
     try {
       checkDestroyed();
       drainPermittedRequests();
-      grantLock(objectName);
+      if (objectName instanceof DLockNameBatch) {
+        for (Object name : ((DLockNameBatch) objectName).getNames()) {
+          grantLock(name);
+        }
+      } else {
+        grantLock(objectName);
+      }
     } catch (LockServiceDestroyedException | LockGrantorDestroyedException e) {
       // ignore... service was destroyed and that's ok
     } finally {
@@ -2199,6 +2319,37 @@ public class DLockGrantor {
     return permitLockRequest;
   }
 
+  /**
+   * Permits the request to hold count more regular locks, unless locking is suspended or a thread
+   * waits to suspend it and the requesting thread does not already hold a lock. Unlike
+   * {@link #acquireReadLockPermission(DLockRequestMessage)} the request is never queued.
+   * <p>
+   * Synchronizes on suspendLock.
+   *
+   * @return true if the request has permission to proceed
+   */
+  private boolean acquireReadLockPermissions(DLockRequestMessage request, int count) {
+    final RemoteThread rThread = request.getRemoteThread();
+    Assert.assertTrue(rThread != null);
+    synchronized (suspendLock) {
+      checkDestroyed();
+      if (!dm.isCurrentMember(request.getSender())) {
+        logger.info(LogMarker.DLS_MARKER, "Ignoring lock request from non-member: {}", request);
+        return false;
+      }
+      Integer integer = (Integer) readLockCountMap.get(rThread);
+      int readLockCount = integer == null ? 0 : integer.intValue();
+      boolean threadHoldsLock = readLockCount > 0 || isLockingSuspendedBy(rThread);
+      if (!threadHoldsLock && (isLockingSuspended() || writeLockWaiters > 0)) {
+        return false;
+      }
+      readLockCountMap.put(rThread, Integer.valueOf(readLockCount + count));
+      totalReadLockCount += count;
+      checkTotalReadLockCount();
+      return true;
+    } // suspendLock sync
+  }
+
   /**
    * Synchronizes on suspendLock.
    */
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal.locks;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.internal.DataSerializableFixedID;
+import org.apache.geode.internal.Version;
+
+/**
+ * The names of several locks requested together with a single DLockRequestMessage, in place of
+ * the name of a single lock. The grantor grants every named lock to the requesting thread under
+ * the lockId of the request, or none of them.
+ *
+ * @see DLockService#lockAll(java.util.Collection, long, long)
+ */
+public class DLockNameBatch implements DataSerializableFixedID {
+
+  /** The names of the locks, in the order the requester acquires them */
+  private Object[] names;
+
+  public DLockNameBatch() {}
+
+  DLockNameBatch(List<Object> names) {
+    this.names = names.toArray();
+  }
+
+  Object[] getNames() {
+    return this.names;
+  }
+
+  @Override
+  public int getDSFID() {
+    return DLOCK_NAME_BATCH;
+  }
+
+  @Override
+  public void toData(DataOutput out) throws IOException {
+    DataSerializer.writeObjectArray(this.names, out);
+  }
+
+  @Override
+  public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    this.names = DataSerializer.readObjectArray(in);
+  }
+
+  @Override
+  public Version[] getSerializationVersions() {
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "DLockNameBatch" + Arrays.toString(this.names);
+  }
+}
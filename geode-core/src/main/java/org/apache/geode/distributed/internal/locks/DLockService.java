@@ -17,12 +17,15 @@ package org.apache.geode.distributed.internal.locks;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -59,6 +62,7 @@ import org.apache.geode.internal.OSProcess;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.internal.util.StopWatch;
 import org.apache.geode.internal.util.concurrent.FutureResult;
 
@@ -1249,6 +1253,249 @@ public class DLockService extends DistributedLockService {
     return false;
   }
 
+  /**
+   * First asks the grantor for all of the locks at once with a single try-lock request for a
+   * {@link DLockNameBatch}. If that fails because one of the locks is held or is wanted by another
+   * request, or if the current thread already holds one of them, the locks are acquired one at a
+   * time in {@link #lockOrder(Collection)}, each with what is left of the overall wait time.
+   */
+  @Override
+  public boolean lockAll(Collection<?> names, long waitTimeMillis, long leaseTimeMillis) {
+    checkDestroyed();
+    final List<Object> orderedNames = lockOrder(names);
+    final long deadline = waitTimeMillis < 0 ? 0 : System.currentTimeMillis() + waitTimeMillis;
+    if (orderedNames.size() > 1 && tryLockNameBatch(orderedNames, leaseTimeMillis)) {
+      return true;
+    }
+    final List<Object> acquired = new ArrayList<>(orderedNames.size());
+    try {
+      for (Object name : orderedNames) {
+        long remainingWait =
+            waitTimeMillis < 0 ? -1 : Math.max(0, deadline - System.currentTimeMillis());
+        if (!lock(name, remainingWait, leaseTimeMillis)) {
+          releaseAll(acquired, true, null);
+          return false;
+        }
+        acquired.add(name);
+      }
+      return true;
+    } catch (RuntimeException | Error e) {
+      releaseAll(acquired, true, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Requests all of the named locks from the grantor in one try-lock request. Returns false
+   * without a request if the current thread already holds one of the locks or the grantor is a
+   * member too old to handle a {@link DLockNameBatch}.
+   *
+   * @param orderedNames the distinct names of the locks in lock order
+   * @param leaseTimeMillis the lease time of each lock, or -1 to hold them until unlocked
+   * @return true if all of the locks were granted
+   */
+  private boolean tryLockNameBatch(List<Object> orderedNames, long leaseTimeMillis) {
+    final LockGrantorId theLockGrantorId = getLockGrantorId();
+    if (theLockGrantorId.getLockGrantorMember().getVersionObject()
+        .compareTo(Version.GEODE_1_11_0) < 0) {
+      return false;
+    }
+    final List<DLockToken> tokens = new ArrayList<>(orderedNames.size());
+    final long statStart = getStats().startLockWait();
+    boolean gotLocks = false;
+    try {
+      for (Object name : orderedNames) {
+        DLockToken token = getOrCreateToken(name);
+        tokens.add(token);
+        synchronized (token) {
+          token.checkForExpiration();
+          if (token.isLeaseHeldByCurrentThread()) {
+            return false;
+          }
+        }
+      }
+
+      ThreadRequestState requestState = (ThreadRequestState) this.threadRequestState.get();
+      if (requestState == null) {
+        requestState = new ThreadRequestState(incThreadSequence(), false);
+        this.threadRequestState.set(requestState);
+      } else {
+        requestState.interruptible = false;
+      }
+      final int threadId = requestState.threadId;
+
+      final long requestLeaseTime = leaseTimeMillis == -1 ? Long.MAX_VALUE : leaseTimeMillis;
+      DLockRequestProcessor processor = createRequestProcessor(theLockGrantorId,
+          new DLockNameBatch(orderedNames), threadId, getLockTimeStamp(this.dm), requestLeaseTime,
+          0, false, true);
+      int lockId = processor.getProcessorId();
+      try {
+        gotLocks = processor.requestLock(false, lockId);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      if (logger.isTraceEnabled(LogMarker.DLS_VERBOSE)) {
+        logger.trace(LogMarker.DLS_VERBOSE, "Grantor {} replied {} to batch of {}",
+            theLockGrantorId, processor.getResponseCodeString(), orderedNames);
+      }
+      if (!gotLocks) {
+        if (processor.repliedDestroyed()) {
+          checkDestroyed();
+        }
+        return false;
+      }
+
+      gotLocks = grantLocalDLocksAfterObtainingRemoteLocks(tokens, threadId,
+          processor.getLeaseExpireTime(), lockId, theLockGrantorId, processor);
+      if (gotLocks) {
+        for (int i = 0; i < tokens.size(); i++) {
+          incActiveLocks();
+        }
+      }
+      return gotLocks;
+    } finally {
+      getStats().endLockWait(statStart, gotLocks);
+      if (!gotLocks) {
+        for (DLockToken token : tokens) {
+          synchronized (token) {
+            token.decUsage();
+          }
+          freeResources(token.getName());
+        }
+      }
+    }
+  }
+
+  /**
+   * Grants the local lock tokens for a batch of locks granted by the grantor, as
+   * {@link #grantLocalDLockAfterObtainingRemoteLock} does for a single lock.
+   *
+   * @return false if the grant cannot be honored because the grantor changed or this service was
+   *         destroyed, in which case the orphaned grant has been released
+   */
+  private boolean grantLocalDLocksAfterObtainingRemoteLocks(List<DLockToken> tokens,
+      int threadId, long leaseExpireTime, int lockId, LockGrantorId theLockGrantorId,
+      DLockRequestProcessor processor) {
+    boolean needToReleaseOrphanedGrant = false;
+
+    Assert.assertHoldsLock(this.destroyLock, false);
+    synchronized (this.lockGrantorIdLock) {
+      if (!checkLockGrantorId(theLockGrantorId)) {
+        // race: grantor changed
+        if (logger.isTraceEnabled(LogMarker.DLS_VERBOSE)) {
+          logger.trace(LogMarker.DLS_VERBOSE,
+              "Cannot honor grant from {} because {} is now a grantor.", theLockGrantorId,
+              this.lockGrantorId);
+        }
+      } else if (isDestroyed()) {
+        // race: dls was destroyed
+        needToReleaseOrphanedGrant = true;
+      } else {
+        synchronized (this.tokens) {
+          checkDestroyed();
+          RemoteThread rThread = new RemoteThread(getDistributionManager().getId(), threadId);
+          for (DLockToken token : tokens) {
+            Assert.assertTrue(token == basicGetToken(token.getName()));
+            token.grantLock(leaseExpireTime, lockId, 0, rThread);
+          }
+          return true;
+        } // tokens sync
+      }
+    }
+
+    if (needToReleaseOrphanedGrant) {
+      processor.getResponse().releaseOrphanedGrant(this.dm);
+    }
+    return false;
+  }
+
+  @Override
+  public void unlockAll(Collection<?> names) throws LeaseExpiredException {
+    releaseAll(lockOrder(names), false, null);
+  }
+
+  /**
+   * Releases the named locks in the reverse of the order they were acquired, attempting every
+   * release even if one of them fails. If cause is not null the failures are added to it as
+   * suppressed exceptions, else the first failure is thrown once every lock has been attempted.
+   *
+   * @param quietly true to ignore the failures of locks that are no longer held
+   * @param cause the exception that caused the locks to be released, or null
+   */
+  private void releaseAll(List<Object> orderedNames, boolean quietly, Throwable cause) {
+    RuntimeException failure = null;
+    for (int i = orderedNames.size() - 1; i >= 0; i--) {
+      try {
+        unlock(orderedNames.get(i));
+      } catch (RuntimeException e) {
+        if (quietly && (e instanceof LockNotHeldException || e instanceof LeaseExpiredException)) {
+          continue;
+        }
+        if (cause != null) {
+          cause.addSuppressed(e);
+        } else if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Returns the distinct names in the order in which every member acquires them for
+   * {@link #lockAll(Collection, long, long)}. The order only depends on the values of the names:
+   * they are ordered by class name, then by their natural ordering if they are
+   * {@link Comparable}, and otherwise by their serialized form.
+   *
+   * @throws IllegalArgumentException if a name is neither Comparable nor serializable
+   */
+  static List<Object> lockOrder(Collection<?> names) {
+    final List<Object> ordered = new ArrayList<>(new LinkedHashSet<>(names));
+    final Map<Object, byte[]> serializedNames = new HashMap<>();
+    for (Object name : ordered) {
+      if (!(name instanceof Comparable)) {
+        serializedNames.put(name, serializeLockName(name));
+      }
+    }
+    ordered.sort((name1, name2) -> compareLockNames(name1, name2, serializedNames));
+    return ordered;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compareLockNames(Object name1, Object name2,
+      Map<Object, byte[]> serializedNames) {
+    int result = name1.getClass().getName().compareTo(name2.getClass().getName());
+    if (result == 0 && name1 instanceof Comparable) {
+      result = ((Comparable<Object>) name1).compareTo(name2);
+    }
+    if (result == 0) {
+      // not Comparable, or a compareTo inconsistent with equals
+      byte[] bytes1 = serializedNames.computeIfAbsent(name1, DLockService::serializeLockName);
+      byte[] bytes2 = serializedNames.computeIfAbsent(name2, DLockService::serializeLockName);
+      for (int i = 0; i < bytes1.length && i < bytes2.length && result == 0; i++) {
+        result = Integer.compare(bytes1[i] & 0xff, bytes2[i] & 0xff);
+      }
+      if (result == 0) {
+        result = Integer.compare(bytes1.length, bytes2.length);
+      }
+    }
+    return result;
+  }
+
+  private static byte[] serializeLockName(Object name) {
+    try {
+      return BlobHelper.serializeToBlob(name);
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalArgumentException(String.format(
+          "Lock name %s is neither Comparable nor serializable so it cannot be ordered", name), e);
+    }
+  }
+
   @Override
   public boolean lockInterruptibly(Object name, long waitTimeMillis, long leaseTimeMillis)
       throws InterruptedException {
@@ -113,6 +113,15 @@ public class GMSHealthMonitor implements HealthMonitor {
    */
   private static final int NUM_HEARTBEATS = Integer.getInteger("geode.heartbeat-recipients", 2);
 
+  /**
+   * The number of other members asked to probe a member that has not answered this member's
+   * heartbeat request before this member raises suspicion about it. As in SWIM, indirect probes
+   * keep a slow or lossy path between two members from triggering suspect processing and final
+   * checks, which become costly in large clusters. Zero disables indirect probes.
+   */
+  private static final int NUM_INDIRECT_PROBES =
+      Integer.getInteger("geode.indirect-probe-recipients", 0);
+
   /**
    * Member activity will be recorded per interval/period. Timer task will set interval's starting
    * time. Each interval will be member-timeout/LOGICAL_INTERVAL. LOGICAL_INTERVAL may be configured
@@ -198,6 +207,11 @@ public class GMSHealthMonitor implements HealthMonitor {
    */
   private long monitorInterval;
 
+  /**
+   * number of members asked to probe an unresponsive neighbor - see NUM_INDIRECT_PROBES
+   */
+  int numIndirectProbes = NUM_INDIRECT_PROBES;
+
   /**
    * /**
    * this class is to avoid garbage
@@ -444,6 +458,9 @@ public class GMSHealthMonitor implements HealthMonitor {
       boolean pinged;
       try {
         pinged = GMSHealthMonitor.this.doCheckMember(mbr, true);
+        if (!pinged && numIndirectProbes > 0 && !isStopping) {
+          pinged = GMSHealthMonitor.this.doIndirectCheckMember(mbr);
+        }
       } catch (CancelException e) {
         return;
       }
@@ -534,6 +551,95 @@ public class GMSHealthMonitor implements HealthMonitor {
     return false;
   }
 
+  /**
+   * Ask other members to send a heartbeat request to the given member on our behalf. A member
+   * that hears from the target replies with a heartbeat carrying our request ID. Returns true if
+   * one of them does so within member-timeout.
+   */
+  boolean doIndirectCheckMember(GMSMember member) {
+    GMSMembershipView cv = currentView;
+    if (cv == null) {
+      return false;
+    }
+    List<GMSMember> probers = new ArrayList<>(cv.getMembers());
+    probers.remove(localAddress);
+    probers.remove(member);
+    probers.removeAll(suspectedMemberIds.keySet());
+    if (probers.isEmpty()) {
+      return false;
+    }
+    Collections.shuffle(probers);
+    if (probers.size() > numIndirectProbes) {
+      probers = new ArrayList<>(probers.subList(0, numIndirectProbes));
+    }
+
+    logger.debug("Requesting indirect heartbeat checks of {} from {}", member, probers);
+    final HeartbeatRequestMessage hrm = constructHeartbeatRequestMessage(member);
+    hrm.setRecipients(probers);
+    Response pingResp = new Response();
+    requestIdVsResponse.put(hrm.getRequestId(), pingResp);
+    try {
+      services.getMessenger().send(hrm);
+      this.stats.incHeartbeatRequestsSent();
+      synchronized (pingResp) {
+        if (pingResp.getResponseMsg() == null) {
+          pingResp.wait(memberTimeout);
+        }
+        if (pingResp.getResponseMsg() == null) {
+          return isStopping;
+        }
+      }
+      logger.debug("{} responded to an indirect heartbeat request from {}", member,
+          pingResp.getResponseMsg().getSender());
+      contactedBy(member, System.currentTimeMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      requestIdVsResponse.remove(hrm.getRequestId());
+    }
+  }
+
+  /**
+   * A heartbeat request whose target is another member of the view is an indirect probe
+   * (see doIndirectCheckMember). Members that have restarted with the same address may receive
+   * requests meant for their old identity, so those are never treated as indirect probes.
+   */
+  private boolean isIndirectProbe(HeartbeatRequestMessage m, GMSMember me) {
+    GMSMember target = m.getTarget();
+    GMSMembershipView cv = currentView;
+    if (target == null || cv == null || !cv.contains(target) || target.equals(m.getSender())) {
+      return false;
+    }
+    return target.getPort() != me.getPort()
+        || !target.getInetAddress().equals(me.getInetAddress());
+  }
+
+  private void probeOnBehalfOf(HeartbeatRequestMessage m) {
+    final GMSMember requester = m.getSender();
+    final GMSMember target = m.getTarget();
+    final int requesterRequestId = m.getRequestId();
+    try {
+      checkExecutor.execute(() -> {
+        boolean pinged;
+        try {
+          pinged = doCheckMember(target, true);
+        } catch (CancelException e) {
+          return;
+        }
+        if (pinged && !isStopping) {
+          HeartbeatMessage hm = new HeartbeatMessage(requesterRequestId);
+          hm.setRecipient(requester);
+          services.getMessenger().send(hm);
+          this.stats.incHeartbeatsSent();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // shutting down
+    }
+  }
+
   /**
    * During final check, establish TCP connection between current member and suspect member. And
    * exchange PING/PONG message to see if the suspect member is still alive.
@@ -1096,6 +1202,9 @@ public class GMSHealthMonitor implements HealthMonitor {
       if (membersNotReceivedMsg != null && membersNotReceivedMsg.contains(m.getSender())) {
         logger.debug("Unable to send heartbeat to member: {}", m.getSender());
       }
+    } else if (me.getVmViewId() >= 0 && isIndirectProbe(m, me)) {
+      logger.debug("Checking {} on behalf of {}", m.getTarget(), m.getSender());
+      probeOnBehalfOf(m);
     } else {
       logger.debug("Ignoring heartbeat request intended for {}.  My ID is {}", m.getTarget(), me);
     }
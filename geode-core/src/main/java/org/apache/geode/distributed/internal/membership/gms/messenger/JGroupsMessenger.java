@@ -706,7 +706,13 @@ public class JGroupsMessenger implements Messenger {
         }
         theStats.incSentBytes(jmsg.getLength());
         logger.trace("Sending JGroups message: {}", jmsg);
-        myChannel.send(jmsg);
+        // MFC blocks this thread until receivers grant credits
+        long startSend = theStats.startMcastSend();
+        try {
+          myChannel.send(jmsg);
+        } finally {
+          theStats.endMcastSend(startSend);
+        }
       } catch (Exception e) {
         logger.debug("caught unexpected exception", e);
         Throwable cause = e.getCause();
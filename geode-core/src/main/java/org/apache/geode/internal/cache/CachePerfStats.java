@@ -78,6 +78,10 @@ public class CachePerfStats {
   static final int queryResultsHashCollisionsId;
   static final int queryResultsHashCollisionProbeTimeId;
   static final int partitionedRegionQueryRetriesId;
+  static final int queryResultCacheHitsId;
+  static final int queryResultCacheMissesId;
+  static final int queryResultCacheInvalidationsId;
+  static final int queryResultCacheEvictionsId;
 
   static final int txSuccessLifeTimeId;
   static final int txFailedLifeTimeId;
@@ -234,6 +238,14 @@ public class CachePerfStats {
         "Total time spent probing the hashtable in an OQL result set due to hash code collisions, includes reads, writes, and rehashes";
     final String partitionedRegionOQLQueryRetriesDesc =
         "Total number of times an OQL Query on a Partitioned Region had to be retried";
+    final String queryResultCacheHitsDesc =
+        "Total number of times the result of a query requesting result caching was found in the query result cache";
+    final String queryResultCacheMissesDesc =
+        "Total number of times a query requesting result caching had to be executed because its result was not in the query result cache";
+    final String queryResultCacheInvalidationsDesc =
+        "Total number of results removed from the query result cache because a region they were computed from changed";
+    final String queryResultCacheEvictionsDesc =
+        "Total number of least recently used results removed from the query result cache to stay within its maximum number of entries";
     final String txSuccessLifeTimeDesc =
         "The total amount of time, in nanoseconds, spent in a transaction before a successful commit. The time measured starts at transaction begin and ends when commit is called.";
     final String txFailedLifeTimeDesc =
@@ -403,6 +415,13 @@ public class CachePerfStats {
                 queryResultsHashCollisionProbeTimeDesc, "nanoseconds"),
             f.createLongCounter("partitionedRegionQueryRetries",
                 partitionedRegionOQLQueryRetriesDesc, "retries"),
+            f.createLongCounter("queryResultCacheHits", queryResultCacheHitsDesc, "operations"),
+            f.createLongCounter("queryResultCacheMisses", queryResultCacheMissesDesc,
+                "operations"),
+            f.createLongCounter("queryResultCacheInvalidations",
+                queryResultCacheInvalidationsDesc, "entries"),
+            f.createLongCounter("queryResultCacheEvictions", queryResultCacheEvictionsDesc,
+                "entries"),
 
             f.createIntCounter("txCommits", txCommitsDesc, "commits"),
             f.createIntCounter("txCommitChanges", txCommitChangesDesc, "changes"),
@@ -543,6 +562,10 @@ public class CachePerfStats {
     queryResultsHashCollisionsId = type.nameToId("queryResultsHashCollisions");
     queryResultsHashCollisionProbeTimeId = type.nameToId("queryResultsHashCollisionProbeTime");
     partitionedRegionQueryRetriesId = type.nameToId("partitionedRegionQueryRetries");
+    queryResultCacheHitsId = type.nameToId("queryResultCacheHits");
+    queryResultCacheMissesId = type.nameToId("queryResultCacheMisses");
+    queryResultCacheInvalidationsId = type.nameToId("queryResultCacheInvalidations");
+    queryResultCacheEvictionsId = type.nameToId("queryResultCacheEvictions");
 
     txSuccessLifeTimeId = type.nameToId("txSuccessLifeTime");
     txFailedLifeTimeId = type.nameToId("txFailedLifeTime");
@@ -1136,6 +1159,38 @@ public class CachePerfStats {
     stats.incInt(queryResultsHashCollisionsId, 1);
   }
 
+  public void incQueryResultCacheHits() {
+    stats.incLong(queryResultCacheHitsId, 1);
+  }
+
+  public long getQueryResultCacheHits() {
+    return stats.getLong(queryResultCacheHitsId);
+  }
+
+  public void incQueryResultCacheMisses() {
+    stats.incLong(queryResultCacheMissesId, 1);
+  }
+
+  public long getQueryResultCacheMisses() {
+    return stats.getLong(queryResultCacheMissesId);
+  }
+
+  public void incQueryResultCacheInvalidations(int entries) {
+    stats.incLong(queryResultCacheInvalidationsId, entries);
+  }
+
+  public long getQueryResultCacheInvalidations() {
+    return stats.getLong(queryResultCacheInvalidationsId);
+  }
+
+  public void incQueryResultCacheEvictions() {
+    stats.incLong(queryResultCacheEvictionsId, 1);
+  }
+
+  public long getQueryResultCacheEvictions() {
+    return stats.getLong(queryResultCacheEvictionsId);
+  }
+
   public int getTxCommits() {
     return stats.getInt(txCommitsId);
   }
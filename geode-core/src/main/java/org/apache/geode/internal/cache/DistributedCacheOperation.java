@@ -48,6 +48,7 @@ import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.ServerCQ;
 import org.apache.geode.distributed.internal.ClusterDistributionManager;
 import org.apache.geode.distributed.internal.DirectReplyProcessor;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.DistributionMessage;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
@@ -97,6 +98,22 @@ public abstract class DistributedCacheOperation {
   @MutableForTesting
   public static long SLOW_DISTRIBUTION_MS = 0; // test hook
 
+  /**
+   * If mcast-port is set, distributed-ack replicated region entry operations with at least this
+   * many recipients are multicast even if the region does not enable multicast. JGroups then sends
+   * one datagram instead of a TCP message per recipient, with NAKACK2 retransmission and MFC flow
+   * control. Zero disables automatic multicast.
+   */
+  static final int MULTICAST_RECIPIENT_THRESHOLD = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "multicast-recipient-threshold", 0);
+
+  /**
+   * Entry operations selected for multicast by {@link #MULTICAST_RECIPIENT_THRESHOLD} whose new
+   * value is larger than this many bytes are sent over TCP instead.
+   */
+  static final int MULTICAST_MAX_VALUE_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "multicast-max-value-size", 16 * 1024);
+
   // constants used in subclasses and distribution messages
   // should use enum in source level 1.5+
 
@@ -224,6 +241,44 @@ public abstract class DistributedCacheOperation {
     return true;
   }
 
+  /**
+   * Returns true if operations on the region may be sent by multicast, either because the region
+   * enables multicast or because its replicated entry operations qualify for
+   * {@link #MULTICAST_RECIPIENT_THRESHOLD}. A state flush of the region must then include the
+   * multicast channel state.
+   */
+  static boolean mayMulticast(DistributedRegion region) {
+    if (region.getSystem().getConfig().getMcastPort() == 0) {
+      return false;
+    }
+    if (region.getMulticastEnabled()) {
+      return true;
+    }
+    return MULTICAST_RECIPIENT_THRESHOLD > 0 && !region.isUsedForPartitionedRegionBucket()
+        && region.getDataPolicy().withReplication();
+  }
+
+  /**
+   * Returns true if an operation on a region that does not enable multicast should still be
+   * multicast because it has enough recipients. Only acknowledged operations qualify, since the
+   * sender waits for the acks and the operation cannot be overtaken by a later TCP message.
+   */
+  boolean shouldMulticastToReplicates(DistributedRegion region, int numRecipients,
+      int recipientThreshold, int maxValueSize) {
+    if (recipientThreshold <= 0 || numRecipients < recipientThreshold) {
+      return false;
+    }
+    if (region.isUsedForPartitionedRegionBucket() || !region.getDataPolicy().withReplication()
+        || !this.event.getOperation().isEntry()) {
+      return false;
+    }
+    if (this.event instanceof EntryEventImpl
+        && ((EntryEventImpl) this.event).getNewValSizeForPR() > maxValueSize) {
+      return false;
+    }
+    return true;
+  }
+
   /** returns true if the receiver can distribute during cache closure */
   public boolean canBeSentDuringShutdown() {
     return getRegion().isUsedForPartitionedRegionAdmin();
@@ -447,9 +502,17 @@ public abstract class DistributedCacheOperation {
 
       } else {
         boolean directAck = false;
-        boolean useMulticast = region.getMulticastEnabled()
-            && region.getSystem().getConfig().getMcastPort() != 0 && this.supportsMulticast();
         boolean shouldAck = shouldAck();
+        boolean useMulticast = false;
+        if (region.getSystem().getConfig().getMcastPort() != 0 && this.supportsMulticast()) {
+          if (region.getMulticastEnabled()) {
+            useMulticast = true;
+          } else if (shouldAck && !isPutAll && !isRemoveAll && adjunctRecipients.isEmpty()
+              && cachelessNodes.isEmpty() && needsOldValueInCacheOp.isEmpty()) {
+            useMulticast = shouldMulticastToReplicates(region, recipients.size(),
+                MULTICAST_RECIPIENT_THRESHOLD, MULTICAST_MAX_VALUE_SIZE);
+          }
+        }
 
         if (shouldAck) {
           if (this.supportsDirectAck() && adjunctRecipients.isEmpty()) {
@@ -253,6 +253,18 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void endQueryExecution(long executionTime) {}
 
+  @Override
+  public void incQueryResultCacheHits() {}
+
+  @Override
+  public void incQueryResultCacheMisses() {}
+
+  @Override
+  public void incQueryResultCacheInvalidations(int entries) {}
+
+  @Override
+  public void incQueryResultCacheEvictions() {}
+
   @Override
   public int getTxCommits() {
     return 0;
@@ -21,11 +21,16 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 import org.apache.geode.cache.EntryDestroyedException;
 import org.apache.geode.cache.Region;
 import org.apache.geode.internal.cache.LocalRegion.IteratorType;
 import org.apache.geode.internal.cache.entries.AbstractRegionEntry;
+import org.apache.geode.internal.offheap.OffHeapHelper;
+import org.apache.geode.internal.offheap.annotations.Retained;
+import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
 
 /** Set view of entries */
 public class EntriesSet extends AbstractSet {
@@ -48,6 +53,20 @@ public class EntriesSet extends AbstractSet {
 
   protected boolean ignoreCopyOnReadForQuery = false;
 
+  /**
+   * If set, values whose stored form fails this test are skipped before they are deserialized or
+   * copied from off-heap memory
+   */
+  private Predicate<Object> serializedValueFilter = null;
+
+  /**
+   * If sliceCount is set, only the entries of that slice of the region map are iterated, see
+   * {@link CustomEntryConcurrentHashMap#valuesInSlice(int, int)}
+   */
+  private int slice = 0;
+
+  private int sliceCount = 0;
+
   EntriesSet(LocalRegion region, boolean recursive, IteratorType viewType,
       boolean allowTombstones) {
     this.topRegion = region;
@@ -101,6 +120,9 @@ public class EntriesSet extends AbstractSet {
 
     Collection<?> additionalKeysFromView;
 
+    /** true if currItr only iterates the slice, else the slice is filtered by key */
+    boolean slicedIterator;
+
     /** reusable KeyInfo */
     protected final KeyInfo keyInfo = new KeyInfo(null, null, null);
 
@@ -156,6 +178,9 @@ public class EntriesSet extends AbstractSet {
               this.additionalKeysFromView.remove(currKey);
             }
           }
+          if (sliceCount > 0 && !this.slicedIterator && !isInSlice(currKey)) {
+            continue;
+          }
           if (iterType == IteratorType.KEYS) {
             result =
                 view.getKeyForIterator(this.keyInfo, this.currRgn, rememberReads, allowTombstones);
@@ -173,6 +198,10 @@ public class EntriesSet extends AbstractSet {
                 rememberReads, allowTombstones);
             if (re != null) {
               try {
+                if (re instanceof NonTXEntry
+                    && !passesSerializedValueFilter(this.currRgn, (NonTXEntry) re)) {
+                  continue;
+                }
                 if (keepSerialized) {
                   result = ((NonTXEntry) re).getRawValue(); // OFFHEAP: need to either copy into a
                                                             // cd or figure out when result will be
@@ -212,10 +241,31 @@ public class EntriesSet extends AbstractSet {
       }
     }
 
+    private boolean isInSlice(Object currKey) {
+      Object key = currKey;
+      if (currKey instanceof AbstractRegionEntry) {
+        key = ((AbstractRegionEntry) currKey).getKey();
+      }
+      return Math.floorMod(key.hashCode(), sliceCount) == slice;
+    }
+
     private void createIterator(final LocalRegion rgn) {
       // TX iterates over KEYS.
       // NonTX iterates over RegionEntry instances
       this.currRgn = rgn;
+      this.slicedIterator = false;
+      if (sliceCount > 0 && myTX == null) {
+        ConcurrentMapWithReusableEntries<?, ?> entryMap =
+            rgn.getRegionMap().getCustomEntryConcurrentHashMap();
+        if (entryMap instanceof CustomEntryConcurrentHashMap) {
+          // walk only the segments of the region map in this slice
+          this.currItr = ((CustomEntryConcurrentHashMap<?, ?>) entryMap)
+              .valuesInSlice(slice, sliceCount).iterator();
+          this.additionalKeysFromView = null;
+          this.slicedIterator = true;
+          return;
+        }
+      }
       this.currItr = view.getRegionKeysForIteration(rgn).iterator();
       this.additionalKeysFromView = view.getAdditionalKeysForIterator(rgn);
     }
@@ -269,6 +319,32 @@ public class EntriesSet extends AbstractSet {
     return this.keepSerialized;
   }
 
+  public void setSerializedValueFilter(Predicate<Object> serializedValueFilter) {
+    this.serializedValueFilter = serializedValueFilter;
+  }
+
+  /**
+   * Returns false if the stored value of the entry fails the serialized value filter, so the entry
+   * can be skipped without deserializing its value.
+   */
+  boolean passesSerializedValueFilter(LocalRegion region, NonTXEntry entry) {
+    if (this.serializedValueFilter == null) {
+      return true;
+    }
+    @Retained
+    Object value = entry.getRegionEntry().getValueRetain(region);
+    try {
+      return value == null || this.serializedValueFilter.test(value);
+    } finally {
+      OffHeapHelper.release(value);
+    }
+  }
+
+  public void setSlice(int slice, int sliceCount) {
+    this.slice = slice;
+    this.sliceCount = sliceCount;
+  }
+
   public void setIgnoreCopyOnReadForQuery(boolean ignoreCopyOnReadForQuery) {
     this.ignoreCopyOnReadForQuery = ignoreCopyOnReadForQuery;
   }
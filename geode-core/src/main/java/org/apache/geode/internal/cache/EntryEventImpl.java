@@ -182,6 +182,12 @@ public class EntryEventImpl implements InternalEntryEvent, InternalCacheEvent,
 
   private transient boolean hasRetried = false;
 
+  /**
+   * Whether this event is the last event of its transaction, or null if the events of its
+   * transaction are not grouped by the gateway senders
+   */
+  private transient Boolean isLastEventInTransaction;
+
   public static final Object SUSPECT_TOKEN = new Object();
 
   public EntryEventImpl() {
@@ -577,6 +583,18 @@ public class EntryEventImpl implements InternalEntryEvent, InternalCacheEvent,
     return testEventFlag(EventFlags.FLAG_CONCURRENCY_CONFLICT);
   }
 
+  /**
+   * Returns whether this event is the last event of its transaction, or null if the events of its
+   * transaction are not grouped by the gateway senders
+   */
+  public Boolean isLastEventInTransaction() {
+    return this.isLastEventInTransaction;
+  }
+
+  public void setLastEventInTransaction(boolean isLastEventInTransaction) {
+    this.isLastEventInTransaction = isLastEventInTransaction;
+  }
+
   /** set the DistributionMessage that caused this event */
   public void setCausedByMessage(DistributionMessage msg) {
     this.causedByMessage = msg;
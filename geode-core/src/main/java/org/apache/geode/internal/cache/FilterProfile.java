@@ -47,6 +47,7 @@ import org.apache.geode.cache.EntryEvent;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.SerializedCacheValue;
+import org.apache.geode.cache.query.internal.CqPredicateIndex;
 import org.apache.geode.cache.query.internal.CqStateImpl;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.CqServiceProvider;
@@ -178,6 +179,9 @@ public class FilterProfile implements DataSerializableFixedID {
   /** CQs that are registered on the remote node **/
   private final CopyOnWriteHashMap<String, ServerCQ> cqs = new CopyOnWriteHashMap<>();
 
+  /** The predicates of the CQs, updated with {@link #cqs} */
+  private final transient CqPredicateIndex cqPredicateIndex = new CqPredicateIndex();
+
   /* the ID of the member that this profile describes */
   private DistributedMember memberID;
 
@@ -782,6 +786,13 @@ public class FilterProfile implements DataSerializableFixedID {
     return this.cqs;
   }
 
+  /**
+   * Returns the index of the predicates of the CQs registered on this region.
+   */
+  public CqPredicateIndex getCqPredicateIndex() {
+    return this.cqPredicateIndex;
+  }
+
   /**
    * does this profile contain any continuous queries?
    */
@@ -799,6 +810,7 @@ public class FilterProfile implements DataSerializableFixedID {
       logger.debug("Adding CQ {} to this members FilterProfile.", cq.getServerCqName());
     }
     this.cqs.put(cq.getServerCqName(), cq);
+    this.cqPredicateIndex.add(cq.getServerCqName(), cq);
     this.incCqCount();
 
     // cq.setFilterID(cqMap.getWireID(cq.getServerCqName()));
@@ -863,6 +875,7 @@ public class FilterProfile implements DataSerializableFixedID {
     if (cq.getCqBaseRegion() != null) {
       if (addToCqMap) {
         this.cqs.put(serverCqName, cq);
+        this.cqPredicateIndex.add(serverCqName, cq);
       }
 
       FilterProfile pf = cq.getCqBaseRegion().getFilterProfile();
@@ -885,6 +898,7 @@ public class FilterProfile implements DataSerializableFixedID {
         }
       }
       this.cqs.remove(serverCqName);
+      this.cqPredicateIndex.remove(serverCqName);
       cq.getCqBaseRegion().getFilterProfile().decCqCount();
     }
   }
@@ -925,6 +939,7 @@ public class FilterProfile implements DataSerializableFixedID {
     ensureCqID(cq);
     String serverCqName = cq.getServerCqName();
     this.cqs.remove(serverCqName);
+    this.cqPredicateIndex.remove(serverCqName);
     if (this.cqMap != null) {
       this.cqMap.removeIDMapping(cq.getFilterID());
     }
@@ -1509,6 +1524,7 @@ public class FilterProfile implements DataSerializableFixedID {
           ServerCQ cq = CqServiceProvider.readCq(in);
           processRegisterCq(serverCqName, cq, false);
           this.cqs.put(serverCqName, cq);
+          this.cqPredicateIndex.add(serverCqName, cq);
         }
       } finally {
         LocalRegion.setThreadInitLevelRequirement(oldLevel);
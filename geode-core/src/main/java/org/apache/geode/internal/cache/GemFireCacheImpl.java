@@ -141,7 +141,9 @@ import org.apache.geode.cache.execute.FunctionService;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.internal.DefaultQueryService;
 import org.apache.geode.cache.query.internal.InternalQueryService;
+import org.apache.geode.cache.query.internal.ParallelQueryExecutor;
 import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.QueryResultCache;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.CqServiceProvider;
 import org.apache.geode.cache.server.CacheServer;
@@ -204,6 +206,7 @@ import org.apache.geode.internal.cache.tier.sockets.CacheClientProxy;
 import org.apache.geode.internal.cache.tier.sockets.ClientHealthMonitor;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.tier.sockets.command.GatewayReceiverCommand;
 import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.GatewaySenderAdvisor;
 import org.apache.geode.internal.cache.wan.GatewaySenderQueueEntrySynchronizationListener;
@@ -549,6 +552,8 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
 
   private final Object queryMonitorLock = new Object();
 
+  private final QueryResultCache queryResultCache;
+
   private final PersistentMemberManager persistentMemberManager;
 
   private final ClientMetadataService clientMetadataService;
@@ -850,6 +855,7 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
       statisticsClock = StatisticsClockFactory.clock(system.getConfig().getEnableTimeStatistics());
       cachePerfStats = new CachePerfStats(
           internalDistributedSystem.getStatisticsManager(), statisticsClock);
+      queryResultCache = new QueryResultCache(cachePerfStats);
 
       transactionManager = new TXManagerImpl(cachePerfStats, this, statisticsClock);
       dm.addMembershipListener(transactionManager);
@@ -2230,6 +2236,7 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
                 logger.debug("{}: finishing partitioned region close...", this);
               }
               PartitionedRegion.afterRegionsClosedByCacheClose(this);
+              ParallelQueryExecutor.shutdown();
               if (prRoot != null) {
                 // do the PR meta root region last
                 prRoot.handleCacheClose(op);
@@ -2595,6 +2602,7 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
               receiverServer, e);
         }
       }
+      GatewayReceiverCommand.shutdownApplyExecutor();
       stoppedCacheServer = true;
     }
 
@@ -4509,6 +4517,14 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
     return queryMonitor;
   }
 
+  /**
+   * Returns the cache of the results of the queries requesting it with a query hint.
+   */
+  @Override
+  public QueryResultCache getQueryResultCache() {
+    return queryResultCache;
+  }
+
   /**
    * Simple class to allow waiters for register interest. Has at most one thread that ever calls
    * wait.
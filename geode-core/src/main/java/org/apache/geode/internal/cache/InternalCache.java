@@ -44,6 +44,7 @@ import org.apache.geode.cache.client.internal.ClientMetadataService;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.internal.InternalQueryService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.QueryResultCache;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.server.CacheServer;
 import org.apache.geode.cache.wan.GatewayReceiver;
@@ -259,6 +260,8 @@ public interface InternalCache extends Cache, Extensible<Cache>, CacheTime, Reco
 
   QueryMonitor getQueryMonitor();
 
+  QueryResultCache getQueryResultCache();
+
   void close(String reason, Throwable systemFailureCause, boolean keepAlive, boolean keepDS);
 
   JmxManagerAdvisor getJmxManagerAdvisor();
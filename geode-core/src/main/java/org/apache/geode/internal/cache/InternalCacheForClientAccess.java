@@ -59,6 +59,7 @@ import org.apache.geode.cache.control.ResourceManager;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.internal.InternalQueryService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.QueryResultCache;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.server.CacheServer;
 import org.apache.geode.cache.snapshot.CacheSnapshotService;
@@ -1005,6 +1006,11 @@ public class InternalCacheForClientAccess implements InternalCache {
     return delegate.getQueryMonitor();
   }
 
+  @Override
+  public QueryResultCache getQueryResultCache() {
+    return delegate.getQueryResultCache();
+  }
+
   @Override
   public void close(String reason, Throwable systemFailureCause, boolean keepAlive,
       boolean keepDS) {
@@ -247,6 +247,8 @@ public interface InternalRegion extends Region, HasCachePerfStats, RegionEntryCo
 
   boolean isUsedForPartitionedRegionBucket();
 
+  boolean isUsedForSerialGatewaySenderQueue();
+
   Set<String> getAllGatewaySenderIds();
 
   void senderCreated();
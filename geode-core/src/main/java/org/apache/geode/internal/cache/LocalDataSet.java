@@ -724,6 +724,7 @@ public class LocalDataSet implements Region, QueryExecutor {
     protected class LocalEntriesSetIterator implements Iterator<Object> {
       Iterator curBucketIter = null;
       Integer curBucketId;
+      BucketRegion currentBucket;
       List<Integer> localBuckets = new ArrayList<Integer>(buckets);
       int index = 0;
       int localBucketsSize = localBuckets.size();
@@ -766,6 +767,7 @@ public class LocalDataSet implements Region, QueryExecutor {
                     "The Bucket region with id " + curBucketId + " is moved/destroyed.");
               }
               br.waitForData();
+              currentBucket = br;
               curBucketIter = br.entrySet().iterator();
             }
 
@@ -774,6 +776,10 @@ public class LocalDataSet implements Region, QueryExecutor {
               Map.Entry e = (Map.Entry) curBucketIter.next();
               try {
                 if (iterType == IteratorType.VALUES) {
+                  if (e instanceof NonTXEntry
+                      && !passesSerializedValueFilter(currentBucket, (NonTXEntry) e)) {
+                    continue;
+                  }
                   if (isKeepSerialized()) {
                     next = ((NonTXEntry) e).getRawValue();
                   } else if (ignoreCopyOnReadForQuery) {
@@ -140,6 +140,7 @@ import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.DefaultQueryService;
 import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.QueryResultCache;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.index.IndexCreationData;
 import org.apache.geode.cache.query.internal.index.IndexManager;
@@ -2589,6 +2590,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     cancelTTLExpiryTask();
     cancelIdleExpiryTask();
     cancelAllEntryExpiryTasks();
+    invalidateQueryResults(getFullPath());
     if (!isInternalRegion()) {
       getCachePerfStats().incRegions(-1);
     }
@@ -6005,6 +6007,16 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  /**
+   * Removes the cached results of the queries reading the given region
+   */
+  private void invalidateQueryResults(String regionPath) {
+    QueryResultCache queryResultCache = getCache().getQueryResultCache();
+    if (queryResultCache != null) {
+      queryResultCache.invalidate(regionPath);
+    }
+  }
+
   protected void notifyBridgeClients(CacheEvent event) {
     int numBS = getCache().getCacheServers().size();
 
@@ -8545,6 +8557,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       }
     }
 
+    invalidateQueryResults(getFullPath());
+
     if (ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
       CacheObserverHolder.getInstance().afterRegionClear(regionEvent);
     }
@@ -9757,7 +9771,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return isUsedForPartitionedRegionBucket;
   }
 
-  protected boolean isUsedForSerialGatewaySenderQueue() {
+  @Override
+  public boolean isUsedForSerialGatewaySenderQueue() {
     return isUsedForSerialGatewaySenderQueue;
   }
 
@@ -10131,19 +10146,23 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return 0;
   }
 
+  /**
+   * Called by the region map for each value it changes, including the ones received by a GII or
+   * applied by a transaction commit. BucketRegion overrides it to update the bucket size.
+   */
   @Override
   public void updateSizeOnPut(Object key, int oldSize, int newSize) {
-    // Only needed by BucketRegion
+    invalidateQueryResults(getFullPath());
   }
 
   @Override
   public void updateSizeOnCreate(Object key, int newSize) {
-    // Only needed by BucketRegion
+    invalidateQueryResults(getFullPath());
   }
 
   @Override
   public void updateSizeOnRemove(Object key, int oldSize) {
-    // Only needed by BucketRegion
+    invalidateQueryResults(getFullPath());
   }
 
   // TODO: return value is never used
@@ -179,6 +179,13 @@ public class Oplog implements CompactableOplog, Flushable {
   private static final boolean SYNC_WRITES =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "syncWrites");
 
+  /**
+   * The size of the block read ahead when reading the value of a gateway queue from an oplog that
+   * is no longer appended to, or 0 to read values one at a time.
+   */
+  static final int QUEUE_READ_AHEAD_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "DiskStore.QUEUE_READ_AHEAD_SIZE", 262144);
+
   /**
    * The HighWaterMark of recentValues.
    */
@@ -527,6 +534,12 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private boolean doneAppending = false;
 
+  /**
+   * The block of the crf file last read ahead for a gateway queue. Only used once this oplog is
+   * done appending, and guarded by {@link #lock}.
+   */
+  private final OplogReadAhead readAhead = new OplogReadAhead(QUEUE_READ_AHEAD_SIZE);
+
   /**
    * Creates new {@code Oplog} for the given region.
    *
@@ -3236,6 +3249,7 @@ public class Oplog implements CompactableOplog, Flushable {
         this.crf.RAFClosed = true;
         this.stats.decOpenOplogs();
       }
+      this.readAhead.release();
       this.closed = true;
     }
     // No need to get the backup lock prior to synchronizing (correct lock order) since the
@@ -5271,6 +5285,7 @@ public class Oplog implements CompactableOplog, Flushable {
         this.crf.RAFClosed = true;
         this.okToReopen = true;
         this.stats.decOpenOplogs();
+        this.readAhead.release();
         return true;
       }
     }
@@ -5344,11 +5359,18 @@ public class Oplog implements CompactableOplog, Flushable {
                   dr.getName());
             }
             try {
-              myRAF.seek(offsetInOplog);
-              this.stats.incOplogSeeks();
-              byte[] valueBytes = new byte[valueLength];
-              myRAF.readFully(valueBytes);
-              this.stats.incOplogReads();
+              byte[] valueBytes;
+              if (this.doneAppending && this.readAhead.canRead(valueLength)
+                  && isGatewayQueue(dr)) {
+                valueBytes = this.readAhead.read(myRAF, offsetInOplog, valueLength,
+                    writePosition, this.stats);
+              } else {
+                myRAF.seek(offsetInOplog);
+                this.stats.incOplogSeeks();
+                valueBytes = new byte[valueLength];
+                myRAF.readFully(valueBytes);
+                this.stats.incOplogReads();
+              }
               bb = new BytesAndBits(valueBytes, userBits);
               // also set the product version for an older product
               final Version version = getProductVersionIfOld();
@@ -5386,6 +5408,12 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  private static boolean isGatewayQueue(DiskRegionView dr) {
+    String name = dr.getName();
+    return name.contains("_PARALLEL__GATEWAY__SENDER__QUEUE")
+        || name.contains("_SERIAL_GATEWAY_SENDER_QUEUE");
+  }
+
   /**
    * Extracts the Value byte array & UserBit from the OpLog
    *
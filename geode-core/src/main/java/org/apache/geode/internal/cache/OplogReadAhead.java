@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.IOException;
+
+import org.apache.geode.internal.cache.persistence.UninterruptibleRandomAccessFile;
+
+/**
+ * The block of the crf file of an {@link Oplog} last read ahead when reading the values of a
+ * gateway queue. The events of a gateway queue are written in the order they are dispatched in, so
+ * the values read next are usually in the same block. The block starts a quarter of its size before
+ * the value read because the events of the buckets of a parallel queue are dispatched in a slightly
+ * different order than they were written in.
+ *
+ * <p>
+ * The buffer is allocated on the first read and dropped by {@link #release()}. Not thread safe: an
+ * oplog only uses it while holding its lock.
+ */
+class OplogReadAhead {
+
+  private final int size;
+
+  private byte[] buffer;
+
+  private long offset;
+
+  private int length;
+
+  /**
+   * @param size the size of the block read ahead, or 0 to never read ahead
+   */
+  OplogReadAhead(int size) {
+    this.size = size;
+  }
+
+  /**
+   * Returns true if a value of the given length is read through the block. Values larger than half
+   * the block are read on their own, since reading ahead would not save a read for the next one.
+   */
+  boolean canRead(int valueLength) {
+    return this.size > 0 && valueLength <= this.size / 2;
+  }
+
+  /**
+   * Returns the value at the given offset of the file, reading the block around it first if the
+   * buffer does not hold all of it. The block never extends past the write position of the file.
+   */
+  byte[] read(UninterruptibleRandomAccessFile raf, long offsetInOplog, int valueLength,
+      long writePosition, DiskStoreStats stats) throws IOException {
+    if (this.buffer == null || offsetInOplog < this.offset
+        || offsetInOplog + valueLength > this.offset + this.length) {
+      if (this.buffer == null) {
+        this.buffer = new byte[this.size];
+      }
+      long blockOffset = Math.max(0, offsetInOplog - this.size / 4);
+      int blockLength = (int) Math.min(this.size, writePosition - blockOffset);
+      raf.seek(blockOffset);
+      stats.incOplogSeeks();
+      raf.readFully(this.buffer, 0, blockLength);
+      stats.incOplogReads();
+      this.offset = blockOffset;
+      this.length = blockLength;
+    }
+    byte[] valueBytes = new byte[valueLength];
+    System.arraycopy(this.buffer, (int) (offsetInOplog - this.offset), valueBytes, 0,
+        valueLength);
+    return valueBytes;
+  }
+
+  /**
+   * Drops the buffer, so that a closed or compacted oplog does not hold on to it.
+   */
+  void release() {
+    this.buffer = null;
+    this.offset = 0;
+    this.length = 0;
+  }
+}
@@ -404,8 +404,7 @@ public class StateFlushOperation {
               }
               boolean initialized = r.isInitialized();
               waitForCurrentOperations(r, initialized);
-              boolean useMulticast =
-                  r.getMulticastEnabled() && r.getSystem().getConfig().getMcastPort() != 0;
+              boolean useMulticast = DistributedCacheOperation.mayMulticast(r);
               if (initialized) {
                 Map channelStates =
                     dm.getMembershipManager().getMessageState(relayRecipient, useMulticast);
@@ -724,6 +724,7 @@ public class TXCommitMessage extends PooledDistributionMessage
   }
 
   private void firePendingCallbacks(List<EntryEventImpl> callbacks) {
+    TXState.markLastEventInTransaction(callbacks);
     Iterator<EntryEventImpl> ci = callbacks.iterator();
     while (ci.hasNext()) {
       EntryEventImpl ee = ci.next();
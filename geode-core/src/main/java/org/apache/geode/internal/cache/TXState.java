@@ -63,6 +63,7 @@ import org.apache.geode.internal.cache.partitioned.RemoveAllPRMessage;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
 import org.apache.geode.internal.cache.tx.TransactionalOperation.ServerRegionOperation;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
@@ -224,6 +225,7 @@ public class TXState implements TXStateInterface {
   }
 
   public void firePendingCallbacks() {
+    markLastEventInTransaction(getPendingCallbacks());
     for (EntryEventImpl ee : getPendingCallbacks()) {
       if (ee.getOperation().isDestroy()) {
         ee.getRegion().invokeTXCallbacks(EnumListenerEvent.AFTER_DESTROY, ee, true);
@@ -237,6 +239,46 @@ public class TXState implements TXStateInterface {
     }
   }
 
+  /**
+   * Marks the last of the events of a transaction distributed to gateway senders when the gateway
+   * senders group the events of transactions. The events are only grouped if they are all
+   * distributed to the same gateway senders, so that the last event ends the transaction for each
+   * of them.
+   */
+  static void markLastEventInTransaction(List<EntryEventImpl> callbacks) {
+    if (!AbstractGatewaySender.GROUP_TRANSACTION_EVENTS) {
+      return;
+    }
+    EntryEventImpl lastEvent = null;
+    Set<String> senderIds = null;
+    for (EntryEventImpl event : callbacks) {
+      InternalRegion region = event.getRegion();
+      if (region instanceof BucketRegion) {
+        region = ((BucketRegion) region).getPartitionedRegion();
+      }
+      Set<String> eventSenderIds = region.getAllGatewaySenderIds();
+      if (eventSenderIds.isEmpty()) {
+        continue;
+      }
+      if (senderIds == null) {
+        senderIds = eventSenderIds;
+      } else if (!senderIds.equals(eventSenderIds)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Not grouping the events of transaction {} distributed to gateway senders {}"
+              + " and {}", event.getTransactionId(), senderIds, eventSenderIds);
+        }
+        return;
+      }
+      lastEvent = event;
+    }
+    if (lastEvent == null) {
+      return;
+    }
+    for (EntryEventImpl event : callbacks) {
+      event.setLastEventInTransaction(event == lastEvent);
+    }
+  }
+
   public void freePendingCallbacks() {
     for (EntryEventImpl ee : getPendingCallbacks()) {
       ee.release();
@@ -88,6 +88,10 @@ public class FunctionServiceStats {
    */
   private static final String RESULTS_RECEIVED = "resultsReceived";
 
+  /**
+   * Total number of streamed results buffered beyond the window of a StreamingResultCollector
+   */
+  private static final String STREAMING_RESULTS_OVER_WINDOW = "streamingResultsOverWindow";
 
   /** Id of the FUNCTION_EXECUTIONS_COMPLETED statistic */
   private static final int _functionExecutionsCompletedId;
@@ -116,6 +120,8 @@ public class FunctionServiceStats {
   /** Id of the RESULTS_RECEIVED statistic */
   private static final int _resultsReceived;
 
+  /** Id of the STREAMING_RESULTS_OVER_WINDOW statistic */
+  private static final int _streamingResultsOverWindow;
 
   /**
    * Static initializer to create and initialize the <code>StatisticsType</code>
@@ -154,6 +160,10 @@ public class FunctionServiceStats {
                 "operations"),
             f.createIntCounter(FUNCTION_EXECUTION_EXCEPTIONS,
                 "Total number of Exceptions Occurred while executing function", "operations"),
+            f.createLongCounter(STREAMING_RESULTS_OVER_WINDOW,
+                "Total number of streamed function results buffered beyond the window of their "
+                    + "collector because the caller did not pull them as fast as they arrived.",
+                "operations"),
 
         });
     // Initialize id fields
@@ -168,6 +178,7 @@ public class FunctionServiceStats {
     _functionExecutionsHasResultRunningId = _type.nameToId(FUNCTION_EXECUTIONS_HASRESULT_RUNNING);
     _functionExecutionExceptions = _type.nameToId(FUNCTION_EXECUTION_EXCEPTIONS);
     _resultsReceived = _type.nameToId(RESULTS_RECEIVED);
+    _streamingResultsOverWindow = _type.nameToId(STREAMING_RESULTS_OVER_WINDOW);
   }
 
   // //////////////////// Instance Fields //////////////////////
@@ -352,6 +363,20 @@ public class FunctionServiceStats {
     this._stats.incInt(_functionExecutionExceptions, 1);
   }
 
+  /**
+   * Returns the current value of the "streamingResultsOverWindow" stat.
+   */
+  public long getStreamingResultsOverWindow() {
+    return this._stats.getLong(_streamingResultsOverWindow);
+  }
+
+  /**
+   * Increments the "streamingResultsOverWindow" stat.
+   */
+  public void incStreamingResultsOverWindow() {
+    this._stats.incLong(_streamingResultsOverWindow, 1);
+  }
+
   /**
    * Returns the current time (ns).
    *
@@ -133,6 +133,10 @@ public class FunctionStreamingResultCollector extends ReplyProcessor21 implement
     }
 
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      // results are pulled through the iterator while replies are still arriving
+      return this.userRC.getResult();
+    }
     if (this.userRC != null) {
       try {
         if (execution instanceof DistributedRegionFunctionExecutor
@@ -247,6 +251,9 @@ public class FunctionStreamingResultCollector extends ReplyProcessor21 implement
     }
 
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      return this.userRC.getResult(timeout, unit);
+    }
     // Should convert it from unit to milliseconds
     if (this.userRC != null) {
       try {
@@ -375,6 +382,16 @@ public class FunctionStreamingResultCollector extends ReplyProcessor21 implement
     }
   }
 
+  /**
+   * Returns the caller's collector if it streams results as they arrive, else null.
+   */
+  protected StreamingResultCollector getStreamingCollector() {
+    if (this.userRC instanceof LocalResultCollectorImpl) {
+      return ((LocalResultCollectorImpl) this.userRC).getStreamingCollector();
+    }
+    return null;
+  }
+
   @Override
   public void memberDeparted(DistributionManager distributionManager,
       final InternalDistributedMember id, final boolean crashed) {
@@ -416,6 +433,10 @@ public class FunctionStreamingResultCollector extends ReplyProcessor21 implement
                 id);
           }
           this.fites.add(fe);
+          StreamingResultCollector streamingRC = getStreamingCollector();
+          if (streamingRC != null) {
+            streamingRC.setException(fe);
+          }
         }
       } // synchronized
       checkIfDone();
@@ -583,6 +604,30 @@ public class FunctionStreamingResultCollector extends ReplyProcessor21 implement
     } else if (!execution.getWaitOnExceptionFlag()) {
       this.exception = ex;
     }
+    streamException(ex);
+  }
+
+  /**
+   * Fails the caller's iterator with an exception kept by processException, since nobody waits on
+   * this processor when streaming. Streamed results are not re-executed, so a failure getResult
+   * would retry is thrown as a FunctionInvocationTargetException, unless it comes from a departing
+   * member and departed members are ignored.
+   */
+  protected void streamException(ReplyException ex) {
+    StreamingResultCollector streamingRC = getStreamingCollector();
+    if (streamingRC == null || this.exception != ex) {
+      return;
+    }
+    Throwable cause = ex.getCause();
+    if (cause instanceof CacheClosedException || cause instanceof ForceReattemptException) {
+      if (this.execution.isIgnoreDepartedMembers()) {
+        return;
+      }
+      cause = new FunctionInvocationTargetException(cause.getMessage());
+    } else if (cause instanceof BucketMovedException) {
+      cause = new FunctionInvocationTargetException(cause.getMessage());
+    }
+    streamingRC.setException(cause);
   }
 
   @Override
@@ -90,6 +90,11 @@ public class LocalResultCollectorImpl implements LocalResultCollector {
   @Override
   public void endResults() {
     this.endResultReceived = true;
+    StreamingResultCollector streamingRC = getStreamingCollector();
+    if (streamingRC != null && this.functionException != null
+        && !this.execution.isIgnoreDepartedMembers()) {
+      streamingRC.setException(this.functionException);
+    }
     this.userRC.endResults();
     this.latch.countDown();
   }
@@ -110,6 +115,10 @@ public class LocalResultCollectorImpl implements LocalResultCollector {
           "Function results already collected");
     }
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      // results are pulled through the iterator while the function is still running
+      return this.userRC.getResult();
+    }
     try {
       this.latch.await();
     } catch (InterruptedException e) {
@@ -149,6 +158,9 @@ public class LocalResultCollectorImpl implements LocalResultCollector {
           "Function results already collected");
     }
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      return this.userRC.getResult(timeout, unit);
+    }
     try {
       resultReceived = this.latch.await(timeout, unit);
     } catch (InterruptedException e) {
@@ -189,6 +201,21 @@ public class LocalResultCollectorImpl implements LocalResultCollector {
     } else {
       this.functionException = new FunctionException(exception);
     }
+    StreamingResultCollector streamingRC = getStreamingCollector();
+    if (streamingRC != null) {
+      streamingRC.setException(this.functionException);
+    }
+  }
+
+  /**
+   * Returns the user's collector if it streams results to the caller, else null. A streaming
+   * collector's result is handed out before the function completes.
+   */
+  StreamingResultCollector getStreamingCollector() {
+    if (this.userRC instanceof StreamingResultCollector) {
+      return (StreamingResultCollector) this.userRC;
+    }
+    return null;
   }
 
   @Override
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.ResultCollector;
+import org.apache.geode.distributed.DistributedMember;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * A ResultCollector that hands results to the caller as they arrive instead of waiting for all of
+ * them. {@link #getResult()} returns immediately with an {@link Iterator} that blocks until the
+ * next result is available.<br>
+ * Remote results are added by the thread reading the reply from the connection, which may be
+ * shared with other traffic from the same member, so adding a result never blocks. A caller
+ * pulling results more slowly than they arrive lets them accumulate in the collector: once more
+ * than {@link #getWindowSize()} results are buffered a warning is logged, and every result
+ * buffered beyond the window is counted in the streamingResultsOverWindow statistic of
+ * {@link FunctionServiceStats}.<br>
+ * Function execution HA re-execution is not supported: results may already have been consumed, so
+ * a failure is instead thrown from the iterator as a {@link FunctionException}.
+ *
+ * @since Geode 1.11
+ */
+public class StreamingResultCollector implements ResultCollector<Object, Iterator<Object>> {
+  private static final Logger logger = LogService.getLogger();
+
+  public static final int DEFAULT_WINDOW_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "function.streamingResultWindow", 1000);
+
+  private final int windowSize;
+
+  private final FunctionServiceStats stats;
+
+  private final ArrayDeque<Object> results = new ArrayDeque<>();
+
+  private boolean endResultReceived = false;
+
+  private boolean closed = false;
+
+  private boolean windowExceededLogged = false;
+
+  private FunctionException exception = null;
+
+  private boolean hasResultDeadline = false;
+
+  /** System.nanoTime() by which the iterator must be exhausted, if hasResultDeadline */
+  private long resultDeadline;
+
+  private final ResultIterator iterator = new ResultIterator();
+
+  public StreamingResultCollector() {
+    this(DEFAULT_WINDOW_SIZE);
+  }
+
+  public StreamingResultCollector(int windowSize) {
+    this(windowSize, getConnectedFunctionServiceStats());
+  }
+
+  StreamingResultCollector(int windowSize, FunctionServiceStats stats) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("windowSize must be positive, but was " + windowSize);
+    }
+    this.windowSize = windowSize;
+    this.stats = stats;
+  }
+
+  private static FunctionServiceStats getConnectedFunctionServiceStats() {
+    InternalDistributedSystem system = InternalDistributedSystem.getConnectedInstance();
+    return system == null ? null : system.getFunctionServiceStats();
+  }
+
+  public int getWindowSize() {
+    return this.windowSize;
+  }
+
+  /**
+   * Adds a result without waiting. Results added after the collector was closed are dropped.
+   */
+  @Override
+  public synchronized void addResult(DistributedMember memberID, Object resultOfSingleExecution) {
+    if (this.closed) {
+      return;
+    }
+    this.results.add(resultOfSingleExecution);
+    if (this.results.size() > this.windowSize) {
+      if (this.stats != null) {
+        this.stats.incStreamingResultsOverWindow();
+      }
+      if (!this.windowExceededLogged) {
+        this.windowExceededLogged = true;
+        logger.warn("More than {} streamed function results are buffered because they are not "
+            + "pulled as fast as they arrive", this.windowSize);
+      }
+    }
+    notifyAll();
+  }
+
+  @Override
+  public synchronized void endResults() {
+    this.endResultReceived = true;
+    notifyAll();
+  }
+
+  @Override
+  public synchronized void clearResults() {
+    this.results.clear();
+    this.endResultReceived = false;
+    this.exception = null;
+    notifyAll();
+  }
+
+  /**
+   * Terminates the stream with the given exception. Results already buffered are still returned by
+   * the iterator before the exception is thrown.
+   */
+  public synchronized void setException(Throwable exception) {
+    if (this.exception == null) {
+      this.exception = exception instanceof FunctionException ? (FunctionException) exception
+          : new FunctionException(exception);
+    }
+    notifyAll();
+  }
+
+  /**
+   * Stops the stream. Buffered results are discarded and any further results are dropped.
+   */
+  public synchronized void close() {
+    this.closed = true;
+    this.results.clear();
+    notifyAll();
+  }
+
+  synchronized int getBufferedResultCount() {
+    return this.results.size();
+  }
+
+  @Override
+  public Iterator<Object> getResult() throws FunctionException {
+    return this.iterator;
+  }
+
+  /**
+   * Returns the same iterator as {@link #getResult()}, except that it throws a
+   * {@link FunctionException} if it is not exhausted within the timeout.
+   */
+  @Override
+  public Iterator<Object> getResult(long timeout, TimeUnit unit) throws FunctionException {
+    synchronized (this) {
+      this.hasResultDeadline = true;
+      this.resultDeadline = System.nanoTime() + unit.toNanos(timeout);
+    }
+    return this.iterator;
+  }
+
+  private class ResultIterator implements Iterator<Object> {
+
+    @Override
+    public boolean hasNext() {
+      synchronized (StreamingResultCollector.this) {
+        while (results.isEmpty() && !endResultReceived && exception == null && !closed) {
+          long remainingMillis = 0;
+          if (hasResultDeadline) {
+            long remainingNanos = resultDeadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+              throw new FunctionException("All results not received in time provided");
+            }
+            remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+          }
+          try {
+            StreamingResultCollector.this.wait(remainingMillis);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FunctionException(e);
+          }
+        }
+        if (!results.isEmpty()) {
+          return true;
+        }
+        if (exception != null && !closed) {
+          throw exception;
+        }
+        return false;
+      }
+    }
+
+    @Override
+    public Object next() {
+      synchronized (StreamingResultCollector.this) {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return results.poll();
+      }
+    }
+  }
+}
@@ -182,6 +182,10 @@ public class RegionMapPut extends AbstractRegionMapPut {
       setOldValueEvenIfFaultedOut();
     } else if (isCacheWrite() || isRequireOldValue()) {
       setOldValueIfNotFaultedOut();
+    } else if (getOwner().isUsedForSerialGatewaySenderQueue()) {
+      // The secondaries of a serial gateway sender queue need the event replaced by an update
+      // conflated in place, even if it has been overflowed to disk
+      setOldValueEvenIfFaultedOut();
     } else {
       @Unretained
       Object existingValue = re.getValue();
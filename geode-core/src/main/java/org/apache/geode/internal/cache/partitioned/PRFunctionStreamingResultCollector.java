@@ -42,6 +42,7 @@ import org.apache.geode.internal.cache.execute.InternalFunctionInvocationTargetE
 import org.apache.geode.internal.cache.execute.LocalResultCollectorImpl;
 import org.apache.geode.internal.cache.execute.PartitionedRegionFunctionExecutor;
 import org.apache.geode.internal.cache.execute.PartitionedRegionFunctionResultWaiter;
+import org.apache.geode.internal.cache.execute.StreamingResultCollector;
 import org.apache.geode.internal.logging.LogService;
 
 public class PRFunctionStreamingResultCollector extends FunctionStreamingResultCollector
@@ -85,6 +86,9 @@ public class PRFunctionStreamingResultCollector extends FunctionStreamingResultC
     }
 
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      return this.userRC.getResult();
+    }
     if (this.hasResult) {
       try {
         this.waitForCacheOrFunctionException(0);
@@ -217,6 +221,9 @@ public class PRFunctionStreamingResultCollector extends FunctionStreamingResultC
       throw new FunctionException("Result already collected");
     }
     this.resultCollected = true;
+    if (getStreamingCollector() != null) {
+      return this.userRC.getResult(timeout, unit);
+    }
     if (this.hasResult) {
       try {
         long timeBefore = System.currentTimeMillis();
@@ -362,6 +369,10 @@ public class PRFunctionStreamingResultCollector extends FunctionStreamingResultC
             this.execution.addFailedNode(id.getId());
           }
           this.fites.add(fite);
+          StreamingResultCollector streamingRC = getStreamingCollector();
+          if (streamingRC != null) {
+            streamingRC.setException(fite);
+          }
         }
         checkIfDone();
       }
@@ -401,5 +412,6 @@ public class PRFunctionStreamingResultCollector extends FunctionStreamingResultC
     } else if (!execution.getWaitOnExceptionFlag()) {
       this.exception = ex;
     }
+    streamException(ex);
   }
 }
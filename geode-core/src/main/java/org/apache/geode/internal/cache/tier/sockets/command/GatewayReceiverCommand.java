@@ -16,16 +16,26 @@ package org.apache.geode.internal.cache.tier.sockets.command;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.geode.CancelException;
+import org.apache.geode.InternalGemFireError;
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.operations.DestroyOperationContext;
 import org.apache.geode.cache.operations.PutOperationContext;
 import org.apache.geode.cache.wan.GatewayReceiver;
 import org.apache.geode.distributed.DistributedSystem;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.Version;
@@ -43,7 +53,9 @@ import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.CompactGatewayBatch;
 import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
+import org.apache.geode.internal.logging.LoggingExecutors;
 import org.apache.geode.internal.security.AuthorizeRequest;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.util.BlobHelper;
@@ -56,15 +68,32 @@ import org.apache.geode.pdx.internal.PeerTypeRegistration;
 
 public class GatewayReceiverCommand extends BaseCommand {
 
+  /**
+   * The number of threads applying the events of a batch. With more than one, the events of each
+   * batch are split by key into sub-batches applied in parallel, so that the events of a key are
+   * still applied in order but those of different keys may not be.
+   */
+  static final int APPLY_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewayReceiver.APPLY_THREADS", 1);
+
   @Immutable
   private static final GatewayReceiverCommand SINGLETON = new GatewayReceiverCommand();
 
+  private final int applyThreads;
+
+  private ExecutorService applyExecutor = null;
+
   public static Command getCommand() {
     return SINGLETON;
   }
 
   private GatewayReceiverCommand() {
-    // nothing
+    this(APPLY_THREADS);
+  }
+
+  @VisibleForTesting
+  GatewayReceiverCommand(int applyThreads) {
+    this.applyThreads = applyThreads;
   }
 
   private void handleRegionNull(ServerConnection servConn, String regionName, int batchId) {
@@ -142,366 +171,649 @@ public class GatewayReceiverCommand extends BaseCommand {
     int partNumber = 2;
     int dsid = clientMessage.getPart(partNumber++).getInt();
 
-    boolean removeOnException = clientMessage.getPart(partNumber++).getSerializedForm()[0] == 1;
+    byte[] flags = clientMessage.getPart(partNumber++).getSerializedForm();
+    boolean removeOnException = flags[0] == 1;
 
-    // event received in batch also have PDX events at the start of the batch,to
-    // represent correct index on which the exception occurred, number of PDX
-    // events need to be subtracted.
-    int indexWithoutPDXEvent = -1; //
-    Part valuePart = null;
-    Throwable fatalException = null;
-    List<BatchException70> exceptions = new ArrayList<>();
+    // The events of a batch in compact form are expanded into the parts they would have been sent
+    // in, numbered from 0
+    Part[] compactParts = null;
+    if (flags.length > 1 && flags[1] == CompactGatewayBatch.COMPACT_FORM) {
+      compactParts = CompactGatewayBatch
+          .toParts(clientMessage.getPart(partNumber).getSerializedForm(), numberOfEvents);
+      partNumber = 0;
+    }
+
+    ReceivedBatch batch = new ReceivedBatch(clientMessage, compactParts, serverConnection,
+        batchId, numberOfEvents, dsid, removeOnException);
+    try {
+      processEvents(batch, partNumber);
+    } catch (CancelException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
+            serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
+            serverConnection.getProxyID());
+      }
+      serverConnection.setFlagProcessMessagesAsFalse();
+      serverConnection.setClientDisconnectedException(e);
+      return;
+    } finally {
+      batch.applyModificationInfo();
+    }
+    Throwable fatalException = batch.fatalException;
+    List<BatchException70> exceptions = batch.getExceptions();
+
+    {
+      long oldStart = start;
+      start = DistributionStats.getStatTime();
+      stats.incProcessBatchTime(start - oldStart);
+    }
+    if (fatalException != null) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else if (!exceptions.isEmpty()) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else {
+      // Increment the batch id unless the received batch id is -1 (a failover
+      // batch)
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+
+      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
+      serverConnection.setAsTrue(RESPONDED);
+      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
+            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
+            "normal", serverConnection.getSocketString());
+      }
+    }
+  }
+
+  /**
+   * Applies the events of a batch, on this thread or split into sub-batches applied in parallel
+   *
+   * @param partNumber the number of the first part of the first event
+   */
+  private void processEvents(ReceivedBatch batch, int partNumber)
+      throws IOException, InterruptedException {
+    // Locate the parts of each event. The PDX types are counted out of the event indexes reported
+    // in exceptions.
+    int numberOfEvents = batch.numberOfEvents;
+    int[] partNumbers = new int[numberOfEvents];
+    int[] indexesWithoutPDXEvents = new int[numberOfEvents];
+    boolean[] isPdxEvent = new boolean[numberOfEvents];
+    int numberOfPdxEvents = 0;
     for (int i = 0; i < numberOfEvents; i++) {
-      indexWithoutPDXEvent++;
+      partNumbers[i] = partNumber;
+      indexesWithoutPDXEvents[i] = i - numberOfPdxEvents;
+      int actionType = batch.getPart(partNumber).getInt();
+      if (actionType >= 0 && actionType <= 3) {
+        isPdxEvent[i] = PeerTypeRegistration.REGION_FULL_PATH
+            .equals(batch.getPart(partNumber + 2).getCachedString());
+        if (isPdxEvent[i]) {
+          numberOfPdxEvents++;
+        }
+        // create and update events have a value part
+        int callbackArgExistsPart = partNumber + (actionType < 2 ? 6 : 5);
+        partNumber = callbackArgExistsPart + 2;
+        if (batch.getPart(callbackArgExistsPart).getSerializedForm()[0] == 0x01) {
+          partNumber++;
+        }
+      }
+    }
 
-      Part actionTypePart = clientMessage.getPart(partNumber);
-      int actionType = actionTypePart.getInt();
+    if (this.applyThreads <= 1 || numberOfEvents - numberOfPdxEvents <= 1) {
+      for (int i = 0; i < numberOfEvents; i++) {
+        if (!processEvent(batch, partNumbers[i], indexesWithoutPDXEvents[i])) {
+          return;
+        }
+      }
+      return;
+    }
 
-      boolean callbackArgExists = false;
+    // The PDX types are registered before the events that may use them are applied
+    for (int i = 0; i < numberOfEvents; i++) {
+      if (isPdxEvent[i] && !processEvent(batch, partNumbers[i], indexesWithoutPDXEvents[i])) {
+        return;
+      }
+    }
 
-      try {
-        boolean isPdxEvent = false;
-        boolean retry = true;
-        do {
-          if (isPdxEvent) {
-            // This is a retried event. Reset the PDX event index.
-            indexWithoutPDXEvent++;
-          }
-          isPdxEvent = false;
-          Part possibleDuplicatePart = clientMessage.getPart(partNumber + 1);
-          byte[] possibleDuplicatePartBytes;
-          try {
-            possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
-
-          // Make sure instance variables are null before each iteration
-          String regionName = null;
-          Object key = null;
-          Object callbackArg = null;
-
-          // Retrieve the region name from the message parts
-          Part regionNamePart = clientMessage.getPart(partNumber + 2);
-          regionName = regionNamePart.getCachedString();
-          if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
-            indexWithoutPDXEvent--;
-            isPdxEvent = true;
+    GatewayReceiverStats stats =
+        (GatewayReceiverStats) batch.serverConnection.getCacheServerStats();
+    long start = stats.startTime();
+    List<List<Integer>> subBatches = new ArrayList<>(this.applyThreads);
+    for (int i = 0; i < this.applyThreads; i++) {
+      subBatches.add(new ArrayList<>());
+    }
+    for (int i = 0; i < numberOfEvents; i++) {
+      if (!isPdxEvent[i]) {
+        subBatches.get(Math.floorMod(batch.getKeyHashCode(partNumbers[i]), this.applyThreads))
+            .add(i);
+      }
+    }
+    List<Callable<Void>> tasks = new ArrayList<>(this.applyThreads);
+    for (List<Integer> subBatch : subBatches) {
+      if (!subBatch.isEmpty()) {
+        tasks.add(() -> {
+          long subBatchStart = stats.startTime();
+          for (int i : subBatch) {
+            if (batch.fatalException != null
+                || !processEvent(batch, partNumbers[i], indexesWithoutPDXEvents[i])) {
+              break;
+            }
           }
+          stats.endSubBatchApply(subBatchStart);
+          return null;
+        });
+      }
+    }
+    stats.endBatchSplit(start);
 
-          // Retrieve the event id from the message parts
-          // This was going to be used to determine possible
-          // duplication of events, but it is unused now. In
-          // fact the event id is overridden by the FROM_GATEWAY
-          // token.
-          Part eventIdPart = clientMessage.getPart(partNumber + 3);
-          eventIdPart.setVersion(serverConnection.getClientVersion());
-          // String eventId = eventIdPart.getString();
-          EventID eventId;
-          try {
-            eventId = (EventID) eventIdPart.getObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
+    List<Future<Void>> futures = getApplyExecutor().invokeAll(tasks);
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        } else if (cause instanceof IOException) {
+          throw (IOException) cause;
+        } else if (cause instanceof InterruptedException) {
+          throw (InterruptedException) cause;
+        }
+        throw new InternalGemFireError(cause);
+      }
+    }
+  }
 
-          // Retrieve the key from the message parts
-          Part keyPart = clientMessage.getPart(partNumber + 4);
-          try {
-            key = keyPart.getStringOrObject();
-          } catch (Exception e) {
-            logger.warn(String.format(
-                "%s: Caught exception processing batch request %s containing %s events",
-                serverConnection.getName(), batchId, numberOfEvents), e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          int index;
-          Part callbackArgPart;
-          EventIDHolder clientEvent;
-          long versionTimeStamp;
-          Part callbackArgExistsPart;
-          LocalRegion region;
-          switch (actionType) {
-            case 0: // Create
-              try {
-
-                /*
-                 * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
-                 * System.out.println("Processing new key: " + key); if
-                 * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
-                 * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
-                 * )); }
-                 */
-
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Creating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+  /**
+   * Shuts down the threads applying the sub-batches. Called when the gateway receiver is stopped or
+   * the cache is closed; the next batch split into sub-batches creates new threads.
+   */
+  public static void shutdownApplyExecutor() {
+    SINGLETON.shutdownExecutor();
+  }
+
+  @VisibleForTesting
+  synchronized void shutdownExecutor() {
+    if (this.applyExecutor != null) {
+      this.applyExecutor.shutdown();
+      this.applyExecutor = null;
+    }
+  }
+
+  private synchronized ExecutorService getApplyExecutor() {
+    if (this.applyExecutor == null || this.applyExecutor.isShutdown()
+        || this.applyExecutor.isTerminated()) {
+      this.applyExecutor =
+          LoggingExecutors.newFixedThreadPool("GatewayReceiverApplier", true, this.applyThreads);
+    }
+    return this.applyExecutor;
+  }
+
+  /**
+   * Applies an event of a batch
+   *
+   * @param partNumber the number of the first part of the event
+   * @param indexWithoutPDXEvent the index of the event among the events of the batch that are not
+   *        PDX types
+   * @return false if a fatal exception occurred, in which case no more events are applied
+   */
+  private boolean processEvent(ReceivedBatch batch, int partNumber, int indexWithoutPDXEvent)
+      throws IOException, InterruptedException {
+    Message clientMessage = batch.clientMessage;
+    Part[] compactParts = batch.compactParts;
+    ServerConnection serverConnection = batch.serverConnection;
+    CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
+    GatewayReceiverStats stats = (GatewayReceiverStats) serverConnection.getCacheServerStats();
+    int batchId = batch.batchId;
+    int numberOfEvents = batch.numberOfEvents;
+    int dsid = batch.dsid;
+    boolean removeOnException = batch.removeOnException;
+    Part valuePart = null;
+
+    Part actionTypePart = getEventPart(clientMessage, compactParts, partNumber);
+    int actionType = actionTypePart.getInt();
+
+    boolean callbackArgExists = false;
+
+    try {
+      boolean isPdxEvent = false;
+      boolean retry = true;
+      do {
+        if (isPdxEvent) {
+          // This is a retried event. Reset the PDX event index.
+          indexWithoutPDXEvent++;
+        }
+        isPdxEvent = false;
+        Part possibleDuplicatePart = getEventPart(clientMessage, compactParts, partNumber + 1);
+        byte[] possibleDuplicatePartBytes;
+        try {
+          possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
+
+        // Make sure instance variables are null before each iteration
+        String regionName = null;
+        Object key = null;
+        Object callbackArg = null;
+
+        // Retrieve the region name from the message parts
+        Part regionNamePart = getEventPart(clientMessage, compactParts, partNumber + 2);
+        regionName = regionNamePart.getCachedString();
+        if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
+          indexWithoutPDXEvent--;
+          isPdxEvent = true;
+        }
+
+        // Retrieve the event id from the message parts
+        // This was going to be used to determine possible
+        // duplication of events, but it is unused now. In
+        // fact the event id is overridden by the FROM_GATEWAY
+        // token.
+        Part eventIdPart = getEventPart(clientMessage, compactParts, partNumber + 3);
+        eventIdPart.setVersion(serverConnection.getClientVersion());
+        // String eventId = eventIdPart.getString();
+        EventID eventId;
+        try {
+          eventId = (EventID) eventIdPart.getObject();
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+
+        // Retrieve the key from the message parts
+        Part keyPart = getEventPart(clientMessage, compactParts, partNumber + 4);
+        try {
+          key = keyPart.getStringOrObject();
+        } catch (Exception e) {
+          logger.warn(String.format(
+              "%s: Caught exception processing batch request %s containing %s events",
+              serverConnection.getName(), batchId, numberOfEvents), e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        int index;
+        Part callbackArgPart;
+        EventIDHolder clientEvent;
+        long versionTimeStamp;
+        Part callbackArgExistsPart;
+        LocalRegion region;
+        switch (actionType) {
+          case 0: // Create
+            try {
+
+              /*
+               * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
+               * System.out.println("Processing new key: " + key); if
+               * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
+               * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
+               * )); }
+               */
+
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = getEventPart(clientMessage, compactParts, partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Creating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = getEventPart(clientMessage, compactParts, index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = getEventPart(clientMessage, compactParts, index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(String.format(
+                          "%s: Caught exception processing batch create request %s for %s events",
+                          serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(String.format(
-                            "%s: Caught exception processing batch create request %s for %s events",
-                            serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+              }
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg, eventId);
+              }
+              versionTimeStamp = getEventPart(clientMessage, compactParts, index++).getLong();
+              // Process the create request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message = "%s: The input key for the batch create request %s is null";
                 }
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg, eventId);
+                if (regionName == null) {
+                  message = "%s: The input region name for the batch create request %s is null";
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                // Process the create request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message = "%s: The input key for the batch create request %s is null";
-                  }
-                  if (regionName == null) {
-                    message = "%s: The input region name for the batch create request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                // [sumedh] This should be done on client while sending
+                // since that is the WAN gateway
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext =
+                      authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                // Attempt to create the entry
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  // [sumedh] This should be done on client while sending
-                  // since that is the WAN gateway
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext =
-                        authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  // Attempt to create the entry
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgeCreate(key, value, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent, false);
-                    // If the create fails (presumably because it already exists),
-                    // attempt to update the entry
-                    if (!result) {
-                      result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    }
+                  result = region.basicBridgeCreate(key, value, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent, false);
+                  // If the create fails (presumably because it already exists),
+                  // attempt to update the entry
+                  if (!result) {
+                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   }
+                }
 
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incCreateRequest();
-                    retry = false;
-                  } else {
-                    // This exception will be logged in the catch block below
-                    throw new Exception(
-                        String.format(
-                            "%s: Failed to create or update entry for region %s key %s value %s callbackArg %s",
-                            serverConnection.getName(), regionName, key, valuePart, callbackArg));
-                  }
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  batch.setModificationInfo(regionName, key);
+                  stats.incCreateRequest();
+                  retry = false;
+                } else {
+                  // This exception will be logged in the catch block below
+                  throw new Exception(
+                      String.format(
+                          "%s: Failed to create or update entry for region %s key %s value %s callbackArg %s",
+                          serverConnection.getName(), regionName, key, valuePart, callbackArg));
                 }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch create request %s for %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
               }
-              break;
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch create request %s for %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+
+          case 1: // Update
+            try {
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = getEventPart(clientMessage, compactParts, partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Updating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
 
-            case 1: // Update
-              try {
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Updating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = getEventPart(clientMessage, compactParts, index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = getEventPart(clientMessage, compactParts, index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          String.format(
+                              "%s: Caught exception processing batch update request %s containing %s events",
+                              serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            String.format(
-                                "%s: Caught exception processing batch update request %s containing %s events",
-                                serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+              }
+              versionTimeStamp = getEventPart(clientMessage, compactParts, index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message = "%s: The input key for the batch update request %s is null";
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
+                if (regionName == null) {
+                  message = "%s: The input region name for the batch update request %s is null";
                 }
-                // Process the update request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message = "%s: The input key for the batch update request %s is null";
-                  }
-                  if (regionName == null) {
-                    message = "%s: The input region name for the batch update request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
+                      value, isObject, callbackArg, PutOperationContext.UPDATE);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
-                        value, isObject, callbackArg, PutOperationContext.UPDATE);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent);
-                  }
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incUpdateRequest();
-                    retry = false;
-                  } else {
-                    final String message =
-                        "%s: Failed to update entry for region %s, key %s, value %s, and callbackArg %s";
-                    String s = String.format(message, serverConnection.getName(), regionName,
-                        key, valuePart, callbackArg);
-                    logger.info(s);
-                    throw new Exception(s);
-                  }
+                  result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent);
+                }
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  batch.setModificationInfo(regionName, key);
+                  stats.incUpdateRequest();
+                  retry = false;
+                } else {
+                  final String message =
+                      "%s: Failed to update entry for region %s, key %s, value %s, and callbackArg %s";
+                  String s = String.format(message, serverConnection.getName(), regionName,
+                      key, valuePart, callbackArg);
+                  logger.info(s);
+                  throw new Exception(s);
                 }
-              } catch (Exception e) {
-                // Preserve the connection under all circumstances
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch update request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
               }
-              break;
+            } catch (Exception e) {
+              // Preserve the connection under all circumstances
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch update request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
 
-            case 2: // Destroy
-              try {
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
-                }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            String.format(
-                                "%s: Caught exception processing batch destroy request %s containing %s events",
-                                serverConnection.getName(), batchId, numberOfEvents),
-                            e);
-                    throw e;
-                  }
+          case 2: // Destroy
+            try {
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = getEventPart(clientMessage, compactParts, index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = getEventPart(clientMessage, compactParts, index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          String.format(
+                              "%s: Caught exception processing batch destroy request %s containing %s events",
+                              serverConnection.getName(), batchId, numberOfEvents),
+                          e);
+                  throw e;
                 }
+              }
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key);
-                }
+              versionTimeStamp = getEventPart(clientMessage, compactParts, index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key);
+              }
 
-                // Process the destroy request
-                if (key == null || regionName == null) {
-                  String message = null;
-                  if (key == null) {
-                    message =
-                        "%s: The input key for the batch destroy request %s is null";
-                  }
-                  if (regionName == null) {
-                    message =
-                        "%s: The input region name for the batch destroy request %s is null";
-                  }
-                  String s = String.format(message, serverConnection.getName(), batchId);
-                  logger.warn(s);
-                  throw new Exception(s);
+              // Process the destroy request
+              if (key == null || regionName == null) {
+                String message = null;
+                if (key == null) {
+                  message =
+                      "%s: The input key for the batch destroy request %s is null";
+                }
+                if (regionName == null) {
+                  message =
+                      "%s: The input region name for the batch destroy request %s is null";
                 }
+                String s = String.format(message, serverConnection.getName(), batchId);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
+                }
+                handleMessageRetry(region, clientEvent);
+                // Destroy the entry
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  DestroyOperationContext destroyContext =
+                      authzRequest.destroyAuthorize(regionName, key, callbackArg);
+                  callbackArg = destroyContext.getCallbackArg();
+                }
+                try {
+                  region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
+                      false, clientEvent);
+                  batch.setModificationInfo(regionName, key);
+                } catch (EntryNotFoundException e) {
+                  logger.info("{}: during batch destroy no entry was found for key {}",
+                      serverConnection.getName(), key);
+                }
+                stats.incDestroyRequest();
+                retry = false;
+              }
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch destroy request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+
+          case 3: // Update Time-stamp for a RegionEntry
+            try {
+              // Region name
+              regionNamePart = getEventPart(clientMessage, compactParts, partNumber + 2);
+              regionName = regionNamePart.getCachedString();
+
+              // Retrieve the event id from the message parts
+              eventIdPart = getEventPart(clientMessage, compactParts, partNumber + 3);
+              eventId = (EventID) eventIdPart.getObject();
+
+              // Retrieve the key from the message parts
+              keyPart = getEventPart(clientMessage, compactParts, partNumber + 4);
+              key = keyPart.getStringOrObject();
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = getEventPart(clientMessage, compactParts, index++);
+
+              byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+              callbackArgExists = partBytes[0] == 0x01;
+
+              if (callbackArgExists) {
+                callbackArgPart = getEventPart(clientMessage, compactParts, index++);
+                callbackArg = callbackArgPart.getObject();
+              }
+
+              versionTimeStamp = getEventPart(clientMessage, compactParts, index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update time-stamp request
+              if (key == null || regionName == null) {
+                String message =
+                    "%s: Caught exception processing batch update version request request %s containing %s events";
+
+                String s = String.format(message, serverConnection.getName(),
+                    batchId, numberOfEvents);
+                logger.warn(s);
+                throw new Exception(s);
+
+              } else {
                 region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
+
                 if (region == null) {
                   handleRegionNull(serverConnection, regionName, batchId);
                 } else {
+
                   clientEvent = new EventIDHolder(eventId);
+
                   if (versionTimeStamp > 0) {
                     VersionTag tag = VersionTag.create(region.getVersionMember());
                     tag.setIsGatewayTag(true);
@@ -509,205 +821,140 @@ public class GatewayReceiverCommand extends BaseCommand {
                     tag.setDistributedSystemId(dsid);
                     clientEvent.setVersionTag(tag);
                   }
-                  handleMessageRetry(region, clientEvent);
-                  // Destroy the entry
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    DestroyOperationContext destroyContext =
-                        authzRequest.destroyAuthorize(regionName, key, callbackArg);
-                    callbackArg = destroyContext.getCallbackArg();
-                  }
+
+                  // Update the version tag
                   try {
-                    region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
-                        false, clientEvent);
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    region.basicBridgeUpdateVersionStamp(key, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   } catch (EntryNotFoundException e) {
-                    logger.info("{}: during batch destroy no entry was found for key {}",
+                    logger.info(
+                        "Entry for key {} was not found in Region {} during ProcessBatch for Update Entry Version",
                         serverConnection.getName(), key);
                   }
-                  stats.incDestroyRequest();
                   retry = false;
                 }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch destroy request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents),
-                    e);
-                handleException(removeOnException, stats, e);
               }
-              break;
-
-            case 3: // Update Time-stamp for a RegionEntry
-              try {
-                // Region name
-                regionNamePart = clientMessage.getPart(partNumber + 2);
-                regionName = regionNamePart.getCachedString();
+            } catch (Exception e) {
+              logger.warn(String.format(
+                  "%s: Caught exception processing batch update version request request %s containing %s events",
+                  serverConnection.getName(), batchId, numberOfEvents), e);
+              handleException(removeOnException, stats, e);
+            }
 
-                // Retrieve the event id from the message parts
-                eventIdPart = clientMessage.getPart(partNumber + 3);
-                eventId = (EventID) eventIdPart.getObject();
+            break;
+          default:
+            logger.fatal("{}: Unknown action type ({}) for batch from {}",
+                serverConnection.getName(), actionType, serverConnection.getSocketString());
+            stats.incUnknowsOperationsReceived();
+        }
+      } while (retry);
+    } catch (CancelException e) {
+      throw e;
+    } catch (Exception e) {
+      // If an interrupted exception is thrown , rethrow it
+      checkForInterrupt(serverConnection, e);
 
-                // Retrieve the key from the message parts
-                keyPart = clientMessage.getPart(partNumber + 4);
-                key = keyPart.getStringOrObject();
+      // If we have an issue with the PDX registry, stop processing more data
+      if (e.getCause() instanceof PdxRegistryMismatchException) {
+        batch.fatalException = e.getCause();
+        logger.fatal(String.format(
+            "This gateway receiver has received a PDX type from %s that does match the existing PDX type. This gateway receiver will not process any more events, in order to prevent receiving objects which may not be deserializable.",
+            serverConnection.getMembershipID()), e.getCause());
+        return false;
+      }
 
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
+      // Increment the batch id unless the received batch id is -1 (a
+      // failover batch)
+      DistributedSystem ds = crHelper.getCacheForGatewayCommand().getDistributedSystem();
+      String exceptionMessage = String.format(
+          "Exception occurred while processing a batch on the receiver running on DistributedSystem with Id: %s, DistributedMember on which the receiver is running: %s",
+          ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
+          ds.getDistributedMember());
+      BatchException70 be =
+          new BatchException70(exceptionMessage, e, indexWithoutPDXEvent, batchId);
+      batch.exceptions.add(be);
+    }
+    return true;
+  }
 
-                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                callbackArgExists = partBytes[0] == 0x01;
+  /**
+   * A batch being applied, and the exceptions that occurred applying its events
+   */
+  private static class ReceivedBatch {
+    private final Message clientMessage;
+    private final Part[] compactParts;
+    private final ServerConnection serverConnection;
+    private final int batchId;
+    private final int numberOfEvents;
+    private final int dsid;
+    private final boolean removeOnException;
+    private final List<BatchException70> exceptions =
+        Collections.synchronizedList(new ArrayList<>());
+    private volatile Throwable fatalException;
+    private String modifiedRegion;
+    private Object modifiedKey;
 
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  callbackArg = callbackArgPart.getObject();
-                }
+    private ReceivedBatch(Message clientMessage, Part[] compactParts,
+        ServerConnection serverConnection, int batchId, int numberOfEvents, int dsid,
+        boolean removeOnException) {
+      this.clientMessage = clientMessage;
+      this.compactParts = compactParts;
+      this.serverConnection = serverConnection;
+      this.batchId = batchId;
+      this.numberOfEvents = numberOfEvents;
+      this.dsid = dsid;
+      this.removeOnException = removeOnException;
+    }
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
-                }
-                // Process the update time-stamp request
-                if (key == null || regionName == null) {
-                  String message =
-                      "%s: Caught exception processing batch update version request request %s containing %s events";
-
-                  String s = String.format(message, serverConnection.getName(),
-                      batchId, numberOfEvents);
-                  logger.warn(s);
-                  throw new Exception(s);
+    private Part getPart(int partNumber) {
+      return getEventPart(this.clientMessage, this.compactParts, partNumber);
+    }
 
-                } else {
-                  region = (LocalRegion) crHelper.getCacheForGatewayCommand().getRegion(regionName);
-
-                  if (region == null) {
-                    handleRegionNull(serverConnection, regionName, batchId);
-                  } else {
-
-                    clientEvent = new EventIDHolder(eventId);
-
-                    if (versionTimeStamp > 0) {
-                      VersionTag tag = VersionTag.create(region.getVersionMember());
-                      tag.setIsGatewayTag(true);
-                      tag.setVersionTimeStamp(versionTimeStamp);
-                      tag.setDistributedSystemId(dsid);
-                      clientEvent.setVersionTag(tag);
-                    }
-
-                    // Update the version tag
-                    try {
-                      region.basicBridgeUpdateVersionStamp(key, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    } catch (EntryNotFoundException e) {
-                      logger.info(
-                          "Entry for key {} was not found in Region {} during ProcessBatch for Update Entry Version",
-                          serverConnection.getName(), key);
-                    }
-                    retry = false;
-                  }
-                }
-              } catch (Exception e) {
-                logger.warn(String.format(
-                    "%s: Caught exception processing batch update version request request %s containing %s events",
-                    serverConnection.getName(), batchId, numberOfEvents), e);
-                handleException(removeOnException, stats, e);
-              }
+    /**
+     * Returns the hash code of the region and serialized key of an event, the same for all the
+     * events of a key
+     */
+    private int getKeyHashCode(int partNumber) {
+      int actionType = getPart(partNumber).getInt();
+      if (actionType < 0 || actionType > 3) {
+        return 0;
+      }
+      return 31 * getPart(partNumber + 2).getCachedString().hashCode()
+          + Arrays.hashCode(getPart(partNumber + 4).getSerializedForm());
+    }
 
-              break;
-            default:
-              logger.fatal("{}: Unknown action type ({}) for batch from {}",
-                  serverConnection.getName(), actionType, serverConnection.getSocketString());
-              stats.incUnknowsOperationsReceived();
-          }
-        } while (retry);
-      } catch (CancelException e) {
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
-              serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
-              serverConnection.getProxyID());
-        }
-        serverConnection.setFlagProcessMessagesAsFalse();
-        serverConnection.setClientDisconnectedException(e);
-        return;
-      } catch (Exception e) {
-        // If an interrupted exception is thrown , rethrow it
-        checkForInterrupt(serverConnection, e);
-
-        // If we have an issue with the PDX registry, stop processing more data
-        if (e.getCause() instanceof PdxRegistryMismatchException) {
-          fatalException = e.getCause();
-          logger.fatal(String.format(
-              "This gateway receiver has received a PDX type from %s that does match the existing PDX type. This gateway receiver will not process any more events, in order to prevent receiving objects which may not be deserializable.",
-              serverConnection.getMembershipID()), e.getCause());
-          break;
-        }
+    /**
+     * Records the last region and key modified by the batch. The sub-batch threads do not set them
+     * on the server connection, which is only updated by its own thread in
+     * {@link #applyModificationInfo()}.
+     */
+    private synchronized void setModificationInfo(String regionName, Object key) {
+      this.modifiedRegion = regionName;
+      this.modifiedKey = key;
+    }
 
-        // Increment the batch id unless the received batch id is -1 (a
-        // failover batch)
-        DistributedSystem ds = crHelper.getCacheForGatewayCommand().getDistributedSystem();
-        String exceptionMessage = String.format(
-            "Exception occurred while processing a batch on the receiver running on DistributedSystem with Id: %s, DistributedMember on which the receiver is running: %s",
-            ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
-            ds.getDistributedMember());
-        BatchException70 be =
-            new BatchException70(exceptionMessage, e, indexWithoutPDXEvent, batchId);
-        exceptions.add(be);
-      } finally {
-        // Increment the partNumber
-        if (actionType == 0 /* create */ || actionType == 1 /* update */) {
-          if (callbackArgExists) {
-            partNumber += 9;
-          } else {
-            partNumber += 8;
-          }
-        } else if (actionType == 2 /* destroy */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
-          }
-        } else if (actionType == 3 /* update-version */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
-          }
-        }
+    private synchronized void applyModificationInfo() {
+      if (this.modifiedRegion != null) {
+        this.serverConnection.setModificationInfo(true, this.modifiedRegion, this.modifiedKey);
       }
     }
 
-    {
-      long oldStart = start;
-      start = DistributionStats.getStatTime();
-      stats.incProcessBatchTime(start - oldStart);
+    /**
+     * Returns the exceptions in the order of the events they occurred on
+     */
+    private List<BatchException70> getExceptions() {
+      List<BatchException70> result = new ArrayList<>(this.exceptions);
+      result.sort(Comparator.comparingInt(BatchException70::getIndex));
+      return result;
     }
-    if (fatalException != null) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else if (!exceptions.isEmpty()) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else {
-      // Increment the batch id unless the received batch id is -1 (a failover
-      // batch)
-      serverConnection.incrementLatestBatchIdReplied(batchId);
+  }
 
-      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
-      serverConnection.setAsTrue(RESPONDED);
-      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
-            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
-            "normal", serverConnection.getSocketString());
-      }
+  private static Part getEventPart(Message clientMessage, Part[] compactParts,
+      int partNumber) {
+    if (compactParts != null) {
+      return compactParts[partNumber];
     }
+    return clientMessage.getPart(partNumber);
   }
 
   private boolean addPdxType(CachedRegionHelper crHelper, Object key, Object value)
@@ -53,6 +53,7 @@ import org.apache.geode.distributed.GatewayCancelledException;
 import org.apache.geode.distributed.internal.DistributionAdvisee;
 import org.apache.geode.distributed.internal.DistributionAdvisor;
 import org.apache.geode.distributed.internal.DistributionAdvisor.Profile;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.ResourceEvent;
@@ -117,6 +118,8 @@ public abstract class AbstractGatewaySender implements InternalGatewaySender, Di
 
   protected boolean isConflation;
 
+  protected boolean isConflationInPlace;
+
   protected boolean isPersistence;
 
   protected int alertThreshold;
@@ -195,6 +198,18 @@ public abstract class AbstractGatewaySender implements InternalGatewaySender, Di
   public static final int QUEUE_SIZE_THRESHOLD =
       Integer.getInteger("GatewaySender.QUEUE_SIZE_THRESHOLD", 5000).intValue();
 
+  /**
+   * Whether the events of a transaction are dispatched in the same batch. A batch is then extended
+   * beyond the batch size until it holds the last event of each transaction it has events of.
+   *
+   * This is best effort. A batch is extended to at most twice the batch size, and a parallel queue
+   * only peeks the bucket of a transaction, so a transaction with more events than that, or with
+   * events in several buckets or reaching several dispatcher threads, may still be split across
+   * batches. Such batches are counted by the "batchesWithIncompleteTransactions" stat.
+   */
+  public static final boolean GROUP_TRANSACTION_EVENTS = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.GROUP_TRANSACTION_EVENTS");
+
   @MutableForTesting
   public static int TOKEN_TIMEOUT =
       Integer.getInteger("GatewaySender.TOKEN_TIMEOUT", 120000).intValue();
@@ -249,6 +264,7 @@ public abstract class AbstractGatewaySender implements InternalGatewaySender, Di
     this.batchSize = attrs.getBatchSize();
     this.batchTimeInterval = attrs.getBatchTimeInterval();
     this.isConflation = attrs.isBatchConflationEnabled();
+    this.isConflationInPlace = attrs.isBatchConflationInPlace();
     this.isPersistence = attrs.isPersistenceEnabled();
     this.alertThreshold = attrs.getAlertThreshold();
     this.manualStart = attrs.isManualStart();
@@ -409,6 +425,11 @@ public abstract class AbstractGatewaySender implements InternalGatewaySender, Di
     return this.isConflation;
   }
 
+  @Override
+  public boolean isBatchConflationInPlace() {
+    return this.isConflationInPlace;
+  }
+
   public void test_setBatchConflationEnabled(boolean enableConflation) {
     this.isConflation = enableConflation;
   }
@@ -71,6 +71,21 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
 
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The maximum number of batches dispatched by a processor and not yet acknowledged. The processor
+   * waits for acknowledgements before peeking the next batch once it is reached. There is no
+   * maximum by default.
+   */
+  static final int MAX_BATCHES_IN_FLIGHT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.MAX_BATCHES_IN_FLIGHT", 0);
+
+  /**
+   * Whether the size of the batches adapts to their acknowledgement time and to the size of the
+   * queue, see {@link AdaptiveBatchSize}
+   */
+  static final boolean ADAPTIVE_BATCH_SIZE =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_BATCH_SIZE");
+
   protected RegionQueue queue;
 
   protected GatewaySenderEventDispatcher dispatcher;
@@ -124,6 +139,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
       Collections.synchronizedMap(new HashMap<Integer, List<GatewaySenderEventImpl>[]>());
   private Map<Integer, List<GatewaySenderEventImpl>> batchIdToPDXEventsMap =
       Collections.synchronizedMap(new HashMap<Integer, List<GatewaySenderEventImpl>>());
+  private final Map<Integer, Long> batchIdToDispatchTimeMap = new ConcurrentHashMap<>();
 
   private List<GatewaySenderEventImpl> pdxSenderEventsList =
       new ArrayList<GatewaySenderEventImpl>();
@@ -145,11 +161,17 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
    */
   private int batchSize;
 
+  /**
+   * The size of the batches peeked when adaptive batching is enabled, null otherwise
+   */
+  private final AdaptiveBatchSize adaptiveBatchSize;
+
   public AbstractGatewaySenderEventProcessor(String string,
       GatewaySender sender, ThreadsMonitoring tMonitoring) {
     super(string);
     this.sender = (AbstractGatewaySender) sender;
     this.batchSize = sender.getBatchSize();
+    this.adaptiveBatchSize = ADAPTIVE_BATCH_SIZE ? new AdaptiveBatchSize(this.batchSize) : null;
     this.threadMonitoring = tMonitoring;
   }
 
@@ -231,6 +253,17 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
       logger.info("Set the batch size from {} to {} events",
           new Object[] {currentBatchSize, this.batchSize});
     }
+    if (this.adaptiveBatchSize != null) {
+      this.adaptiveBatchSize.reset(this.batchSize);
+    }
+  }
+
+  /**
+   * Returns the number of events to peek for the next batch, which is the batch size unless
+   * adaptive batching is enabled.
+   */
+  protected int getBatchSizeToPeek() {
+    return this.adaptiveBatchSize == null ? this.batchSize : this.adaptiveBatchSize.get();
   }
 
   /**
@@ -440,7 +473,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
 
         // Peek a batch
         if (isDebugEnabled) {
-          logger.debug("Attempting to peek a batch of {} events", this.batchSize);
+          logger.debug("Attempting to peek a batch of {} events", getBatchSizeToPeek());
         }
         for (;;) {
           // check before sleeping
@@ -492,7 +525,8 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
                * Thread.currentThread().interrupt(); } } }
                */
             }
-            events = this.queue.peek(this.batchSize, batchTimeInterval);
+            waitForBatchWindow();
+            events = this.queue.peek(getBatchSizeToPeek(), batchTimeInterval);
           } catch (InterruptedException e) {
             interrupted = true;
             this.sender.getCancelCriterion().checkCancelInProgress(e);
@@ -618,6 +652,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
               eventsArr[0] = events;
               eventsArr[1] = filteredList;
               this.batchIdToEventsMap.put(getBatchId(), eventsArr);
+              if (this.adaptiveBatchSize != null) {
+                this.batchIdToDispatchTimeMap.put(getBatchId(), System.nanoTime());
+              }
               // find out PDX event and append it in front of the list
               pdxEventsToBeDispatched = addPDXEvent();
               eventsToBeDispatched.addAll(pdxEventsToBeDispatched);
@@ -678,6 +715,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
               increaseNumEventsDispatched(conflatedEventsToBeDispatched.size());
             } // successful batch
             else { // The batch was unsuccessful.
+              if (this.adaptiveBatchSize != null) {
+                this.adaptiveBatchSize.failed();
+              }
               if (this.dispatcher instanceof GatewaySenderEventCallbackDispatcher) {
                 handleUnSuccessfulBatchDispatch(events);
                 this.resetLastPeekedEvents = true;
@@ -921,8 +961,34 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
     }
   }
 
+  /**
+   * Waits while {@link #MAX_BATCHES_IN_FLIGHT} batches are dispatched and not yet acknowledged
+   */
+  private void waitForBatchWindow() throws InterruptedException {
+    if (MAX_BATCHES_IN_FLIGHT <= 0
+        || this.dispatcher instanceof GatewaySenderEventCallbackDispatcher) {
+      return;
+    }
+    synchronized (this.batchIdToEventsMap) {
+      while (this.batchIdToEventsMap.size() >= MAX_BATCHES_IN_FLIGHT && !stopped()
+          && !this.resetLastPeekedEvents) {
+        // wake up regularly in case the processor is stopped or the connection reset
+        this.batchIdToEventsMap.wait(100);
+      }
+    }
+  }
+
+  private void notifyBatchWindow() {
+    if (MAX_BATCHES_IN_FLIGHT > 0) {
+      synchronized (this.batchIdToEventsMap) {
+        this.batchIdToEventsMap.notifyAll();
+      }
+    }
+  }
+
   private void resetLastPeekedEvents() {
     this.batchIdToEventsMap.clear();
+    this.batchIdToDispatchTimeMap.clear();
     // make sure that when there is problem while receiving ack, pdx gateway
     // sender events isDispatched is set to false so that same events will be
     // dispatched in next batch
@@ -999,6 +1065,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
   public void handleException() {
     final GatewaySenderStats statistics = this.sender.getStatistics();
     statistics.incBatchesRedistributed();
+    if (this.adaptiveBatchSize != null) {
+      this.adaptiveBatchSize.failed();
+    }
     this.resetLastPeekedEvents = true;
   }
 
@@ -1012,6 +1081,11 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
     }
 
     List<GatewaySenderEventImpl>[] eventsArr = this.batchIdToEventsMap.remove(batchId);
+    notifyBatchWindow();
+    Long dispatchTime = this.batchIdToDispatchTimeMap.remove(batchId);
+    if (dispatchTime != null && this.adaptiveBatchSize != null) {
+      this.adaptiveBatchSize.acknowledged(System.nanoTime() - dispatchTime, getQueue().size());
+    }
     if (eventsArr != null) {
       List<GatewaySenderEventImpl> filteredEvents = eventsArr[1];
       for (GatewayEventFilter filter : sender.getGatewayEventFilters()) {
@@ -1221,6 +1295,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends LoggingThread
           // try to stop it again
           dispatcher.stop();
           this.batchIdToEventsMap.clear();
+          notifyBatchWindow();
         }
       } catch (InterruptedException ex) {
         Thread.currentThread().interrupt();
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * The size of the batches peeked by a gateway sender event processor when adaptive batching is
+ * enabled, adjusted on each acknowledgement in the manner of TCP congestion control.
+ *
+ * While the queue holds more events than a batch and acknowledgements come back in about the
+ * smoothed round trip time, the size grows by an eighth of the batch size. As soon as a round trip
+ * takes more than twice the smoothed one, or a batch fails, the size is halved. It stays between
+ * the batch size divided and multiplied by {@link #MAX_GROWTH_FACTOR}.
+ */
+class AdaptiveBatchSize {
+
+  static final int MAX_GROWTH_FACTOR = Math.max(1, Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_BATCH_SIZE_MAX_GROWTH_FACTOR",
+      4));
+
+  private static final int CONGESTION_FACTOR = 2;
+
+  private int batchSize;
+
+  private int size;
+
+  /**
+   * The smoothed round trip time of the batches in nanoseconds, or 0 before the first one
+   */
+  private long smoothedRoundTripTime;
+
+  AdaptiveBatchSize(int batchSize) {
+    reset(batchSize);
+  }
+
+  /**
+   * Restarts from the given batch size, for instance after a batch was too large to be sent
+   */
+  synchronized void reset(int batchSize) {
+    this.batchSize = Math.max(1, batchSize);
+    this.size = this.batchSize;
+    this.smoothedRoundTripTime = 0;
+  }
+
+  synchronized int get() {
+    return this.size;
+  }
+
+  /**
+   * Adjusts the size on the acknowledgement of a batch
+   *
+   * @param roundTripTime the time between the dispatch of the batch and its acknowledgement in
+   *        nanoseconds
+   * @param queueSize the number of events still in the queue
+   */
+  synchronized void acknowledged(long roundTripTime, int queueSize) {
+    if (this.smoothedRoundTripTime == 0) {
+      this.smoothedRoundTripTime = roundTripTime;
+      return;
+    }
+    if (roundTripTime > CONGESTION_FACTOR * this.smoothedRoundTripTime) {
+      decrease();
+    } else if (queueSize > this.size) {
+      this.size = Math.min(this.size + Math.max(1, this.batchSize / 8), getMaximum());
+    }
+    // the same weight as the smoothed round trip time of TCP
+    this.smoothedRoundTripTime += (roundTripTime - this.smoothedRoundTripTime) / 8;
+  }
+
+  /**
+   * Halves the size when a batch could not be dispatched
+   */
+  synchronized void failed() {
+    decrease();
+  }
+
+  private void decrease() {
+    this.size = Math.max(this.size / 2, getMinimum());
+  }
+
+  private int getMinimum() {
+    return Math.max(1, this.batchSize / MAX_GROWTH_FACTOR);
+  }
+
+  private int getMaximum() {
+    return this.batchSize * MAX_GROWTH_FACTOR;
+  }
+}
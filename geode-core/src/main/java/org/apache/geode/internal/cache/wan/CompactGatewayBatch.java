@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.util.BlobHelper;
+
+/**
+ * The compact form of a batch of gateway events, sent by a gateway sender in a single message part
+ * in place of the parts of each event when the remote site understands it.
+ *
+ * The region paths of the events, their membership ids and their thread ids are written once, in
+ * dictionaries referred to by index. The sequence ids are written as differences from the previous
+ * event of the same thread and the version timestamps as differences from the previous event, most
+ * of them fitting in a byte or two. The whole form, values included, is then compressed with
+ * Snappy if it is at least {@link #COMPRESSION_THRESHOLD} bytes long.
+ *
+ * The gateway receiver expands the compact form back into the parts of each event, so that the
+ * events are applied the same way whatever form they were sent in.
+ */
+public class CompactGatewayBatch {
+
+  /**
+   * The flag sent after the removeFromQueueOnException flag when the batch is in compact form.
+   * Older receivers only read the first byte of that part, which is why the compact form is only
+   * sent to sites at least at {@link Version#GEODE_1_11_0}.
+   */
+  public static final byte COMPACT_FORM = 1;
+
+  static final int COMPRESSION_THRESHOLD = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.COMPACT_BATCH_COMPRESSION_THRESHOLD",
+      1024);
+
+  private static final boolean DISABLED = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.DISABLE_COMPACT_BATCHES");
+
+  private static final byte UNCOMPRESSED = 0;
+
+  private static final byte COMPRESSED = 1;
+
+  private CompactGatewayBatch() {
+    // no instances allowed
+  }
+
+  /**
+   * Returns whether batches can be sent in compact form to a site of the given version
+   */
+  public static boolean isSupportedBy(short remoteSiteVersion) {
+    return !DISABLED && Version.GEODE_1_11_0.compareTo(remoteSiteVersion) <= 0;
+  }
+
+  /**
+   * Returns the compact form of a batch of events
+   *
+   * @param events the {@link GatewaySenderEventImpl}s of the batch
+   */
+  public static byte[] toCompactForm(List<?> events) throws IOException {
+    Map<String, Integer> regions = new HashMap<>();
+    Map<ByteBuffer, Integer> members = new HashMap<>();
+    Map<ThreadKey, Integer> threads = new HashMap<>();
+    List<Long> lastSequenceIds = new ArrayList<>();
+    long lastVersionTimeStamp = 0;
+
+    HeapDataOutputStream eventsOut = new HeapDataOutputStream(Version.CURRENT);
+    for (Object object : events) {
+      GatewaySenderEventImpl event = (GatewaySenderEventImpl) object;
+      int action = event.getAction();
+      InternalDataSerializer.writeSignedVL(action, eventsOut);
+      eventsOut.writeBoolean(event.getPossibleDuplicate());
+      if (action < 0 || action > 3) {
+        continue;
+      }
+      InternalDataSerializer.writeUnsignedVL(indexOf(regions, event.getRegionPath()), eventsOut);
+
+      EventID eventId = event.getEventId();
+      int member = indexOf(members, ByteBuffer.wrap(eventId.getMembershipID()));
+      int thread = indexOf(threads, new ThreadKey(member, eventId.getThreadID()));
+      if (thread == lastSequenceIds.size()) {
+        lastSequenceIds.add(0L);
+      }
+      InternalDataSerializer.writeUnsignedVL(thread, eventsOut);
+      InternalDataSerializer.writeSignedVL(eventId.getSequenceID() - lastSequenceIds.get(thread),
+          eventsOut);
+      lastSequenceIds.set(thread, eventId.getSequenceID());
+      InternalDataSerializer.writeSignedVL(eventId.getBucketID(), eventsOut);
+
+      Object key = event.getKey();
+      if (key instanceof String || key == null) {
+        eventsOut.writeBoolean(false);
+        DataSerializer.writeByteArray(
+            key == null ? null : new HeapDataOutputStream((String) key).toByteArray(), eventsOut);
+      } else {
+        eventsOut.writeBoolean(true);
+        DataSerializer.writeByteArray(BlobHelper.serializeToBlob(key), eventsOut);
+      }
+      if (action < 2) {
+        eventsOut.writeBoolean(event.getValueIsObject() == 0x01);
+        DataSerializer.writeByteArray(event.getSerializedValue(), eventsOut);
+      }
+      Object callbackArg = event.getSenderCallbackArgument();
+      DataSerializer.writeByteArray(
+          callbackArg == null ? null : BlobHelper.serializeToBlob(callbackArg), eventsOut);
+      InternalDataSerializer.writeSignedVL(event.getVersionTimeStamp() - lastVersionTimeStamp,
+          eventsOut);
+      lastVersionTimeStamp = event.getVersionTimeStamp();
+    }
+
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    String[] regionNames = new String[regions.size()];
+    regions.forEach((regionName, index) -> regionNames[index] = regionName);
+    InternalDataSerializer.writeArrayLength(regionNames.length, out);
+    for (String regionName : regionNames) {
+      DataSerializer.writeString(regionName, out);
+    }
+    byte[][] membershipIds = new byte[members.size()][];
+    members.forEach((membershipId, index) -> membershipIds[index] = membershipId.array());
+    InternalDataSerializer.writeArrayLength(membershipIds.length, out);
+    for (byte[] membershipId : membershipIds) {
+      DataSerializer.writeByteArray(membershipId, out);
+    }
+    ThreadKey[] threadKeys = new ThreadKey[threads.size()];
+    threads.forEach((threadKey, index) -> threadKeys[index] = threadKey);
+    InternalDataSerializer.writeArrayLength(threadKeys.length, out);
+    for (ThreadKey threadKey : threadKeys) {
+      InternalDataSerializer.writeUnsignedVL(threadKey.member, out);
+      out.writeLong(threadKey.threadId);
+    }
+    eventsOut.sendTo(out);
+
+    byte[] form = out.toByteArray();
+    byte format = UNCOMPRESSED;
+    if (form.length >= COMPRESSION_THRESHOLD) {
+      byte[] compressed = new SnappyCompressor().compress(form);
+      if (compressed.length < form.length) {
+        form = compressed;
+        format = COMPRESSED;
+      }
+    }
+    byte[] result = new byte[form.length + 1];
+    result[0] = format;
+    System.arraycopy(form, 0, result, 1, form.length);
+    return result;
+  }
+
+  /**
+   * Expands the compact form of a batch into the parts the events would have been sent in
+   *
+   * @param compactForm the compact form of the batch
+   * @param numberOfEvents the number of events of the batch
+   */
+  public static Part[] toParts(byte[] compactForm, int numberOfEvents) throws IOException {
+    byte[] form = Arrays.copyOfRange(compactForm, 1, compactForm.length);
+    if (compactForm[0] == COMPRESSED) {
+      form = new SnappyCompressor().decompress(form);
+    }
+    DataInput in = new DataInputStream(new ByteArrayInputStream(form));
+
+    Part[] regionNameParts = new Part[InternalDataSerializer.readArrayLength(in)];
+    for (int i = 0; i < regionNameParts.length; i++) {
+      regionNameParts[i] = bytesPart(new HeapDataOutputStream(DataSerializer.readString(in))
+          .toByteArray());
+    }
+    byte[][] membershipIds = new byte[InternalDataSerializer.readArrayLength(in)][];
+    for (int i = 0; i < membershipIds.length; i++) {
+      membershipIds[i] = DataSerializer.readByteArray(in);
+    }
+    int[] threadMembers = new int[InternalDataSerializer.readArrayLength(in)];
+    long[] threadIds = new long[threadMembers.length];
+    for (int i = 0; i < threadMembers.length; i++) {
+      threadMembers[i] = (int) InternalDataSerializer.readUnsignedVL(in);
+      threadIds[i] = in.readLong();
+    }
+
+    long[] lastSequenceIds = new long[threadMembers.length];
+    long lastVersionTimeStamp = 0;
+    List<Part> parts = new ArrayList<>();
+    for (int i = 0; i < numberOfEvents; i++) {
+      int action = (int) InternalDataSerializer.readSignedVL(in);
+      Part actionPart = new Part();
+      actionPart.setInt(action);
+      parts.add(actionPart);
+      parts.add(bytesPart(new byte[] {(byte) (in.readBoolean() ? 0x01 : 0x00)}));
+      if (action < 0 || action > 3) {
+        continue;
+      }
+      parts.add(regionNameParts[(int) InternalDataSerializer.readUnsignedVL(in)]);
+
+      int thread = (int) InternalDataSerializer.readUnsignedVL(in);
+      lastSequenceIds[thread] += InternalDataSerializer.readSignedVL(in);
+      int bucketId = (int) InternalDataSerializer.readSignedVL(in);
+      EventID eventId = new EventID(membershipIds[threadMembers[thread]], threadIds[thread],
+          lastSequenceIds[thread], bucketId);
+      parts.add(objectPart(BlobHelper.serializeToBlob(eventId)));
+
+      boolean keyIsObject = in.readBoolean();
+      parts.add(part(DataSerializer.readByteArray(in), keyIsObject));
+      if (action < 2) {
+        boolean valueIsObject = in.readBoolean();
+        parts.add(part(DataSerializer.readByteArray(in), valueIsObject));
+      }
+      byte[] callbackArg = DataSerializer.readByteArray(in);
+      if (callbackArg == null) {
+        parts.add(bytesPart(new byte[] {0x00}));
+      } else {
+        parts.add(bytesPart(new byte[] {0x01}));
+        parts.add(objectPart(callbackArg));
+      }
+      lastVersionTimeStamp += InternalDataSerializer.readSignedVL(in);
+      Part versionTimeStampPart = new Part();
+      versionTimeStampPart.setLong(lastVersionTimeStamp);
+      parts.add(versionTimeStampPart);
+    }
+    return parts.toArray(new Part[0]);
+  }
+
+  private static <K> int indexOf(Map<K, Integer> dictionary, K key) {
+    Integer index = dictionary.get(key);
+    if (index == null) {
+      index = dictionary.size();
+      dictionary.put(key, index);
+    }
+    return index;
+  }
+
+  private static Part part(byte[] bytes, boolean isObject) {
+    Part part = new Part();
+    part.setPartState(bytes, isObject);
+    return part;
+  }
+
+  private static Part bytesPart(byte[] bytes) {
+    return part(bytes, false);
+  }
+
+  private static Part objectPart(byte[] bytes) {
+    return part(bytes, true);
+  }
+
+  private static class ThreadKey {
+    private final int member;
+    private final long threadId;
+
+    private ThreadKey(int member, long threadId) {
+      this.member = member;
+      this.threadId = threadId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof ThreadKey)) {
+        return false;
+      }
+      ThreadKey that = (ThreadKey) other;
+      return this.member == that.member && this.threadId == that.threadId;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.member + Long.hashCode(this.threadId);
+    }
+  }
+}
@@ -81,6 +81,21 @@ public class GatewayReceiverStats extends CacheServerStats {
    * Name of the events retried
    */
   private static final String EVENTS_RETRIED = "eventsRetried";
+
+  /**
+   * Name of the batch split time statistic
+   */
+  private static final String BATCH_SPLIT_TIME = "batchSplitTime";
+
+  /**
+   * Name of the sub-batches applied statistic
+   */
+  private static final String SUB_BATCHES_APPLIED = "subBatchesApplied";
+
+  /**
+   * Name of the sub-batch apply time statistic
+   */
+  private static final String SUB_BATCH_APPLY_TIME = "subBatchApplyTime";
   private final MeterRegistry meterRegistry;
 
   // /** Id of the events queued statistic */
@@ -142,6 +157,21 @@ public class GatewayReceiverStats extends CacheServerStats {
    */
   private int eventsRetriedId;
 
+  /**
+   * Id of the batch split time statistic
+   */
+  private int batchSplitTimeId;
+
+  /**
+   * Id of the sub-batches applied statistic
+   */
+  private int subBatchesAppliedId;
+
+  /**
+   * Id of the sub-batch apply time statistic
+   */
+  private int subBatchApplyTimeId;
+
   // ///////////////////// Constructors ///////////////////////
 
   public static GatewayReceiverStats createGatewayReceiverStats(StatisticsFactory f,
@@ -168,7 +198,16 @@ public class GatewayReceiverStats extends CacheServerStats {
         f.createIntCounter(EXCEPTIONS_OCCURRED,
             "number of exceptions occurred while porcessing the batches", "operations"),
         f.createIntCounter(EVENTS_RETRIED,
-            "total number events retried by this GatewayReceiver due to exceptions", "operations")};
+            "total number events retried by this GatewayReceiver due to exceptions", "operations"),
+        f.createLongCounter(BATCH_SPLIT_TIME,
+            "total time spent splitting batches into sub-batches applied in parallel",
+            "nanoseconds"),
+        f.createIntCounter(SUB_BATCHES_APPLIED,
+            "total number of sub-batches applied in parallel by this GatewayReceiver",
+            "operations"),
+        f.createLongCounter(SUB_BATCH_APPLY_TIME,
+            "total time spent applying sub-batches, summed over the threads applying them",
+            "nanoseconds")};
     return new GatewayReceiverStats(f, ownerName, typeName, descriptors, meterRegistry);
 
   }
@@ -188,6 +227,9 @@ public class GatewayReceiverStats extends CacheServerStats {
     unknowsOperationsReceivedId = statType.nameToId(UNKNOWN_OPERATIONS_RECEIVED);
     exceptionsOccurredId = statType.nameToId(EXCEPTIONS_OCCURRED);
     eventsRetriedId = statType.nameToId(EVENTS_RETRIED);
+    batchSplitTimeId = statType.nameToId(BATCH_SPLIT_TIME);
+    subBatchesAppliedId = statType.nameToId(SUB_BATCHES_APPLIED);
+    subBatchApplyTimeId = statType.nameToId(SUB_BATCH_APPLY_TIME);
 
     this.meterRegistry = meterRegistry;
     eventsReceivedCounter = LegacyStatCounter.builder(EVENTS_RECEIVED_COUNTER_NAME)
@@ -320,6 +362,37 @@ public class GatewayReceiverStats extends CacheServerStats {
     return this.stats.getInt(eventsRetriedId);
   }
 
+  /**
+   * Records the time spent splitting a batch into sub-batches.
+   *
+   * @param start the time the split started
+   */
+  public void endBatchSplit(long start) {
+    this.stats.incLong(batchSplitTimeId, DistributionStats.getStatTime() - start);
+  }
+
+  public long getBatchSplitTime() {
+    return this.stats.getLong(batchSplitTimeId);
+  }
+
+  /**
+   * Increments the number of sub-batches applied by 1 and records the time spent applying it.
+   *
+   * @param start the time the sub-batch started to be applied
+   */
+  public void endSubBatchApply(long start) {
+    this.stats.incInt(subBatchesAppliedId, 1);
+    this.stats.incLong(subBatchApplyTimeId, DistributionStats.getStatTime() - start);
+  }
+
+  public int getSubBatchesApplied() {
+    return this.stats.getInt(subBatchesAppliedId);
+  }
+
+  public long getSubBatchApplyTime() {
+    return this.stats.getLong(subBatchApplyTimeId);
+  }
+
   /**
    * Returns the current time (ns).
    *
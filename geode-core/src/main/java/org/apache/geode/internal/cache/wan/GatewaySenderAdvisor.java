@@ -18,6 +18,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -31,8 +32,10 @@ import org.apache.geode.DataSerializer;
 import org.apache.geode.annotations.Immutable;
 import org.apache.geode.cache.asyncqueue.AsyncEventListener;
 import org.apache.geode.cache.util.Gateway;
+import org.apache.geode.cache.wan.GatewayEventFilter;
 import org.apache.geode.cache.wan.GatewaySender.OrderPolicy;
 import org.apache.geode.cache.wan.GatewayTransportFilter;
+import org.apache.geode.cache.wan.KeyShardGatewayEventFilter;
 import org.apache.geode.distributed.DistributedLockService;
 import org.apache.geode.distributed.internal.ClusterDistributionManager;
 import org.apache.geode.distributed.internal.DistributionAdvisee;
@@ -248,13 +251,8 @@ public class GatewaySenderAdvisor extends DistributionAdvisor {
           }
           // IF this sender is not primary
           if (!this.sender.isPrimary()) {
-            if (!adviseEldestGatewaySender()) {// AND this is not the eldest
-                                               // sender
-              if (logger.isDebugEnabled()) {
-                logger.debug(
-                    "Sender {} is not the eldest in the system. Giving preference to eldest sender to become primary...",
-                    this.sender);
-              }
+            if (!shouldVolunteerForPrimary()) {// AND this is not the preferred sender
+              logNotPreferredForPrimary();
               return;
             }
             launchLockObtainingVolunteerThread();
@@ -282,12 +280,8 @@ public class GatewaySenderAdvisor extends DistributionAdvisor {
           return;
         }
         if (!this.sender.isPrimary()) {// IF this sender is not primary
-          if (!adviseEldestGatewaySender()) {// AND this is not the eldest sender
-            if (logger.isDebugEnabled()) {
-              logger.debug(
-                  "Sender {} is not the eldest in the system. Giving preference to eldest sender to become primary...",
-                  this.sender);
-            }
+          if (!shouldVolunteerForPrimary()) {// AND this is not the preferred sender
+            logNotPreferredForPrimary();
             return;
           }
           launchLockObtainingVolunteerThread();
@@ -319,12 +313,8 @@ public class GatewaySenderAdvisor extends DistributionAdvisor {
     }
 
     if (advisePrimaryGatewaySender() == null) {
-      if (!adviseEldestGatewaySender()) {
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "Sender {} is not the eldest in the system. Giving preference to eldest sender to become primary...",
-              this.sender);
-        }
+      if (!shouldVolunteerForPrimary()) {
+        logNotPreferredForPrimary();
         return false;
       }
       if (logger.isDebugEnabled()) {
@@ -337,6 +327,64 @@ public class GatewaySenderAdvisor extends DistributionAdvisor {
     return false;
   }
 
+  /**
+   * Returns whether this sender should volunteer for primary. A sender sharded by a
+   * {@link KeyShardGatewayEventFilter} prefers the member at the index of its shard among the
+   * members running it, ordered by member id, so that the primaries of the shards are spread over
+   * the members. Other senders prefer the eldest sender.
+   */
+  private boolean shouldVolunteerForPrimary() {
+    KeyShardGatewayEventFilter shardFilter = getKeyShardFilter();
+    if (shardFilter != null) {
+      return adviseShardPrimaryGatewaySender(shardFilter.getShard());
+    }
+    return adviseEldestGatewaySender();
+  }
+
+  private void logNotPreferredForPrimary() {
+    if (logger.isDebugEnabled()) {
+      KeyShardGatewayEventFilter shardFilter = getKeyShardFilter();
+      if (shardFilter != null) {
+        logger.debug(
+            "Sender {} is not the preferred member of shard {} in the system. Giving preference to the preferred sender to become primary...",
+            this.sender, shardFilter.getShard());
+      } else {
+        logger.debug(
+            "Sender {} is not the eldest in the system. Giving preference to eldest sender to become primary...",
+            this.sender);
+      }
+    }
+  }
+
+  private KeyShardGatewayEventFilter getKeyShardFilter() {
+    for (GatewayEventFilter filter : this.sender.getGatewayEventFilters()) {
+      if (filter instanceof KeyShardGatewayEventFilter) {
+        return (KeyShardGatewayEventFilter) filter;
+      }
+    }
+    return null;
+  }
+
+  private boolean adviseShardPrimaryGatewaySender(int shard) {
+    List<InternalDistributedMember> members = new ArrayList<>();
+    for (Profile profile : this.profiles) {
+      GatewaySenderProfile sp = (GatewaySenderProfile) profile;
+      if (!sp.isParallel && sp.isRunning) {
+        members.add(sp.getDistributedMember());
+      }
+    }
+    if (members.isEmpty()) {
+      return true;
+    }
+    if (!this.sender.isRunning()) {
+      return false;
+    }
+    InternalDistributedMember member = getDistributionManager().getId();
+    members.add(member);
+    Collections.sort(members);
+    return members.get(shard % members.size()).equals(member);
+  }
+
   /**
    * Find out if this sender is the eldest in the DS. Returns true if: 1. No other sender is running
    * 2. At least one sender is running in the system apart from this sender AND this sender's start
@@ -43,6 +43,8 @@ public class GatewaySenderAttributes {
 
   public boolean isBatchConflationEnabled = GatewaySender.DEFAULT_BATCH_CONFLATION;
 
+  public boolean isBatchConflationInPlace = GatewaySender.DEFAULT_BATCH_CONFLATION_IN_PLACE;
+
   public boolean isPersistenceEnabled = GatewaySender.DEFAULT_PERSISTENCE_ENABLED;
 
   public int alertThreshold = GatewaySender.DEFAULT_ALERT_THRESHOLD;
@@ -115,6 +117,10 @@ public class GatewaySenderAttributes {
     return this.isBatchConflationEnabled;
   }
 
+  public boolean isBatchConflationInPlace() {
+    return this.isBatchConflationInPlace;
+  }
+
   public boolean isPersistenceEnabled() {
     return this.isPersistenceEnabled;
   }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.asyncqueue.AsyncEventBatch;
+import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.PdxInstance;
+
+/**
+ * The {@link AsyncEventBatch} view over the {@link GatewaySenderEventImpl}s of a batch. The region
+ * paths, operations, keys, bucket ids and possible duplicate flags of the events are copied in one
+ * array each, whose capacity is kept from one batch to the next. The serialized values and the
+ * {@link PdxInstance}s used to read their fields are only filled in when first asked for.
+ *
+ * A view is used by one event processor thread, so it is not thread safe.
+ */
+public class GatewaySenderEventBatch implements AsyncEventBatch {
+
+  private final InternalCache cache;
+
+  private int size;
+
+  private GatewaySenderEventImpl[] events = new GatewaySenderEventImpl[0];
+
+  private String[] regionPaths = new String[0];
+
+  private Operation[] operations = new Operation[0];
+
+  private Object[] keys = new Object[0];
+
+  private int[] bucketIds = new int[0];
+
+  private boolean[] possibleDuplicates = new boolean[0];
+
+  private byte[][] values = new byte[0][];
+
+  private PdxInstance[] pdxValues = new PdxInstance[0];
+
+  /**
+   * Whether the value of an event was looked for, null values included
+   */
+  private boolean[] valuesRead = new boolean[0];
+
+  private boolean[] pdxValuesRead = new boolean[0];
+
+  public GatewaySenderEventBatch(InternalCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Makes this view show the given events
+   *
+   * @param events the {@link GatewaySenderEventImpl}s of the batch
+   */
+  public void reset(List<?> events) {
+    clear();
+    int newSize = events.size();
+    if (this.events.length < newSize) {
+      this.events = new GatewaySenderEventImpl[newSize];
+      this.regionPaths = new String[newSize];
+      this.operations = new Operation[newSize];
+      this.keys = new Object[newSize];
+      this.bucketIds = new int[newSize];
+      this.possibleDuplicates = new boolean[newSize];
+      this.values = new byte[newSize][];
+      this.pdxValues = new PdxInstance[newSize];
+      this.valuesRead = new boolean[newSize];
+      this.pdxValuesRead = new boolean[newSize];
+    }
+    for (int i = 0; i < newSize; i++) {
+      GatewaySenderEventImpl event = (GatewaySenderEventImpl) events.get(i);
+      this.events[i] = event;
+      this.regionPaths[i] = event.getRegionPath();
+      this.operations[i] = event.getOperation();
+      this.keys[i] = event.getKey();
+      this.bucketIds[i] = event.getBucketId();
+      this.possibleDuplicates[i] = event.getPossibleDuplicate();
+    }
+    this.size = newSize;
+  }
+
+  /**
+   * Releases the references this view holds to the events of the last batch
+   */
+  public void clear() {
+    Arrays.fill(this.events, 0, this.size, null);
+    Arrays.fill(this.keys, 0, this.size, null);
+    Arrays.fill(this.values, 0, this.size, null);
+    Arrays.fill(this.pdxValues, 0, this.size, null);
+    Arrays.fill(this.valuesRead, 0, this.size, false);
+    Arrays.fill(this.pdxValuesRead, 0, this.size, false);
+    this.size = 0;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public String getRegionPath(int index) {
+    checkIndex(index);
+    return this.regionPaths[index];
+  }
+
+  @Override
+  public Operation getOperation(int index) {
+    checkIndex(index);
+    return this.operations[index];
+  }
+
+  @Override
+  public Object getKey(int index) {
+    checkIndex(index);
+    return this.keys[index];
+  }
+
+  @Override
+  public byte[] getSerializedValue(int index) {
+    checkIndex(index);
+    if (!this.valuesRead[index]) {
+      this.values[index] = this.events[index].getSerializedValue();
+      this.valuesRead[index] = true;
+    }
+    return this.values[index];
+  }
+
+  @Override
+  public Object getValueField(int index, String fieldName) {
+    checkIndex(index);
+    if (!this.pdxValuesRead[index]) {
+      byte[] value = getSerializedValue(index);
+      if (value != null && value.length > 0 && this.events[index].getValueIsObject() == 0x01) {
+        this.pdxValues[index] = InternalDataSerializer.readPdxInstance(value, this.cache);
+      }
+      this.pdxValuesRead[index] = true;
+    }
+    PdxInstance pdxValue = this.pdxValues[index];
+    return pdxValue == null ? null : pdxValue.getField(fieldName);
+  }
+
+  @Override
+  public int getBucketId(int index) {
+    checkIndex(index);
+    return this.bucketIds[index];
+  }
+
+  @Override
+  public boolean getPossibleDuplicate(int index) {
+    checkIndex(index);
+    return this.possibleDuplicates[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+  }
+}
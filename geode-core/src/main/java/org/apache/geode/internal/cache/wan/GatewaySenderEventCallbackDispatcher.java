@@ -22,7 +22,9 @@ import java.util.List;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.CancelException;
+import org.apache.geode.cache.asyncqueue.AsyncEventBatchListener;
 import org.apache.geode.cache.asyncqueue.AsyncEventListener;
+import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueStats;
 import org.apache.geode.internal.logging.LogService;
 
 /**
@@ -53,6 +55,12 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
    */
   private final Object eventLock = new Object();
 
+  /**
+   * The view over the batches given to the <code>AsyncEventBatchListener</code>s, reused from one
+   * batch to the next.
+   */
+  private GatewaySenderEventBatch eventBatch;
+
   public GatewaySenderEventCallbackDispatcher(AbstractGatewaySenderEventProcessor eventProcessor) {
     this.eventProcessor = eventProcessor;
     initializeEventListeners();
@@ -144,10 +152,25 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
       return true;
     }
     int batchId = this.eventProcessor.getBatchId();
+    GatewaySenderStats statistics = this.eventProcessor.sender.getStatistics();
     boolean successAll = true;
+    boolean batchReset = false;
     try {
       for (AsyncEventListener listener : this.eventListeners) {
-        boolean successOne = listener.processEvents(events);
+        long start = statistics.startTime();
+        boolean successOne;
+        if (listener instanceof AsyncEventBatchListener) {
+          if (!batchReset) {
+            getEventBatch().reset(events);
+            batchReset = true;
+          }
+          successOne = ((AsyncEventBatchListener) listener).processBatch(this.eventBatch);
+        } else {
+          successOne = listener.processEvents(events);
+        }
+        if (statistics instanceof AsyncEventQueueStats) {
+          ((AsyncEventQueueStats) statistics).endListenerBatch(start, events.size(), successOne);
+        }
         if (!successOne) {
           successAll = false;
         }
@@ -160,10 +183,21 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
       GatewaySenderException ge = new GatewaySenderException(exMsg, e);
       logger.warn(exMsg, ge);
       throw ge;
+    } finally {
+      if (batchReset) {
+        this.eventBatch.clear();
+      }
     }
     return successAll;
   }
 
+  private GatewaySenderEventBatch getEventBatch() {
+    if (this.eventBatch == null) {
+      this.eventBatch = new GatewaySenderEventBatch(this.eventProcessor.sender.getCache());
+    }
+    return this.eventBatch;
+  }
+
   @Override
   public boolean isRemoteDispatcher() {
     return false;
@@ -27,6 +27,7 @@ import org.apache.geode.cache.CacheEvent;
 import org.apache.geode.cache.CacheFactory;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
+import org.apache.geode.cache.TransactionId;
 import org.apache.geode.cache.asyncqueue.AsyncEvent;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.cache.wan.EventSequenceID;
@@ -73,7 +74,7 @@ public class GatewaySenderEventImpl
 
   // It should use current version. But it was hard-coded to be 0x11, i.e. GEODE_120_ORDINAL,
   // by mistake since 120 to pre-190
-  protected static final short VERSION = Version.GEODE_1_9_0.ordinal();
+  protected static final short VERSION = Version.GEODE_1_11_0.ordinal();
 
   protected EnumListenerEvent operation;
 
@@ -179,6 +180,14 @@ public class GatewaySenderEventImpl
 
   private transient boolean isConcurrencyConflict = false;
 
+  /**
+   * The id of the transaction of this event, if the gateway senders group the events of its
+   * transaction
+   */
+  private TransactionId transactionId;
+
+  private boolean isLastEventInTransaction = true;
+
   private short version;
 
   /**
@@ -321,6 +330,12 @@ public class GatewaySenderEventImpl
       initialize();
     }
     this.isConcurrencyConflict = event.isConcurrencyConflict();
+
+    Boolean isLastEventInTransaction = event.isLastEventInTransaction();
+    if (isLastEventInTransaction != null) {
+      this.transactionId = event.getTransactionId();
+      this.isLastEventInTransaction = isLastEventInTransaction;
+    }
   }
 
   /**
@@ -344,6 +359,8 @@ public class GatewaySenderEventImpl
     this.bucketId = offHeapEvent.bucketId;
     this.shadowKey = offHeapEvent.shadowKey;
     this.isInitialized = offHeapEvent.isInitialized;
+    this.transactionId = offHeapEvent.transactionId;
+    this.isLastEventInTransaction = offHeapEvent.isLastEventInTransaction;
 
     this.valueObj = null;
     this.valueObjReleased = false;
@@ -691,6 +708,12 @@ public class GatewaySenderEventImpl
 
   @Override
   public void toData(DataOutput out) throws IOException {
+    toDataPre_GEODE_1_11_0_0(out);
+    DataSerializer.writeObject(this.transactionId, out);
+    DataSerializer.writeBoolean(this.isLastEventInTransaction, out);
+  }
+
+  public void toDataPre_GEODE_1_11_0_0(DataOutput out) throws IOException {
     toDataPre_GEODE_1_9_0_0(out);
     DataSerializer.writeBoolean(this.isConcurrencyConflict, out);
   }
@@ -721,6 +744,14 @@ public class GatewaySenderEventImpl
 
   @Override
   public void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    fromDataPre_GEODE_1_11_0_0(in);
+    if (version >= Version.GEODE_1_11_0.ordinal()) {
+      this.transactionId = DataSerializer.readObject(in);
+      this.isLastEventInTransaction = DataSerializer.readBoolean(in);
+    }
+  }
+
+  public void fromDataPre_GEODE_1_11_0_0(DataInput in) throws IOException, ClassNotFoundException {
     fromDataPre_GEODE_1_9_0_0(in);
     if (version >= Version.GEODE_1_9_0.ordinal()) {
       this.isConcurrencyConflict = DataSerializer.readBoolean(in);
@@ -772,7 +803,8 @@ public class GatewaySenderEventImpl
         .append(this.shadowKey).append(";timeStamp=").append(this.versionTimeStamp)
         .append(";acked=").append(this.isAcked).append(";dispatched=").append(this.isDispatched)
         .append(";bucketId=").append(this.bucketId).append(";isConcurrencyConflict=")
-        .append(this.isConcurrencyConflict).append("]");
+        .append(this.isConcurrencyConflict).append(";transactionId=").append(this.transactionId)
+        .append(";isLastEventInTransaction=").append(this.isLastEventInTransaction).append("]");
     return builder.toString();
   }
 
@@ -799,7 +831,8 @@ public class GatewaySenderEventImpl
    * Determines whether or not to conflate this message. This method will answer true IFF the
    * message's operation is AFTER_UPDATE and its region has enabled are conflation. Otherwise, this
    * method will answer false. Messages whose operation is AFTER_CREATE, AFTER_DESTROY,
-   * AFTER_INVALIDATE or AFTER_REGION_DESTROY are not conflated.
+   * AFTER_INVALIDATE or AFTER_REGION_DESTROY are not conflated. Messages of transactions whose
+   * events are grouped are not conflated either.
    *
    * @return Whether to conflate this message
    */
@@ -808,7 +841,7 @@ public class GatewaySenderEventImpl
     // If the message is an update, it may be conflatable. If it is a
     // create, destroy, invalidate or destroy-region, it is not conflatable.
     // Only updates are conflated.
-    return isUpdate();
+    return isUpdate() && this.transactionId == null;
   }
 
   @Override
@@ -1176,6 +1209,18 @@ public class GatewaySenderEventImpl
     return isConcurrencyConflict;
   }
 
+  /**
+   * Returns the id of the transaction of this event, or null if this event is not part of a
+   * transaction or the gateway senders do not group the events of its transaction
+   */
+  public TransactionId getTransactionId() {
+    return this.transactionId;
+  }
+
+  public boolean isLastEventInTransaction() {
+    return this.isLastEventInTransaction;
+  }
+
   /**
    * @param tailKey the tailKey to set
    */
@@ -1224,7 +1269,7 @@ public class GatewaySenderEventImpl
 
   @Override
   public Version[] getSerializationVersions() {
-    return new Version[] {Version.GEODE_1_9_0};
+    return new Version[] {Version.GEODE_1_9_0, Version.GEODE_1_11_0};
   }
 
   public int getSerializedValueSize() {
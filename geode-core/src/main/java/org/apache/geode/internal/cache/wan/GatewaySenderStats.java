@@ -99,6 +99,9 @@ public class GatewaySenderStats {
   protected static final String SYNCHRONIZATION_EVENTS_ENQUEUED = "synchronizationEventsEnqueued";
   protected static final String SYNCHRONIZATION_EVENTS_PROVIDED = "synchronizationEventsProvided";
 
+  protected static final String BATCHES_WITH_INCOMPLETE_TRANSACTIONS =
+      "batchesWithIncompleteTransactions";
+
   /** Id of the events queued statistic */
   private static final int eventsReceivedId;
   /** Id of the events queued statistic */
@@ -160,6 +163,8 @@ public class GatewaySenderStats {
   private static final int synchronizationEventsEnqueuedId;
   /** Id of synchronization events provided */
   private static final int synchronizationEventsProvidedId;
+  /** Id of batches with incomplete transactions */
+  private static final int batchesWithIncompleteTransactionsId;
 
   /**
    * Static initializer to create and initialize the <code>StatisticsType</code>
@@ -204,87 +209,100 @@ public class GatewaySenderStats {
     loadBalanceTimeId = type.nameToId(LOAD_BALANCE_TIME);
     synchronizationEventsEnqueuedId = type.nameToId(SYNCHRONIZATION_EVENTS_ENQUEUED);
     synchronizationEventsProvidedId = type.nameToId(SYNCHRONIZATION_EVENTS_PROVIDED);
+    batchesWithIncompleteTransactionsId = type.nameToId(BATCHES_WITH_INCOMPLETE_TRANSACTIONS);
   }
 
+  /**
+   * Creates the type of the gateway sender statistics, with additional descriptors placed after
+   * those of all gateway senders so that the ids of the latter are the same in every type.
+   */
   protected static StatisticsType createType(final StatisticsTypeFactory f, final String typeName,
-      final String description) {
-    return f.createType(typeName, description,
-        new StatisticDescriptor[] {
-            f.createIntCounter(EVENTS_RECEIVED, "Number of events received by this queue.",
-                "operations"),
-            f.createIntCounter(EVENTS_QUEUED, "Number of events added to the event queue.",
-                "operations"),
-            f.createLongCounter(EVENT_QUEUE_TIME, "Total time spent queueing events.",
-                "nanoseconds"),
-            f.createIntGauge(EVENT_QUEUE_SIZE, "Size of the event queue.", "operations", false),
-            f.createIntGauge(SECONDARY_EVENT_QUEUE_SIZE, "Size of the secondary event queue.",
-                "operations", false),
-            f.createIntGauge(EVENTS_PROCESSED_BY_PQRM,
-                "Total number of events processed by Parallel Queue Removal Message(PQRM).",
-                "operations", false),
-            f.createIntGauge(TMP_EVENT_QUEUE_SIZE, "Size of the temporary events queue.",
-                "operations", false),
-            f.createIntCounter(EVENTS_NOT_QUEUED_CONFLATED,
-                "Number of events received but not added to the event queue because the queue already contains an event with the event's key.",
-                "operations"),
-            f.createIntCounter(EVENTS_CONFLATED_FROM_BATCHES,
-                "Number of events conflated from batches.", "operations"),
-            f.createIntCounter(EVENTS_DISTRIBUTED,
-                "Number of events removed from the event queue and sent.", "operations"),
-            f.createIntCounter(EVENTS_EXCEEDING_ALERT_THRESHOLD,
-                "Number of events exceeding the alert threshold.", "operations", false),
-            f.createLongCounter(BATCH_DISTRIBUTION_TIME,
-                "Total time spent distributing batches of events to receivers.", "nanoseconds"),
-            f.createIntCounter(BATCHES_DISTRIBUTED,
-                "Number of batches of events removed from the event queue and sent.", "operations"),
-            f.createIntCounter(BATCHES_REDISTRIBUTED,
-                "Number of batches of events removed from the event queue and resent.",
-                "operations", false),
-            f.createIntCounter(BATCHES_RESIZED,
-                "Number of batches that were resized because they were too large", "operations",
-                false),
-            f.createIntCounter(UNPROCESSED_TOKENS_ADDED_BY_PRIMARY,
-                "Number of tokens added to the secondary's unprocessed token map by the primary (though a listener).",
-                "tokens"),
-            f.createIntCounter(UNPROCESSED_EVENTS_ADDED_BY_SECONDARY,
-                "Number of events added to the secondary's unprocessed event map by the secondary.",
-                "events"),
-            f.createIntCounter(UNPROCESSED_EVENTS_REMOVED_BY_PRIMARY,
-                "Number of events removed from the secondary's unprocessed event map by the primary (though a listener).",
-                "events"),
-            f.createIntCounter(UNPROCESSED_TOKENS_REMOVED_BY_SECONDARY,
-                "Number of tokens removed from the secondary's unprocessed token map by the secondary.",
-                "tokens"),
-            f.createIntCounter(UNPROCESSED_EVENTS_REMOVED_BY_TIMEOUT,
-                "Number of events removed from the secondary's unprocessed event map by a timeout.",
-                "events"),
-            f.createIntCounter(UNPROCESSED_TOKENS_REMOVED_BY_TIMEOUT,
-                "Number of tokens removed from the secondary's unprocessed token map by a timeout.",
-                "tokens"),
-            f.createIntGauge(UNPROCESSED_EVENT_MAP_SIZE,
-                "Current number of entries in the secondary's unprocessed event map.", "events",
-                false),
-            f.createIntGauge(UNPROCESSED_TOKEN_MAP_SIZE,
-                "Current number of entries in the secondary's unprocessed token map.", "tokens",
-                false),
-            f.createIntGauge(CONFLATION_INDEXES_MAP_SIZE,
-                "Current number of entries in the conflation indexes map.", "events"),
-            f.createIntCounter(NOT_QUEUED_EVENTS, "Number of events not added to queue.", "events"),
-            f.createIntCounter(EVENTS_DROPPED_DUE_TO_PRIMARY_SENDER_NOT_RUNNING,
-                "Number of events dropped because the primary gateway sender is not running.",
-                "events"),
-            f.createIntCounter(EVENTS_FILTERED,
-                "Number of events filtered through GatewayEventFilter.", "events"),
-            f.createIntCounter(LOAD_BALANCES_COMPLETED, "Number of load balances completed",
-                "operations"),
-            f.createIntGauge(LOAD_BALANCES_IN_PROGRESS, "Number of load balances in progress",
-                "operations"),
-            f.createLongCounter(LOAD_BALANCE_TIME, "Total time spent load balancing this sender",
-                "nanoseconds"),
-            f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
-                "Number of synchronization events added to the event queue.", "operations"),
-            f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
-                "Number of synchronization events provided to other members.", "operations"),});
+      final String description, final StatisticDescriptor... additionalDescriptors) {
+    StatisticDescriptor[] descriptors = new StatisticDescriptor[] {
+        f.createIntCounter(EVENTS_RECEIVED, "Number of events received by this queue.",
+            "operations"),
+        f.createIntCounter(EVENTS_QUEUED, "Number of events added to the event queue.",
+            "operations"),
+        f.createLongCounter(EVENT_QUEUE_TIME, "Total time spent queueing events.",
+            "nanoseconds"),
+        f.createIntGauge(EVENT_QUEUE_SIZE, "Size of the event queue.", "operations", false),
+        f.createIntGauge(SECONDARY_EVENT_QUEUE_SIZE, "Size of the secondary event queue.",
+            "operations", false),
+        f.createIntGauge(EVENTS_PROCESSED_BY_PQRM,
+            "Total number of events processed by Parallel Queue Removal Message(PQRM).",
+            "operations", false),
+        f.createIntGauge(TMP_EVENT_QUEUE_SIZE, "Size of the temporary events queue.",
+            "operations", false),
+        f.createIntCounter(EVENTS_NOT_QUEUED_CONFLATED,
+            "Number of events received but not added to the event queue because the queue already contains an event with the event's key.",
+            "operations"),
+        f.createIntCounter(EVENTS_CONFLATED_FROM_BATCHES,
+            "Number of events conflated from batches.", "operations"),
+        f.createIntCounter(EVENTS_DISTRIBUTED,
+            "Number of events removed from the event queue and sent.", "operations"),
+        f.createIntCounter(EVENTS_EXCEEDING_ALERT_THRESHOLD,
+            "Number of events exceeding the alert threshold.", "operations", false),
+        f.createLongCounter(BATCH_DISTRIBUTION_TIME,
+            "Total time spent distributing batches of events to receivers.", "nanoseconds"),
+        f.createIntCounter(BATCHES_DISTRIBUTED,
+            "Number of batches of events removed from the event queue and sent.", "operations"),
+        f.createIntCounter(BATCHES_REDISTRIBUTED,
+            "Number of batches of events removed from the event queue and resent.",
+            "operations", false),
+        f.createIntCounter(BATCHES_RESIZED,
+            "Number of batches that were resized because they were too large", "operations",
+            false),
+        f.createIntCounter(UNPROCESSED_TOKENS_ADDED_BY_PRIMARY,
+            "Number of tokens added to the secondary's unprocessed token map by the primary (though a listener).",
+            "tokens"),
+        f.createIntCounter(UNPROCESSED_EVENTS_ADDED_BY_SECONDARY,
+            "Number of events added to the secondary's unprocessed event map by the secondary.",
+            "events"),
+        f.createIntCounter(UNPROCESSED_EVENTS_REMOVED_BY_PRIMARY,
+            "Number of events removed from the secondary's unprocessed event map by the primary (though a listener).",
+            "events"),
+        f.createIntCounter(UNPROCESSED_TOKENS_REMOVED_BY_SECONDARY,
+            "Number of tokens removed from the secondary's unprocessed token map by the secondary.",
+            "tokens"),
+        f.createIntCounter(UNPROCESSED_EVENTS_REMOVED_BY_TIMEOUT,
+            "Number of events removed from the secondary's unprocessed event map by a timeout.",
+            "events"),
+        f.createIntCounter(UNPROCESSED_TOKENS_REMOVED_BY_TIMEOUT,
+            "Number of tokens removed from the secondary's unprocessed token map by a timeout.",
+            "tokens"),
+        f.createIntGauge(UNPROCESSED_EVENT_MAP_SIZE,
+            "Current number of entries in the secondary's unprocessed event map.", "events",
+            false),
+        f.createIntGauge(UNPROCESSED_TOKEN_MAP_SIZE,
+            "Current number of entries in the secondary's unprocessed token map.", "tokens",
+            false),
+        f.createIntGauge(CONFLATION_INDEXES_MAP_SIZE,
+            "Current number of entries in the conflation indexes map.", "events"),
+        f.createIntCounter(NOT_QUEUED_EVENTS, "Number of events not added to queue.", "events"),
+        f.createIntCounter(EVENTS_DROPPED_DUE_TO_PRIMARY_SENDER_NOT_RUNNING,
+            "Number of events dropped because the primary gateway sender is not running.",
+            "events"),
+        f.createIntCounter(EVENTS_FILTERED,
+            "Number of events filtered through GatewayEventFilter.", "events"),
+        f.createIntCounter(LOAD_BALANCES_COMPLETED, "Number of load balances completed",
+            "operations"),
+        f.createIntGauge(LOAD_BALANCES_IN_PROGRESS, "Number of load balances in progress",
+            "operations"),
+        f.createLongCounter(LOAD_BALANCE_TIME, "Total time spent load balancing this sender",
+            "nanoseconds"),
+        f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
+            "Number of synchronization events added to the event queue.", "operations"),
+        f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
+            "Number of synchronization events provided to other members.", "operations"),
+        f.createIntCounter(BATCHES_WITH_INCOMPLETE_TRANSACTIONS,
+            "Number of batches dispatched without the last event of one of their transactions, when the events of transactions are grouped.",
+            "operations"),};
+    StatisticDescriptor[] allDescriptors =
+        new StatisticDescriptor[descriptors.length + additionalDescriptors.length];
+    System.arraycopy(descriptors, 0, allDescriptors, 0, descriptors.length);
+    System.arraycopy(additionalDescriptors, 0, allDescriptors, descriptors.length,
+        additionalDescriptors.length);
+    return f.createType(typeName, description, allDescriptors);
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -805,6 +823,20 @@ public class GatewaySenderStats {
     this.stats.incInt(unprocessedTokenMapSizeId, -decCount);
   }
 
+  /**
+   * Increments the value of the "batchesWithIncompleteTransactions" stat by 1
+   */
+  public void incBatchesWithIncompleteTransactions() {
+    this.stats.incInt(batchesWithIncompleteTransactionsId, 1);
+  }
+
+  /**
+   * Gets the value of the "batchesWithIncompleteTransactions" stat
+   */
+  public int getBatchesWithIncompleteTransactions() {
+    return this.stats.getInt(batchesWithIncompleteTransactionsId);
+  }
+
   /**
    * Increments the value of the "conflationIndexesMapSize" stat by 1
    */
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.geode.cache.TransactionId;
+
+/**
+ * The transactions a batch being peeked has events of but not the last event, when the gateway
+ * senders group the events of transactions (see
+ * {@link AbstractGatewaySender#GROUP_TRANSACTION_EVENTS}). Each transaction is kept with the bucket
+ * of its events, since the events of a transaction grouped by a parallel queue are all in the same
+ * bucket.
+ *
+ * Not thread safe: used by the thread peeking the batch.
+ */
+public class IncompleteTransactions {
+
+  private final Map<TransactionId, Integer> bucketIds = new HashMap<>();
+
+  /**
+   * Updates the incomplete transactions with the next event added to the batch
+   */
+  public void add(Object event) {
+    if (!(event instanceof GatewaySenderEventImpl)) {
+      return;
+    }
+    GatewaySenderEventImpl senderEvent = (GatewaySenderEventImpl) event;
+    TransactionId transactionId = senderEvent.getTransactionId();
+    if (transactionId == null) {
+      return;
+    }
+    if (senderEvent.isLastEventInTransaction()) {
+      this.bucketIds.remove(transactionId);
+    } else {
+      this.bucketIds.put(transactionId, senderEvent.getBucketId());
+    }
+  }
+
+  public boolean isEmpty() {
+    return this.bucketIds.isEmpty();
+  }
+
+  public int size() {
+    return this.bucketIds.size();
+  }
+
+  /**
+   * Returns the bucket of one of the incomplete transactions
+   */
+  public int getBucketId() {
+    return this.bucketIds.values().iterator().next();
+  }
+
+  /**
+   * Gives up on the transactions of a bucket whose events will not all be in the batch
+   *
+   * @return the number of transactions given up on
+   */
+  public int removeBucket(int bucketId) {
+    int removed = 0;
+    for (Iterator<Integer> iterator = this.bucketIds.values().iterator(); iterator.hasNext();) {
+      if (iterator.next() == bucketId) {
+        iterator.remove();
+        removed++;
+      }
+    }
+    return removed;
+  }
+}
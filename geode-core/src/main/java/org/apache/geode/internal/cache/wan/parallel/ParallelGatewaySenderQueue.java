@@ -81,6 +81,7 @@ import org.apache.geode.internal.cache.wan.GatewaySenderConfigurationException;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderException;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
+import org.apache.geode.internal.cache.wan.IncompleteTransactions;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingExecutors;
 import org.apache.geode.internal.size.SingleObjectSizer;
@@ -1292,6 +1293,9 @@ public class ParallelGatewaySenderQueue implements RegionQueue {
         continue;
       }
     }
+    if (AbstractGatewaySender.GROUP_TRANSACTION_EVENTS) {
+      peekEventsOfIncompleteTransactions(prQ, batch, batchSize);
+    }
     if (isDebugEnabled) {
       logger.debug("{}: Peeked a batch of {} entries. The size of the queue is {}. localSize is {}",
           this, batch.size(), size(), localSize());
@@ -1302,6 +1306,54 @@ public class ParallelGatewaySenderQueue implements RegionQueue {
     return batch;
   }
 
+  /**
+   * Peeks beyond the batch size until the batch holds the last event of each transaction it has
+   * events of, from the buckets of the transactions. Gives up on the transactions of a bucket with
+   * no more events, and on all of them when the batch has reached twice the batch size. A batch
+   * given up on is counted in the "batchesWithIncompleteTransactions" stat. The events of a
+   * transaction in other buckets are not looked for.
+   */
+  private void peekEventsOfIncompleteTransactions(PartitionedRegion prQ,
+      List<GatewaySenderEventImpl> batch, int batchSize) {
+    IncompleteTransactions incompleteTransactions = new IncompleteTransactions();
+    for (GatewaySenderEventImpl event : batch) {
+      incompleteTransactions.add(event);
+    }
+    int givenUp = 0;
+    while (!incompleteTransactions.isEmpty() && batch.size() < batchSize * 2) {
+      int bucketId = incompleteTransactions.getBucketId();
+      GatewaySenderEventImpl object = null;
+      if (getBucketRegionQueueByBucketId(prQ, bucketId) != null) {
+        object = (GatewaySenderEventImpl) peekAhead(prQ, bucketId);
+      }
+      if (object == null) {
+        givenUp += incompleteTransactions.removeBucket(bucketId);
+        continue;
+      }
+      GatewaySenderEventImpl copy = object.makeHeapCopyIfOffHeap();
+      if (copy == null) {
+        if (stats != null) {
+          stats.incEventsNotQueuedConflated();
+        }
+        continue;
+      }
+      batch.add(copy);
+      peekedEvents.add(copy);
+      incompleteTransactions.add(copy);
+    }
+    givenUp += incompleteTransactions.size();
+    if (givenUp > 0) {
+      if (stats != null) {
+        stats.incBatchesWithIncompleteTransactions();
+      }
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Peeked a batch of {} entries without the last event of {} of its transactions",
+            this, batch.size(), givenUp);
+      }
+    }
+  }
+
   private long getTimeToSleep(long timeToWait) {
     // Get the minimum of 50 and 5% of the time to wait (which by default is 1000 ms)
     long timeToSleep = Math.min(50l, ((long) (timeToWait * 0.05)));
@@ -19,6 +19,7 @@ import static org.apache.geode.internal.cache.LocalRegion.InitializationLevel.BE
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +38,8 @@ import org.apache.geode.cache.wan.GatewayEventFilter;
 import org.apache.geode.cache.wan.GatewayQueueEvent;
 import org.apache.geode.distributed.internal.ClusterDistributionManager;
 import org.apache.geode.distributed.internal.PooledDistributionMessage;
+import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.AbstractBucketRegionQueue;
 import org.apache.geode.internal.cache.ForceReattemptException;
 import org.apache.geode.internal.cache.InternalCache;
@@ -49,7 +52,16 @@ import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.logging.LogService;
 
 /**
- * Removes a batch of events from the remote secondary queues
+ * Removes a batch of events from the remote secondary queues.
+ *
+ * The shadow keys of the events of a bucket are generated in steps of the number of buckets, and
+ * the events are dispatched in order, so the dispatched keys of a bucket are mostly runs of keys
+ * increasing by the same step. They are sent as such runs to the members of the current version,
+ * which keeps the size of the message independent of the number of dispatched events. Only the
+ * message is compacted: the secondaries still remove each dispatched event from their shadow bucket
+ * region, and the events keep their per entry heap and replication costs. The runs are not a
+ * watermark: a batch need not hold every key below its highest one, since conflated events are
+ * removed out of order and grouped transaction events are peeked ahead of the events before them.
  *
  * @since GemFire 8.0
  */
@@ -273,15 +285,106 @@ public class ParallelQueueRemovalMessage extends PooledDistributionMessage {
     }
   }
 
+  HashMap getRegionToDispatchedKeysMap() {
+    return this.regionToDispatchedKeysMap;
+  }
+
   @Override
   public void toData(DataOutput out) throws IOException {
     super.toData(out);
-    DataSerializer.writeHashMap(this.regionToDispatchedKeysMap, out);
+    if (InternalDataSerializer.getVersionForDataStream(out).compareTo(Version.GEODE_1_11_0) < 0) {
+      DataSerializer.writeHashMap(this.regionToDispatchedKeysMap, out);
+      return;
+    }
+    InternalDataSerializer.writeArrayLength(this.regionToDispatchedKeysMap.size(), out);
+    for (Object entry : this.regionToDispatchedKeysMap.entrySet()) {
+      Map.Entry regionEntry = (Map.Entry) entry;
+      DataSerializer.writeString((String) regionEntry.getKey(), out);
+      Map bucketIdToDispatchedKeys = (Map) regionEntry.getValue();
+      InternalDataSerializer.writeArrayLength(bucketIdToDispatchedKeys.size(), out);
+      for (Object bucketEntry : bucketIdToDispatchedKeys.entrySet()) {
+        Map.Entry bucketIdToKeys = (Map.Entry) bucketEntry;
+        out.writeInt((Integer) bucketIdToKeys.getKey());
+        writeDispatchedKeys((List) bucketIdToKeys.getValue(), out);
+      }
+    }
   }
 
   @Override
   public void fromData(DataInput in) throws IOException, ClassNotFoundException {
     super.fromData(in);
-    this.regionToDispatchedKeysMap = DataSerializer.readHashMap(in);
+    if (InternalDataSerializer.getVersionForDataStream(in).compareTo(Version.GEODE_1_11_0) < 0) {
+      this.regionToDispatchedKeysMap = DataSerializer.readHashMap(in);
+      return;
+    }
+    int numRegions = InternalDataSerializer.readArrayLength(in);
+    this.regionToDispatchedKeysMap = new HashMap(numRegions);
+    for (int i = 0; i < numRegions; i++) {
+      String regionName = DataSerializer.readString(in);
+      int numBuckets = InternalDataSerializer.readArrayLength(in);
+      Map<Integer, List> bucketIdToDispatchedKeys = new HashMap<>(numBuckets);
+      for (int j = 0; j < numBuckets; j++) {
+        int bucketId = in.readInt();
+        bucketIdToDispatchedKeys.put(bucketId, readDispatchedKeys(in));
+      }
+      this.regionToDispatchedKeysMap.put(regionName, bucketIdToDispatchedKeys);
+    }
+  }
+
+  /**
+   * Writes the dispatched keys of a bucket as runs of keys increasing by the same step, or as a
+   * list if they are not all shadow keys.
+   */
+  static void writeDispatchedKeys(List keys, DataOutput out) throws IOException {
+    if (keys == null) {
+      keys = new ArrayList();
+    }
+    for (Object key : keys) {
+      if (!(key instanceof Long)) {
+        out.writeBoolean(false);
+        DataSerializer.writeArrayList(new ArrayList(keys), out);
+        return;
+      }
+    }
+    out.writeBoolean(true);
+
+    // Each run is written as its first key, its step and its number of keys
+    List<long[]> runs = new ArrayList<>();
+    long[] run = null;
+    for (Object key : keys) {
+      long value = (Long) key;
+      if (run != null && run[2] == 1) {
+        run[1] = value - run[0];
+        run[2] = 2;
+      } else if (run != null && value - run[0] == run[1] * run[2]) {
+        run[2]++;
+      } else {
+        run = new long[] {value, 0, 1};
+        runs.add(run);
+      }
+    }
+    InternalDataSerializer.writeArrayLength(runs.size(), out);
+    for (long[] r : runs) {
+      out.writeLong(r[0]);
+      out.writeLong(r[1]);
+      InternalDataSerializer.writeArrayLength((int) r[2], out);
+    }
+  }
+
+  static List readDispatchedKeys(DataInput in) throws IOException, ClassNotFoundException {
+    if (!in.readBoolean()) {
+      return DataSerializer.readArrayList(in);
+    }
+    int numRuns = InternalDataSerializer.readArrayLength(in);
+    List<Long> keys = new ArrayList<>();
+    for (int i = 0; i < numRuns; i++) {
+      long first = in.readLong();
+      long step = in.readLong();
+      int size = InternalDataSerializer.readArrayLength(in);
+      for (int j = 0; j < size; j++) {
+        keys.add(first + j * step);
+      }
+    }
+    return keys;
   }
 }
@@ -67,6 +67,7 @@ import org.apache.geode.internal.cache.versions.VersionSource;
 import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
+import org.apache.geode.internal.cache.wan.IncompleteTransactions;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
 import org.apache.geode.internal.statistics.StatisticsClock;
@@ -128,6 +129,12 @@ public class SerialGatewaySenderQueue implements RegionQueue {
    */
   private boolean enableConflation;
 
+  /**
+   * Whether an update conflated by this queue replaces the value of the queued event of its key in
+   * place, instead of removing that event and being added to the tail.
+   */
+  private final boolean conflateInPlace;
+
   /**
    * Whether persistence is enabled for this queue.
    */
@@ -186,6 +193,7 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     this.tailKey.set(-1);
     this.indexes = new HashMap<String, Map<Object, Long>>();
     this.enableConflation = abstractSender.isBatchConflationEnabled();
+    this.conflateInPlace = abstractSender.isBatchConflationInPlace();
     this.diskStoreName = abstractSender.getDiskStoreName();
     this.batchSize = abstractSender.getBatchSize();
     this.enablePersistence = abstractSender.isPersistenceEnabled();
@@ -237,6 +245,12 @@ public class SerialGatewaySenderQueue implements RegionQueue {
   }
 
   private long putAndGetKey(Object object) throws CacheException {
+    if (this.enableConflation && this.conflateInPlace && object instanceof Conflatable) {
+      Long previousIndex = replaceOldEntry((Conflatable) object);
+      if (previousIndex != null) {
+        return previousIndex.longValue();
+      }
+    }
     // Get the tail key
     Long key = Long.valueOf(getTailKey());
     // Put the object into the region at that key
@@ -400,6 +414,9 @@ public class SerialGatewaySenderQueue implements RegionQueue {
         continue;
       }
     }
+    if (AbstractGatewaySender.GROUP_TRANSACTION_EVENTS) {
+      peekEventsOfIncompleteTransactions(batch, size);
+    }
     if (isTraceEnabled) {
       logger.trace("{}: Peeked a batch of {} entries", this, batch.size());
     }
@@ -408,6 +425,37 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     // so no need to worry about off-heap refCount.
   }
 
+  /**
+   * Peeks beyond the batch size until the batch holds the last event of each transaction it has
+   * events of. The events of other transactions and the events outside transactions queued in
+   * between are peeked too, since the peeked events must follow each other in the queue. Gives up
+   * when the queue has no more events or the batch has reached twice the batch size, in which case
+   * the batch is counted in the "batchesWithIncompleteTransactions" stat.
+   */
+  private void peekEventsOfIncompleteTransactions(List<AsyncEvent> batch, int size)
+      throws CacheException {
+    IncompleteTransactions incompleteTransactions = new IncompleteTransactions();
+    for (AsyncEvent event : batch) {
+      incompleteTransactions.add(event);
+    }
+    while (!incompleteTransactions.isEmpty() && batch.size() < size * 2) {
+      AsyncEvent object = peekAhead();
+      if (object == null) {
+        break;
+      }
+      batch.add(object);
+      incompleteTransactions.add(object);
+    }
+    if (!incompleteTransactions.isEmpty()) {
+      this.stats.incBatchesWithIncompleteTransactions();
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Peeked a batch of {} entries without the last event of {} of its transactions",
+            this, batch.size(), incompleteTransactions.size());
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return "SerialGatewaySender queue :" + this.regionName;
@@ -529,6 +577,53 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     return keepOldEntry;
   }
 
+  /**
+   * Replaces the value of the queued event of the key of an update in place, if that event has not
+   * been peeked yet. An event that cannot be conflated, such as a transactional event, removes the
+   * index of its key, so an update queued after it is never moved before it.
+   *
+   * this must be invoked with lock.writeLock() held
+   *
+   * @return the queue key of the replaced event, or null if the object must be added to the tail
+   */
+  private Long replaceOldEntry(Conflatable object) throws CacheException {
+    Map<Object, Long> latestIndexesForRegion = this.indexes.get(object.getRegionToConflate());
+    if (latestIndexesForRegion == null) {
+      return null;
+    }
+    Object key = object.getKeyToConflate();
+    if (!object.shouldBeConflated() || isTransactional(object)) {
+      if (latestIndexesForRegion.remove(key) != null) {
+        this.stats.decConflationIndexesMapSize();
+      }
+      return null;
+    }
+    Long previousIndex = latestIndexesForRegion.get(key);
+    if (previousIndex == null || isPeeked(previousIndex)
+        || !this.region.containsKey(previousIndex)) {
+      return null;
+    }
+    this.region.put(previousIndex, (AsyncEvent) object);
+    this.stats.incEventsNotQueuedConflated();
+    // The event processor counts the object as added to the queue
+    this.stats.decQueueSize(1);
+    if (logger.isDebugEnabled()) {
+      logger.debug("{}: Replaced in place {} -> {} for key={} head={} tail={}", this,
+          previousIndex, object, key, this.headKey, this.tailKey);
+    }
+    return previousIndex;
+  }
+
+  private boolean isTransactional(Conflatable object) {
+    return object instanceof GatewaySenderEventImpl
+        && ((GatewaySenderEventImpl) object).getTransactionId() != null;
+  }
+
+  private boolean isPeeked(long queueKey) {
+    Long lastPeek = this.peekedIds.peekLast();
+    return lastPeek != null && !before(lastPeek.longValue(), queueKey);
+  }
+
   /**
    * Does a get that gets the value without fault values in from disk.
    */
@@ -1162,7 +1257,7 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     }
 
     @Override
-    protected boolean isUsedForSerialGatewaySenderQueue() {
+    public boolean isUsedForSerialGatewaySenderQueue() {
       return true;
     }
 
@@ -66,6 +66,24 @@ public class SerialSecondaryGatewayListener extends CacheListenerAdapter {
     this.processor.handlePrimaryEvent(senderEvent);
   }
 
+  /**
+   * The primary replaced a queued event by the update conflating it. The queue size is unchanged.
+   * The old value of the event is the replaced event, read from disk by the queue region if it has
+   * been overflowed.
+   */
+  @Override
+  public void afterUpdate(EntryEvent event) {
+    if (this.sender.isPrimary()) {
+      return;
+    }
+    Object oldValue = event.getOldValue();
+    if (oldValue instanceof GatewaySenderEventImpl) {
+      this.processor.handlePrimaryDestroy((GatewaySenderEventImpl) oldValue);
+    }
+    GatewaySenderEventImpl senderEvent = (GatewaySenderEventImpl) event.getNewValue();
+    this.processor.handlePrimaryEvent(senderEvent);
+  }
+
   @Override
   public void afterDestroy(EntryEvent event) {
     if (this.sender.isPrimary()) {
@@ -90,6 +90,7 @@ import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.internal.InternalQueryService;
 import org.apache.geode.cache.query.internal.MethodInvocationAuthorizer;
 import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.QueryResultCache;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.server.CacheServer;
 import org.apache.geode.cache.snapshot.CacheSnapshotService;
@@ -1211,6 +1212,11 @@ public class CacheCreation implements InternalCache {
     throw new UnsupportedOperationException("Should not be invoked");
   }
 
+  @Override
+  public QueryResultCache getQueryResultCache() {
+    throw new UnsupportedOperationException("Should not be invoked");
+  }
+
   @Override
   public void close(final String reason, final Throwable systemFailureCause,
       final boolean keepAlive, final boolean keepDS) {
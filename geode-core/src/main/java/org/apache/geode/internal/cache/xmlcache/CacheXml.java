@@ -703,6 +703,8 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   /** The name of the <code>batch-conflation</code> attribute */
   protected static final String BATCH_CONFLATION = "batch-conflation";
   protected static final String ENABLE_BATCH_CONFLATION = "enable-batch-conflation";
+  /** The name of the <code>batch-conflation-in-place</code> attribute */
+  protected static final String BATCH_CONFLATION_IN_PLACE = "batch-conflation-in-place";
   /** The name of the <code>enable-conflation</code> attribute */
   protected static final String ENABLE_PERSISTENCE = "enable-persistence";
 
@@ -1330,6 +1330,11 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
         || sender.isBatchConflationEnabled() != GatewaySender.DEFAULT_BATCH_CONFLATION)
       atts.addAttribute("", "", ENABLE_BATCH_CONFLATION, "",
           String.valueOf(sender.isBatchConflationEnabled())); // Should we use ENABLE-CONFLATION
+    // batch-conflation-in-place
+    if (version.compareTo(CacheXmlVersion.GEODE_1_0) >= 0 && (generateDefaults()
+        || sender.isBatchConflationInPlace() != GatewaySender.DEFAULT_BATCH_CONFLATION_IN_PLACE))
+      atts.addAttribute("", "", BATCH_CONFLATION_IN_PLACE, "",
+          String.valueOf(sender.isBatchConflationInPlace()));
     // batch-size
     if (generateDefaults() || sender.getBatchSize() != GatewaySender.DEFAULT_BATCH_SIZE)
       atts.addAttribute("", "", BATCH_SIZE, "", String.valueOf(sender.getBatchSize()));
@@ -613,6 +613,15 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       gatewaySenderFactory.setBatchConflationEnabled(Boolean.parseBoolean(batchConflation));
     }
 
+    // batch-conflation-in-place
+    String batchConflationInPlace = atts.getValue(BATCH_CONFLATION_IN_PLACE);
+    if (batchConflationInPlace == null) {
+      gatewaySenderFactory
+          .setBatchConflationInPlace(GatewaySender.DEFAULT_BATCH_CONFLATION_IN_PLACE);
+    } else {
+      gatewaySenderFactory.setBatchConflationInPlace(Boolean.parseBoolean(batchConflationInPlace));
+    }
+
     // batch-size
     String batchSize = atts.getValue(BATCH_SIZE);
     if (batchSize == null) {
@@ -40,6 +40,10 @@ public class BufferPool {
     this.stats = stats;
   }
 
+  DMStats getStats() {
+    return stats;
+  }
+
   /**
    * A list of soft references to byte buffers.
    */
@@ -40,6 +40,7 @@ import javax.net.ssl.SSLSession;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.GemFireIOException;
+import org.apache.geode.distributed.internal.DMStats;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.net.BufferPool.BufferType;
 
@@ -73,12 +74,26 @@ public class NioSslEngine implements NioFilter {
    */
   ByteBuffer handshakeBuffer;
 
+  /**
+   * the largest TLS record the engine will produce or consume, per the SSLSession
+   */
+  private final int packetBufferSize;
+
+  /**
+   * the largest amount of application data that fits in a single TLS record
+   */
+  private final int appBufferSize;
+
   NioSslEngine(SSLEngine engine, BufferPool bufferPool) {
     SSLSession session = engine.getSession();
-    int appBufferSize = session.getApplicationBufferSize();
-    int packetBufferSize = engine.getSession().getPacketBufferSize();
-    this.myNetData = ByteBuffer.allocate(packetBufferSize);
-    this.peerAppData = ByteBuffer.allocate(appBufferSize);
+    this.appBufferSize = session.getApplicationBufferSize();
+    this.packetBufferSize = session.getPacketBufferSize();
+    // these buffers are pooled (and direct, unless p2p.nodirectBuffers is set) and are
+    // returned to the pool in close()
+    this.myNetData = bufferPool.acquireSenderBuffer(packetBufferSize);
+    this.peerAppData = bufferPool.acquireReceiveBuffer(appBufferSize);
+    this.myNetData.clear();
+    this.peerAppData.clear();
     this.engine = engine;
     this.bufferPool = bufferPool;
   }
@@ -109,6 +124,10 @@ public class NioSslEngine implements NioFilter {
           timeout);
     }
 
+    DMStats stats = bufferPool.getStats();
+    long handshakeStart = stats.startTlsHandshake();
+    long handshakeStartMillis = System.currentTimeMillis();
+
     long timeoutNanos = -1;
     if (timeout > 0) {
       timeoutNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
@@ -202,6 +221,10 @@ public class NioSslEngine implements NioFilter {
       logger.info("handshake terminated with exception due to {}", status);
       throw new SSLHandshakeException("SSL Handshake terminated with status " + status);
     }
+    // a resumed session was created by an earlier handshake with the same peer
+    SSLSession session = engine.getSession();
+    boolean resumed = session != null && session.getCreationTime() < handshakeStartMillis;
+    stats.endTlsHandshake(handshakeStart, resumed);
     if (logger.isDebugEnabled()) {
       if (engineResult != null) {
         logger.debug("TLS handshake successful.  result={} and handshakeResult={}",
@@ -239,32 +262,52 @@ public class NioSslEngine implements NioFilter {
 
     myNetData.clear();
 
-    while (appData.hasRemaining()) {
-      // ensure we have lots of capacity since encrypted data might
-      // be larger than the app data
-      int remaining = myNetData.capacity() - myNetData.position();
-
-      if (remaining < (appData.remaining() * 2)) {
-        int newCapacity = expandedCapacity(appData, myNetData);
-        myNetData = expandWriteBuffer(TRACKED_SENDER, myNetData, newCapacity);
-      }
+    // All of the application data is encrypted into myNetData so that it can be sent with
+    // a single write. Size the buffer up-front for the number of TLS records that will be
+    // produced so that it doesn't need to be expanded and copied while wrapping.
+    int requiredCapacity = wrappedCapacity(appData.remaining());
+    if (myNetData.capacity() < requiredCapacity) {
+      myNetData = expandWriteBuffer(TRACKED_SENDER, myNetData,
+          Math.max(requiredCapacity, myNetData.capacity() * 2));
+    }
 
+    long bytesEncrypted = 0;
+    while (appData.hasRemaining()) {
       SSLEngineResult wrapResult = engine.wrap(appData, myNetData);
 
       if (wrapResult.getHandshakeStatus() == NEED_TASK) {
         handleBlockingTasks();
       }
 
+      if (wrapResult.getStatus() == BUFFER_OVERFLOW) {
+        // the engine needs more room than the session said it would
+        myNetData = expandWriteBuffer(TRACKED_SENDER, myNetData,
+            myNetData.position() + wrappedCapacity(appData.remaining()) + packetBufferSize);
+        continue;
+      }
+
       if (wrapResult.getStatus() != OK) {
         throw new SSLException("Error encrypting data: " + wrapResult);
       }
+      bytesEncrypted += wrapResult.bytesConsumed();
     }
+    bufferPool.getStats().incTlsBytesEncrypted(bytesEncrypted);
 
     myNetData.flip();
 
     return myNetData;
   }
 
+  /**
+   * Compute the space needed to hold the TLS records produced by encrypting the given
+   * amount of application data
+   */
+  int wrappedCapacity(int appDataSize) {
+    int records = Math.max(1, (appDataSize + appBufferSize - 1) / appBufferSize);
+    int recordOverhead = Math.max(0, packetBufferSize - appBufferSize);
+    return appDataSize + records * recordOverhead;
+  }
+
   @Override
   public synchronized ByteBuffer unwrap(ByteBuffer wrappedBuffer) throws IOException {
     checkClosed();
@@ -289,6 +332,7 @@ public class NioSslEngine implements NioFilter {
           wrappedBuffer.compact();
           return peerAppData;
         case OK:
+          bufferPool.getStats().incTlsBytesDecrypted(unwrapResult.bytesProduced());
           break;
         default:
           throw new SSLException("Error decrypting data: " + unwrapResult);
@@ -69,6 +69,7 @@ import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLProtocolException;
 import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
@@ -134,6 +135,21 @@ public class SocketCreator {
   private static final boolean useLinkLocalAddresses =
       Boolean.getBoolean(USE_LINK_LOCAL_ADDRESSES_PROPERTY);
 
+  /**
+   * Optional system property limiting the number of TLS sessions cached for resumption. A value
+   * of zero removes the limit. If not set the JSSE provider's default is used.
+   */
+  static final String SSL_SESSION_CACHE_SIZE_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "ssl.sessionCacheSize";
+
+  /**
+   * Optional system property setting the number of seconds a cached TLS session may be resumed
+   * by a new connection. A value of zero removes the limit. If not set the JSSE provider's default
+   * is used.
+   */
+  static final String SSL_SESSION_TIMEOUT_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "ssl.sessionTimeout";
+
   /**
    * we cache localHost to avoid bug #40619, access-violation in native code
    */
@@ -390,9 +406,32 @@ public class SocketCreator {
     TrustManager[] trustManagers = getTrustManagers();
 
     newSSLContext.init(keyManagers, trustManagers, null /* use the default secure random */);
+    configureSessionCaching(newSSLContext);
     return newSSLContext;
   }
 
+  /**
+   * SSLEngines created with the peer's host and port (see createSSLEngine) will resume a cached
+   * session with that peer instead of performing a full handshake. Size the session caches of
+   * both sides of the connection so that a member can resume sessions with all of its peers.
+   */
+  static void configureSessionCaching(SSLContext context) {
+    Integer cacheSize = Integer.getInteger(SSL_SESSION_CACHE_SIZE_PROPERTY);
+    Integer timeout = Integer.getInteger(SSL_SESSION_TIMEOUT_PROPERTY);
+    for (SSLSessionContext sessionContext : new SSLSessionContext[] {
+        context.getClientSessionContext(), context.getServerSessionContext()}) {
+      if (sessionContext == null) {
+        continue;
+      }
+      if (cacheSize != null && cacheSize >= 0) {
+        sessionContext.setSessionCacheSize(cacheSize);
+      }
+      if (timeout != null && timeout >= 0) {
+        sessionContext.setSessionTimeout(timeout);
+      }
+    }
+  }
+
   /**
    * Used by SystemAdmin to read the properties from console
    *
@@ -1932,6 +1932,30 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     return (es != null) ? es : (this.reusableEntrySet = new EntrySet(true));
   }
 
+  /**
+   * Returns a view of the values of the segments whose index is <code>slice</code> modulo
+   * <code>sliceCount</code>. The slices 0 to sliceCount - 1 are disjoint and together hold all of
+   * the values of this map, so they can be iterated by separate threads, each visiting only the
+   * entries of its own slice. Slices are empty when sliceCount exceeds the number of segments.
+   */
+  public Collection<V> valuesInSlice(final int slice, final int sliceCount) {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new ValueIterator(slice, sliceCount);
+      }
+
+      @Override
+      public int size() {
+        long sum = 0;
+        for (int i = slice; i < segments.length; i += sliceCount) {
+          sum += segments[i].count;
+        }
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+      }
+    };
+  }
+
   // End Geode addition
 
   /**
@@ -1960,6 +1984,9 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
 
     int currentSegmentIndex;
 
+    // Geode addition: only every segmentStride-th segment is iterated
+    final int segmentStride;
+
     int nextTableIndex;
 
     // Geode changed HashEntry<K, V>[] currentTable to currentSegment
@@ -1974,7 +2001,22 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     int currentListIndex;
 
     HashIterator() {
-      this.currentSegmentIndex = CustomEntryConcurrentHashMap.this.segments.length;
+      this(0, 1);
+    }
+
+    /**
+     * Iterates the segments whose index is firstSegment modulo segmentStride.
+     */
+    HashIterator(int firstSegment, int segmentStride) {
+      final int numSegments = CustomEntryConcurrentHashMap.this.segments.length;
+      this.segmentStride = segmentStride;
+      // one stride past the last segment to iterate, since segments are iterated backwards
+      if (firstSegment < numSegments) {
+        this.currentSegmentIndex = firstSegment
+            + ((numSegments - 1 - firstSegment) / segmentStride) * segmentStride + segmentStride;
+      } else {
+        this.currentSegmentIndex = firstSegment;
+      }
       this.nextTableIndex = -1;
       this.currentList = new ArrayList<HashEntry<K, V>>(5);
       this.currentListIndex = 0;
@@ -2018,9 +2060,10 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
        */
       // Geode changes END
 
-      while (this.currentSegmentIndex > 0) {
+      while (this.currentSegmentIndex - this.segmentStride >= 0) {
+        this.currentSegmentIndex -= this.segmentStride;
         final Segment<K, V> seg =
-            CustomEntryConcurrentHashMap.this.segments[--this.currentSegmentIndex];
+            CustomEntryConcurrentHashMap.this.segments[this.currentSegmentIndex];
         if (seg.count != 0) {
           this.currentTable = seg.table;
           final ReentrantReadWriteLock.ReadLock listLock = seg.listUpdateLock.readLock();
@@ -2095,6 +2138,14 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
 
   class ValueIterator extends HashIterator implements Iterator<V>, Enumeration<V> {
 
+    ValueIterator() {
+      super();
+    }
+
+    ValueIterator(int firstSegment, int segmentStride) {
+      super(firstSegment, segmentStride);
+    }
+
     @Override
     public V next() {
       return super.nextEntry().getMapValue();
@@ -96,6 +96,11 @@ public class CreateGatewaySenderCommand extends SingleGfshCommand {
           unspecifiedDefaultValue = "false",
           help = CliStrings.CREATE_GATEWAYSENDER__ENABLEBATCHCONFLATION__HELP) Boolean enableBatchConflation,
 
+      @CliOption(key = CliStrings.CREATE_GATEWAYSENDER__BATCHCONFLATIONINPLACE,
+          specifiedDefaultValue = "true",
+          unspecifiedDefaultValue = "false",
+          help = CliStrings.CREATE_GATEWAYSENDER__BATCHCONFLATIONINPLACE__HELP) Boolean batchConflationInPlace,
+
       @CliOption(key = CliStrings.CREATE_GATEWAYSENDER__BATCHSIZE,
           help = CliStrings.CREATE_GATEWAYSENDER__BATCHSIZE__HELP) Integer batchSize,
 
@@ -135,10 +140,11 @@ public class CreateGatewaySenderCommand extends SingleGfshCommand {
 
     CacheConfig.GatewaySender configuration =
         buildConfiguration(id, remoteDistributedSystemId, parallel, manualStart,
-            socketBufferSize, socketReadTimeout, enableBatchConflation, batchSize,
-            batchTimeInterval, enablePersistence, diskStoreName, diskSynchronous, maxQueueMemory,
-            alertThreshold, dispatcherThreads, orderPolicy == null ? null : orderPolicy.name(),
-            gatewayEventFilters, gatewayTransportFilter);
+            socketBufferSize, socketReadTimeout, enableBatchConflation, batchConflationInPlace,
+            batchSize, batchTimeInterval, enablePersistence, diskStoreName, diskSynchronous,
+            maxQueueMemory, alertThreshold, dispatcherThreads,
+            orderPolicy == null ? null : orderPolicy.name(), gatewayEventFilters,
+            gatewayTransportFilter);
 
     GatewaySenderFunctionArgs gatewaySenderFunctionArgs =
         new GatewaySenderFunctionArgs(configuration);
@@ -210,6 +216,7 @@ public class CreateGatewaySenderCommand extends SingleGfshCommand {
       Integer socketBufferSize,
       Integer socketReadTimeout,
       Boolean enableBatchConflation,
+      Boolean batchConflationInPlace,
       Integer batchSize,
       Integer batchTimeInterval,
       Boolean enablePersistence,
@@ -229,6 +236,7 @@ public class CreateGatewaySenderCommand extends SingleGfshCommand {
     sender.setSocketBufferSize(int2string(socketBufferSize));
     sender.setSocketReadTimeout(int2string(socketReadTimeout));
     sender.setEnableBatchConflation(enableBatchConflation);
+    sender.setBatchConflationInPlace(batchConflationInPlace);
     sender.setBatchSize(int2string(batchSize));
     sender.setBatchTimeInterval(int2string(batchTimeInterval));
     sender.setEnablePersistence(enablePersistence);
@@ -104,6 +104,11 @@ public class GatewaySenderCreateFunction implements InternalFunction {
       gateway.setBatchConflationEnabled(enableBatchConflation);
     }
 
+    Boolean batchConflationInPlace = gatewaySenderCreateArgs.isBatchConflationInPlace();
+    if (batchConflationInPlace != null) {
+      gateway.setBatchConflationInPlace(batchConflationInPlace);
+    }
+
     Integer socketBufferSize = gatewaySenderCreateArgs.getSocketBufferSize();
     if (socketBufferSize != null) {
       gateway.setSocketBufferSize(socketBufferSize);
@@ -33,6 +33,7 @@ public class GatewaySenderFunctionArgs implements Serializable {
   private final Integer socketBufferSize;
   private final Integer socketReadTimeout;
   private final Boolean enableBatchConflation;
+  private final Boolean batchConflationInPlace;
   private final Integer batchSize;
   private final Integer batchTimeInterval;
   private final Boolean enablePersistence;
@@ -54,6 +55,7 @@ public class GatewaySenderFunctionArgs implements Serializable {
     this.socketBufferSize = string2int(sender.getSocketBufferSize());
     this.socketReadTimeout = string2int(sender.getSocketReadTimeout());
     this.enableBatchConflation = sender.isEnableBatchConflation();
+    this.batchConflationInPlace = sender.isBatchConflationInPlace();
     this.batchSize = string2int(sender.getBatchSize());
     this.batchTimeInterval = string2int(sender.getBatchTimeInterval());
     this.enablePersistence = sender.isEnablePersistence();
@@ -109,6 +111,10 @@ public class GatewaySenderFunctionArgs implements Serializable {
     return this.enableBatchConflation;
   }
 
+  public Boolean isBatchConflationInPlace() {
+    return this.batchConflationInPlace;
+  }
+
   public Integer getBatchSize() {
     return this.batchSize;
   }
@@ -2179,6 +2179,10 @@ public class CliStrings {
       "enable-batch-conflation";
   public static final String CREATE_GATEWAYSENDER__ENABLEBATCHCONFLATION__HELP =
       "Whether batch conflation is to be enabled for a GatewaySender.";
+  public static final String CREATE_GATEWAYSENDER__BATCHCONFLATIONINPLACE =
+      "batch-conflation-in-place";
+  public static final String CREATE_GATEWAYSENDER__BATCHCONFLATIONINPLACE__HELP =
+      "Whether an update conflated by a serial GatewaySender with batch conflation enabled replaces the queued event of its key instead of being added to the tail of the queue.";
   public static final String CREATE_GATEWAYSENDER__BATCHSIZE = "batch-size";
   public static final String CREATE_GATEWAYSENDER__BATCHSIZE__HELP =
       "The batch size for the GatewaySender.";
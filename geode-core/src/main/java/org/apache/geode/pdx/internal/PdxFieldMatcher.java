@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.internal.DSCODE;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.CachedDeserializable;
+import org.apache.geode.internal.offheap.StoredObject;
+import org.apache.geode.pdx.FieldType;
+
+/**
+ * Tests whether a serialized pdx value could have a field equal to a constant without deserializing
+ * it or creating a PdxInstance. The field's position is resolved from the value's PdxType, cached
+ * per type id, and the field's bytes are compared in place with the constant encoded the way
+ * PdxWriterImpl would have written it. Off-heap values are read directly from off-heap memory.<br>
+ * A result of false means the field is definitely not equal to the constant. Any value this class
+ * cannot decide about (not pdx, compressed, field missing from the type, or a field type it does
+ * not compare) is reported as a possible match so callers must still evaluate their predicate on
+ * the values that pass.
+ *
+ * @since Geode 1.11
+ */
+public class PdxFieldMatcher implements Predicate<Object> {
+
+  /** pdx header: DSCODE.PDX, the length of the field data and the type id */
+  private static final int HEADER_SIZE = PdxWriterImpl.HEADER_SIZE;
+
+  private static final PdxField FIELD_NOT_PRESENT = new PdxField();
+
+  private static final byte[] NOT_COMPARABLE = new byte[0];
+
+  private final TypeRegistry typeRegistry;
+
+  private final String fieldName;
+
+  private final Object value;
+
+  private final ConcurrentMap<Integer, PdxField> fieldsByTypeId = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<FieldType, byte[]> encodedValues = new ConcurrentHashMap<>();
+
+  public PdxFieldMatcher(TypeRegistry typeRegistry, String fieldName, Object value) {
+    this.typeRegistry = typeRegistry;
+    this.fieldName = fieldName;
+    this.value = value;
+  }
+
+  public String getFieldName() {
+    return this.fieldName;
+  }
+
+  /**
+   * @param rawValue a region value as stored in the region entry
+   * @return false if rawValue is a pdx whose field is definitely not equal to the constant
+   */
+  @Override
+  public boolean test(Object rawValue) {
+    if (rawValue instanceof StoredObject) {
+      StoredObject so = (StoredObject) rawValue;
+      if (so.isCompressed() || !so.isSerialized()) {
+        return true;
+      }
+      return mightMatch(new StoredObjectBytes(so));
+    } else if (rawValue instanceof CachedDeserializable) {
+      Object v = ((CachedDeserializable) rawValue).getValue();
+      if (v instanceof byte[]) {
+        return mightMatch(new HeapBytes((byte[]) v));
+      }
+    }
+    return true;
+  }
+
+  private boolean mightMatch(SerializedBytes bytes) {
+    if (bytes.size() < HEADER_SIZE || bytes.get(0) != DSCODE.PDX.toByte()) {
+      return true;
+    }
+    int dataSize = bytes.getInt(1);
+    int typeId = bytes.getInt(5);
+    if (dataSize < 0 || HEADER_SIZE + dataSize > bytes.size()) {
+      return true;
+    }
+
+    PdxField field = getField(typeId);
+    if (field == FIELD_NOT_PRESENT) {
+      return true;
+    }
+    byte[] expected = getEncodedValue(field.getFieldType());
+    if (expected == NOT_COMPARABLE) {
+      return true;
+    }
+
+    PdxType type = this.typeRegistry.getType(typeId);
+    int position = getFieldPosition(bytes, HEADER_SIZE, dataSize, type, field);
+    if (position < 0 || position + expected.length > dataSize) {
+      return false;
+    }
+    int start = HEADER_SIZE + position;
+    for (int i = 0; i < expected.length; i++) {
+      if (bytes.get(start + i) != expected[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private PdxField getField(int typeId) {
+    PdxField field = this.fieldsByTypeId.get(typeId);
+    if (field == null) {
+      PdxType type = this.typeRegistry.getType(typeId);
+      field = type == null ? null : type.getPdxField(this.fieldName);
+      if (field == null) {
+        field = FIELD_NOT_PRESENT;
+      }
+      this.fieldsByTypeId.putIfAbsent(typeId, field);
+    }
+    return field;
+  }
+
+  /**
+   * Returns the constant serialized as a field of the given type, or NOT_COMPARABLE if equal
+   * values of that type do not necessarily have equal bytes.
+   */
+  private byte[] getEncodedValue(FieldType fieldType) {
+    byte[] encoded = this.encodedValues.get(fieldType);
+    if (encoded == null) {
+      encoded = encode(fieldType, this.value);
+      this.encodedValues.putIfAbsent(fieldType, encoded);
+    }
+    return encoded;
+  }
+
+  static byte[] encode(FieldType fieldType, Object value) {
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    try {
+      switch (fieldType) {
+        case BOOLEAN:
+          if (!(value instanceof Boolean)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeBoolean((Boolean) value);
+          break;
+        case CHAR:
+          if (!(value instanceof Character)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeChar((Character) value);
+          break;
+        case BYTE:
+          if (!isIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeByte(((Number) value).byteValue());
+          break;
+        case SHORT:
+          if (!isIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeShort(((Number) value).shortValue());
+          break;
+        case INT:
+          if (!isIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeInt(((Number) value).intValue());
+          break;
+        case LONG:
+          if (!isIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            return NOT_COMPARABLE;
+          }
+          out.writeLong(((Number) value).longValue());
+          break;
+        case STRING:
+          if (!(value instanceof String)) {
+            return NOT_COMPARABLE;
+          }
+          // the encoding starts with the string's length so a prefix match is an exact match
+          DataSerializer.writeString((String) value, out);
+          break;
+        default:
+          // floating point values need NaN and -0.0 semantics, the rest are objects or arrays
+          return NOT_COMPARABLE;
+      }
+    } catch (IOException e) {
+      return NOT_COMPARABLE;
+    }
+    return out.toByteArray();
+  }
+
+  private static boolean isIntegral(Object value, long min, long max) {
+    if (!(value instanceof Byte || value instanceof Short || value instanceof Integer
+        || value instanceof Long)) {
+      return false;
+    }
+    long l = ((Number) value).longValue();
+    return l >= min && l <= max;
+  }
+
+  /**
+   * Returns the position of the field relative to the start of the field data, computed the same
+   * way as PdxReaderImpl.
+   */
+  private static int getFieldPosition(SerializedBytes bytes, int dataStart, int dataSize,
+      PdxType type, PdxField field) {
+    int idx0 = field.getRelativeOffset();
+    int idx1 = field.getVlfOffsetIndex();
+    if (field.isVariableLengthType()) {
+      return idx1 != -1 ? getOffset(bytes, dataStart, dataSize, idx1) : idx0;
+    }
+    if (idx0 >= 0) {
+      return idx0;
+    } else if (idx1 > 0) {
+      return getOffset(bytes, dataStart, dataSize, idx1) + idx0;
+    } else if (idx1 == -1) {
+      int offsetSize = getSizeOfOffset(dataSize);
+      return dataSize - type.getVariableLengthFieldCount() * offsetSize + idx0;
+    }
+    return -1;
+  }
+
+  private static int getOffset(SerializedBytes bytes, int dataStart, int dataSize, int idx) {
+    int offsetSize = getSizeOfOffset(dataSize);
+    int position = dataStart + dataSize - idx * offsetSize;
+    if (offsetSize == DataSize.BYTE_SIZE) {
+      return bytes.get(position) & PdxReaderImpl.MAX_UNSIGNED_BYTE;
+    } else if (offsetSize == DataSize.SHORT_SIZE) {
+      return ((bytes.get(position) & 0xFF) << 8 | (bytes.get(position + 1) & 0xFF));
+    }
+    return bytes.getInt(position);
+  }
+
+  private static int getSizeOfOffset(int dataSize) {
+    if (dataSize <= PdxReaderImpl.MAX_UNSIGNED_BYTE) {
+      return DataSize.BYTE_SIZE;
+    } else if (dataSize <= PdxReaderImpl.MAX_UNSIGNED_SHORT) {
+      return DataSize.SHORT_SIZE;
+    }
+    return DataSize.INTEGER_SIZE;
+  }
+
+  /**
+   * Random access to the bytes of a serialized value wherever they are stored.
+   */
+  private abstract static class SerializedBytes {
+    abstract int size();
+
+    abstract byte get(int index);
+
+    int getInt(int index) {
+      return (get(index) & 0xFF) << 24 | (get(index + 1) & 0xFF) << 16
+          | (get(index + 2) & 0xFF) << 8 | (get(index + 3) & 0xFF);
+    }
+  }
+
+  private static class HeapBytes extends SerializedBytes {
+    private final byte[] bytes;
+
+    HeapBytes(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    int size() {
+      return this.bytes.length;
+    }
+
+    @Override
+    byte get(int index) {
+      return this.bytes[index];
+    }
+  }
+
+  private static class StoredObjectBytes extends SerializedBytes {
+    private final StoredObject storedObject;
+
+    StoredObjectBytes(StoredObject storedObject) {
+      this.storedObject = storedObject;
+    }
+
+    @Override
+    int size() {
+      return this.storedObject.getDataSize();
+    }
+
+    @Override
+    byte get(int index) {
+      return this.storedObject.readDataByte(index);
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.query.internal.cq.ServerCQ;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.internal.PdxString;
+
+public class CqPredicateIndexTest {
+
+  private InternalCache cache;
+  private CqPredicateIndex index;
+
+  @Before
+  public void setUp() {
+    cache = mock(InternalCache.class);
+    when(cache.getQueryService()).thenReturn(mock(DefaultQueryService.class));
+    index = new CqPredicateIndex();
+  }
+
+  private ServerCQ addCq(String name, String queryString) {
+    DefaultQuery query = mock(DefaultQuery.class);
+    when(query.getSimpleSelect())
+        .thenReturn((CompiledSelect) new QCompiler().compileQuery(queryString));
+    ServerCQ cq = mock(ServerCQ.class);
+    when(cq.getQuery()).thenReturn(query);
+    index.add(name, cq);
+    return cq;
+  }
+
+  private Set<ServerCQ> candidates(Object... values) {
+    return index.getCandidates(Arrays.asList(values), cache);
+  }
+
+  @Test
+  public void equalityMatchesOnlyEqualValues() {
+    ServerCQ active = addCq("active", "select * from /r p where p.status = 'active'");
+    ServerCQ inactive = addCq("inactive", "select * from /r p where 'inactive' = p.status");
+
+    assertThat(candidates(new Value("active", 1))).containsExactly(active);
+    assertThat(candidates(new Value("inactive", 1), new Value("active", 1)))
+        .containsExactlyInAnyOrder(active, inactive);
+    assertThat(candidates(new Value("closed", 1))).isEmpty();
+  }
+
+  @Test
+  public void numbersOfDifferentTypesMatchByValue() {
+    ServerCQ five = addCq("five", "select * from /r where id = 5L");
+    ServerCQ range = addCq("range", "select * from /r p where p.id > 2 and p.id <= 4.5");
+
+    assertThat(candidates(new Value("a", 5))).containsExactly(five);
+    assertThat(candidates(new Value("a", 5.0d))).containsExactly(five);
+    assertThat(candidates(new Value("a", (short) 3))).containsExactly(range);
+    assertThat(candidates(new Value("a", 10L))).isEmpty();
+  }
+
+  @Test
+  public void rangesMatchValuesWithinTheirBounds() {
+    ServerCQ below = addCq("below", "select * from /r p where p.status < 'c'");
+    ServerCQ between = addCq("between", "select * from /r p where p.status >= 'b'"
+        + " and p.status < 'd' and p.id > 0");
+    ServerCQ above = addCq("above", "select * from /r p where 'c' < p.status");
+
+    assertThat(candidates(new Value("a", 1))).containsExactly(below);
+    assertThat(candidates(new Value("b", 1))).containsExactlyInAnyOrder(below, between);
+    assertThat(candidates(new Value("c", 1))).containsExactly(between);
+    assertThat(candidates(new Value("cc", 1))).containsExactlyInAnyOrder(between, above);
+  }
+
+  @Test
+  public void cqsWithoutIndexablePredicateAreAlwaysCandidates() {
+    ServerCQ all = addCq("all", "select * from /r");
+    ServerCQ or = addCq("or", "select * from /r p where p.status = 'a' or p.id = 1");
+    ServerCQ method = addCq("method", "select * from /r p where p.getStatus() = 'a'");
+
+    assertThat(candidates(new Value("b", 2))).containsExactlyInAnyOrder(all, or, method);
+  }
+
+  @Test
+  public void valuesOfAnotherTypeOrMissingAttributesMatchAllCqsOfTheAttribute() {
+    ServerCQ status = addCq("status", "select * from /r p where p.status = 'a'");
+    ServerCQ missing = addCq("missing", "select * from /r p where p.missing = 'a'");
+
+    assertThat(candidates(new Value(7, 1))).containsExactlyInAnyOrder(status, missing);
+  }
+
+  @Test
+  public void nullValuesMatchNothing() {
+    addCq("status", "select * from /r p where p.status = 'a'");
+    addCq("range", "select * from /r p where p.status > 'a'");
+
+    assertThat(candidates(new Value(null, 1))).isEmpty();
+  }
+
+  @Test
+  public void pdxStringsAreComparedAsStrings() {
+    ServerCQ equal = addCq("equal", "select * from /r p where p.status = 'b'");
+    ServerCQ range = addCq("range", "select * from /r p where p.status > 'a'");
+
+    assertThat(candidates(new Value(new PdxString("b"), 1))).containsExactlyInAnyOrder(equal,
+        range);
+    assertThat(candidates(new Value(new PdxString("\u00e9"), 1))).containsExactlyInAnyOrder(equal,
+        range);
+    assertThat(candidates(new Value(new PdxString("0"), 1))).isEmpty();
+  }
+
+  @Test
+  public void removedAndReplacedCqsAreNotCandidates() {
+    addCq("cq", "select * from /r p where p.status = 'a'");
+    ServerCQ replacement = addCq("cq", "select * from /r p where p.status = 'b'");
+
+    assertThat(candidates(new Value("a", 1))).isEmpty();
+    assertThat(candidates(new Value("b", 1))).containsExactly(replacement);
+
+    index.remove("cq");
+
+    assertThat(candidates(new Value("b", 1))).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  public void equalityIsPreferredToRange() {
+    ServerCQ cq = addCq("cq", "select * from /r p where p.id > 1 and p.status = 'a'");
+
+    assertThat(CqPredicateIndex.Predicate.of(cq).getAttribute()).isEqualTo("status");
+    assertThat(CqPredicateIndex.Predicate.of(cq).isEquality()).isTrue();
+  }
+
+  @Test
+  public void valuesOfTheIteratorItselfAreIndexed() {
+    ServerCQ cq = addCq("cq", "select * from /r v where v = 'a'");
+
+    assertThat(candidates("a")).containsExactly(cq);
+    assertThat(candidates("b")).isEmpty();
+    assertThat(index.getCandidates(Collections.emptyList(), cache)).isEmpty();
+  }
+
+  public static class Value {
+    public Object status;
+    public Object id;
+
+    Value(Object status, Object id) {
+      this.status = status;
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+@Category({OQLQueryTest.class})
+public class FilterCostModelTest {
+
+  private final ExecutionContext context = mock(ExecutionContext.class);
+
+  private Filter filter(int operator, int sizeEstimate) throws Exception {
+    Filter filter = mock(Filter.class);
+    when(filter.getOperator()).thenReturn(operator);
+    when(filter.getSizeEstimate(any())).thenReturn(sizeEstimate);
+    return filter;
+  }
+
+  @Test
+  public void muchSmallerEstimateWinsOverOperatorPreference() throws Exception {
+    Filter equality = filter(OQLLexerTokenTypes.TOK_EQ, 5000);
+    Filter range = filter(OQLLexerTokenTypes.TOK_LT, 20);
+
+    assertThat(FilterCostModel.isBetterFilter(equality, 5000, range, context)).isFalse();
+    assertThat(FilterCostModel.isBetterFilter(range, 20, equality, context)).isTrue();
+    verify(equality, never()).isBetterFilter(any(), any(), anyInt());
+    verify(range, never()).isBetterFilter(any(), any(), anyInt());
+  }
+
+  @Test
+  public void closeEstimatesAreLeftToTheFilter() throws Exception {
+    Filter equality = filter(OQLLexerTokenTypes.TOK_EQ, 100);
+    Filter range = filter(OQLLexerTokenTypes.TOK_LT, 50);
+    when(equality.isBetterFilter(range, context, 100)).thenReturn(true);
+
+    assertThat(FilterCostModel.isBetterFilter(equality, 100, range, context)).isTrue();
+    verify(equality).isBetterFilter(range, context, 100);
+  }
+
+  @Test
+  public void unknownEstimatesAreLeftToTheFilter() throws Exception {
+    Filter equality = filter(OQLLexerTokenTypes.TOK_EQ, 5000);
+    Filter unestimatedRange = filter(OQLLexerTokenTypes.TOK_GT, Integer.MAX_VALUE);
+    Filter rangeJunction = filter(OQLLexerTokenTypes.LITERAL_and, 1);
+    when(equality.isBetterFilter(any(), any(), anyInt())).thenReturn(true);
+
+    assertThat(FilterCostModel.isBetterFilter(equality, 5000, unestimatedRange, context)).isTrue();
+    assertThat(FilterCostModel.isBetterFilter(equality, 5000, rangeJunction, context)).isTrue();
+  }
+
+  @Test
+  public void compareEstimatesRequiresRatio() {
+    assertThat(FilterCostModel.compareEstimates(1, FilterCostModel.ESTIMATE_RATIO + 1)).isTrue();
+    assertThat(FilterCostModel.compareEstimates(FilterCostModel.ESTIMATE_RATIO + 1, 1)).isFalse();
+    assertThat(FilterCostModel.compareEstimates(1, FilterCostModel.ESTIMATE_RATIO)).isNull();
+    assertThat(FilterCostModel.compareEstimates(Integer.MAX_VALUE - 1, 0)).isFalse();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntervalTreeTest {
+
+  @Test
+  public void boundsAreInclusiveOrExclusive() {
+    IntervalTree<Integer, String> tree = new IntervalTree<>();
+    tree.add(1, true, 3, false, "[1,3)");
+    tree.add(1, false, 3, true, "(1,3]");
+    tree.add(null, false, 2, true, "(,2]");
+    tree.add(2, true, null, false, "[2,)");
+
+    assertThat(containing(tree, 1)).containsExactlyInAnyOrder("[1,3)", "(,2]");
+    assertThat(containing(tree, 2)).containsExactlyInAnyOrder("[1,3)", "(1,3]", "(,2]", "[2,)");
+    assertThat(containing(tree, 3)).containsExactlyInAnyOrder("(1,3]", "[2,)");
+    assertThat(containing(tree, 0)).containsExactly("(,2]");
+  }
+
+  @Test
+  public void removedIntervalsAreNotFound() {
+    IntervalTree<Integer, String> tree = new IntervalTree<>();
+    IntervalTree.Interval<Integer, String> first = tree.add(1, true, 5, true, "first");
+    tree.add(1, true, 5, true, "second");
+
+    tree.remove(first);
+
+    assertThat(containing(tree, 3)).containsExactly("second");
+    assertThat(tree.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void containingIntervalsAreTheSameAsWithLinearScan() {
+    Random random = new Random(0);
+    IntervalTree<Integer, Integer> tree = new IntervalTree<>();
+    List<IntervalTree.Interval<Integer, Integer>> intervals = new ArrayList<>();
+    List<int[]> bounds = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+        int removed = random.nextInt(intervals.size());
+        tree.remove(intervals.remove(removed));
+        bounds.remove(removed);
+      } else {
+        int lower = random.nextInt(100);
+        int upper = lower + random.nextInt(20);
+        intervals.add(tree.add(lower, true, upper, false, i));
+        bounds.add(new int[] {lower, upper, i});
+      }
+    }
+
+    assertThat(tree.size()).isEqualTo(intervals.size());
+    for (int value = -1; value < 121; value++) {
+      Set<Integer> expected = new HashSet<>();
+      for (int[] interval : bounds) {
+        if (interval[0] <= value && value < interval[1]) {
+          expected.add(interval[2]);
+        }
+      }
+      assertThat(containing(tree, value)).isEqualTo(expected);
+    }
+  }
+
+  private static <V> Set<V> containing(IntervalTree<Integer, V> tree, int value) {
+    Set<V> result = new HashSet<>();
+    tree.addContaining(value, result);
+    return result;
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.Scope;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.PartitionedRegion;
+
+public class QueryResultCacheTest {
+
+  private InternalCache cache;
+  private CachePerfStats stats;
+  private QueryResultCache resultCache;
+
+  @Before
+  public void setUp() {
+    cache = mock(InternalCache.class);
+    stats = mock(CachePerfStats.class);
+    resultCache = new QueryResultCache(2, stats);
+    addRegion("/a", DataPolicy.REPLICATE, Scope.DISTRIBUTED_ACK);
+    addRegion("/b", DataPolicy.NORMAL, Scope.LOCAL);
+  }
+
+  private void addRegion(String path, DataPolicy dataPolicy, Scope scope) {
+    Region region = mock(Region.class);
+    RegionAttributes attributes = mock(RegionAttributes.class);
+    when(attributes.getDataPolicy()).thenReturn(dataPolicy);
+    when(attributes.getScope()).thenReturn(scope);
+    when(region.getAttributes()).thenReturn(attributes);
+    when(cache.getRegion(path)).thenReturn(region);
+  }
+
+  private DefaultQuery query(String queryString, String... regionPaths) {
+    DefaultQuery query = mock(DefaultQuery.class);
+    when(query.getQueryString()).thenReturn(queryString);
+    when(query.getRegionsInQuery(any())).thenReturn(new HashSet<>(Arrays.asList(regionPaths)));
+    return query;
+  }
+
+  private Object execute(DefaultQuery query, Object result) {
+    QueryResultCache.Lookup lookup = resultCache.lookup(query, new Object[] {1}, cache);
+    if (lookup.getCachedResult() != null) {
+      return lookup.getCachedResult();
+    }
+    lookup.complete(result);
+    return result;
+  }
+
+  @Test
+  public void resultIsCachedUntilOneOfItsRegionsChanges() {
+    DefaultQuery query = query("select * from /a, /b", "/a", "/b");
+    Object result = new Object();
+
+    assertThat(execute(query, result)).isSameAs(result);
+    assertThat(execute(query, new Object())).isSameAs(result);
+    resultCache.invalidate("/c");
+    assertThat(execute(query, new Object())).isSameAs(result);
+    resultCache.invalidate("/b");
+
+    assertThat(resultCache.size()).isZero();
+    assertThat(execute(query, new Object())).isNotSameAs(result);
+    verify(stats, times(2)).incQueryResultCacheHits();
+    verify(stats).incQueryResultCacheInvalidations(1);
+  }
+
+  @Test
+  public void resultIsNotCachedIfRegionChangesDuringExecution() {
+    DefaultQuery query = query("select * from /a", "/a");
+
+    QueryResultCache.Lookup lookup = resultCache.lookup(query, new Object[] {1}, cache);
+    resultCache.invalidate("/a");
+    lookup.complete(new Object());
+
+    assertThat(resultCache.size()).isZero();
+  }
+
+  @Test
+  public void cachedSelectResultsAreUnmodifiable() {
+    DefaultQuery query = query("select * from /a", "/a");
+    SelectResults result = mock(SelectResults.class);
+
+    Object returned = resultCache.lookup(query, new Object[] {1}, cache).complete(result);
+    Object cached = resultCache.lookup(query, new Object[] {1}, cache).getCachedResult();
+
+    assertThat(cached).isSameAs(returned).isInstanceOf(ResultsCollectionUnmodifiableWrapper.class);
+    assertThatThrownBy(() -> ((SelectResults) cached).add(1))
+        .isInstanceOf(UnsupportedOperationException.class);
+    verify(result, never()).add(any());
+  }
+
+  @Test
+  public void leastRecentlyUsedResultIsEvicted() {
+    DefaultQuery first = query("select * from /a where 1 = $1", "/a");
+    DefaultQuery second = query("select * from /a where 2 = $1", "/a");
+    DefaultQuery third = query("select * from /a where 3 = $1", "/a");
+    Object firstResult = execute(first, new Object());
+    execute(second, new Object());
+
+    execute(first, new Object());
+    execute(third, new Object());
+
+    assertThat(resultCache.size()).isEqualTo(2);
+    assertThat(execute(first, new Object())).isSameAs(firstResult);
+    verify(stats).incQueryResultCacheEvictions();
+  }
+
+  @Test
+  public void queriesOnPartitionedRegionsOrWithMutableParametersAreNotCached() {
+    when(cache.getRegion("/pr")).thenReturn(mock(PartitionedRegion.class));
+
+    assertThat(resultCache.lookup(query("select * from /pr", "/pr"), new Object[] {1}, cache))
+        .isNull();
+    assertThat(resultCache.lookup(query("select * from /a", "/a"),
+        new Object[] {new HashSet<>()}, cache)).isNull();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.pdx.internal.PdxInstanceEnum;
+
+public class CompositeKeyTest {
+
+  @Test
+  public void keysAreOrderedColumnByColumn() {
+    CompositeKey a1 = new CompositeKey("a", 1);
+    CompositeKey a2 = new CompositeKey("a", 2);
+    CompositeKey b0 = new CompositeKey("b", 0);
+
+    assertThat(a1).isLessThan(a2);
+    assertThat(a2).isLessThan(b0);
+    assertThat(b0).isGreaterThan(a1);
+  }
+
+  @Test
+  public void numbersOfDifferentTypesAreComparedByValue() {
+    CompositeKey intKey = new CompositeKey("a", 5);
+    CompositeKey longKey = new CompositeKey("a", 5L);
+
+    assertThat(intKey.compareTo(longKey)).isZero();
+    assertThat(intKey).isEqualTo(longKey);
+    assertThat(intKey.hashCode()).isEqualTo(longKey.hashCode());
+    assertThat(new CompositeKey("a", 4.5d)).isLessThan(longKey);
+  }
+
+  @Test
+  public void undefinedAndNullSortBeforeValues() {
+    CompositeKey undefined = new CompositeKey("a", QueryService.UNDEFINED);
+    CompositeKey nullKey = new CompositeKey("a", null);
+    CompositeKey value = new CompositeKey("a", Integer.MIN_VALUE);
+
+    assertThat(undefined).isLessThan(nullKey);
+    assertThat(nullKey).isLessThan(value);
+  }
+
+  @Test
+  public void prefixBoundsEnclosesAllKeysStartingWithPrefix() {
+    CompositeKey lowerBound = new CompositeKey("b");
+    CompositeKey upperBound = new CompositeKey("b", CompositeKey.MAX);
+    List<CompositeKey> inside = Arrays.asList(new CompositeKey("b", QueryService.UNDEFINED),
+        new CompositeKey("b", null), new CompositeKey("b", 0), new CompositeKey("b", "z"));
+
+    for (CompositeKey key : inside) {
+      assertThat(key).isGreaterThan(lowerBound).isLessThan(upperBound);
+    }
+    assertThat(new CompositeKey("a", 100)).isLessThan(lowerBound);
+    assertThat(new CompositeKey("c", null)).isGreaterThan(upperBound);
+  }
+
+  @Test
+  public void maxAfterValueBoundsKeysGreaterThanValue() {
+    CompositeKey afterFive = new CompositeKey("a", 5, CompositeKey.MAX);
+
+    assertThat(new CompositeKey("a", 5, Long.MAX_VALUE)).isLessThan(afterFive);
+    assertThat(new CompositeKey("a", 6, null)).isGreaterThan(afterFive);
+  }
+
+  @Test
+  public void enumsAreComparedWithTheirPdxForm() {
+    CompositeKey enumKey = new CompositeKey(Thread.State.NEW);
+    CompositeKey pdxEnumKey = new CompositeKey(new PdxInstanceEnum(Thread.State.NEW));
+
+    assertThat(enumKey).isEqualTo(pdxEnumKey);
+    assertThat(enumKey.hashCode()).isEqualTo(pdxEnumKey.hashCode());
+  }
+}
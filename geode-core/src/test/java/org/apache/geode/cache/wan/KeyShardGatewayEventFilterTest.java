@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+public class KeyShardGatewayEventFilterTest {
+
+  private static GatewayQueueEvent event(Object key) {
+    GatewayQueueEvent event = mock(GatewayQueueEvent.class);
+    when(event.getKey()).thenReturn(key);
+    return event;
+  }
+
+  @Test
+  public void eachEventIsEnqueuedByExactlyOneShard() {
+    KeyShardGatewayEventFilter[] filters = new KeyShardGatewayEventFilter[3];
+    for (int shard = 0; shard < filters.length; shard++) {
+      filters[shard] = new KeyShardGatewayEventFilter(shard, filters.length);
+    }
+
+    for (Object key : new Object[] {"a", "b", -7, Integer.MIN_VALUE, 42L, null}) {
+      GatewayQueueEvent event = event(key);
+      int enqueued = 0;
+      for (KeyShardGatewayEventFilter filter : filters) {
+        if (filter.beforeEnqueue(event)) {
+          enqueued++;
+          assertThat(filter.getShard(key)).isEqualTo(filter.getShard());
+        }
+      }
+      assertThat(enqueued).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void canBeDeclaredWithParameters() {
+    Properties properties = new Properties();
+    properties.setProperty("shard", "2");
+    properties.setProperty("shard-count", "4");
+    KeyShardGatewayEventFilter filter = new KeyShardGatewayEventFilter();
+
+    filter.initialize(null, properties);
+
+    assertThat(filter.getShard()).isEqualTo(2);
+    assertThat(filter.getShardCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void shardMustBeLessThanShardCount() {
+    assertThatThrownBy(() -> new KeyShardGatewayEventFilter(3, 3))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new KeyShardGatewayEventFilter(0, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
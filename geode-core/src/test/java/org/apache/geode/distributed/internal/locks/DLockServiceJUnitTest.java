@@ -16,8 +16,15 @@ package org.apache.geode.distributed.internal.locks;
 
 import static org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID.system;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.After;
 import org.junit.Before;
@@ -26,6 +33,7 @@ import org.junit.Test;
 import org.apache.geode.distributed.ConfigurationProperties;
 import org.apache.geode.distributed.DistributedLockService;
 import org.apache.geode.distributed.DistributedSystem;
+import org.apache.geode.distributed.LockNotHeldException;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 
 public class DLockServiceJUnitTest {
@@ -57,4 +65,118 @@ public class DLockServiceJUnitTest {
     lockService.unlock("MyLock");
     assertThat(lockService.isHeldByCurrentThread("MyLock")).isFalse();
   }
+
+  @Test
+  public void lockAllAcquiresEveryLock() {
+    List<String> names = Arrays.asList("lock1", "lock2", "lock3", "lock2");
+
+    assertThat(lockService.lockAll(names, 0, -1)).isTrue();
+    assertThat(names).allMatch(lockService::isHeldByCurrentThread);
+
+    lockService.unlockAll(names);
+    assertThat(names).noneMatch(lockService::isHeldByCurrentThread);
+  }
+
+  @Test
+  public void lockAllGrantsTheLocksWithOneGrantorRequest() throws Exception {
+    List<String> names = Arrays.asList("lock1", "lock2", "lock3");
+    DLockService dlockService = (DLockService) lockService;
+
+    assertThat(lockService.lockAll(names, 0, -1)).isTrue();
+
+    int leaseId = dlockService.getToken("lock1").getLeaseId();
+    assertThat(names).allMatch(name -> dlockService.getToken(name).getLeaseId() == leaseId);
+    assertThat(names).allMatch(name -> dlockService.getGrantor().getGrantToken(name)
+        .isLockedBy(dlockService.getDistributionManager().getId(), leaseId));
+
+    lockService.unlockAll(names);
+    assertThat(lockedByAnotherThread("lock1")).isTrue();
+  }
+
+  @Test
+  public void lockAllReentersLocksAlreadyHeldByCurrentThread() {
+    List<String> names = Arrays.asList("lock1", "lock2", "lock3");
+    assertThat(lockService.lock("lock2", 0, -1)).isTrue();
+
+    assertThat(lockService.lockAll(names, 0, -1)).isTrue();
+    lockService.unlockAll(names);
+
+    assertThat(lockService.isHeldByCurrentThread("lock1")).isFalse();
+    assertThat(lockService.isHeldByCurrentThread("lock2")).isTrue();
+    lockService.unlock("lock2");
+  }
+
+  @Test
+  public void unlockAllReleasesTheOtherLocksWhenOneIsNotHeld() {
+    assertThat(lockService.lockAll(Arrays.asList("lock1", "lock3"), 0, -1)).isTrue();
+
+    assertThatThrownBy(() -> lockService.unlockAll(Arrays.asList("lock1", "lock2", "lock3")))
+        .isInstanceOf(LockNotHeldException.class);
+    assertThat(lockService.isHeldByCurrentThread("lock1")).isFalse();
+    assertThat(lockService.isHeldByCurrentThread("lock3")).isFalse();
+  }
+
+  @Test
+  public void lockAllReleasesAcquiredLocksWhenOneIsUnavailable() throws Exception {
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    Thread holder = new Thread(() -> {
+      lockService.lock("lock2", 0, -1);
+      locked.countDown();
+      try {
+        done.await();
+      } catch (InterruptedException ignored) {
+        // exit
+      }
+      lockService.unlock("lock2");
+    });
+    holder.start();
+    try {
+      locked.await();
+      List<String> names = Arrays.asList("lock1", "lock2", "lock3");
+
+      assertThat(lockService.lockAll(names, 100, -1)).isFalse();
+      assertThat(names).noneMatch(lockService::isHeldByCurrentThread);
+      assertThat(lockedByAnotherThread("lock1")).isTrue();
+      assertThat(lockedByAnotherThread("lock3")).isTrue();
+    } finally {
+      done.countDown();
+      holder.join();
+    }
+  }
+
+  @Test
+  public void lockOrderDoesNotDependOnOrderOfNames() {
+    List<Object> names = Arrays.asList("b", "a", 3, "c", 1L, "a");
+    List<Object> reversed = new ArrayList<>(names);
+    Collections.reverse(reversed);
+
+    assertThat(DLockService.lockOrder(names)).hasSize(5)
+        .isEqualTo(DLockService.lockOrder(reversed));
+  }
+
+  @Test
+  public void lockOrderOrdersByClassNameThenNaturalOrdering() {
+    assertThat(DLockService.lockOrder(Arrays.asList("b", 2L, "a", 10, 1)))
+        .containsExactly(1, 10, 2L, "a", "b");
+  }
+
+  @Test
+  public void lockOrderRejectsNamesThatCannotBeOrdered() {
+    assertThatThrownBy(() -> DLockService.lockOrder(Arrays.asList("a", new Object())))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private boolean lockedByAnotherThread(Object name) throws InterruptedException {
+    AtomicBoolean locked = new AtomicBoolean();
+    Thread thread = new Thread(() -> {
+      locked.set(lockService.lock(name, 0, -1));
+      if (locked.get()) {
+        lockService.unlock(name);
+      }
+    });
+    thread.start();
+    thread.join();
+    return locked.get();
+  }
 }
@@ -28,6 +28,10 @@ import java.util.Map;
 import org.junit.Test;
 
 import org.apache.geode.cache.CacheEvent;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.internal.cache.DistributedCacheOperation.CacheOperationMessage;
 import org.apache.geode.internal.cache.persistence.PersistentMemberID;
@@ -72,6 +76,69 @@ public class DistributedCacheOperationTest {
     assertTrue(operation.endOperationInvoked);
   }
 
+  @Test
+  public void replicatedEntryOperationIsMulticastWhenRecipientThresholdIsReached() {
+    DistributedRegion region = mockReplicatedRegion();
+    TestOperation operation = new TestOperation(mockEntryEvent(100));
+
+    assertThat(operation.shouldMulticastToReplicates(region, 10, 10, 1024)).isTrue();
+    assertThat(operation.shouldMulticastToReplicates(region, 9, 10, 1024)).isFalse();
+  }
+
+  @Test
+  public void multicastToReplicatesIsDisabledByDefault() {
+    DistributedRegion region = mockReplicatedRegion();
+    TestOperation operation = new TestOperation(mockEntryEvent(100));
+
+    assertThat(operation.shouldMulticastToReplicates(region, 60, 0, 1024)).isFalse();
+  }
+
+  @Test
+  public void largeValueIsNotMulticastToReplicates() {
+    DistributedRegion region = mockReplicatedRegion();
+    TestOperation operation = new TestOperation(mockEntryEvent(2048));
+
+    assertThat(operation.shouldMulticastToReplicates(region, 60, 10, 1024)).isFalse();
+  }
+
+  @Test
+  public void bucketOperationIsNotMulticastToReplicates() {
+    DistributedRegion region = mockReplicatedRegion();
+    when(region.isUsedForPartitionedRegionBucket()).thenReturn(true);
+    TestOperation operation = new TestOperation(mockEntryEvent(100));
+
+    assertThat(operation.shouldMulticastToReplicates(region, 60, 10, 1024)).isFalse();
+  }
+
+  @Test
+  public void stateFlushIncludesMulticastOfRegionsEnablingMulticast() {
+    DistributedRegion region = mockReplicatedRegion();
+    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    DistributionConfig config = mock(DistributionConfig.class);
+    when(region.getSystem()).thenReturn(system);
+    when(system.getConfig()).thenReturn(config);
+    when(region.getMulticastEnabled()).thenReturn(true);
+
+    assertThat(DistributedCacheOperation.mayMulticast(region)).isFalse();
+
+    when(config.getMcastPort()).thenReturn(10334);
+
+    assertThat(DistributedCacheOperation.mayMulticast(region)).isTrue();
+  }
+
+  private DistributedRegion mockReplicatedRegion() {
+    DistributedRegion region = mock(DistributedRegion.class);
+    when(region.getDataPolicy()).thenReturn(DataPolicy.REPLICATE);
+    return region;
+  }
+
+  private EntryEventImpl mockEntryEvent(int valueSize) {
+    EntryEventImpl event = mock(EntryEventImpl.class);
+    when(event.getOperation()).thenReturn(Operation.UPDATE);
+    when(event.getNewValSizeForPR()).thenReturn(valueSize);
+    return event;
+  }
+
   static class TestOperation extends DistributedCacheOperation {
     boolean endOperationInvoked;
     DistributedRegion region;
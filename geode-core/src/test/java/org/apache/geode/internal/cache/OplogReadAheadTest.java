@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.internal.cache.persistence.UninterruptibleRandomAccessFile;
+
+public class OplogReadAheadTest {
+
+  private static final int BLOCK_SIZE = 64;
+
+  private static final int FILE_LENGTH = 256;
+
+  private final DiskStoreStats stats = mock(DiskStoreStats.class);
+
+  private final OplogReadAhead readAhead = new OplogReadAhead(BLOCK_SIZE);
+
+  private UninterruptibleRandomAccessFile raf;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Before
+  public void setUp() throws Exception {
+    byte[] contents = new byte[FILE_LENGTH];
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = (byte) i;
+    }
+    File file = temporaryFolder.newFile("oplog.crf");
+    Files.write(file.toPath(), contents);
+    raf = new UninterruptibleRandomAccessFile(file, "r");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    raf.close();
+  }
+
+  @Test
+  public void readsTheBlockStartingAQuarterOfItsSizeBeforeTheValue() throws Exception {
+    assertThat(readAhead.read(raf, 100, 8, FILE_LENGTH, stats)).isEqualTo(expected(100, 8));
+    assertThat(readAhead.read(raf, 84, 8, FILE_LENGTH, stats)).isEqualTo(expected(84, 8));
+
+    verify(stats, times(1)).incOplogSeeks();
+    verify(stats, times(1)).incOplogReads();
+  }
+
+  @Test
+  public void valueEndingAtTheEdgeOfTheBlockIsReadFromTheBuffer() throws Exception {
+    readAhead.read(raf, 100, 8, FILE_LENGTH, stats);
+
+    assertThat(readAhead.read(raf, 140, 8, FILE_LENGTH, stats)).isEqualTo(expected(140, 8));
+
+    verify(stats, times(1)).incOplogSeeks();
+  }
+
+  @Test
+  public void valueCrossingTheEdgeOfTheBlockReadsTheNextBlock() throws Exception {
+    readAhead.read(raf, 100, 8, FILE_LENGTH, stats);
+
+    assertThat(readAhead.read(raf, 141, 8, FILE_LENGTH, stats)).isEqualTo(expected(141, 8));
+    assertThat(readAhead.read(raf, 125, 8, FILE_LENGTH, stats)).isEqualTo(expected(125, 8));
+
+    verify(stats, times(2)).incOplogSeeks();
+  }
+
+  @Test
+  public void valueBeforeTheBlockReadsTheBlockAroundIt() throws Exception {
+    readAhead.read(raf, 100, 8, FILE_LENGTH, stats);
+
+    assertThat(readAhead.read(raf, 83, 8, FILE_LENGTH, stats)).isEqualTo(expected(83, 8));
+
+    verify(stats, times(2)).incOplogSeeks();
+  }
+
+  @Test
+  public void blockDoesNotExtendPastTheWritePosition() throws Exception {
+    assertThat(readAhead.read(raf, 100, 8, 110, stats)).isEqualTo(expected(100, 8));
+    assertThat(readAhead.read(raf, 102, 8, 110, stats)).isEqualTo(expected(102, 8));
+
+    verify(stats, times(1)).incOplogSeeks();
+  }
+
+  @Test
+  public void blockEndingAtTheEndOfTheFileIsTruncated() throws Exception {
+    assertThat(readAhead.read(raf, FILE_LENGTH - 8, 8, FILE_LENGTH, stats))
+        .isEqualTo(expected(FILE_LENGTH - 8, 8));
+  }
+
+  @Test
+  public void valueAtTheStartOfTheFileStartsTheBlockThere() throws Exception {
+    assertThat(readAhead.read(raf, 4, 8, FILE_LENGTH, stats)).isEqualTo(expected(4, 8));
+    assertThat(readAhead.read(raf, 0, 4, FILE_LENGTH, stats)).isEqualTo(expected(0, 4));
+
+    verify(stats, times(1)).incOplogSeeks();
+  }
+
+  @Test
+  public void valuesUpToHalfTheBlockAreReadAhead() {
+    assertThat(readAhead.canRead(BLOCK_SIZE / 2)).isTrue();
+    assertThat(readAhead.canRead(BLOCK_SIZE / 2 + 1)).isFalse();
+  }
+
+  @Test
+  public void valuesAreNeverReadAheadWithASizeOfZero() {
+    OplogReadAhead disabled = new OplogReadAhead(0);
+
+    assertThat(disabled.canRead(0)).isFalse();
+    assertThat(disabled.canRead(1)).isFalse();
+  }
+
+  @Test
+  public void releaseDropsTheBlock() throws Exception {
+    readAhead.read(raf, 100, 8, FILE_LENGTH, stats);
+
+    readAhead.release();
+
+    assertThat(readAhead.read(raf, 100, 8, FILE_LENGTH, stats)).isEqualTo(expected(100, 8));
+    verify(stats, times(2)).incOplogSeeks();
+  }
+
+  private static byte[] expected(int offset, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (offset + i);
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.distributed.DistributedMember;
+
+public class StreamingResultCollectorTest {
+
+  private final DistributedMember member = mock(DistributedMember.class);
+
+  @Test
+  public void resultsAreReturnedInOrderUntilEndResults() {
+    StreamingResultCollector collector = new StreamingResultCollector(10);
+    collector.addResult(member, "one");
+    collector.addResult(member, "two");
+    collector.endResults();
+
+    List<Object> results = new ArrayList<>();
+    collector.getResult().forEachRemaining(results::add);
+
+    assertThat(results).containsExactly("one", "two");
+  }
+
+  @Test
+  public void addResultDoesNotWaitWhenWindowIsFull() throws Exception {
+    FunctionServiceStats stats = mock(FunctionServiceStats.class);
+    StreamingResultCollector collector = new StreamingResultCollector(2, stats);
+    Thread producer = new Thread(() -> {
+      for (int i = 0; i < 5; i++) {
+        collector.addResult(member, i);
+      }
+      collector.endResults();
+    });
+    producer.start();
+    producer.join();
+
+    assertThat(collector.getBufferedResultCount()).isEqualTo(5);
+    verify(stats, times(3)).incStreamingResultsOverWindow();
+
+    List<Object> results = new ArrayList<>();
+    collector.getResult().forEachRemaining(results::add);
+    assertThat(results).containsExactly(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  public void resultsWithinWindowAreNotCounted() {
+    FunctionServiceStats stats = mock(FunctionServiceStats.class);
+    StreamingResultCollector collector = new StreamingResultCollector(2, stats);
+    Iterator<Object> iterator = collector.getResult();
+    for (int i = 0; i < 5; i++) {
+      collector.addResult(member, i);
+      assertThat(iterator.next()).isEqualTo(i);
+    }
+
+    verify(stats, never()).incStreamingResultsOverWindow();
+  }
+
+  @Test
+  public void getResultWithTimeoutFailsWhenResultsDoNotEndInTime() {
+    StreamingResultCollector collector = new StreamingResultCollector(10);
+    collector.addResult(member, "one");
+
+    Iterator<Object> iterator = collector.getResult(10, TimeUnit.MILLISECONDS);
+    assertThat(iterator.next()).isEqualTo("one");
+    assertThatThrownBy(iterator::hasNext).isInstanceOf(FunctionException.class)
+        .hasMessage("All results not received in time provided");
+  }
+
+  @Test
+  public void exceptionIsThrownAfterBufferedResults() {
+    StreamingResultCollector collector = new StreamingResultCollector(10);
+    collector.addResult(member, "one");
+    collector.setException(new IllegalStateException("boom"));
+
+    Iterator<Object> iterator = collector.getResult();
+    assertThat(iterator.next()).isEqualTo("one");
+    assertThatThrownBy(iterator::hasNext).isInstanceOf(FunctionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void closeDropsBufferedAndFurtherResults() {
+    StreamingResultCollector collector = new StreamingResultCollector(1);
+    collector.addResult(member, "one");
+
+    collector.close();
+    collector.addResult(member, "two");
+
+    assertThat(collector.getResult().hasNext()).isFalse();
+  }
+
+  @Test
+  public void localResultCollectorReturnsIteratorBeforeResultsEnd() {
+    Function function = mock(Function.class);
+    AbstractExecution execution = mock(AbstractExecution.class);
+    StreamingResultCollector collector = new StreamingResultCollector(10);
+    LocalResultCollectorImpl localCollector =
+        new LocalResultCollectorImpl(function, collector, execution);
+
+    localCollector.addResult(member, "one");
+    Iterator<?> iterator = (Iterator<?>) localCollector.getResult();
+    assertThat(iterator.next()).isEqualTo("one");
+
+    localCollector.addResult(member, new IllegalStateException("boom"));
+    localCollector.endResults();
+    assertThatThrownBy(iterator::hasNext).isInstanceOf(FunctionException.class);
+  }
+
+  @Test
+  public void localResultCollectorIgnoresFailureWhenIgnoringDepartedMembers() {
+    Function function = mock(Function.class);
+    AbstractExecution execution = mock(AbstractExecution.class);
+    when(execution.isIgnoreDepartedMembers()).thenReturn(true);
+    StreamingResultCollector collector = new StreamingResultCollector(10);
+    LocalResultCollectorImpl localCollector =
+        new LocalResultCollectorImpl(function, collector, execution);
+
+    localCollector.addResult(member, new IllegalStateException("boom"));
+    localCollector.endResults();
+
+    Iterator<?> iterator = (Iterator<?>) localCollector.getResult();
+    assertThat(iterator.next()).isInstanceOf(IllegalStateException.class);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+}
@@ -133,6 +133,21 @@ public class RegionMapPutTest {
     verify(event, never()).setOldValue(not(same(oldValue)), eq(true));
   }
 
+  @Test
+  public void setsEventOldValueToOverflowedGatewaySenderEvent_ifRegionIsSerialGatewayQueue() {
+    givenExistingRegionEntry();
+    givenPutDoesNotNeedToDoCacheWrite();
+    when(internalRegion.isUsedForSerialGatewaySenderQueue()).thenReturn(true);
+
+    GatewaySenderEventImpl oldValue = new GatewaySenderEventImpl();
+    when(existingRegionEntry.getValueOffHeapOrDiskWithoutFaultIn(same(internalRegion)))
+        .thenReturn(oldValue);
+
+    doPut();
+
+    verify(event, times(1)).setOldValue(same(oldValue), eq(true));
+  }
+
   @Test
   public void doesNotSetEventOldValueIfRetriedPutIfAbsentOperation() {
     final byte[] bytes = new byte[] {1, 2, 3, 4, 5};
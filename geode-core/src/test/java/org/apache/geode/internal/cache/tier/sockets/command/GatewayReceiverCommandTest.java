@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.distributed.internal.DistributionManager;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.tier.CachedRegionHelper;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.CompactGatewayBatch;
+import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.pdx.PdxRegistryMismatchException;
+import org.apache.geode.pdx.internal.PdxType;
+import org.apache.geode.pdx.internal.PeerTypeRegistration;
+import org.apache.geode.pdx.internal.TypeRegistry;
+import org.apache.geode.test.junit.categories.WanTest;
+
+@Category({WanTest.class})
+@RunWith(JUnitParamsRunner.class)
+public class GatewayReceiverCommandTest {
+
+  private static final byte[] MEMBER = new byte[] {1, 2, 3, 4, 5, 6, 7, 8};
+
+  private static final String REGION_NAME = "/region";
+
+  private static final int APPLY_THREADS = 4;
+
+  private static final int CREATE = 0;
+
+  private static final int UPDATE = 1;
+
+  private final GatewayReceiverCommand command = new GatewayReceiverCommand(APPLY_THREADS);
+
+  private final List<GatewaySenderEventImpl> events = new ArrayList<>();
+
+  /** The values applied to each key, in the order they were applied in */
+  private final Map<String, List<Integer>> appliedValues = new ConcurrentHashMap<>();
+
+  /** The keys of the events applied and "pdx" for the PDX types, in the order they were applied */
+  private final List<Object> applied = Collections.synchronizedList(new ArrayList<>());
+
+  private final Set<String> applyThreadNames = ConcurrentHashMap.newKeySet();
+
+  private Message message;
+
+  private ServerConnection serverConnection;
+
+  private LocalRegion region;
+
+  private TypeRegistry pdxRegistry;
+
+  private Message replyMessage;
+
+  private Message errorMessage;
+
+  @Before
+  public void setUp() throws Exception {
+    region = mock(LocalRegion.class);
+    doAnswer(invocation -> {
+      String key = invocation.getArgument(0);
+      int value = ((byte[]) invocation.getArgument(1))[0];
+      appliedValues.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+          .add(value);
+      applied.add(key);
+      applyThreadNames.add(Thread.currentThread().getName());
+      return true;
+    }).when(region).basicBridgePut(any(), any(), any(), anyBoolean(), any(), any(), anyBoolean(),
+        any());
+
+    pdxRegistry = mock(TypeRegistry.class);
+    doAnswer(invocation -> applied.add("pdx")).when(pdxRegistry).addRemoteType(anyInt(), any());
+
+    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    when(system.getDistributionManager()).thenReturn(mock(DistributionManager.class));
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getRegion(anyString())).thenReturn(region);
+    when(cache.getPdxRegistry()).thenReturn(pdxRegistry);
+    when(cache.getDistributedSystem()).thenReturn(system);
+    CachedRegionHelper cachedRegionHelper = mock(CachedRegionHelper.class);
+    when(cachedRegionHelper.getCacheForGatewayCommand()).thenReturn(cache);
+
+    replyMessage = mock(Message.class);
+    errorMessage = mock(Message.class);
+    serverConnection = mock(ServerConnection.class);
+    when(serverConnection.getCachedRegionHelper()).thenReturn(cachedRegionHelper);
+    when(serverConnection.getCacheServerStats()).thenReturn(mock(GatewayReceiverStats.class));
+    when(serverConnection.getClientVersion()).thenReturn(Version.CURRENT);
+    when(serverConnection.getResponseMessage()).thenReturn(replyMessage);
+    when(serverConnection.getErrorResponseMessage()).thenReturn(errorMessage);
+
+    message = mock(Message.class);
+  }
+
+  @After
+  public void tearDown() {
+    command.shutdownExecutor();
+  }
+
+  @Test
+  @Parameters({"false", "true"})
+  public void eventsOfEachKeyAreAppliedInBatchOrder(boolean compact) throws Exception {
+    for (int value = 0; value < 10; value++) {
+      for (int key = 0; key < 8; key++) {
+        addUpdate("key" + key, value);
+      }
+    }
+
+    execute(compact);
+
+    assertThat(appliedValues).hasSize(8);
+    for (List<Integer> values : appliedValues.values()) {
+      assertThat(values).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+    assertThat(applyThreadNames).isNotEmpty()
+        .allMatch(name -> name.contains("GatewayReceiverApplier"));
+    verify(replyMessage).addIntPart(events.size());
+    verify(replyMessage).send(serverConnection);
+  }
+
+  @Test
+  @Parameters({"false", "true"})
+  public void pdxTypesAreRegisteredBeforeAnyEventIsApplied(boolean compact) throws Exception {
+    for (int key = 0; key < 8; key++) {
+      addUpdate("key" + key, 0);
+    }
+    addPdxType(1);
+    addPdxType(2);
+
+    execute(compact);
+
+    assertThat(applied).hasSize(10);
+    assertThat(applied.subList(0, 2)).containsExactly("pdx", "pdx");
+    verify(replyMessage).send(serverConnection);
+  }
+
+  @Test
+  @Parameters({"false", "true"})
+  public void batchExceptionsAreIndexedInEventOrderWithoutPdxTypes(boolean compact)
+      throws Exception {
+    addPdxType(1);
+    for (int key = 0; key < 16; key++) {
+      addUpdate("key" + key, 0);
+    }
+    doAnswer(invocation -> {
+      String key = invocation.getArgument(0);
+      if (Arrays.asList("key2", "key5", "key11", "key14").contains(key)) {
+        throw new IllegalStateException(key);
+      }
+      return true;
+    }).when(region).basicBridgePut(any(), any(), any(), anyBoolean(), any(), any(), anyBoolean(),
+        any());
+
+    execute(compact);
+
+    ArgumentCaptor<Object> exceptions = ArgumentCaptor.forClass(Object.class);
+    verify(errorMessage).addObjPart(exceptions.capture());
+    List<Integer> indexes = new ArrayList<>();
+    for (Object exception : (List<?>) exceptions.getValue()) {
+      indexes.add(((BatchException70) exception).getIndex());
+    }
+    assertThat(indexes).containsExactly(2, 5, 11, 14);
+    verify(replyMessage, never()).send(serverConnection);
+  }
+
+  @Test
+  public void fatalExceptionStopsTheSubBatchOfItsKey() throws Exception {
+    for (int value = 0; value < 5; value++) {
+      for (int key = 0; key < 8; key++) {
+        addUpdate("key" + key, value);
+      }
+    }
+    doAnswer(invocation -> {
+      String key = invocation.getArgument(0);
+      int value = ((byte[]) invocation.getArgument(1))[0];
+      if (key.equals("key3") && value == 1) {
+        throw new IllegalStateException(new PdxRegistryMismatchException("mismatch"));
+      }
+      applied.add(key + "=" + value);
+      return true;
+    }).when(region).basicBridgePut(any(), any(), any(), anyBoolean(), any(), any(), anyBoolean(),
+        any());
+
+    execute(false);
+
+    assertThat(applied).contains("key3=0").doesNotContain("key3=2", "key3=3", "key3=4");
+    ArgumentCaptor<Object> exception = ArgumentCaptor.forClass(Object.class);
+    verify(errorMessage).addObjPart(exception.capture());
+    assertThat(exception.getValue()).isInstanceOf(PdxRegistryMismatchException.class);
+    verify(replyMessage, never()).send(serverConnection);
+  }
+
+  @Test
+  public void fatalExceptionRegisteringAPdxTypeAppliesNoEvent() throws Exception {
+    for (int key = 0; key < 8; key++) {
+      addUpdate("key" + key, 0);
+    }
+    addPdxType(1);
+    doAnswer(invocation -> {
+      throw new IllegalStateException(new PdxRegistryMismatchException("mismatch"));
+    }).when(pdxRegistry).addRemoteType(anyInt(), any());
+
+    execute(false);
+
+    verify(region, never()).basicBridgePut(any(), any(), any(), anyBoolean(), any(), any(),
+        anyBoolean(), any());
+    ArgumentCaptor<Object> exception = ArgumentCaptor.forClass(Object.class);
+    verify(errorMessage).addObjPart(exception.capture());
+    assertThat(exception.getValue()).isInstanceOf(PdxRegistryMismatchException.class);
+  }
+
+  private void addUpdate(String key, int value) {
+    events.add(event(UPDATE, REGION_NAME, key, new byte[] {(byte) value}, (byte) 0x00));
+  }
+
+  private void addPdxType(int typeId) throws Exception {
+    events.add(event(CREATE, PeerTypeRegistration.REGION_FULL_PATH, typeId,
+        BlobHelper.serializeToBlob(new PdxType("Type" + typeId, false)), (byte) 0x01));
+  }
+
+  private GatewaySenderEventImpl event(int action, String regionPath, Object key, byte[] value,
+      byte valueIsObject) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getAction()).thenReturn(action);
+    when(event.getRegionPath()).thenReturn(regionPath);
+    when(event.getEventId()).thenReturn(new EventID(MEMBER, 1, events.size()));
+    when(event.getKey()).thenReturn(key);
+    when(event.getSerializedValue()).thenReturn(value);
+    when(event.getValueIsObject()).thenReturn(valueIsObject);
+    return event;
+  }
+
+  /**
+   * Receives the events in a batch sent in the form of a part per event field, or in compact form
+   */
+  private void execute(boolean compact) throws Exception {
+    byte[] compactForm = CompactGatewayBatch.toCompactForm(events);
+    List<Part> parts = new ArrayList<>();
+    parts.add(intPart(events.size()));
+    parts.add(intPart(1));
+    parts.add(intPart(2));
+    Part flagsPart = new Part();
+    if (compact) {
+      flagsPart.setPartState(new byte[] {1, CompactGatewayBatch.COMPACT_FORM}, false);
+      parts.add(flagsPart);
+      Part compactPart = new Part();
+      compactPart.setPartState(compactForm, false);
+      parts.add(compactPart);
+    } else {
+      flagsPart.setPartState(new byte[] {1}, false);
+      parts.add(flagsPart);
+      parts.addAll(Arrays.asList(CompactGatewayBatch.toParts(compactForm, events.size())));
+    }
+    when(message.getPart(anyInt()))
+        .thenAnswer(invocation -> parts.get((int) invocation.getArgument(0)));
+
+    command.cmdExecute(message, serverConnection, mock(SecurityService.class), 0);
+  }
+
+  private static Part intPart(int value) {
+    Part part = new Part();
+    part.setInt(value);
+    return part;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class AdaptiveBatchSizeTest {
+
+  private static final long ROUND_TRIP_TIME = 50_000_000L;
+
+  @Test
+  public void growsWhileTheQueueIsDeepAndRoundTripsAreSteady() {
+    AdaptiveBatchSize size = new AdaptiveBatchSize(80);
+
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+    assertThat(size.get()).isEqualTo(80);
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+    assertThat(size.get()).isEqualTo(90);
+
+    for (int i = 0; i < 100; i++) {
+      size.acknowledged(ROUND_TRIP_TIME, 10_000);
+    }
+    assertThat(size.get()).isEqualTo(80 * AdaptiveBatchSize.MAX_GROWTH_FACTOR);
+  }
+
+  @Test
+  public void doesNotGrowWhenTheQueueHoldsLessThanABatch() {
+    AdaptiveBatchSize size = new AdaptiveBatchSize(80);
+
+    for (int i = 0; i < 10; i++) {
+      size.acknowledged(ROUND_TRIP_TIME, 50);
+    }
+
+    assertThat(size.get()).isEqualTo(80);
+  }
+
+  @Test
+  public void isHalvedWhenRoundTripsRiseOrBatchesFail() {
+    AdaptiveBatchSize size = new AdaptiveBatchSize(80);
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+
+    size.acknowledged(3 * ROUND_TRIP_TIME, 10_000);
+    assertThat(size.get()).isEqualTo(40);
+
+    size.failed();
+    assertThat(size.get()).isEqualTo(Math.max(20, 80 / AdaptiveBatchSize.MAX_GROWTH_FACTOR));
+
+    for (int i = 0; i < 10; i++) {
+      size.failed();
+    }
+    assertThat(size.get()).isEqualTo(80 / AdaptiveBatchSize.MAX_GROWTH_FACTOR);
+  }
+
+  @Test
+  public void resetRestartsFromTheGivenBatchSize() {
+    AdaptiveBatchSize size = new AdaptiveBatchSize(80);
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+
+    size.reset(30);
+
+    assertThat(size.get()).isEqualTo(30);
+    size.acknowledged(ROUND_TRIP_TIME, 10_000);
+    assertThat(size.get()).isEqualTo(30);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.util.BlobHelper;
+
+public class CompactGatewayBatchTest {
+
+  private static final byte[] MEMBER = new byte[] {1, 2, 3, 4, 5, 6, 7, 8};
+
+  private static GatewaySenderEventImpl event(int action, String regionPath, EventID eventId,
+      Object key, byte[] value, GatewaySenderEventCallbackArgument callbackArg,
+      long versionTimeStamp) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getAction()).thenReturn(action);
+    when(event.getRegionPath()).thenReturn(regionPath);
+    when(event.getEventId()).thenReturn(eventId);
+    when(event.getKey()).thenReturn(key);
+    when(event.getSerializedValue()).thenReturn(value);
+    when(event.getValueIsObject()).thenReturn((byte) 0x01);
+    when(event.getSenderCallbackArgument()).thenReturn(callbackArg);
+    when(event.getVersionTimeStamp()).thenReturn(versionTimeStamp);
+    return event;
+  }
+
+  @Test
+  public void partsAreTheSameAsThoseOfEachEvent() throws Exception {
+    byte[] value = BlobHelper.serializeToBlob("value");
+    GatewaySenderEventCallbackArgument callbackArg = new GatewaySenderEventCallbackArgument("arg");
+    List<GatewaySenderEventImpl> events = Arrays.asList(
+        event(0, "/a", new EventID(MEMBER, 7, 100, 3), "key", value, null, 1000),
+        event(1, "/b", new EventID(MEMBER, 8, 5, -1), 42, value, callbackArg, 990),
+        event(2, "/a", new EventID(MEMBER, 7, 101, 3), "key", null, null, 1010));
+    when(events.get(1).getPossibleDuplicate()).thenReturn(true);
+
+    Part[] parts = CompactGatewayBatch.toParts(CompactGatewayBatch.toCompactForm(events), 3);
+
+    assertThat(parts).hasSize(8 + 9 + 7);
+    assertThat(parts[0].getInt()).isEqualTo(0);
+    assertThat((byte[]) parts[1].getObject()).isEqualTo(new byte[] {0x00});
+    assertThat(parts[2].getCachedString()).isEqualTo("/a");
+    assertThat(parts[3].getObject()).isEqualTo(new EventID(MEMBER, 7, 100, 3));
+    assertThat(parts[4].getStringOrObject()).isEqualTo("key");
+    assertThat(parts[5].isObject()).isTrue();
+    assertThat(parts[5].getSerializedForm()).isEqualTo(value);
+    assertThat((byte[]) parts[6].getObject()).isEqualTo(new byte[] {0x00});
+    assertThat(parts[7].getLong()).isEqualTo(1000);
+
+    assertThat(parts[8].getInt()).isEqualTo(1);
+    assertThat((byte[]) parts[9].getObject()).isEqualTo(new byte[] {0x01});
+    assertThat(parts[10].getCachedString()).isEqualTo("/b");
+    assertThat(parts[11].getObject()).isEqualTo(new EventID(MEMBER, 8, 5, -1));
+    assertThat(parts[12].getStringOrObject()).isEqualTo(42);
+    assertThat((byte[]) parts[14].getObject()).isEqualTo(new byte[] {0x01});
+    assertThat(parts[15].getObject()).isInstanceOf(GatewaySenderEventCallbackArgument.class);
+    assertThat(parts[16].getLong()).isEqualTo(990);
+
+    assertThat(parts[17].getInt()).isEqualTo(2);
+    assertThat(parts[19].getCachedString()).isEqualTo("/a");
+    EventID eventId = (EventID) parts[20].getObject();
+    assertThat(eventId.getSequenceID()).isEqualTo(101);
+    assertThat(eventId.getBucketID()).isEqualTo(3);
+    assertThat(parts[21].getStringOrObject()).isEqualTo("key");
+    assertThat((byte[]) parts[22].getObject()).isEqualTo(new byte[] {0x00});
+    assertThat(parts[23].getLong()).isEqualTo(1010);
+  }
+
+  @Test
+  public void largeBatchesAreCompressed() throws Exception {
+    byte[] value = BlobHelper.serializeToBlob(new String(new char[200]).replace('\0', 'v'));
+    List<GatewaySenderEventImpl> events = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      events.add(event(1, "/region", new EventID(MEMBER, 1, i), "key" + i, value, null, i));
+    }
+
+    byte[] compactForm = CompactGatewayBatch.toCompactForm(events);
+    Part[] parts = CompactGatewayBatch.toParts(compactForm, events.size());
+
+    assertThat(compactForm.length).isLessThan(value.length * events.size() / 4);
+    assertThat(parts).hasSize(8 * events.size());
+    assertThat(parts[8 * 99 + 3].getObject()).isEqualTo(new EventID(MEMBER, 1, 99));
+    assertThat(parts[8 * 99 + 5].getSerializedForm()).isEqualTo(value);
+  }
+
+  @Test
+  public void compactFormIsOnlySentToSitesUnderstandingIt() {
+    assertThat(CompactGatewayBatch.isSupportedBy(Version.CURRENT.ordinal())).isTrue();
+    assertThat(CompactGatewayBatch.isSupportedBy(Version.GEODE_1_10_0.ordinal())).isFalse();
+  }
+}
@@ -18,6 +18,7 @@ package org.apache.geode.internal.cache.wan;
 import static org.apache.geode.internal.cache.wan.GatewayReceiverStats.createGatewayReceiverStats;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -202,6 +203,23 @@ public class GatewayReceiverStatsTest {
     gatewayReceiverStats = null;
   }
 
+  @Test
+  public void endSubBatchApply_incrementsSubBatchesAppliedAndApplyTime() {
+    int subBatchesAppliedId = 44;
+    int subBatchApplyTimeId = 45;
+    when(statisticsType.nameToId("subBatchesApplied"))
+        .thenReturn(subBatchesAppliedId);
+    when(statisticsType.nameToId("subBatchApplyTime"))
+        .thenReturn(subBatchApplyTimeId);
+
+    gatewayReceiverStats = createGatewayReceiverStats(factory, ownerName, registry);
+
+    gatewayReceiverStats.endSubBatchApply(gatewayReceiverStats.startTime());
+
+    verify(statistics).incInt(subBatchesAppliedId, 1);
+    verify(statistics).incLong(eq(subBatchApplyTimeId), anyLong());
+  }
+
   private Meter meterNamed(String meterName) {
     return registry
         .find(meterName)
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.util.BlobHelper;
+
+public class GatewaySenderEventBatchTest {
+
+  private GatewaySenderEventBatch batch;
+
+  @Before
+  public void setUp() {
+    batch = new GatewaySenderEventBatch(mock(InternalCache.class));
+  }
+
+  private static GatewaySenderEventImpl event(String regionPath, Operation operation, Object key,
+      byte[] value, int bucketId) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getRegionPath()).thenReturn(regionPath);
+    when(event.getOperation()).thenReturn(operation);
+    when(event.getKey()).thenReturn(key);
+    when(event.getSerializedValue()).thenReturn(value);
+    when(event.getValueIsObject()).thenReturn((byte) 0x01);
+    when(event.getBucketId()).thenReturn(bucketId);
+    return event;
+  }
+
+  @Test
+  public void showsTheEventsOfTheBatch() throws Exception {
+    byte[] value = BlobHelper.serializeToBlob("value");
+    GatewaySenderEventImpl create = event("/a", Operation.CREATE, "key", value, 3);
+    GatewaySenderEventImpl destroy = event("/b", Operation.DESTROY, 7, null, 5);
+    when(destroy.getPossibleDuplicate()).thenReturn(true);
+
+    batch.reset(Arrays.asList(create, destroy));
+
+    assertThat(batch.size()).isEqualTo(2);
+    assertThat(batch.getRegionPath(0)).isEqualTo("/a");
+    assertThat(batch.getOperation(0)).isEqualTo(Operation.CREATE);
+    assertThat(batch.getKey(0)).isEqualTo("key");
+    assertThat(batch.getSerializedValue(0)).isEqualTo(value);
+    assertThat(batch.getBucketId(0)).isEqualTo(3);
+    assertThat(batch.getPossibleDuplicate(0)).isFalse();
+    assertThat(batch.getRegionPath(1)).isEqualTo("/b");
+    assertThat(batch.getOperation(1)).isEqualTo(Operation.DESTROY);
+    assertThat(batch.getKey(1)).isEqualTo(7);
+    assertThat(batch.getSerializedValue(1)).isNull();
+    assertThat(batch.getPossibleDuplicate(1)).isTrue();
+  }
+
+  @Test
+  public void valuesAreOnlyReadWhenAskedForAndOnce() throws Exception {
+    GatewaySenderEventImpl first = event("/a", Operation.UPDATE, 1,
+        BlobHelper.serializeToBlob("first"), 0);
+    GatewaySenderEventImpl second = event("/a", Operation.UPDATE, 2,
+        BlobHelper.serializeToBlob("second"), 0);
+
+    batch.reset(Arrays.asList(first, second));
+    batch.getSerializedValue(0);
+    batch.getSerializedValue(0);
+
+    verify(first, times(1)).getSerializedValue();
+    verify(second, never()).getSerializedValue();
+  }
+
+  @Test
+  public void fieldsOfValuesNotSerializedWithPdxAreNull() throws Exception {
+    batch.reset(Collections.singletonList(
+        event("/a", Operation.UPDATE, 1, BlobHelper.serializeToBlob("value"), 0)));
+
+    assertThat(batch.getValueField(0, "field")).isNull();
+  }
+
+  @Test
+  public void isReusedForTheNextBatch() throws Exception {
+    byte[] value = BlobHelper.serializeToBlob("value");
+    batch.reset(Arrays.asList(event("/a", Operation.CREATE, 1, value, 0),
+        event("/a", Operation.CREATE, 2, value, 0)));
+    batch.getSerializedValue(1);
+
+    batch.reset(Collections.singletonList(event("/b", Operation.UPDATE, 3, null, 0)));
+
+    assertThat(batch.size()).isEqualTo(1);
+    assertThat(batch.getKey(0)).isEqualTo(3);
+    assertThat(batch.getSerializedValue(0)).isNull();
+    assertThatThrownBy(() -> batch.getKey(1)).isInstanceOf(IndexOutOfBoundsException.class);
+
+    batch.clear();
+
+    assertThat(batch.size()).isZero();
+    assertThatThrownBy(() -> batch.getKey(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
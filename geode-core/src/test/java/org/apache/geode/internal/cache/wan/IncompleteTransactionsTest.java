@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.TransactionId;
+
+public class IncompleteTransactionsTest {
+
+  private final IncompleteTransactions incompleteTransactions = new IncompleteTransactions();
+
+  private static GatewaySenderEventImpl event(TransactionId transactionId, boolean last,
+      int bucketId) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getTransactionId()).thenReturn(transactionId);
+    when(event.isLastEventInTransaction()).thenReturn(last);
+    when(event.getBucketId()).thenReturn(bucketId);
+    return event;
+  }
+
+  @Test
+  public void eventsOutsideTransactionsAreComplete() {
+    incompleteTransactions.add(event(null, true, 0));
+
+    assertThat(incompleteTransactions.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void transactionIsIncompleteUntilItsLastEvent() {
+    TransactionId transactionId = mock(TransactionId.class);
+
+    incompleteTransactions.add(event(transactionId, false, 3));
+    incompleteTransactions.add(event(transactionId, false, 3));
+
+    assertThat(incompleteTransactions.isEmpty()).isFalse();
+    assertThat(incompleteTransactions.getBucketId()).isEqualTo(3);
+
+    incompleteTransactions.add(event(transactionId, true, 3));
+
+    assertThat(incompleteTransactions.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void removingABucketGivesUpOnItsTransactionsOnly() {
+    TransactionId first = mock(TransactionId.class);
+    TransactionId second = mock(TransactionId.class);
+    TransactionId third = mock(TransactionId.class);
+    incompleteTransactions.add(event(first, false, 1));
+    incompleteTransactions.add(event(second, false, 2));
+    incompleteTransactions.add(event(third, false, 1));
+
+    assertThat(incompleteTransactions.removeBucket(1)).isEqualTo(2);
+
+    assertThat(incompleteTransactions.getBucketId()).isEqualTo(2);
+    assertThat(incompleteTransactions.size()).isEqualTo(1);
+
+    assertThat(incompleteTransactions.removeBucket(2)).isEqualTo(1);
+
+    assertThat(incompleteTransactions.isEmpty()).isTrue();
+  }
+}
@@ -27,7 +27,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +45,9 @@ import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.ClusterDistributionManager;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.VersionedDataInputStream;
 import org.apache.geode.internal.cache.AbstractBucketRegionQueue;
 import org.apache.geode.internal.cache.BucketRegionQueue;
 import org.apache.geode.internal.cache.BucketRegionQueueHelper;
@@ -243,6 +249,35 @@ public class ParallelQueueRemovalMessageJUnitTest {
     assertEquals(0, this.bucketRegionQueue.size());
   }
 
+  @Test
+  public void dispatchedKeysAreWrittenAsRunsOfKeys() throws Exception {
+    List<Long> keys = Arrays.asList(85L, 198L, 311L, 424L, 1000L, 1113L, 2000L);
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+
+    ParallelQueueRemovalMessage.writeDispatchedKeys(keys, out);
+
+    // 3 runs of a first key, a step and a size
+    assertEquals(2 + 3 * 17, out.size());
+    assertEquals(keys, ParallelQueueRemovalMessage
+        .readDispatchedKeys(new DataInputStream(new ByteArrayInputStream(out.toByteArray()))));
+  }
+
+  @Test
+  public void dispatchedKeysAreSerializedForCurrentAndOlderMembers() throws Exception {
+    ParallelQueueRemovalMessage message =
+        new ParallelQueueRemovalMessage(createRegionToDispatchedKeysMap());
+
+    for (Version version : new Version[] {Version.CURRENT, Version.GEODE_1_10_0}) {
+      HeapDataOutputStream out = new HeapDataOutputStream(version);
+      message.toData(out);
+      ParallelQueueRemovalMessage received = new ParallelQueueRemovalMessage();
+      received.fromData(new VersionedDataInputStream(
+          new ByteArrayInputStream(out.toByteArray()), version));
+
+      assertEquals(createRegionToDispatchedKeysMap(), received.getRegionToDispatchedKeysMap());
+    }
+  }
+
   private void createAndProcessParallelQueueRemovalMessage() {
     ParallelQueueRemovalMessage message =
         new ParallelQueueRemovalMessage(createRegionToDispatchedKeysMap());
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.serial;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.internal.cache.RegionQueue;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
+
+public class SerialSecondaryGatewayListenerTest {
+
+  private AbstractGatewaySender sender;
+
+  private GatewaySenderStats stats;
+
+  private SerialGatewaySenderEventProcessor processor;
+
+  private SerialSecondaryGatewayListener listener;
+
+  @Before
+  public void setUp() {
+    sender = mock(AbstractGatewaySender.class);
+    stats = mock(GatewaySenderStats.class);
+    when(sender.getStatistics()).thenReturn(stats);
+    when(sender.getQueues()).thenReturn(Collections.singleton(mock(RegionQueue.class)));
+    processor = mock(SerialGatewaySenderEventProcessor.class);
+    when(processor.getSender()).thenReturn(sender);
+    listener = new SerialSecondaryGatewayListener(processor);
+  }
+
+  @Test
+  public void afterCreateCountsTheEventAndHandlesItAsUnprocessed() {
+    GatewaySenderEventImpl newEvent = mock(GatewaySenderEventImpl.class);
+
+    listener.afterCreate(entryEvent(null, newEvent));
+
+    verify(stats).incQueueSize();
+    verify(processor).handlePrimaryEvent(newEvent);
+  }
+
+  @Test
+  public void afterUpdateReplacesTheConflatedEventWithoutChangingTheQueueSize() {
+    GatewaySenderEventImpl oldEvent = mock(GatewaySenderEventImpl.class);
+    GatewaySenderEventImpl newEvent = mock(GatewaySenderEventImpl.class);
+
+    listener.afterUpdate(entryEvent(oldEvent, newEvent));
+
+    InOrder inOrder = inOrder(processor);
+    inOrder.verify(processor).handlePrimaryDestroy(oldEvent);
+    inOrder.verify(processor).handlePrimaryEvent(newEvent);
+    verify(stats, never()).incQueueSize();
+    verify(stats, never()).incQueueSize(anyInt());
+    verify(stats, never()).decQueueSize();
+    verify(stats, never()).decQueueSize(anyInt());
+  }
+
+  @Test
+  public void afterUpdateWithoutTheConflatedEventHandlesOnlyTheNewEvent() {
+    GatewaySenderEventImpl newEvent = mock(GatewaySenderEventImpl.class);
+
+    listener.afterUpdate(entryEvent(null, newEvent));
+
+    verify(processor, never()).handlePrimaryDestroy(any());
+    verify(processor).handlePrimaryEvent(newEvent);
+  }
+
+  @Test
+  public void afterUpdateIsIgnoredOnThePrimary() {
+    when(sender.isPrimary()).thenReturn(true);
+
+    listener.afterUpdate(
+        entryEvent(mock(GatewaySenderEventImpl.class), mock(GatewaySenderEventImpl.class)));
+
+    verify(processor, never()).handlePrimaryDestroy(any());
+    verify(processor, never()).handlePrimaryEvent(any());
+  }
+
+  private EntryEvent entryEvent(Object oldValue, Object newValue) {
+    EntryEvent event = mock(EntryEvent.class);
+    when(event.getOldValue()).thenReturn(oldValue);
+    when(event.getNewValue()).thenReturn(newValue);
+    return event;
+  }
+}
@@ -26,9 +26,12 @@ import static javax.net.ssl.SSLEngineResult.Status.OK;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -65,6 +68,7 @@ public class NioSslEngineTest {
   private static final int appBufferSize = 20000;
 
   private SSLEngine mockEngine;
+  private SSLSession mockSession;
   private DMStats mockStats;
   private NioSslEngine nioSslEngine;
   private NioSslEngine spyNioSslEngine;
@@ -73,7 +77,7 @@ public class NioSslEngineTest {
   public void setUp() throws Exception {
     mockEngine = mock(SSLEngine.class);
 
-    SSLSession mockSession = mock(SSLSession.class);
+    mockSession = mock(SSLSession.class);
     when(mockEngine.getSession()).thenReturn(mockSession);
     when(mockSession.getPacketBufferSize()).thenReturn(netBufferSize);
     when(mockSession.getApplicationBufferSize()).thenReturn(appBufferSize);
@@ -86,6 +90,39 @@ public class NioSslEngineTest {
 
   @Test
   public void handshake() throws Exception {
+    SocketChannel mockChannel = mockHandshakeChannel();
+    // the session was created before the handshake started, so it was resumed
+    when(mockSession.getCreationTime()).thenReturn(System.currentTimeMillis() - 60000);
+
+    spyNioSslEngine.handshake(mockChannel, 10000, ByteBuffer.allocate(netBufferSize / 2));
+    verify(mockEngine, atLeast(2)).getHandshakeStatus();
+    verify(mockEngine, times(3)).wrap(any(ByteBuffer.class), any(ByteBuffer.class));
+    verify(mockEngine, times(3)).unwrap(any(ByteBuffer.class), any(ByteBuffer.class));
+    verify(spyNioSslEngine, times(2)).expandWriteBuffer(any(BufferPool.BufferType.class),
+        any(ByteBuffer.class), any(Integer.class));
+    verify(spyNioSslEngine, times(1)).handleBlockingTasks();
+    verify(mockChannel, times(3)).read(any(ByteBuffer.class));
+    verify(mockStats, times(1)).endTlsHandshake(anyLong(), eq(true));
+    verify(mockStats, never()).endTlsHandshake(anyLong(), eq(false));
+  }
+
+  @Test
+  public void handshakeOfNewSessionIsNotCountedAsResumed() throws Exception {
+    SocketChannel mockChannel = mockHandshakeChannel();
+    // the session was created by this handshake, after it started
+    when(mockSession.getCreationTime()).thenReturn(System.currentTimeMillis() + 60000);
+
+    spyNioSslEngine.handshake(mockChannel, 10000, ByteBuffer.allocate(netBufferSize / 2));
+
+    verify(mockStats, times(1)).endTlsHandshake(anyLong(), eq(false));
+    verify(mockStats, never()).endTlsHandshake(anyLong(), eq(true));
+  }
+
+  /**
+   * Returns a channel for a handshake of interleaved wraps, unwraps and task executions that
+   * finishes
+   */
+  private SocketChannel mockHandshakeChannel() throws Exception {
     SocketChannel mockChannel = mock(SocketChannel.class);
     when(mockChannel.read(any(ByteBuffer.class))).thenReturn(100, 100, 100, 0);
     Socket mockSocket = mock(Socket.class);
@@ -108,15 +145,7 @@ public class NioSslEngineTest {
         new SSLEngineResult(OK, NEED_UNWRAP, 100, 100),
         new SSLEngineResult(BUFFER_OVERFLOW, NEED_WRAP, 0, 0),
         new SSLEngineResult(CLOSED, FINISHED, 100, 0));
-
-    spyNioSslEngine.handshake(mockChannel, 10000, ByteBuffer.allocate(netBufferSize / 2));
-    verify(mockEngine, atLeast(2)).getHandshakeStatus();
-    verify(mockEngine, times(3)).wrap(any(ByteBuffer.class), any(ByteBuffer.class));
-    verify(mockEngine, times(3)).unwrap(any(ByteBuffer.class), any(ByteBuffer.class));
-    verify(spyNioSslEngine, times(2)).expandWriteBuffer(any(BufferPool.BufferType.class),
-        any(ByteBuffer.class), any(Integer.class));
-    verify(spyNioSslEngine, times(1)).handleBlockingTasks();
-    verify(mockChannel, times(3)).read(any(ByteBuffer.class));
+    return mockChannel;
   }
 
   @Test
@@ -233,6 +262,46 @@ public class NioSslEngineTest {
     appData.flip();
     assertThat(wrappedBuffer).isEqualTo(appData);
     verify(spyNioSslEngine, times(1)).handleBlockingTasks();
+    verify(mockStats, times(1)).incTlsBytesEncrypted(appData.remaining());
+  }
+
+  @Test
+  public void wrapWithBufferOverflow() throws Exception {
+    ByteBuffer appData = ByteBuffer.allocate(100);
+    byte[] appBytes = new byte[appData.capacity()];
+    Arrays.fill(appBytes, (byte) 0x1F);
+    appData.put(appBytes);
+    appData.flip();
+
+    TestSSLEngine testEngine = new TestSSLEngine();
+    testEngine.addReturnResult(
+        new SSLEngineResult(BUFFER_OVERFLOW, NEED_WRAP, 0, 0),
+        new SSLEngineResult(OK, NOT_HANDSHAKING, appData.remaining(), appData.remaining()));
+    spyNioSslEngine.engine = testEngine;
+
+    ByteBuffer wrappedBuffer = spyNioSslEngine.wrap(appData);
+
+    verify(spyNioSslEngine, times(1)).expandWriteBuffer(any(BufferPool.BufferType.class),
+        any(ByteBuffer.class), any(Integer.class));
+    appData.flip();
+    assertThat(wrappedBuffer).isEqualTo(appData);
+  }
+
+  @Test
+  public void wrappedCapacityAccountsForEachRecord() {
+    // the mock session has no per-record overhead
+    assertThat(nioSslEngine.wrappedCapacity(0)).isEqualTo(0);
+    assertThat(nioSslEngine.wrappedCapacity(appBufferSize * 3)).isEqualTo(appBufferSize * 3);
+
+    SSLEngine engine = mock(SSLEngine.class);
+    SSLSession session = mock(SSLSession.class);
+    when(engine.getSession()).thenReturn(session);
+    when(session.getApplicationBufferSize()).thenReturn(16384);
+    when(session.getPacketBufferSize()).thenReturn(16709);
+    NioSslEngine tlsEngine = new NioSslEngine(engine, new BufferPool(mockStats));
+
+    assertThat(tlsEngine.wrappedCapacity(100)).isEqualTo(100 + 325);
+    assertThat(tlsEngine.wrappedCapacity(16384 * 2 + 1)).isEqualTo(16384 * 2 + 1 + 3 * 325);
   }
 
   @Test
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CustomEntryConcurrentHashMapTest {
+
+  @Test
+  public void slicesAreDisjointAndHoldAllValues() {
+    CustomEntryConcurrentHashMap<Integer, Integer> map =
+        new CustomEntryConcurrentHashMap<>(16, 0.75f, 16);
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, i);
+    }
+
+    List<Integer> values = new ArrayList<>();
+    for (int slice = 0; slice < 3; slice++) {
+      List<Integer> sliceValues = new ArrayList<>(map.valuesInSlice(slice, 3));
+      assertThat(sliceValues).hasSize(map.valuesInSlice(slice, 3).size());
+      values.addAll(sliceValues);
+    }
+
+    assertThat(values).hasSize(1000).containsExactlyInAnyOrderElementsOf(map.values());
+  }
+
+  @Test
+  public void slicesBeyondTheSegmentsAreEmpty() {
+    CustomEntryConcurrentHashMap<Integer, Integer> map =
+        new CustomEntryConcurrentHashMap<>(16, 0.75f, 2);
+    for (int i = 0; i < 100; i++) {
+      map.put(i, i);
+    }
+
+    assertThat(map.valuesInSlice(2, 4)).isEmpty();
+    assertThat(map.valuesInSlice(0, 4).size() + map.valuesInSlice(1, 4).size()).isEqualTo(100);
+  }
+}
@@ -201,6 +201,7 @@ public class CreateGatewaySenderCommandTest {
     assertThat(argsArgumentCaptor.getValue().getSocketBufferSize()).isNull();
     assertThat(argsArgumentCaptor.getValue().getSocketReadTimeout()).isNull();
     assertThat(argsArgumentCaptor.getValue().isBatchConflationEnabled()).isFalse();
+    assertThat(argsArgumentCaptor.getValue().isBatchConflationInPlace()).isFalse();
     assertThat(argsArgumentCaptor.getValue().getBatchSize()).isNull();
     assertThat(argsArgumentCaptor.getValue().getBatchTimeInterval()).isNull();
     assertThat(argsArgumentCaptor.getValue().getBatchSize()).isNull();
@@ -228,7 +229,8 @@ public class CreateGatewaySenderCommandTest {
             + " --manual-start"
             + " --disk-synchronous"
             + " --enable-persistence"
-            + " --enable-batch-conflation")
+            + " --enable-batch-conflation"
+            + " --batch-conflation-in-place")
         .statusIsSuccess();
     verify(command).executeAndGetFunctionResult(any(), argsArgumentCaptor.capture(), any());
 
@@ -239,6 +241,7 @@ public class CreateGatewaySenderCommandTest {
     assertThat(argsArgumentCaptor.getValue().isDiskSynchronous()).isTrue();
     assertThat(argsArgumentCaptor.getValue().isPersistenceEnabled()).isTrue();
     assertThat(argsArgumentCaptor.getValue().isBatchConflationEnabled()).isTrue();
+    assertThat(argsArgumentCaptor.getValue().isBatchConflationInPlace()).isTrue();
   }
 
   @Test
@@ -253,7 +256,8 @@ public class CreateGatewaySenderCommandTest {
             + " --manual-start=false"
             + " --disk-synchronous=false"
             + " --enable-persistence=false"
-            + " --enable-batch-conflation=false")
+            + " --enable-batch-conflation=false"
+            + " --batch-conflation-in-place=false")
         .statusIsSuccess();
     verify(command).executeAndGetFunctionResult(any(), argsArgumentCaptor.capture(), any());
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.CachedDeserializable;
+import org.apache.geode.test.junit.categories.SerializationTest;
+
+@Category({SerializationTest.class})
+public class PdxFieldMatcherTest {
+
+  private TypeRegistry registry;
+
+  private PdxType type;
+
+  @Before
+  public void setUp() {
+    registry = mock(TypeRegistry.class);
+    when(registry.defineLocalType(any(), any())).thenAnswer(invocation -> {
+      type = invocation.getArgument(1);
+      type.setTypeId(7);
+      return type;
+    });
+    when(registry.getType(anyInt())).thenAnswer(invocation -> type);
+  }
+
+  private CachedDeserializable serialize(int id, String name, String description, long count,
+      double price) {
+    PdxOutputStream out = new PdxOutputStream();
+    PdxWriterImpl writer =
+        new PdxWriterImpl(new PdxType("PdxFieldMatcherTest", false), registry, out);
+    writer.writeInt("id", id);
+    writer.writeString("name", name);
+    writer.writeString("description", description);
+    writer.writeLong("count", count);
+    writer.writeDouble("price", price);
+    writer.completeByteStreamGeneration();
+
+    CachedDeserializable value = mock(CachedDeserializable.class);
+    when(value.getValue()).thenReturn(out.toByteArray());
+    return value;
+  }
+
+  private boolean matches(String fieldName, Object constant, Object value) {
+    return new PdxFieldMatcher(registry, fieldName, constant).test(value);
+  }
+
+  @Test
+  public void fixedLengthFieldIsComparedInPlace() {
+    CachedDeserializable value = serialize(5, "a", "b", 10L, 1.0);
+
+    assertThat(matches("id", 5, value)).isTrue();
+    assertThat(matches("id", 6, value)).isFalse();
+    assertThat(matches("count", 10, value)).isTrue();
+    assertThat(matches("count", 11L, value)).isFalse();
+  }
+
+  @Test
+  public void variableLengthFieldsAreComparedInPlace() {
+    CachedDeserializable value = serialize(5, "apple", "red", 10L, 1.0);
+
+    assertThat(matches("name", "apple", value)).isTrue();
+    assertThat(matches("name", "app", value)).isFalse();
+    assertThat(matches("description", "red", value)).isTrue();
+    assertThat(matches("description", "green", value)).isFalse();
+  }
+
+  @Test
+  public void fieldsAreFoundWithWideOffsets() {
+    String longName = StringUtils.repeat('x', 300);
+    CachedDeserializable value = serialize(5, longName, "red", 10L, 1.0);
+
+    assertThat(matches("description", "red", value)).isTrue();
+    assertThat(matches("description", "blue", value)).isFalse();
+    assertThat(matches("count", 10L, value)).isTrue();
+    assertThat(matches("count", 9L, value)).isFalse();
+  }
+
+  @Test
+  public void undecidableValuesMightMatch() {
+    CachedDeserializable value = serialize(5, "apple", "red", 10L, 1.0);
+
+    assertThat(matches("missing", 1, value)).isTrue();
+    assertThat(matches("price", 2.0, value)).isTrue();
+    assertThat(matches("id", "5", value)).isTrue();
+    assertThat(matches("id", Long.MAX_VALUE, value)).isTrue();
+    assertThat(matches("id", 6, "not serialized")).isTrue();
+  }
+}
@@ -102,6 +102,13 @@ public class CqServiceImpl implements CqService {
   public static boolean EXECUTE_QUERY_DURING_INIT = Boolean.valueOf(System
       .getProperty(DistributionConfig.GEMFIRE_PREFIX + "cq.EXECUTE_QUERY_DURING_INIT", "true"));
 
+  /**
+   * System property to evaluate every CQ of a region on each of its events, instead of only the
+   * CQs whose indexed predicate may match the event.
+   */
+  public static boolean USE_PREDICATE_INDEX = !Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "cq.DISABLE_PREDICATE_INDEX");
+
   private static final String CQ_NAME_PREFIX = "GfCq";
 
   private final InternalCache cache;
@@ -1192,9 +1199,11 @@ public class CqServiceImpl implements CqService {
       // Use the PDX types in serialized form.
       Boolean initialPdxReadSerialized = this.cache.getPdxReadSerializedOverride();
       this.cache.setPdxReadSerializedOverride(true);
+      long start = this.stats.startCqEventMatch();
       try {
         processEntryEvent(event, localProfile, profiles, frInfo);
       } finally {
+        this.stats.endCqEventMatch(start);
         this.cache.setPdxReadSerializedOverride(initialPdxReadSerialized);
       }
     }
@@ -1310,12 +1319,17 @@ public class CqServiceImpl implements CqService {
         }
       }
 
+      Collection<?> candidateCqs = getCandidateCqs(pf, entryEvent, cqUnfilteredEventsSet_newValue,
+          opRequiringQueryOnOldValue);
+      if (candidateCqs.size() < cqs.size()) {
+        this.stats.incCqsSkippedByPredicateIndex(cqs.size() - candidateCqs.size());
+      }
+
       HashMap<Long, Integer> cqInfo = new HashMap<>();
-      Iterator cqIter = cqs.entrySet().iterator();
+      Iterator cqIter = candidateCqs.iterator();
 
       while (cqIter.hasNext()) {
-        Map.Entry cqEntry = (Map.Entry) cqIter.next();
-        ServerCQImpl cQuery = (ServerCQImpl) cqEntry.getValue();
+        ServerCQImpl cQuery = (ServerCQImpl) cqIter.next();
         b_cqResults_newValue = false;
         b_cqResults_oldValue = false;
         queryOldValue = false;
@@ -1492,6 +1506,29 @@ public class CqServiceImpl implements CqService {
     } // iteration over Profiles.
   }
 
+  /**
+   * Returns the CQs of a profile that may match the new or the old value of an entry event. All
+   * the CQs are returned when the old value of an event requiring it is not available, since the
+   * CQs holding the event key in their results are assumed to match the old value.
+   */
+  private Collection<?> getCandidateCqs(FilterProfile pf, EntryEvent event, Set<Object> newValues,
+      boolean opRequiringQueryOnOldValue) {
+    if (!USE_PREDICATE_INDEX) {
+      return pf.getCqMap().values();
+    }
+    List<Object> values = new ArrayList<>(newValues);
+    if (opRequiringQueryOnOldValue) {
+      Object oldValue = event.getOldValue();
+      if (oldValue == null || (!values.isEmpty() && values.get(0) == oldValue)) {
+        // Either unavailable, or the new value modified in place: the CQs holding the key in
+        // their results cannot be told apart
+        return pf.getCqMap().values();
+      }
+      values.add(oldValue);
+    }
+    return pf.getCqPredicateIndex().getCandidates(values, this.cache);
+  }
+
   private Integer generateCqRegionEvent(CacheEvent event) {
     Integer cqEvent = null;
     if (event.getOperation().isRegionDestroy()) {
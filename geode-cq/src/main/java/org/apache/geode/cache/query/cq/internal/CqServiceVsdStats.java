@@ -74,6 +74,15 @@ public class CqServiceVsdStats {
   /** Unique CQs, number of different CQ queries */
   private static final String UNIQUE_CQ_QUERY = "numUniqueCqQuery";
 
+  /** Entry events matched against the CQs */
+  private static final String CQ_EVENT_MATCHES = "cqEventMatches";
+
+  /** Time taken to match entry events against the CQs */
+  private static final String CQ_EVENT_MATCH_TIME = "cqEventMatchTime";
+
+  /** CQs not evaluated on an event since their indexed predicate cannot match it */
+  private static final String CQS_SKIPPED_BY_PREDICATE_INDEX = "numCqsSkippedByPredicateIndex";
+
   /** Id of the CQs created statistic */
   private static final int _numCqsCreatedId;
 
@@ -104,6 +113,15 @@ public class CqServiceVsdStats {
   /** Id for unique CQs, difference in CQ queries */
   private static final int _numUniqueCqQuery;
 
+  /** Id for the entry events matched against the CQs */
+  private static final int _cqEventMatchesId;
+
+  /** Id for the time taken to match entry events against the CQs */
+  private static final int _cqEventMatchTimeId;
+
+  /** Id for the CQs skipped by the predicate index */
+  private static final int _numCqsSkippedByPredicateIndexId;
+
   /*
    * Static initializer to create and initialize the <code>StatisticsType</code>
    */
@@ -126,6 +144,16 @@ public class CqServiceVsdStats {
             f.createIntGauge(CQ_QUERY_EXECUTION_IN_PROGRESS, "CQ Query Execution In Progress.",
                 "operations"),
             f.createIntGauge(UNIQUE_CQ_QUERY, "Number of Unique CQ Querys.", "Queries"),
+            f.createLongCounter(CQ_EVENT_MATCHES,
+                "Number of entry events matched against the CQs.", "operations"),
+            f.createLongCounter(CQ_EVENT_MATCH_TIME,
+                "Time taken to match entry events against the CQs, including the CQ query"
+                    + " executions. Divided by cqEventMatches, the cost of matching an update.",
+                "nanoseconds"),
+            f.createLongCounter(CQS_SKIPPED_BY_PREDICATE_INDEX,
+                "Number of CQs not evaluated on an entry event since their indexed predicate could"
+                    + " not match it.",
+                "operations"),
 
         });
 
@@ -140,6 +168,9 @@ public class CqServiceVsdStats {
     _cqQueryExecutionsCompletedId = _type.nameToId(CQ_QUERY_EXECUTIONS_COMPLETED);
     _cqQueryExecutionInProgressId = _type.nameToId(CQ_QUERY_EXECUTION_IN_PROGRESS);
     _numUniqueCqQuery = _type.nameToId(UNIQUE_CQ_QUERY);
+    _cqEventMatchesId = _type.nameToId(CQ_EVENT_MATCHES);
+    _cqEventMatchTimeId = _type.nameToId(CQ_EVENT_MATCH_TIME);
+    _numCqsSkippedByPredicateIndexId = _type.nameToId(CQS_SKIPPED_BY_PREDICATE_INDEX);
   }
 
   /** The <code>Statistics</code> instance to which most behavior is delegated */
@@ -315,6 +346,51 @@ public class CqServiceVsdStats {
     return this._stats.getLong(_cqQueryExecutionTimeId);
   }
 
+  /**
+   * Start matching an entry event against the CQs.
+   */
+  long startCqEventMatch() {
+    return NanoTimer.getTime();
+  }
+
+  /**
+   * End matching an entry event against the CQs.
+   *
+   * @param start long time value.
+   */
+  void endCqEventMatch(long start) {
+    this._stats.incLong(_cqEventMatchTimeId, NanoTimer.getTime() - start);
+    this._stats.incLong(_cqEventMatchesId, 1);
+  }
+
+  /**
+   * Returns the number of entry events matched against the CQs.
+   */
+  public long getCqEventMatches() {
+    return this._stats.getLong(_cqEventMatchesId);
+  }
+
+  /**
+   * Returns the total time spent matching entry events against the CQs.
+   */
+  public long getCqEventMatchTime() {
+    return this._stats.getLong(_cqEventMatchTimeId);
+  }
+
+  /**
+   * Increments the number of CQs skipped by the predicate index.
+   */
+  void incCqsSkippedByPredicateIndex(long count) {
+    this._stats.incLong(_numCqsSkippedByPredicateIndexId, count);
+  }
+
+  /**
+   * Returns the number of CQs skipped by the predicate index.
+   */
+  public long getNumCqsSkippedByPredicateIndex() {
+    return this._stats.getLong(_numCqsSkippedByPredicateIndexId);
+  }
+
   /**
    * Increments number of Unique queries.
    */
@@ -2547,6 +2547,7 @@ public class CacheConfig {
    *       &lt;attribute name="socket-buffer-size" type="{http://www.w3.org/2001/XMLSchema}string" />
    *       &lt;attribute name="socket-read-timeout" type="{http://www.w3.org/2001/XMLSchema}string" />
    *       &lt;attribute name="enable-batch-conflation" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+   *       &lt;attribute name="batch-conflation-in-place" type="{http://www.w3.org/2001/XMLSchema}boolean" />
    *       &lt;attribute name="batch-size" type="{http://www.w3.org/2001/XMLSchema}string" />
    *       &lt;attribute name="batch-time-interval" type="{http://www.w3.org/2001/XMLSchema}string" />
    *       &lt;attribute name="enable-persistence" type="{http://www.w3.org/2001/XMLSchema}boolean" />
@@ -2590,6 +2591,8 @@ public class CacheConfig {
     protected String socketReadTimeout;
     @XmlAttribute(name = "enable-batch-conflation")
     protected Boolean enableBatchConflation;
+    @XmlAttribute(name = "batch-conflation-in-place")
+    protected Boolean batchConflationInPlace;
     @XmlAttribute(name = "batch-size")
     protected String batchSize;
     @XmlAttribute(name = "batch-time-interval")
@@ -2845,6 +2848,28 @@ public class CacheConfig {
       this.enableBatchConflation = value;
     }
 
+    /**
+     * Gets the value of the batchConflationInPlace property.
+     *
+     * possible object is
+     * {@link Boolean }
+     *
+     */
+    public Boolean isBatchConflationInPlace() {
+      return batchConflationInPlace;
+    }
+
+    /**
+     * Sets the value of the batchConflationInPlace property.
+     *
+     * allowed object is
+     * {@link Boolean }
+     *
+     */
+    public void setBatchConflationInPlace(Boolean value) {
+      this.batchConflationInPlace = value;
+    }
+
     /**
      * Gets the value of the batchSize property.
      *
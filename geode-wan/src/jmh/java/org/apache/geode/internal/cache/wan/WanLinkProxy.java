@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A TCP proxy standing for the WAN link between the gateway senders of a site and the gateway
+ * receiver of another site. It counts the bytes going through it in each direction, and can delay
+ * them by a one-way latency and limit the bandwidth of each direction of each connection.
+ */
+class WanLinkProxy implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final ServerSocket serverSocket;
+
+  private final InetSocketAddress target;
+
+  private final long latencyNanos;
+
+  private final long bytesPerSecond;
+
+  private final AtomicLong bytesToReceiver = new AtomicLong();
+
+  private final AtomicLong bytesFromReceiver = new AtomicLong();
+
+  private final Queue<Socket> sockets = new ConcurrentLinkedQueue<>();
+
+  private volatile boolean closed;
+
+  /**
+   * @param latencyMillis the one-way latency added to the link, or 0
+   * @param bytesPerSecond the bandwidth of each direction of each connection, or 0 for unlimited
+   */
+  WanLinkProxy(InetSocketAddress address, InetSocketAddress target, long latencyMillis,
+      long bytesPerSecond) throws IOException {
+    this.serverSocket = new ServerSocket();
+    this.serverSocket.setReuseAddress(true);
+    this.serverSocket.bind(address);
+    this.target = target;
+    this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    this.bytesPerSecond = bytesPerSecond;
+    startThread("WanLinkProxy acceptor " + address, this::accept);
+  }
+
+  long getAndResetBytesToReceiver() {
+    return this.bytesToReceiver.getAndSet(0);
+  }
+
+  long getAndResetBytesFromReceiver() {
+    return this.bytesFromReceiver.getAndSet(0);
+  }
+
+  private void accept() {
+    while (!this.closed) {
+      try {
+        Socket sender = this.serverSocket.accept();
+        Socket receiver = new Socket();
+        this.sockets.add(sender);
+        this.sockets.add(receiver);
+        receiver.setTcpNoDelay(true);
+        sender.setTcpNoDelay(true);
+        receiver.connect(this.target);
+        forward(sender, receiver, this.bytesToReceiver);
+        forward(receiver, sender, this.bytesFromReceiver);
+      } catch (IOException e) {
+        if (!this.closed) {
+          System.err.println("WanLinkProxy failed to accept a connection: " + e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Forwards the bytes read from one socket to the other with a reader thread and a writer thread,
+   * the writer holding the bytes back until their latency has elapsed and the bandwidth allows it
+   */
+  private void forward(Socket from, Socket to, AtomicLong bytes) {
+    BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<>();
+    startThread("WanLinkProxy reader " + from.getRemoteSocketAddress(), () -> {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try {
+        // the writer closes the sockets once it has written the bytes read
+        InputStream in = from.getInputStream();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          bytes.addAndGet(read);
+          chunks.put(new Chunk(System.nanoTime() + this.latencyNanos,
+              Arrays.copyOf(buffer, read)));
+        }
+      } catch (IOException | InterruptedException e) {
+        // the connection was closed
+      } finally {
+        chunks.add(Chunk.END);
+      }
+    });
+    startThread("WanLinkProxy writer " + to.getRemoteSocketAddress(), () -> {
+      long nextSendTime = System.nanoTime();
+      try (OutputStream out = to.getOutputStream()) {
+        for (Chunk chunk = chunks.take(); chunk != Chunk.END; chunk = chunks.take()) {
+          long sendTime = Math.max(chunk.dueTime, nextSendTime);
+          sleepUntil(sendTime);
+          out.write(chunk.bytes);
+          out.flush();
+          if (this.bytesPerSecond > 0) {
+            nextSendTime = sendTime
+                + TimeUnit.SECONDS.toNanos(chunk.bytes.length) / this.bytesPerSecond;
+          }
+        }
+      } catch (IOException | InterruptedException e) {
+        // the connection was closed
+      } finally {
+        closeQuietly(from);
+        closeQuietly(to);
+      }
+    });
+  }
+
+  private static void sleepUntil(long time) throws InterruptedException {
+    long delay = time - System.nanoTime();
+    if (delay > 0) {
+      TimeUnit.NANOSECONDS.sleep(delay);
+    }
+  }
+
+  private static void startThread(String name, Runnable runnable) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException ignore) {
+      // already closed
+    }
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    try {
+      this.serverSocket.close();
+    } catch (IOException ignore) {
+      // already closed
+    }
+    for (Socket socket = this.sockets.poll(); socket != null; socket = this.sockets.poll()) {
+      closeQuietly(socket);
+    }
+  }
+
+  private static class Chunk {
+    static final Chunk END = new Chunk(0, new byte[0]);
+
+    final long dueTime;
+
+    final byte[] bytes;
+
+    Chunk(long dueTime, byte[] bytes) {
+      this.dueTime = dueTime;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.apache.geode.distributed.ConfigurationProperties.DISTRIBUTED_SYSTEM_ID;
+import static org.apache.geode.distributed.ConfigurationProperties.ENABLE_CLUSTER_CONFIGURATION;
+import static org.apache.geode.distributed.ConfigurationProperties.JMX_MANAGER;
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.REMOTE_LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.START_LOCATOR;
+import static org.apache.geode.distributed.ConfigurationProperties.USE_CLUSTER_CONFIGURATION;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.CacheTransactionManager;
+import org.apache.geode.cache.CommitConflictException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionFactory;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.wan.GatewaySender;
+import org.apache.geode.internal.AvailablePort;
+
+/**
+ * This benchmark measures the end-to-end throughput and latency of WAN replication from a site
+ * running in the benchmark JVM to one or more {@link WanSite}s, each running in its own JVM on the
+ * same host. Each remote site has a gateway sender on the local site, connecting to the remote
+ * receiver through a {@link WanLinkProxy} which counts the bytes on the wire and can simulate the
+ * latency and bandwidth of a WAN link.
+ *
+ * The benchmark puts into a region replicated to every remote site, holding back while the queue
+ * of a sender is deeper than maxQueueDepth, so the put rate follows the replication rate once the
+ * queues have filled up. After each iteration, this site prints the depth of the sender queues and
+ * the bytes sent to and received from each remote site, and each remote site prints the events it
+ * received, their rate and their replication lag percentiles.
+ *
+ * The receivers bind to 127.0.0.2, with their proxies listening on 127.0.0.1, which works as is on
+ * Linux. Other platforms need 127.0.0.2 to be added as a loopback alias.
+ *
+ * Workloads are chosen with the JMH parameters, for example:
+ * <code>-p senderType=parallel -p transactionSize=10 -p latencyMillis=40</code>.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+public class WanReplicationBenchmark {
+
+  static final String LOOPBACK = "127.0.0.1";
+
+  private static final String RECEIVER_BIND_ADDRESS = "127.0.0.2";
+
+  private static final int LOCAL_SITE_ID = 1;
+
+  private static final long SITE_START_TIMEOUT_SECONDS = 120;
+
+  @Param({"serial", "parallel"})
+  public String senderType;
+
+  @Param({"1"})
+  public int remoteSites;
+
+  /**
+   * uniform, or hotspot to put 80% of the time to 1% of the keys
+   */
+  @Param({"uniform", "hotspot"})
+  public String keyDistribution;
+
+  @Param({"100000"})
+  public int keys;
+
+  @Param({"1000"})
+  public int valueSize;
+
+  /**
+   * The number of puts of each transaction, or 0 to put without transactions
+   */
+  @Param({"0"})
+  public int transactionSize;
+
+  /**
+   * The one-way latency of each WAN link
+   */
+  @Param({"0"})
+  public long latencyMillis;
+
+  /**
+   * The bandwidth of each direction of each connection of a WAN link, or 0 for unlimited
+   */
+  @Param({"0"})
+  public long bandwidthKilobytesPerSecond;
+
+  @Param({"10000"})
+  public int maxQueueDepth;
+
+  private final List<RemoteSite> sites = new ArrayList<>();
+
+  private final List<GatewaySenderStats> senderStats = new ArrayList<>();
+
+  private final AtomicInteger maxObservedQueueDepth = new AtomicInteger();
+
+  private ScheduledExecutorService queueDepthSampler;
+
+  private Cache cache;
+
+  private Region<Object, byte[]> region;
+
+  private CacheTransactionManager transactionManager;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    int localLocatorPort = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+    StringBuilder remoteLocators = new StringBuilder();
+    for (int i = 0; i < this.remoteSites; i++) {
+      RemoteSite site = new RemoteSite(LOCAL_SITE_ID + 1 + i);
+      this.sites.add(site);
+      remoteLocators.append(remoteLocators.length() == 0 ? "" : ",").append("localhost[")
+          .append(site.locatorPort).append("]");
+    }
+
+    Properties properties = new Properties();
+    properties.setProperty(MCAST_PORT, "0");
+    properties.setProperty(LOCATORS, "localhost[" + localLocatorPort + "]");
+    properties.setProperty(START_LOCATOR, "localhost[" + localLocatorPort + "]");
+    properties.setProperty(DISTRIBUTED_SYSTEM_ID, String.valueOf(LOCAL_SITE_ID));
+    properties.setProperty(REMOTE_LOCATORS, remoteLocators.toString());
+    properties.setProperty(JMX_MANAGER, "false");
+    properties.setProperty(ENABLE_CLUSTER_CONFIGURATION, "false");
+    properties.setProperty(USE_CLUSTER_CONFIGURATION, "false");
+    properties.setProperty(LOG_LEVEL, "warn");
+    this.cache = new CacheFactory(properties).create();
+
+    for (RemoteSite site : this.sites) {
+      site.start("localhost[" + localLocatorPort + "]");
+    }
+
+    boolean parallel = this.senderType.equals("parallel");
+    RegionFactory<Object, byte[]> regionFactory = this.cache
+        .createRegionFactory(parallel ? RegionShortcut.PARTITION : RegionShortcut.REPLICATE);
+    for (RemoteSite site : this.sites) {
+      GatewaySender sender = this.cache.createGatewaySenderFactory().setParallel(parallel)
+          .create("sender-" + site.siteId, site.siteId);
+      this.senderStats.add(((AbstractGatewaySender) sender).getStatistics());
+      regionFactory.addGatewaySenderId(sender.getId());
+    }
+    this.region = regionFactory.create(WanSite.REGION_NAME);
+    this.transactionManager = this.cache.getCacheTransactionManager();
+
+    this.queueDepthSampler = Executors.newSingleThreadScheduledExecutor();
+    this.queueDepthSampler.scheduleAtFixedRate(
+        () -> this.maxObservedQueueDepth.accumulateAndGet(getMaxQueueDepth(), Math::max), 100, 100,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @TearDown(Level.Iteration)
+  public void report() throws Exception {
+    StringBuilder report = new StringBuilder(WanSite.REPORT_PREFIX).append(LOCAL_SITE_ID)
+        .append(": queue depth ").append(getMaxQueueDepth()).append(", max ")
+        .append(this.maxObservedQueueDepth.getAndSet(0));
+    for (RemoteSite site : this.sites) {
+      report.append(", bytes to site ").append(site.siteId).append(" ")
+          .append(site.proxy.getAndResetBytesToReceiver()).append(", from site ")
+          .append(site.siteId).append(" ").append(site.proxy.getAndResetBytesFromReceiver());
+    }
+    System.out.println();
+    System.out.println(report);
+    for (RemoteSite site : this.sites) {
+      System.out.println(site.report());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    this.queueDepthSampler.shutdownNow();
+    this.cache.close();
+    for (RemoteSite site : this.sites) {
+      site.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private final Random random = new Random();
+
+    Object nextKey(WanReplicationBenchmark benchmark) {
+      int keys = benchmark.keys;
+      if (benchmark.keyDistribution.equals("hotspot") && this.random.nextInt(100) < 80) {
+        keys = Math.max(1, keys / 100);
+      }
+      return this.random.nextInt(keys);
+    }
+
+    byte[] nextValue(WanReplicationBenchmark benchmark) {
+      byte[] value = new byte[Math.max(Long.BYTES, benchmark.valueSize)];
+      ByteBuffer.wrap(value).putLong(0, System.currentTimeMillis());
+      return value;
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 5, time = 20)
+  @Warmup(iterations = 2, time = 20)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void put(ThreadState state) {
+    while (getMaxQueueDepth() > this.maxQueueDepth) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    if (this.transactionSize == 0) {
+      this.region.put(state.nextKey(this), state.nextValue(this));
+      return;
+    }
+    this.transactionManager.begin();
+    try {
+      for (int i = 0; i < this.transactionSize; i++) {
+        this.region.put(state.nextKey(this), state.nextValue(this));
+      }
+      this.transactionManager.commit();
+    } catch (CommitConflictException ignore) {
+      // another thread updated one of the keys
+    } finally {
+      if (this.transactionManager.exists()) {
+        this.transactionManager.rollback();
+      }
+    }
+  }
+
+  private int getMaxQueueDepth() {
+    int depth = 0;
+    for (GatewaySenderStats stats : this.senderStats) {
+      depth = Math.max(depth, stats.getEventQueueSize());
+    }
+    return depth;
+  }
+
+  /**
+   * A {@link WanSite} run in a child JVM, and the proxy of the link to its receiver
+   */
+  private class RemoteSite {
+    final int siteId;
+
+    final int locatorPort = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+
+    private final BlockingQueue<String> reports = new LinkedBlockingQueue<>();
+
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    private Process process;
+
+    private PrintWriter commands;
+
+    private WanLinkProxy proxy;
+
+    RemoteSite(int siteId) {
+      this.siteId = siteId;
+    }
+
+    void start(String remoteLocators) throws Exception {
+      int receiverPort = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+      this.process = new ProcessBuilder(
+          System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+          "-cp", System.getProperty("java.class.path"), WanSite.class.getName(),
+          String.valueOf(this.siteId), String.valueOf(this.locatorPort),
+          String.valueOf(receiverPort), RECEIVER_BIND_ADDRESS, remoteLocators)
+              .redirectErrorStream(true).start();
+      this.commands = new PrintWriter(this.process.getOutputStream(), true);
+      Thread output = new Thread(this::readOutput, "WanSite " + this.siteId + " output");
+      output.setDaemon(true);
+      output.start();
+      if (!this.ready.await(SITE_START_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Site " + this.siteId + " did not start");
+      }
+      this.proxy = new WanLinkProxy(new InetSocketAddress(LOOPBACK, receiverPort),
+          new InetSocketAddress(RECEIVER_BIND_ADDRESS, receiverPort),
+          WanReplicationBenchmark.this.latencyMillis,
+          WanReplicationBenchmark.this.bandwidthKilobytesPerSecond * 1024);
+    }
+
+    private void readOutput() {
+      try (BufferedReader in =
+          new BufferedReader(new InputStreamReader(this.process.getInputStream()))) {
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+          if (line.equals(WanSite.READY)) {
+            this.ready.countDown();
+          } else if (line.startsWith(WanSite.REPORT_PREFIX)) {
+            this.reports.add(line);
+          } else {
+            System.out.println("[site " + this.siteId + "] " + line);
+          }
+        }
+      } catch (IOException ignore) {
+        // the site exited
+      }
+    }
+
+    String report() throws InterruptedException {
+      this.commands.println(WanSite.REPORT);
+      String report = this.reports.poll(SITE_START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      return report == null ? "Site " + this.siteId + " did not report" : report;
+    }
+
+    void close() throws InterruptedException {
+      this.commands.println(WanSite.EXIT);
+      if (!this.process.waitFor(SITE_START_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        this.process.destroyForcibly();
+      }
+      if (this.proxy != null) {
+        this.proxy.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.apache.geode.distributed.ConfigurationProperties.DISTRIBUTED_SYSTEM_ID;
+import static org.apache.geode.distributed.ConfigurationProperties.ENABLE_CLUSTER_CONFIGURATION;
+import static org.apache.geode.distributed.ConfigurationProperties.JMX_MANAGER;
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.REMOTE_LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.START_LOCATOR;
+import static org.apache.geode.distributed.ConfigurationProperties.USE_CLUSTER_CONFIGURATION;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+
+/**
+ * A site receiving the events of {@link WanReplicationBenchmark}, run in its own JVM since a JVM
+ * has only one cache. The site starts its locator, the benchmark region and a gateway receiver,
+ * prints {@link #READY}, then prints a report of the events it received each time it reads
+ * {@link #REPORT} on its standard input. It closes its cache when it reads {@link #EXIT} or the
+ * end of its standard input.
+ *
+ * The values of the benchmark region start with the time they were put at, so the site measures
+ * the replication lag of each event it receives. The sites all run on the same host, so they share
+ * the same clock.
+ */
+public class WanSite {
+
+  static final String REGION_NAME = "wanBenchmark";
+
+  static final String READY = "ready";
+
+  static final String REPORT = "report";
+
+  static final String EXIT = "exit";
+
+  static final String REPORT_PREFIX = "Site ";
+
+  /**
+   * Arguments: the distributed system id of the site, the port of its locator, the port of its
+   * receiver, the address the receiver binds to and the remote locators of the site.
+   */
+  public static void main(String[] args) throws Exception {
+    int siteId = Integer.parseInt(args[0]);
+    int locatorPort = Integer.parseInt(args[1]);
+    int receiverPort = Integer.parseInt(args[2]);
+    String receiverBindAddress = args[3];
+    String remoteLocators = args[4];
+
+    Properties properties = new Properties();
+    properties.setProperty(MCAST_PORT, "0");
+    properties.setProperty(LOCATORS, "localhost[" + locatorPort + "]");
+    properties.setProperty(START_LOCATOR, "localhost[" + locatorPort + "]");
+    properties.setProperty(DISTRIBUTED_SYSTEM_ID, String.valueOf(siteId));
+    properties.setProperty(REMOTE_LOCATORS, remoteLocators);
+    properties.setProperty(JMX_MANAGER, "false");
+    properties.setProperty(ENABLE_CLUSTER_CONFIGURATION, "false");
+    properties.setProperty(USE_CLUSTER_CONFIGURATION, "false");
+    properties.setProperty(LOG_LEVEL, "warn");
+    Cache cache = new CacheFactory(properties).create();
+
+    LagRecorder recorder = new LagRecorder();
+    cache.<Object, byte[]>createRegionFactory(RegionShortcut.REPLICATE).addCacheListener(recorder)
+        .create(REGION_NAME);
+    // The senders connect to the receiver through the WanLinkProxy listening on the same port of
+    // the loopback address
+    cache.createGatewayReceiverFactory().setStartPort(receiverPort).setEndPort(receiverPort)
+        .setBindAddress(receiverBindAddress).setHostnameForSenders(WanReplicationBenchmark.LOOPBACK)
+        .create();
+    System.out.println(READY);
+
+    BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+    for (String line = in.readLine(); line != null && !line.equals(EXIT); line = in.readLine()) {
+      if (line.equals(REPORT)) {
+        System.out.println(REPORT_PREFIX + siteId + ": " + recorder.report());
+      }
+    }
+    cache.close();
+  }
+
+  /**
+   * Records the number of events received and a histogram of their replication lags in
+   * milliseconds
+   */
+  static class LagRecorder extends CacheListenerAdapter<Object, byte[]> {
+
+    private static final int MAX_LAG_MILLIS = 60_000;
+
+    private final AtomicLongArray lagCounts = new AtomicLongArray(MAX_LAG_MILLIS + 1);
+
+    private long startTime = System.nanoTime();
+
+    @Override
+    public void afterCreate(EntryEvent<Object, byte[]> event) {
+      record(event.getNewValue());
+    }
+
+    @Override
+    public void afterUpdate(EntryEvent<Object, byte[]> event) {
+      record(event.getNewValue());
+    }
+
+    private void record(byte[] value) {
+      long lag = System.currentTimeMillis() - ByteBuffer.wrap(value).getLong(0);
+      this.lagCounts.incrementAndGet((int) Math.max(0, Math.min(lag, MAX_LAG_MILLIS)));
+    }
+
+    /**
+     * Returns the events received since the last report, their rate and their lag percentiles, and
+     * starts over
+     */
+    synchronized String report() {
+      long now = System.nanoTime();
+      long[] counts = new long[this.lagCounts.length()];
+      long events = 0;
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = this.lagCounts.getAndSet(i, 0);
+        events += counts[i];
+      }
+      double seconds = (double) (now - this.startTime) / TimeUnit.SECONDS.toNanos(1);
+      this.startTime = now;
+      return String.format(
+          "%d events received, %.1f events/s, lag ms p50=%d p90=%d p99=%d p99.9=%d max=%d", events,
+          events / seconds, percentile(counts, events, 0.5), percentile(counts, events, 0.9),
+          percentile(counts, events, 0.99), percentile(counts, events, 0.999),
+          percentile(counts, events, 1.0));
+    }
+
+    private static int percentile(long[] counts, long events, double percentile) {
+      long rank = (long) Math.ceil(events * percentile);
+      long seen = 0;
+      for (int lag = 0; lag < counts.length; lag++) {
+        seen += counts[lag];
+        if (seen >= rank && seen > 0) {
+          return lag;
+        }
+      }
+      return 0;
+    }
+  }
+}
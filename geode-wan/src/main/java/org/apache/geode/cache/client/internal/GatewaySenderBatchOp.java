@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.util.Iterator;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.List;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.InternalGemFireError;
+import org.apache.geode.SerializationException;
 import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.tier.MessageType;
@@ -28,6 +30,7 @@ import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.CompactGatewayBatch;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventRemoteDispatcher.GatewayAck;
 import org.apache.geode.internal.logging.LogService;
@@ -51,7 +54,8 @@ public class GatewaySenderBatchOp {
   public static void executeOn(Connection con, ExecutablePool pool, List events, int batchId,
       boolean removeFromQueueOnException, boolean isRetry) {
     AbstractOp op = new GatewaySenderGFEBatchOpImpl(events, batchId, removeFromQueueOnException,
-        con.getDistributedSystemId(), isRetry);
+        con.getDistributedSystemId(), isRetry,
+        CompactGatewayBatch.isSupportedBy(con.getWanSiteVersion()));
     pool.executeOn(con, op, true/* timeoutFatal */);
   }
 
@@ -71,15 +75,26 @@ public class GatewaySenderBatchOp {
      * @throws org.apache.geode.SerializationException if serialization fails
      */
     public GatewaySenderGFEBatchOpImpl(List events, int batchId, boolean removeFromQueueOnException,
-        int dsId, boolean isRetry) {
-      super(MessageType.GATEWAY_RECEIVER_COMMAND, calcPartCount(events));
+        int dsId, boolean isRetry, boolean compact) {
+      super(MessageType.GATEWAY_RECEIVER_COMMAND, compact ? 5 : calcPartCount(events));
       if (isRetry) {
         getMessage().setIsRetry();
       }
       getMessage().addIntPart(events.size());
       getMessage().addIntPart(batchId);
       getMessage().addIntPart(dsId);
-      getMessage().addBytesPart(new byte[] {removeFromQueueOnException ? (byte) 1 : (byte) 0});
+      byte removeFromQueueOnExceptionByte = removeFromQueueOnException ? (byte) 1 : (byte) 0;
+      if (compact) {
+        getMessage().addBytesPart(
+            new byte[] {removeFromQueueOnExceptionByte, CompactGatewayBatch.COMPACT_FORM});
+        try {
+          getMessage().addBytesPart(CompactGatewayBatch.toCompactForm(events));
+        } catch (IOException e) {
+          throw new SerializationException("failed serializing batch " + batchId, e);
+        }
+        return;
+      }
+      getMessage().addBytesPart(new byte[] {removeFromQueueOnExceptionByte});
       // Add each event
       for (Iterator i = events.iterator(); i.hasNext();) {
         GatewaySenderEventImpl event = (GatewaySenderEventImpl) i.next();
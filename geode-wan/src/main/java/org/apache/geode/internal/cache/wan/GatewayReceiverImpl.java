@@ -33,6 +33,7 @@ import org.apache.geode.distributed.internal.ResourceEvent;
 import org.apache.geode.internal.AvailablePort;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.InternalCacheServer;
+import org.apache.geode.internal.cache.tier.sockets.command.GatewayReceiverCommand;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.net.SocketCreator;
 
@@ -214,6 +215,7 @@ public class GatewayReceiverImpl implements GatewayReceiver {
     }
 
     receiverServer.stop();
+    GatewayReceiverCommand.shutdownApplyExecutor();
   }
 
   @Override
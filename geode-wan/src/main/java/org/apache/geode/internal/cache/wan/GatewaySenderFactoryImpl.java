@@ -134,6 +134,12 @@ public class GatewaySenderFactoryImpl implements InternalGatewaySenderFactory {
     return this;
   }
 
+  @Override
+  public GatewaySenderFactory setBatchConflationInPlace(boolean inPlace) {
+    this.attrs.isBatchConflationInPlace = inPlace;
+    return this;
+  }
+
   @Override
   public GatewaySenderFactory setPersistenceEnabled(boolean enablePersistence) {
     this.attrs.isPersistenceEnabled = enablePersistence;
@@ -359,6 +365,7 @@ public class GatewaySenderFactoryImpl implements InternalGatewaySenderFactory {
     this.attrs.socketBufferSize = senderCreation.getSocketBufferSize();
     this.attrs.socketReadTimeout = senderCreation.getSocketReadTimeout();
     this.attrs.isBatchConflationEnabled = senderCreation.isBatchConflationEnabled();
+    this.attrs.isBatchConflationInPlace = senderCreation.isBatchConflationInPlace();
     this.attrs.batchSize = senderCreation.getBatchSize();
     this.attrs.batchTimeInterval = senderCreation.getBatchTimeInterval();
     this.attrs.isPersistenceEnabled = senderCreation.isPersistenceEnabled();